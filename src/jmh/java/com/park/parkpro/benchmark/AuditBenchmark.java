@@ -0,0 +1,44 @@
+package com.park.parkpro.benchmark;
+
+import com.park.parkpro.dto.AuditResponseDto;
+import com.park.parkpro.service.AuditService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+// Reading an in-progress audit recomputes its pass/fail/unjustified percentages from the park's records
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuditBenchmark {
+    @Param({"10"})
+    public int parks;
+
+    @Param({"100", "1000"})
+    public int recordsPerPark;
+
+    private ConfigurableApplicationContext context;
+    private AuditService auditService;
+    private BenchmarkDataSet dataSet;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("audit");
+        auditService = context.getBean(AuditService.class);
+        dataSet = BenchmarkDataSet.seed(context, parks, recordsPerPark);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public AuditResponseDto auditPercentages() {
+        return auditService.getAuditByParkAndYear(dataSet.randomParkId(), dataSet.fiscalYear);
+    }
+}
@@ -0,0 +1,50 @@
+package com.park.parkpro.benchmark;
+
+import com.park.parkpro.ParkProApplication;
+import com.park.parkpro.service.FakeStripeService;
+import com.park.parkpro.service.StripeService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Boots the whole application on a private in-memory H2 database for a benchmark trial. Stripe is
+ * replaced by {@link FakeStripeService} so payments settle locally.
+ */
+final class BenchmarkApplication {
+    static final String JWT_SECRET = "benchmark-secret-benchmark-secret-benchmark-secret-benchmark-secret";
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String databaseName) {
+        // Devtools would relaunch the caller's main method in a restart class loader
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        return new SpringApplicationBuilder(ParkProApplication.class, StubbedStripe.class)
+                .profiles("test")
+                .logStartupInfo(false)
+                .run("--spring.datasource.url=jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.main.allow-bean-definition-overriding=true",
+                        "--server.port=0",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.park.parkpro.benchmark=INFO",
+                        // Boot's in-memory H2 shutdown hook races the pool on close; the warning is noise here
+                        "--logging.level.org.springframework.beans.factory.support.DisposableBeanAdapter=ERROR",
+                        "--jwt.secret=" + JWT_SECRET,
+                        "--jwt.expiration=3600000",
+                        "--stripe.secret.key=sk_test_benchmark",
+                        "--stripe.publishable.key=pk_test_benchmark",
+                        "--spring.mail.username=benchmark",
+                        "--spring.mail.password=benchmark");
+    }
+
+    @Configuration
+    static class StubbedStripe {
+        @Bean
+        StripeService stripeService() {
+            return new FakeStripeService();
+        }
+    }
+}
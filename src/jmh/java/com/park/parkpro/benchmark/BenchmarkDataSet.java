@@ -0,0 +1,151 @@
+package com.park.parkpro.benchmark;
+
+import com.park.parkpro.domain.*;
+import com.park.parkpro.dto.CreateAuditRequestDto;
+import com.park.parkpro.repository.*;
+import com.park.parkpro.security.AuthenticatedUser;
+import com.park.parkpro.service.AuditService;
+import com.park.parkpro.service.BudgetLedgerService;
+import org.springframework.context.ApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Parks with an approved budget for the current fiscal year, three categories, and
+ * {@code recordsPerPark} expenses plus a quarter as many withdraw requests and donations each.
+ * The first park also gets a high-capacity activity for booking benchmarks.
+ */
+final class BenchmarkDataSet {
+    final int fiscalYear = LocalDate.now().getYear();
+    final List<UUID> parkIds = new ArrayList<>();
+    UUID activityId;
+    AuthenticatedUser visitor;
+    AuthenticatedUser governmentOfficer;
+    AuthenticatedUser auditor;
+
+    private BenchmarkDataSet() {
+    }
+
+    static BenchmarkDataSet seed(ApplicationContext context, int parks, int recordsPerPark) {
+        BenchmarkDataSet dataSet = new BenchmarkDataSet();
+        TransactionTemplate transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        UserRepository userRepository = context.getBean(UserRepository.class);
+
+        User visitorUser = userRepository.save(user("visitor@bench.local", "VISITOR"));
+        User officer = userRepository.save(user("officer@bench.local", "GOVERNMENT_OFFICER"));
+        User auditorUser = userRepository.save(user("auditor@bench.local", "AUDITOR"));
+        dataSet.visitor = new AuthenticatedUser(visitorUser.getId(), visitorUser.getEmail(), "VISITOR", null);
+        dataSet.governmentOfficer = new AuthenticatedUser(officer.getId(), officer.getEmail(), "GOVERNMENT_OFFICER", null);
+        dataSet.auditor = new AuthenticatedUser(auditorUser.getId(), auditorUser.getEmail(), "AUDITOR", null);
+
+        for (int i = 0; i < parks; i++) {
+            int index = i;
+            UUID parkId = transaction.execute(status -> dataSet.seedPark(context, index, recordsPerPark, visitorUser));
+            dataSet.parkIds.add(parkId);
+        }
+
+        // Ledgers are normally opened by BudgetService; build them from the seeded records instead
+        context.getBean(BudgetLedgerService.class).reconcileAll();
+
+        AuditService auditService = context.getBean(AuditService.class);
+        for (UUID parkId : dataSet.parkIds) {
+            CreateAuditRequestDto request = new CreateAuditRequestDto();
+            request.setParkId(parkId);
+            request.setAuditYear(dataSet.fiscalYear);
+            auditService.createAudit(request, dataSet.auditor);
+        }
+        return dataSet;
+    }
+
+    UUID randomParkId() {
+        return parkIds.get(ThreadLocalRandom.current().nextInt(parkIds.size()));
+    }
+
+    private UUID seedPark(ApplicationContext context, int index, int records, User donor) {
+        Park park = context.getBean(ParkRepository.class).save(
+                new Park("Benchmark Park " + index, "Region " + index, "Seeded for benchmarks"));
+        User financeOfficer = user("finance" + index + "@bench.local", "FINANCE_OFFICER");
+        financeOfficer.setPark(park);
+        financeOfficer = context.getBean(UserRepository.class).save(financeOfficer);
+
+        Budget budget = new Budget();
+        budget.setPark(park);
+        budget.setFiscalYear(fiscalYear);
+        budget.setTotalAmount(new BigDecimal("10000000.00"));
+        budget.setBalance(new BigDecimal("10000000.00"));
+        budget.setUnallocated(new BigDecimal("7000000.00"));
+        budget.setStatus("APPROVED");
+        budget.setCreatedBy(financeOfficer);
+        budget = context.getBean(BudgetRepository.class).save(budget);
+
+        List<BudgetCategory> categories = new ArrayList<>();
+        for (SpendingStrategy strategy : List.of(SpendingStrategy.EXPENSE, SpendingStrategy.EXPENSE, SpendingStrategy.WITHDRAW_REQUEST)) {
+            BudgetCategory category = new BudgetCategory();
+            category.setBudget(budget);
+            category.setName("Category " + categories.size());
+            category.setAllocatedAmount(new BigDecimal("1000000.00"));
+            category.setUsedAmount(BigDecimal.ZERO);
+            category.setBalance(new BigDecimal("1000000.00"));
+            category.setSpendingStrategy(strategy);
+            categories.add(category);
+        }
+        categories = context.getBean(BudgetCategoryRepository.class).saveAll(categories);
+
+        AuditStatus[] auditStatuses = AuditStatus.values();
+        List<Expense> expenses = new ArrayList<>(records);
+        for (int i = 0; i < records; i++) {
+            expenses.add(new Expense(budget, amount(), "Expense " + i, categories.get(i % 2), park,
+                    financeOfficer, auditStatuses[i % auditStatuses.length]));
+        }
+        context.getBean(ExpenseRepository.class).saveAll(expenses);
+
+        WithdrawRequest.WithdrawRequestStatus[] withdrawStatuses = WithdrawRequest.WithdrawRequestStatus.values();
+        List<WithdrawRequest> withdraws = new ArrayList<>();
+        List<Donation> donations = new ArrayList<>();
+        for (int i = 0; i < records / 4; i++) {
+            withdraws.add(new WithdrawRequest(amount(), "Withdraw " + i, null, financeOfficer, categories.get(2),
+                    budget, null, withdrawStatuses[i % withdrawStatuses.length], park));
+            Donation donation = new Donation();
+            donation.setDonor(donor);
+            donation.setPark(park);
+            donation.setAmount(amount());
+            donation.setStatus("CONFIRMED");
+            donation.setFiscalYear(fiscalYear);
+            donations.add(donation);
+        }
+        context.getBean(WithdrawRequestRepository.class).saveAll(withdraws);
+        context.getBean(DonationRepository.class).saveAll(donations);
+
+        if (index == 0) {
+            Activity activity = new Activity();
+            activity.setName("Benchmark Safari");
+            activity.setPark(park);
+            activity.setPrice(new BigDecimal("25.00"));
+            activity.setCapacityPerDay(1_000_000);
+            activityId = context.getBean(ActivityRepository.class).save(activity).getId();
+        }
+        return park.getId();
+    }
+
+    private static BigDecimal amount() {
+        return BigDecimal.valueOf(ThreadLocalRandom.current().nextInt(100, 100_000), 2);
+    }
+
+    private static User user(String email, String role) {
+        User user = new User();
+        user.setFirstName("Bench");
+        user.setLastName(role);
+        user.setEmail(email);
+        user.setPassword("not-a-real-hash");
+        user.setRole(role);
+        user.setActive(true);
+        return user;
+    }
+}
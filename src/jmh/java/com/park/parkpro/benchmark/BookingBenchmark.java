@@ -0,0 +1,50 @@
+package com.park.parkpro.benchmark;
+
+import com.park.parkpro.domain.Booking;
+import com.park.parkpro.service.BookingService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Reserving a booking: capacity counter, PENDING insert and the hand-off of the charge to the payment executor
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingBenchmark {
+    @Param({"1"})
+    public int parks;
+
+    @Param({"100"})
+    public int recordsPerPark;
+
+    @Param({"30"})
+    public int visitDays;
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private BenchmarkDataSet dataSet;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("booking");
+        bookingService = context.getBean(BookingService.class);
+        dataSet = BenchmarkDataSet.seed(context, parks, recordsPerPark);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Booking createBooking() {
+        LocalDate visitDate = LocalDate.now().plusDays(1 + ThreadLocalRandom.current().nextInt(visitDays));
+        return bookingService.createBooking(dataSet.activityId, visitDate, 1, null, "pm_card_visa", dataSet.visitor);
+    }
+}
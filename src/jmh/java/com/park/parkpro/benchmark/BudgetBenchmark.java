@@ -0,0 +1,51 @@
+package com.park.parkpro.benchmark;
+
+import com.park.parkpro.domain.Budget;
+import com.park.parkpro.dto.BudgetByFiscalYearResponseDto;
+import com.park.parkpro.service.BudgetService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Balance resolution per park, and the fiscal-year overview across every park
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BudgetBenchmark {
+    @Param({"10", "100"})
+    public int parks;
+
+    @Param({"100", "1000"})
+    public int recordsPerPark;
+
+    private ConfigurableApplicationContext context;
+    private BudgetService budgetService;
+    private BenchmarkDataSet dataSet;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("budget");
+        budgetService = context.getBean(BudgetService.class);
+        dataSet = BenchmarkDataSet.seed(context, parks, recordsPerPark);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Budget> budgetBalancesByPark() {
+        return budgetService.getBudgetsByPark(dataSet.randomParkId());
+    }
+
+    @Benchmark
+    public List<BudgetByFiscalYearResponseDto> budgetsByFiscalYear() {
+        return budgetService.getBudgetsByFiscalYear(dataSet.fiscalYear, dataSet.governmentOfficer);
+    }
+}
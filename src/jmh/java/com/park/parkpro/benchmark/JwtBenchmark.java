@@ -0,0 +1,47 @@
+package com.park.parkpro.benchmark;
+
+import com.park.parkpro.security.JwtUtil;
+import com.park.parkpro.security.TokenClaims;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Token handling on every request; the uncached parser has its verified-token cache disabled
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+    private JwtUtil jwtUtil;
+    private JwtUtil uncachedJwtUtil;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtUtil = new JwtUtil(BenchmarkApplication.JWT_SECRET, 3_600_000, 10_000);
+        uncachedJwtUtil = new JwtUtil(BenchmarkApplication.JWT_SECRET, 3_600_000, 0);
+        token = jwtUtil.generateToken("visitor@bench.local", "VISITOR");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("visitor@bench.local", "VISITOR");
+    }
+
+    @Benchmark
+    public TokenClaims parseCachedToken() {
+        return jwtUtil.parseToken(token);
+    }
+
+    @Benchmark
+    public TokenClaims parseUncachedToken() {
+        return uncachedJwtUtil.parseToken(token);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(token);
+    }
+}
@@ -0,0 +1,165 @@
+package com.park.parkpro.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Closed-loop HTTP load: {@code concurrency} clients each send one request at a time, choosing the next
+ * endpoint by weight, until the run ends. Latency is recorded per endpoint from send to fully read
+ * response; anything other than 2xx is counted as an error. Clients run on virtual threads when the JVM
+ * provides them (Java 21+) and on platform threads otherwise.
+ */
+final class LoadDriver {
+    private static final Logger LOGGER = Logger.getLogger(LoadDriver.class.getName());
+
+    record Endpoint(String name, int weight, Supplier<HttpRequest> request) {
+    }
+
+    private final HttpClient client;
+    private final List<Endpoint> endpoints;
+    private final int totalWeight;
+
+    LoadDriver(List<Endpoint> endpoints) {
+        this.endpoints = endpoints;
+        this.totalWeight = endpoints.stream().mapToInt(Endpoint::weight).sum();
+        this.client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+    }
+
+    static HttpRequest.Builder request(String baseUrl, String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30));
+        return token != null ? builder.header("Authorization", "Bearer " + token) : builder;
+    }
+
+    Map<String, Latencies> run(int concurrency, Duration warmup, Duration duration) throws InterruptedException {
+        if (!warmup.isZero()) {
+            LOGGER.info("Warming up for " + warmup);
+            drive(concurrency, warmup);
+        }
+        LOGGER.info("Measuring " + concurrency + " clients for " + duration);
+        return drive(concurrency, duration);
+    }
+
+    private Map<String, Latencies> drive(int concurrency, Duration duration) throws InterruptedException {
+        Map<String, Latencies> latencies = new LinkedHashMap<>();
+        endpoints.forEach(endpoint -> latencies.put(endpoint.name(), new Latencies()));
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService clients = clientExecutor(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            clients.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    Endpoint endpoint = pick();
+                    long started = System.nanoTime();
+                    boolean ok;
+                    try {
+                        HttpResponse<byte[]> response = client.send(endpoint.request().get(),
+                                HttpResponse.BodyHandlers.ofByteArray());
+                        ok = response.statusCode() / 100 == 2;
+                    } catch (IOException e) {
+                        ok = false;
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    latencies.get(endpoint.name()).record(System.nanoTime() - started, ok);
+                }
+            });
+        }
+        clients.shutdown();
+        if (!clients.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS)) {
+            clients.shutdownNow();
+        }
+        for (Latencies endpointLatencies : latencies.values()) {
+            endpointLatencies.elapsedNanos = duration.toNanos();
+        }
+        return latencies;
+    }
+
+    private Endpoint pick() {
+        int ticket = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Endpoint endpoint : endpoints) {
+            ticket -= endpoint.weight();
+            if (ticket < 0) {
+                return endpoint;
+            }
+        }
+        return endpoints.get(endpoints.size() - 1);
+    }
+
+    private static ExecutorService clientExecutor(int concurrency) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(concurrency);
+        }
+    }
+
+    static String report(Map<String, Latencies> results) {
+        StringBuilder report = new StringBuilder(String.format("%-28s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms"));
+        results.forEach((name, latencies) -> report.append(latencies.summary(name)));
+        return report.toString();
+    }
+
+    /**
+     * Every latency of one endpoint, kept exactly so percentiles need no bucketing.
+     */
+    static final class Latencies {
+        private final List<long[]> chunks = new ArrayList<>();
+        private long[] current = new long[8192];
+        private int size;
+        private long count;
+        private long errors;
+        private long elapsedNanos;
+
+        synchronized void record(long nanos, boolean ok) {
+            if (size == current.length) {
+                chunks.add(current);
+                current = new long[current.length];
+                size = 0;
+            }
+            current[size++] = nanos;
+            count++;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        synchronized String summary(String name) {
+            long[] sorted = new long[(int) count];
+            int offset = 0;
+            for (long[] chunk : chunks) {
+                System.arraycopy(chunk, 0, sorted, offset, chunk.length);
+                offset += chunk.length;
+            }
+            System.arraycopy(current, 0, sorted, offset, size);
+            Arrays.sort(sorted);
+            double seconds = elapsedNanos / 1e9;
+            return String.format("%-28s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", name, count, errors,
+                    count / seconds, millis(sorted, 0.50), millis(sorted, 0.90), millis(sorted, 0.99),
+                    sorted.length == 0 ? 0.0 : sorted[sorted.length - 1] / 1e6);
+        }
+
+        private static double millis(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0.0;
+            }
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1e6;
+        }
+    }
+}
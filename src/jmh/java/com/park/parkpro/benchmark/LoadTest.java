@@ -0,0 +1,160 @@
+package com.park.parkpro.benchmark;
+
+import com.park.parkpro.security.JwtUtil;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Seeds a dataset and drives the real controllers over HTTP, then prints request counts and
+ * p50/p90/p99 latency per endpoint.
+ * <p>
+ * By default the application is booted in-process on in-memory H2 with Stripe stubbed. To load a
+ * deployed instance instead, pass {@code --base-url}, {@code --jdbc-url} (with {@code --jdbc-user} and
+ * {@code --jdbc-password}) and the server's {@code --jwt-secret}; the seed is then written to that
+ * database and bookings are charged through its Stripe test account.
+ * <p>
+ * Options and defaults: {@code --parks=10 --activities-per-park=5 --visitors=1000 --bookings-per-park=100000
+ * --donations-per-park=10000 --expenses-per-park=10000 --audit-logs=100000 --batch-size=1000
+ * --concurrency=64 --warmup=15s --duration=60s}. A zero duration seeds without driving load.
+ */
+public final class LoadTest {
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        LoadDataSeeder.Plan plan = new LoadDataSeeder.Plan(
+                intOption(options, "parks", 10),
+                intOption(options, "activities-per-park", 5),
+                intOption(options, "visitors", 1000),
+                longOption(options, "bookings-per-park", 100_000),
+                longOption(options, "donations-per-park", 10_000),
+                longOption(options, "expenses-per-park", 10_000),
+                longOption(options, "audit-logs", 100_000));
+        Duration duration = Duration.parse("PT" + options.getOrDefault("duration", "60s"));
+        Duration warmup = Duration.parse("PT" + options.getOrDefault("warmup", "15s"));
+
+        ConfigurableApplicationContext context = null;
+        String baseUrl = options.get("base-url");
+        String jwtSecret = options.getOrDefault("jwt-secret", BenchmarkApplication.JWT_SECRET);
+        DataSource dataSource;
+        if (baseUrl == null) {
+            context = BenchmarkApplication.start("load");
+            baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+            dataSource = context.getBean(DataSource.class);
+        } else {
+            dataSource = new DriverManagerDataSource(required(options, "jdbc-url"),
+                    options.getOrDefault("jdbc-user", ""), options.getOrDefault("jdbc-password", ""));
+        }
+
+        try {
+            LoadDataSeeder.Dataset dataset = new LoadDataSeeder(dataSource, intOption(options, "batch-size", 1000))
+                    .seed(plan);
+            if (duration.isZero()) {
+                return;
+            }
+            LoadDriver driver = new LoadDriver(endpoints(baseUrl, dataset, new JwtUtil(jwtSecret, 3_600_000L, 0)));
+            System.out.print(LoadDriver.report(driver.run(intOption(options, "concurrency", 64), warmup, duration)));
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private static List<LoadDriver.Endpoint> endpoints(String baseUrl, LoadDataSeeder.Dataset dataset, JwtUtil jwtUtil) {
+        Map<String, String> tokens = new HashMap<>();
+        for (LoadDataSeeder.SeededPark park : dataset.parks()) {
+            tokens.put(park.financeOfficerEmail(), jwtUtil.generateToken(park.financeOfficerEmail(), "FINANCE_OFFICER"));
+        }
+        String[] visitorTokens = dataset.visitorEmails().stream()
+                .map(email -> jwtUtil.generateToken(email, "VISITOR"))
+                .toArray(String[]::new);
+        String officerToken = jwtUtil.generateToken(dataset.governmentOfficerEmail(), "GOVERNMENT_OFFICER");
+        String auditorToken = jwtUtil.generateToken(dataset.auditorEmail(), "AUDITOR");
+
+        return List.of(
+                new LoadDriver.Endpoint("GET park budgets", 15, () -> {
+                    LoadDataSeeder.SeededPark park = randomPark(dataset);
+                    return LoadDriver.request(baseUrl, "/api/parks/" + park.parkId() + "/budgets",
+                            tokens.get(park.financeOfficerEmail())).GET().build();
+                }),
+                new LoadDriver.Endpoint("GET park bookings", 15, () -> {
+                    LoadDataSeeder.SeededPark park = randomPark(dataset);
+                    return LoadDriver.request(baseUrl, "/api/parks/" + park.parkId() + "/bookings?size=20",
+                            tokens.get(park.financeOfficerEmail())).GET().build();
+                }),
+                new LoadDriver.Endpoint("GET park expenses", 15, () -> {
+                    LoadDataSeeder.SeededPark park = randomPark(dataset);
+                    return LoadDriver.request(baseUrl, "/api/parks/" + park.parkId() + "/expenses?size=20",
+                            tokens.get(park.financeOfficerEmail())).GET().build();
+                }),
+                new LoadDriver.Endpoint("GET budgets by fiscal year", 5, () ->
+                        LoadDriver.request(baseUrl, "/api/budgets/by-fiscal-year/" + dataset.fiscalYear(), officerToken)
+                                .GET().build()),
+                new LoadDriver.Endpoint("GET park activities", 10, () ->
+                        LoadDriver.request(baseUrl, "/api/parks/" + randomPark(dataset).parkId() + "/activities", null)
+                                .GET().build()),
+                new LoadDriver.Endpoint("GET activity availability", 20, () ->
+                        LoadDriver.request(baseUrl, "/api/activities/" + randomActivity(dataset) + "/availability", null)
+                                .GET().build()),
+                new LoadDriver.Endpoint("GET audit logs", 5, () ->
+                        LoadDriver.request(baseUrl, "/api/audit-logs?size=50", auditorToken).GET().build()),
+                new LoadDriver.Endpoint("POST booking", 15, () -> {
+                    String body = String.format("{\"activityId\":\"%s\",\"visitDate\":\"%s\",\"numberOfTickets\":1}",
+                            randomActivity(dataset), LocalDate.now().plusDays(ThreadLocalRandom.current().nextInt(1, 60)));
+                    String token = visitorTokens[ThreadLocalRandom.current().nextInt(visitorTokens.length)];
+                    return LoadDriver.request(baseUrl, "/api/bookings?paymentMethodId=pm_card_visa", token)
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(body))
+                            .build();
+                }));
+    }
+
+    private static LoadDataSeeder.SeededPark randomPark(LoadDataSeeder.Dataset dataset) {
+        return dataset.parks().get(ThreadLocalRandom.current().nextInt(dataset.parks().size()));
+    }
+
+    private static UUID randomActivity(LoadDataSeeder.Dataset dataset) {
+        List<UUID> activityIds = randomPark(dataset).activityIds();
+        return activityIds.get(ThreadLocalRandom.current().nextInt(activityIds.size()));
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        return options;
+    }
+
+    private static String required(Map<String, String> options, String name) {
+        String value = options.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("--" + name + " is required when --base-url is set");
+        }
+        return value;
+    }
+
+    private static int intOption(Map<String, String> options, String name, int defaultValue) {
+        return options.containsKey(name) ? Integer.parseInt(options.get(name)) : defaultValue;
+    }
+
+    private static long longOption(Map<String, String> options, String name, long defaultValue) {
+        return options.containsKey(name) ? Long.parseLong(options.get(name)) : defaultValue;
+    }
+}
@@ -2,8 +2,10 @@ package com.park.parkpro;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class ParkProApplication {
 	public static void main(String[] args) {
 		SpringApplication.run(ParkProApplication.class, args);
@@ -0,0 +1,26 @@
+package com.park.parkpro.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class PaymentExecutorConfig {
+
+    // Not a default candidate so Boot still creates its own applicationTaskExecutor
+    @Bean(name = "paymentExecutor", defaultCandidate = false)
+    public ThreadPoolTaskExecutor paymentExecutor(
+            @Value("${booking.payment.executor.core-size:8}") int coreSize,
+            @Value("${booking.payment.executor.max-size:32}") int maxSize,
+            @Value("${booking.payment.executor.queue-capacity:500}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("payment-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
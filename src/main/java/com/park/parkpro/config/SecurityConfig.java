@@ -92,8 +92,9 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.POST, "/api/parks/{parkId}/activities").hasAnyRole("ADMIN", "PARK_MANAGER", "FINANCE_OFFICER")
                         .requestMatchers(HttpMethod.PATCH, "/api/activities/{activityId}").hasAnyRole("ADMIN", "PARK_MANAGER", "FINANCE_OFFICER")
                         .requestMatchers(HttpMethod.DELETE, "/api/activities/{activityId}").hasAnyRole("ADMIN", "PARK_MANAGER", "FINANCE_OFFICER")
-                        .requestMatchers(HttpMethod.GET, "/api/parks/{parkId}/activities", "/api/activities/{activityId}").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/parks/{parkId}/activities", "/api/activities/{activityId}", "/api/activities/{activityId}/availability").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/bookings").hasRole("VISITOR")
+                        .requestMatchers(HttpMethod.POST, "/api/bookings/bulk").hasRole("VISITOR")
                         .requestMatchers("/api/bookings/my").hasRole("VISITOR")
                         .requestMatchers("/api/bookings/{bookingId}/cancel").hasAnyRole("PARK_MANAGER", "FINANCE_OFFICER", "VISITOR")
                         .requestMatchers("/api/parks/{parkId}/bookings").hasAnyRole("PARK_MANAGER", "ADMIN", "FINANCE_OFFICER", "AUDITOR")
@@ -101,11 +102,13 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.POST, "/api/donations").hasRole("VISITOR")
                         .requestMatchers(HttpMethod.GET, "/api/parks/{parkId}/top-donors").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/parks/{parkId}/donations/fiscal-year/{fiscalYear}").hasAnyRole("FINANCE_OFFICER", "GOVERNMENT_OFFICER", "AUDITOR")
+                        .requestMatchers(HttpMethod.GET, "/api/parks/{parkId}/donations/fiscal-year/{fiscalYear}/totals").hasAnyRole("FINANCE_OFFICER", "GOVERNMENT_OFFICER", "AUDITOR")
                         .requestMatchers("/api/donations/my").hasRole("VISITOR")
                         .requestMatchers("/api/donations/{donationId}/confirm").hasAnyRole("PARK_MANAGER", "ADMIN", "FINANCE_OFFICER")
                         .requestMatchers("/api/donations/{donationId}/cancel").hasAnyRole("VISITOR", "PARK_MANAGER", "FINANCE_OFFICER")
                         .requestMatchers("/api/parks/{parkId}/donations").hasAnyRole("PARK_MANAGER", "ADMIN", "FINANCE_OFFICER", "AUDITOR")
                         .requestMatchers(HttpMethod.GET, "/api/donations/{donationId}").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/parks/{parkId}/exports/**").hasAnyRole("ADMIN", "AUDITOR", "FINANCE_OFFICER", "GOVERNMENT_OFFICER")
                         .requestMatchers("/api/parks/**").hasAnyRole("ADMIN", "FINANCE_OFFICER", "PARK_MANAGER", "GOVERNMENT_OFFICER", "AUDITOR")
                         .requestMatchers(HttpMethod.POST, "/api/opportunities").hasAnyRole("ADMIN", "PARK_MANAGER", "FINANCE_OFFICER")
                         .requestMatchers(HttpMethod.PATCH, "/api/opportunities/{opportunityId}").hasAnyRole("ADMIN", "PARK_MANAGER", "FINANCE_OFFICER")
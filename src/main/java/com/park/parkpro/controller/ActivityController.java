@@ -1,16 +1,20 @@
 package com.park.parkpro.controller;
 
 import com.park.parkpro.domain.Activity;
+import com.park.parkpro.dto.ActivityAvailabilityDto;
 import com.park.parkpro.dto.ActivityResponseDto;
 import com.park.parkpro.dto.CreateActivityRequestDto;
 import com.park.parkpro.dto.UpdateActivityRequestDto;
-import com.park.parkpro.exception.UnauthorizedException;
+import com.park.parkpro.security.AuthenticatedUser;
 import com.park.parkpro.service.ActivityService;
+import com.park.parkpro.service.CatalogCache;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.net.URI;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -19,23 +23,21 @@ import java.util.stream.Collectors;
 @RequestMapping("/api")
 public class ActivityController {
     private final ActivityService activityService;
+    private final CatalogCache catalogCache;
 
-    public ActivityController(ActivityService activityService) {
+    public ActivityController(ActivityService activityService, CatalogCache catalogCache) {
         this.activityService = activityService;
+        this.catalogCache = catalogCache;
     }
 
     @PostMapping("/parks/{parkId}/activities")
     public ResponseEntity<ActivityResponseDto> createActivity(
             @PathVariable UUID parkId,
             @Valid @RequestBody CreateActivityRequestDto request,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
+            AuthenticatedUser currentUser) {
         System.out.println(parkId);
-        String token = authHeader.substring(7);
         Activity activity = activityService.createActivity(parkId, request.getName(), request.getPrice(),
-                request.getDescription(), request.getPicture(), request.getCapacityPerDay(), token);
+                request.getDescription(), request.getPicture(), request.getCapacityPerDay(), currentUser);
         return ResponseEntity.created(URI.create("/api/activities/" + activity.getId()))
                 .body(mapToActivityDto(activity));
     }
@@ -44,38 +46,40 @@ public class ActivityController {
     public ResponseEntity<ActivityResponseDto> updateActivity(
             @PathVariable UUID activityId,
             @RequestBody UpdateActivityRequestDto request,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
+            AuthenticatedUser currentUser) {
         Activity activity = activityService.updateActivity(activityId, request.getName(), request.getPrice(),
-                request.getDescription(), request.getPicture(), request.getCapacityPerDay(), token);
+                request.getDescription(), request.getPicture(), request.getCapacityPerDay(), currentUser);
         return ResponseEntity.ok(mapToActivityDto(activity));
     }
 
     @DeleteMapping("/activities/{activityId}")
     public ResponseEntity<Void> deleteActivity(
             @PathVariable UUID activityId,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
-        activityService.deleteActivity(activityId, token);
+            AuthenticatedUser currentUser) {
+        activityService.deleteActivity(activityId, currentUser);
         return ResponseEntity.noContent().build();
     }
 
     @GetMapping("/parks/{parkId}/activities")
     public ResponseEntity<List<ActivityResponseDto>> getActivitiesByPark(@PathVariable UUID parkId) {
-        List<Activity> activities = activityService.getActivitiesByPark(parkId);
-        return ResponseEntity.ok(activities.stream().map(this::mapToActivityDto).collect(Collectors.toList()));
+        return ConditionalGet.cached(catalogCache.activitiesByPark(parkId, () -> activityService.getActivitiesByPark(parkId).stream()
+                .map(this::mapToActivityDto).collect(Collectors.toList())));
     }
 
     @GetMapping("/activities/{activityId}")
     public ResponseEntity<ActivityResponseDto> getActivityById(@PathVariable UUID activityId) {
-        Activity activity = activityService.getActivityById(activityId);
-        return ResponseEntity.ok(mapToActivityDto(activity));
+        return ConditionalGet.cached(catalogCache.activity(activityId,
+                () -> mapToActivityDto(activityService.getActivityById(activityId))));
+    }
+
+    @GetMapping("/activities/{activityId}/availability")
+    public ResponseEntity<List<ActivityAvailabilityDto>> getAvailability(
+            @PathVariable UUID activityId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate start = from != null ? from : LocalDate.now();
+        LocalDate end = to != null ? to : start.plusDays(30);
+        return ResponseEntity.ok(activityService.getAvailability(activityId, start, end));
     }
 
     private ActivityResponseDto mapToActivityDto(Activity activity) {
@@ -3,6 +3,7 @@ package com.park.parkpro.controller;
 import com.park.parkpro.dto.AuditResponseDto;
 import com.park.parkpro.dto.CreateAuditRequestDto;
 import com.park.parkpro.dto.UpdateAuditRequestDto;
+import com.park.parkpro.security.AuthenticatedUser;
 import com.park.parkpro.service.AuditService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -22,9 +23,8 @@ public class AuditController {
     @PostMapping
     public ResponseEntity<AuditResponseDto> createAudit(
             @Valid @RequestBody CreateAuditRequestDto request,
-            @RequestHeader("Authorization") String token) {
-        token = token.substring(7); // Remove "Bearer " prefix
-        return new ResponseEntity<>(auditService.createAudit(request, token), HttpStatus.CREATED);
+            AuthenticatedUser currentUser) {
+        return new ResponseEntity<>(auditService.createAudit(request, currentUser), HttpStatus.CREATED);
     }
 
     @GetMapping
@@ -53,9 +53,8 @@ public class AuditController {
     public ResponseEntity<AuditResponseDto> updateAuditProgress(
             @PathVariable UUID id,
             @Valid @RequestBody UpdateAuditRequestDto request,
-            @RequestHeader("Authorization") String token) {
-        token = token.substring(7); // Remove "Bearer " prefix
-        return ResponseEntity.ok(auditService.updateAuditProgress(id, request, token));
+            AuthenticatedUser currentUser) {
+        return ResponseEntity.ok(auditService.updateAuditProgress(id, request, currentUser));
     }
 }
 
@@ -2,12 +2,17 @@ package com.park.parkpro.controller;
 
 import com.park.parkpro.dto.AuditLogDto;
 import com.park.parkpro.dto.CreateAuditLogDto;
+import com.park.parkpro.dto.PageResponseDto;
+import com.park.parkpro.repository.AuditLogFilter;
+import com.park.parkpro.security.AuthenticatedUser;
 import com.park.parkpro.service.AuditLogService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.time.LocalDateTime;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/audit-logs")
@@ -18,18 +23,31 @@ public class AuditLogController {
 
     @PostMapping
     public ResponseEntity<AuditLogDto> createAuditLog(@RequestBody CreateAuditLogDto dto,
-                                                      @RequestHeader("Authorization") String token) {
-        AuditLogDto createdLog = auditLogService.createAuditLog(dto, token.replace("Bearer ", ""));
+                                                      AuthenticatedUser currentUser) {
+        AuditLogDto createdLog = auditLogService.createAuditLog(dto, currentUser);
         return ResponseEntity.ok(createdLog);
     }
 
     @GetMapping
-    public ResponseEntity<List<AuditLogDto>> getAllAuditLogs() {
-        return ResponseEntity.ok(auditLogService.getAllAuditLogs());
+    public ResponseEntity<PageResponseDto<AuditLogDto>> getAuditLogs(
+            @RequestParam(required = false) String entityType,
+            @RequestParam(required = false) UUID entityId,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) UUID performedBy,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        AuditLogFilter filter = new AuditLogFilter(entityType, entityId, action, performedBy, from, to);
+        return ResponseEntity.ok(auditLogService.getAuditLogs(filter, cursor, size));
     }
 
     @GetMapping("/entity/{entityType}")
-    public ResponseEntity<List<AuditLogDto>> getAuditLogsByEntityType(@PathVariable String entityType) {
-        return ResponseEntity.ok(auditLogService.getAuditLogsByEntityType(entityType));
+    public ResponseEntity<PageResponseDto<AuditLogDto>> getAuditLogsByEntityType(
+            @PathVariable String entityType,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        AuditLogFilter filter = new AuditLogFilter(entityType, null, null, null, null, null);
+        return ResponseEntity.ok(auditLogService.getAuditLogs(filter, cursor, size));
     }
 }
\ No newline at end of file
@@ -1,11 +1,15 @@
 package com.park.parkpro.controller;
 
 import com.park.parkpro.domain.Booking;
+import com.park.parkpro.domain.BookingBatch;
 import com.park.parkpro.dto.BookingResponseDto;
+import com.park.parkpro.dto.BulkBookingRequestDto;
+import com.park.parkpro.dto.BulkBookingResponseDto;
 import com.park.parkpro.dto.CreateBookingRequestDto;
-import com.park.parkpro.exception.UnauthorizedException;
+import com.park.parkpro.dto.PageResponseDto;
+import com.park.parkpro.security.AuthenticatedUser;
 import com.park.parkpro.service.BookingService;
-import com.stripe.exception.StripeException;
+import com.park.parkpro.service.BulkBookingResult;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -30,55 +34,60 @@ public class BookingController {
     public ResponseEntity<BookingResponseDto> createBooking(
             @Valid @RequestBody CreateBookingRequestDto request,
             @RequestParam String paymentMethodId,
-            @RequestHeader("Authorization") String authHeader) throws StripeException {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
+            AuthenticatedUser currentUser) {
         LOGGER.info("Creating booking for activityId: " + request.getActivityId());
         Booking booking = bookingService.createBooking(
                 request.getActivityId(), request.getVisitDate(), request.getNumberOfTickets(),
-                request.getGroupMembers(), paymentMethodId, token);
-        return ResponseEntity.created(URI.create("/api/bookings/" + booking.getId()))
+                request.getGroupMembers(), paymentMethodId, currentUser);
+        // Payment is confirmed asynchronously, clients poll the booking until it leaves PENDING
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/bookings/" + booking.getId()))
                 .body(mapToBookingDto(booking));
     }
 
+    @PostMapping("/bookings/bulk")
+    public ResponseEntity<BulkBookingResponseDto> createBulkBookings(
+            @Valid @RequestBody BulkBookingRequestDto request,
+            @RequestParam String paymentMethodId,
+            AuthenticatedUser currentUser) {
+        LOGGER.info("Creating " + request.getLines().size() + " bookings in bulk");
+        BulkBookingResult result = bookingService.createBulkBookings(request.getLines(), paymentMethodId, currentUser);
+        BulkBookingResponseDto body = mapToBulkBookingDto(result);
+        // Nothing was reserved so nothing is charged, the line errors say why
+        if (result.batch() == null) {
+            return ResponseEntity.badRequest().body(body);
+        }
+        return ResponseEntity.accepted().body(body);
+    }
+
     @PostMapping("/bookings/{bookingId}/cancel")
     public ResponseEntity<BookingResponseDto> cancelBooking(
             @PathVariable UUID bookingId,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
+            AuthenticatedUser currentUser) {
         LOGGER.info("Cancelling booking: " + bookingId);
-        Booking booking = bookingService.cancelBooking(bookingId, token);
+        Booking booking = bookingService.cancelBooking(bookingId, currentUser);
         return ResponseEntity.ok(mapToBookingDto(booking));
     }
 
     @GetMapping("/bookings/my")
-    public ResponseEntity<List<BookingResponseDto>> getMyBookings(
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
+    public ResponseEntity<PageResponseDto<BookingResponseDto>> getMyBookings(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            AuthenticatedUser currentUser) {
         LOGGER.info("Fetching bookings for visitor");
-        List<Booking> bookings = bookingService.getBookingsByVisitor(token);
-        return ResponseEntity.ok(bookings.stream().map(this::mapToBookingDto).collect(Collectors.toList()));
+        PageResponseDto<Booking> bookings = bookingService.getBookingsByVisitor(cursor, size, currentUser);
+        return ResponseEntity.ok(bookings.map(this::mapToBookingDto));
     }
 
     @GetMapping("/parks/{parkId}/bookings")
-    public ResponseEntity<List<BookingResponseDto>> getBookingsByPark(
+    public ResponseEntity<PageResponseDto<BookingResponseDto>> getBookingsByPark(
             @PathVariable UUID parkId,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            AuthenticatedUser currentUser) {
         LOGGER.info("Fetching bookings for parkId: " + parkId);
-        List<Booking> bookings = bookingService.getBookingsByPark(parkId, token);
-        return ResponseEntity.ok(bookings.stream().map(this::mapToBookingDto).collect(Collectors.toList()));
+        PageResponseDto<Booking> bookings = bookingService.getBookingsByPark(parkId, cursor, size, currentUser);
+        return ResponseEntity.ok(bookings.map(this::mapToBookingDto));
     }
 
     @GetMapping("/bookings/{bookingId}")
@@ -88,6 +97,20 @@ public class BookingController {
         return ResponseEntity.ok(mapToBookingDto(booking));
     }
 
+    private BulkBookingResponseDto mapToBulkBookingDto(BulkBookingResult result) {
+        List<BulkBookingResponseDto.LineResultDto> lines = result.lines().stream()
+                .map(line -> line.booking() != null
+                        ? new BulkBookingResponseDto.LineResultDto(line.index(), "RESERVED", mapToBookingDto(line.booking()), null)
+                        : new BulkBookingResponseDto.LineResultDto(line.index(), "REJECTED", null, line.error()))
+                .collect(Collectors.toList());
+        int reserved = (int) lines.stream().filter(line -> line.booking() != null).count();
+        BookingBatch batch = result.batch();
+        return new BulkBookingResponseDto(
+                batch != null ? batch.getId() : null, batch != null ? batch.getStatus() : null,
+                batch != null ? batch.getAmount() : null, batch != null ? batch.getCurrency() : null,
+                reserved, lines.size() - reserved, lines);
+    }
+
     private BookingResponseDto mapToBookingDto(Booking booking) {
         List<BookingResponseDto.GroupMemberResponseDto> groupMembers = booking.getGroupMembers().stream()
                 .map(gm -> new BookingResponseDto.GroupMemberResponseDto(
@@ -4,11 +4,12 @@ import com.park.parkpro.domain.BudgetCategory;
 import com.park.parkpro.dto.BudgetCategoryResponseDto;
 import com.park.parkpro.dto.CreateBudgetCategoryRequestDto;
 import com.park.parkpro.dto.UpdateBudgetCategoryRequestDto;
-import com.park.parkpro.exception.UnauthorizedException;
+import com.park.parkpro.security.AuthenticatedUser;
 import com.park.parkpro.service.BudgetCategoryService;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.UUID;
@@ -27,13 +28,9 @@ public class BudgetCategoryController {
     public ResponseEntity<BudgetCategoryResponseDto> createBudgetCategory(
             @PathVariable UUID budgetId,
             @Valid @RequestBody CreateBudgetCategoryRequestDto request,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
+            AuthenticatedUser currentUser) {
         BudgetCategory category = budgetCategoryService.createBudgetCategory(budgetId, request.getName(), 
-            request.getPercentage(), request.getSpendingStrategy(), token);
+            request.getPercentage(), request.getSpendingStrategy(), currentUser);
         return ResponseEntity.ok(mapToDto(category));
     }
 
@@ -41,36 +38,27 @@ public class BudgetCategoryController {
     public ResponseEntity<BudgetCategoryResponseDto> updateBudgetCategory(
             @PathVariable UUID categoryId,
             @Valid @RequestBody UpdateBudgetCategoryRequestDto request,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
+            AuthenticatedUser currentUser) {
         BudgetCategory category = budgetCategoryService.updateBudgetCategory(categoryId, request.getAllocatedAmount(), 
-            request.getSpendingStrategy(), token);
+            request.getSpendingStrategy(), currentUser);
         return ResponseEntity.ok(mapToDto(category));
     }
 
     @GetMapping("/budgets/{budgetId}/categories")
     public ResponseEntity<List<BudgetCategoryResponseDto>> getBudgetCategoriesByBudget(
             @PathVariable UUID budgetId,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        List<BudgetCategory> categories = budgetCategoryService.getBudgetCategoriesByBudget(budgetId);
-        return ResponseEntity.ok(categories.stream().map(this::mapToDto).collect(Collectors.toList()));
+            AuthenticatedUser currentUser,
+            WebRequest request) {
+        return ConditionalGet.respond(request, budgetCategoryService.getBudgetCategoriesVersion(budgetId), () ->
+                budgetCategoryService.getBudgetCategoriesByBudget(budgetId).stream()
+                        .map(this::mapToDto).collect(Collectors.toList()));
     }
 
     @DeleteMapping("/budgets/{budgetId}/categories/{categoryId}")
     public ResponseEntity<Void> deleteBudgetCategory(
             @PathVariable UUID categoryId,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
-        budgetCategoryService.deleteBudgetCategory(categoryId, token);
+            AuthenticatedUser currentUser) {
+        budgetCategoryService.deleteBudgetCategory(categoryId, currentUser);
         return ResponseEntity.noContent().build();
     }
 
@@ -2,13 +2,15 @@ package com.park.parkpro.controller;
 
 import com.park.parkpro.domain.*;
 import com.park.parkpro.dto.*;
-import com.park.parkpro.exception.UnauthorizedException;
+import com.park.parkpro.dto.PageResponseDto;
+import com.park.parkpro.security.AuthenticatedUser;
 import com.park.parkpro.service.BudgetService;
 import com.park.parkpro.service.ExpenseService;
 import com.park.parkpro.service.WithdrawRequestService;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.UUID;
@@ -32,12 +34,8 @@ public class BudgetController {
     public ResponseEntity<BudgetResponseDto> createBudget(
             @PathVariable UUID parkId,
             @Valid @RequestBody CreateBudgetRequestDto request,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
-        Budget budget = budgetService.createBudget(parkId, request.getFiscalYear(), request.getTotalAmount(), "DRAFT", token);
+            AuthenticatedUser currentUser) {
+        Budget budget = budgetService.createBudget(parkId, request.getFiscalYear(), request.getTotalAmount(), "DRAFT", currentUser);
         return ResponseEntity.ok(mapToDto(budget));
     }
 
@@ -45,65 +43,47 @@ public class BudgetController {
     public ResponseEntity<BudgetResponseDto> updateBudget(
             @PathVariable UUID budgetId,
             @Valid @RequestBody CreateBudgetRequestDto request,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
-        Budget budget = budgetService.updateBudget(budgetId, request.getFiscalYear(), request.getTotalAmount(), request.getStatus(), token);
+            AuthenticatedUser currentUser) {
+        Budget budget = budgetService.updateBudget(budgetId, request.getFiscalYear(), request.getTotalAmount(), request.getStatus(), currentUser);
         return ResponseEntity.ok(mapToDto(budget));
     }
 
     @PostMapping("/budgets/{budgetId}/approve")
     public ResponseEntity<BudgetResponseDto> approveBudget(
             @PathVariable UUID budgetId,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
-        Budget budget = budgetService.approveBudget(budgetId, token);
+            AuthenticatedUser currentUser) {
+        Budget budget = budgetService.approveBudget(budgetId, currentUser);
         return ResponseEntity.ok(mapToDto(budget));
     }
 
     @PostMapping("/budgets/{budgetId}/reject")
     public ResponseEntity<BudgetResponseDto> rejectBudget(
             @PathVariable UUID budgetId,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
-        Budget budget = budgetService.rejectBudget(budgetId, token);
+            AuthenticatedUser currentUser) {
+        Budget budget = budgetService.rejectBudget(budgetId, currentUser);
         return ResponseEntity.ok(mapToDto(budget));
     }
 
     @GetMapping("/budgets/{budgetId}")
     public ResponseEntity<BudgetResponseDto> getBudget(
             @PathVariable UUID budgetId,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        Budget budget = budgetService.getBudgetById(budgetId);
-        return ResponseEntity.ok(mapToDto(budget));
+            AuthenticatedUser currentUser,
+            WebRequest request) {
+        return ConditionalGet.respond(request, budgetService.getBudgetVersion(budgetId),
+                () -> mapToDto(budgetService.getBudgetById(budgetId)));
     }
 
     @GetMapping("/parks/{parkId}/budgets")
-    public ResponseEntity<List<BudgetResponseDto>> getBudgetsByPark(@PathVariable UUID parkId) {
-        List<Budget> budgets = budgetService.getBudgetsByPark(parkId);
-        return ResponseEntity.ok(budgets.stream().map(this::mapToDto).collect(Collectors.toList()));
+    public ResponseEntity<List<BudgetResponseDto>> getBudgetsByPark(@PathVariable UUID parkId, WebRequest request) {
+        return ConditionalGet.respond(request, budgetService.getBudgetsVersionByPark(parkId), () ->
+                budgetService.getBudgetsByPark(parkId).stream().map(this::mapToDto).collect(Collectors.toList()));
     }
 
     @GetMapping("/budgets/by-fiscal-year/{fiscalYear}")
     public ResponseEntity<List<BudgetByFiscalYearResponseDto>> getBudgetsByFiscalYear(
             @PathVariable Integer fiscalYear,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
-        List<BudgetByFiscalYearResponseDto> budgets = budgetService.getBudgetsByFiscalYear(fiscalYear, token);
+            AuthenticatedUser currentUser) {
+        List<BudgetByFiscalYearResponseDto> budgets = budgetService.getBudgetsByFiscalYear(fiscalYear, currentUser);
         return ResponseEntity.ok(budgets);
     }
 
@@ -111,60 +91,44 @@ public class BudgetController {
     public ResponseEntity<ExpenseResponseDto> createExpense(
             @PathVariable UUID budgetId,
             @Valid @RequestBody CreateExpenseRequestDto request,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
-        Expense expense = expenseService.createExpense(request, token);
+            AuthenticatedUser currentUser) {
+        Expense expense = expenseService.createExpense(request, currentUser);
         return ResponseEntity.ok(mapToExpenseDto(expense));
     }
 
     @GetMapping("/parks/{parkId}/expenses")
-    public ResponseEntity<List<ExpenseResponseDto>> getExpensesByPark(
+    public ResponseEntity<PageResponseDto<ExpenseResponseDto>> getExpensesByPark(
             @PathVariable UUID parkId,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
-        List<Expense> expenses = expenseService.getExpensesByPark(parkId, token);
-        return ResponseEntity.ok(expenses.stream().map(this::mapToExpenseDto).collect(Collectors.toList()));
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            AuthenticatedUser currentUser) {
+        PageResponseDto<Expense> expenses = expenseService.getExpensesByPark(parkId, cursor, size, currentUser);
+        return ResponseEntity.ok(expenses.map(this::mapToExpenseDto));
     }
 
     @GetMapping("/budgets/{budgetId}/expenses")
-    public ResponseEntity<List<ExpenseResponseDto>> getExpensesByBudget(
+    public ResponseEntity<PageResponseDto<ExpenseResponseDto>> getExpensesByBudget(
             @PathVariable UUID budgetId,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
-        List<Expense> expenses = expenseService.getExpensesByBudget(budgetId, token);
-        return ResponseEntity.ok(expenses.stream().map(this::mapToExpenseDto).collect(Collectors.toList()));
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            AuthenticatedUser currentUser) {
+        PageResponseDto<Expense> expenses = expenseService.getExpensesByBudget(budgetId, cursor, size, currentUser);
+        return ResponseEntity.ok(expenses.map(this::mapToExpenseDto));
     }
 
     @GetMapping("/expenses/{expenseId}")
     public ResponseEntity<ExpenseResponseDto> getExpenseById(
             @PathVariable UUID expenseId,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
-        Expense expense = expenseService.getExpenseById(expenseId, token);
+            AuthenticatedUser currentUser) {
+        Expense expense = expenseService.getExpenseById(expenseId, currentUser);
         return ResponseEntity.ok(mapToExpenseDto(expense));
     }
 
     @GetMapping("/budgets/{budgetId}/expenses/my-submissions")
     public ResponseEntity<List<ExpenseResponseDto>> getMySubmittedExpenses(
             @PathVariable UUID budgetId,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
-        List<Expense> expenses = expenseService.getExpensesByCreatedBy(budgetId, token);
+            AuthenticatedUser currentUser) {
+        List<Expense> expenses = expenseService.getExpensesByCreatedBy(budgetId, currentUser);
         return ResponseEntity.ok(expenses.stream().map(this::mapToExpenseDto).collect(Collectors.toList()));
     }
 
@@ -172,12 +136,8 @@ public class BudgetController {
     public ResponseEntity<ExpenseResponseDto> updateExpense(
             @PathVariable UUID expenseId,
             @Valid @RequestBody UpdateExpenseRequestDto request,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
-        Expense expense = expenseService.updateExpense(expenseId, request, token);
+            AuthenticatedUser currentUser) {
+        Expense expense = expenseService.updateExpense(expenseId, request, currentUser);
         return ResponseEntity.ok(mapToExpenseDto(expense));
     }
 
@@ -185,36 +145,24 @@ public class BudgetController {
     public ResponseEntity<ExpenseResponseDto> updateExpenseAuditStatus(
             @PathVariable UUID expenseId,
             @Valid @RequestBody UpdateAuditStatusDto request,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
-        Expense expense = expenseService.updateAuditStatus(expenseId, request, token);
+            AuthenticatedUser currentUser) {
+        Expense expense = expenseService.updateAuditStatus(expenseId, request, currentUser);
         return ResponseEntity.ok(mapToExpenseDto(expense));
     }
 
     @DeleteMapping("/expenses/{expenseId}")
     public ResponseEntity<Void> deleteExpense(
             @PathVariable UUID expenseId,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
-        expenseService.deleteExpense(expenseId, token);
+            AuthenticatedUser currentUser) {
+        expenseService.deleteExpense(expenseId, currentUser);
         return ResponseEntity.noContent().build();
     }
 
     @GetMapping("/budgets/categories/{categoryId}/expenses")
     public ResponseEntity<List<ExpenseResponseDto>> getExpensesByBudgetCategory(
             @PathVariable UUID categoryId,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
-        List<Expense> expenses = expenseService.getExpensesByBudgetCategory(categoryId, token);
+            AuthenticatedUser currentUser) {
+        List<Expense> expenses = expenseService.getExpensesByBudgetCategory(categoryId, currentUser);
         return ResponseEntity.ok(expenses.stream().map(this::mapToExpenseDto).collect(Collectors.toList()));
     }
 
@@ -222,24 +170,16 @@ public class BudgetController {
     public ResponseEntity<WithdrawRequestResponseDto> createWithdrawRequest(
             @PathVariable UUID budgetId,
             @Valid @RequestBody CreateWithdrawRequestDto request,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
-        WithdrawRequest withdrawRequest = withdrawRequestService.createWithdrawRequest(budgetId, request, token);
+            AuthenticatedUser currentUser) {
+        WithdrawRequest withdrawRequest = withdrawRequestService.createWithdrawRequest(budgetId, request, currentUser);
         return ResponseEntity.ok(mapToWithdrawRequestDto(withdrawRequest));
     }
 
     @GetMapping("/budgets/withdraw-requests/{withdrawRequestId}/approve")
     public ResponseEntity<WithdrawRequestResponseDto> approveWithdrawRequest(
             @PathVariable UUID withdrawRequestId,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
-        WithdrawRequest withdrawRequest = withdrawRequestService.approveWithdrawRequest(withdrawRequestId, token);
+            AuthenticatedUser currentUser) {
+        WithdrawRequest withdrawRequest = withdrawRequestService.approveWithdrawRequest(withdrawRequestId, currentUser);
         return ResponseEntity.ok(mapToWithdrawRequestDto(withdrawRequest));
     }
 
@@ -247,48 +187,32 @@ public class BudgetController {
     public ResponseEntity<WithdrawRequestResponseDto> rejectWithdrawRequest(
             @PathVariable UUID withdrawRequestId,
             @RequestParam(required = false) String rejectionReason,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
-        WithdrawRequest withdrawRequest = withdrawRequestService.rejectWithdrawRequest(withdrawRequestId, rejectionReason, token);
+            AuthenticatedUser currentUser) {
+        WithdrawRequest withdrawRequest = withdrawRequestService.rejectWithdrawRequest(withdrawRequestId, rejectionReason, currentUser);
         return ResponseEntity.ok(mapToWithdrawRequestDto(withdrawRequest));
     }
 
     @GetMapping("/budgets/{budgetId}/withdraw-requests")
     public ResponseEntity<List<WithdrawRequestResponseDto>> getWithdrawRequestsByBudget(
             @PathVariable UUID budgetId,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
-        List<WithdrawRequest> requests = withdrawRequestService.getWithdrawRequestsByBudget(budgetId, token);
+            AuthenticatedUser currentUser) {
+        List<WithdrawRequest> requests = withdrawRequestService.getWithdrawRequestsByBudget(budgetId, currentUser);
         return ResponseEntity.ok(requests.stream().map(this::mapToWithdrawRequestDto).collect(Collectors.toList()));
     }
 
     @GetMapping("/budgets/{budgetId}/withdraw-requests/my-submissions")
     public ResponseEntity<List<WithdrawRequestResponseDto>> getMySubmittedWithdrawRequests(
             @PathVariable UUID budgetId,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
-        List<WithdrawRequest> requests = withdrawRequestService.getWithdrawRequestsByRequester(budgetId, token);
+            AuthenticatedUser currentUser) {
+        List<WithdrawRequest> requests = withdrawRequestService.getWithdrawRequestsByRequester(budgetId, currentUser);
         return ResponseEntity.ok(requests.stream().map(this::mapToWithdrawRequestDto).collect(Collectors.toList()));
     }
 
     @GetMapping("/withdraw-requests/{withdrawRequestId}")
     public ResponseEntity<WithdrawRequestResponseDto> getWithdrawRequestById(
             @PathVariable UUID withdrawRequestId,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
-        WithdrawRequest request = withdrawRequestService.getWithdrawRequestById(withdrawRequestId, token);
+            AuthenticatedUser currentUser) {
+        WithdrawRequest request = withdrawRequestService.getWithdrawRequestById(withdrawRequestId, currentUser);
         return ResponseEntity.ok(mapToWithdrawRequestDto(request));
     }
 
@@ -296,12 +220,8 @@ public class BudgetController {
     public ResponseEntity<WithdrawRequestResponseDto> updateWithdrawRequest(
             @PathVariable UUID withdrawRequestId,
             @Valid @RequestBody UpdateWithdrawRequestDto request,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
-        WithdrawRequest withdrawRequest = withdrawRequestService.updateWithdrawRequest(withdrawRequestId, request, token);
+            AuthenticatedUser currentUser) {
+        WithdrawRequest withdrawRequest = withdrawRequestService.updateWithdrawRequest(withdrawRequestId, request, currentUser);
         return ResponseEntity.ok(mapToWithdrawRequestDto(withdrawRequest));
     }
 
@@ -309,24 +229,16 @@ public class BudgetController {
     public ResponseEntity<WithdrawRequestResponseDto> updateWithdrawRequestAuditStatus(
             @PathVariable UUID withdrawRequestId,
             @Valid @RequestBody UpdateAuditStatusDto request,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
-        WithdrawRequest withdrawRequest = withdrawRequestService.updateAuditStatus(withdrawRequestId, request, token);
+            AuthenticatedUser currentUser) {
+        WithdrawRequest withdrawRequest = withdrawRequestService.updateAuditStatus(withdrawRequestId, request, currentUser);
         return ResponseEntity.ok(mapToWithdrawRequestDto(withdrawRequest));
     }
 
     @DeleteMapping("/withdraw-requests/{withdrawRequestId}")
     public ResponseEntity<Void> deleteWithdrawRequest(
             @PathVariable UUID withdrawRequestId,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
-        withdrawRequestService.deleteWithdrawRequest(withdrawRequestId, token);
+            AuthenticatedUser currentUser) {
+        withdrawRequestService.deleteWithdrawRequest(withdrawRequestId, currentUser);
         return ResponseEntity.noContent().build();
     }
 
@@ -334,11 +246,7 @@ public class BudgetController {
     public ResponseEntity<List<WithdrawRequestResponseDto>> getWithdrawRequestsByBudgetCategory(
             @PathVariable UUID budgetId,
             @PathVariable UUID categoryId,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
+            AuthenticatedUser currentUser) {
         List<WithdrawRequest> requests = withdrawRequestService.getWithdrawRequestsByBudgetCategory(categoryId);
         return ResponseEntity.ok(requests.stream().map(this::mapToWithdrawRequestDto).collect(Collectors.toList()));
     }
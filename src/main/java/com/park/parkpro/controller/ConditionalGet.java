@@ -0,0 +1,41 @@
+package com.park.parkpro.controller;
+
+import com.park.parkpro.dto.VersionStamp;
+import com.park.parkpro.service.CatalogCache;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+/**
+ * Answers a GET with 304 when the client's {@code If-None-Match} matches the current version, and
+ * only loads the body otherwise. Responses are marked {@code no-cache} so clients keep them and
+ * revalidate instead of the default {@code no-store}. Public catalog entries are served the same way
+ * from {@link CatalogCache}.
+ */
+final class ConditionalGet {
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ConditionalGet() {
+    }
+
+    // checkNotModified writes the ETag header itself, so the entity must not set it again
+    static <T> ResponseEntity<T> respond(WebRequest request, VersionStamp version, Supplier<T> body) {
+        if (request.checkNotModified(version.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).build();
+        }
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(body.get());
+    }
+
+    // Spring answers 304 itself when the request's If-None-Match or If-Modified-Since matches.
+    // Catalog entries are the same for every anonymous user, so shared caches may keep them too.
+    static <T> ResponseEntity<T> cached(CatalogCache.Entry<T> entry) {
+        return ResponseEntity.ok()
+                .eTag(entry.etag())
+                .lastModified(entry.lastModified())
+                .cacheControl(CacheControl.noCache())
+                .body(entry.body());
+    }
+}
\ No newline at end of file
@@ -1,10 +1,11 @@
 package com.park.parkpro.controller;
 
 import com.park.parkpro.domain.Donation;
+import com.park.parkpro.dto.AmountByStatusDto;
 import com.park.parkpro.dto.CreateDonationRequestDto;
 import com.park.parkpro.dto.DonationResponseDto;
 import com.park.parkpro.dto.OutstandingDonorResponseDto;
-import com.park.parkpro.exception.UnauthorizedException;
+import com.park.parkpro.security.AuthenticatedUser;
 import com.park.parkpro.service.DonationService;
 import com.stripe.exception.StripeException;
 import jakarta.validation.Valid;
@@ -12,6 +13,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.net.URI;
 import java.util.List;
@@ -33,17 +35,13 @@ public class DonationController {
     public ResponseEntity<DonationResponseDto> createDonation(
             @Valid @RequestBody CreateDonationRequestDto request,
             @RequestParam String paymentMethodId,
-            @RequestHeader("Authorization") String authHeader) throws StripeException {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
+            AuthenticatedUser currentUser) throws StripeException {
         Donation donation = donationService.createDonation(
                 request.getParkId(),
                 request.getAmount().toString(),
                 request.getMotiveForDonation(),
                 paymentMethodId,
-                token
+                currentUser
         );
         return ResponseEntity.created(URI.create("/api/donations/" + donation.getId()))
                 .body(mapToDonationDto(donation));
@@ -52,23 +50,15 @@ public class DonationController {
     @PostMapping("/donations/{donationId}/cancel")
     public ResponseEntity<DonationResponseDto> cancelDonation(
             @PathVariable UUID donationId,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
-        Donation donation = donationService.cancelDonation(donationId, token);
+            AuthenticatedUser currentUser) {
+        Donation donation = donationService.cancelDonation(donationId, currentUser);
         return ResponseEntity.ok(mapToDonationDto(donation));
     }
 
     @GetMapping("/donations/my")
     public ResponseEntity<List<DonationResponseDto>> getMyDonations(
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
-        List<Donation> donations = donationService.getDonationsByDonor(token);
+            AuthenticatedUser currentUser) {
+        List<Donation> donations = donationService.getDonationsByDonor(currentUser);
         return ResponseEntity.ok(donations.stream().map(this::mapToDonationDto).collect(Collectors.toList()));
     }
 
@@ -76,14 +66,20 @@ public class DonationController {
     public ResponseEntity<List<DonationResponseDto>> getDonationsByParkAndFiscalYear(
             @PathVariable UUID parkId,
             @PathVariable int fiscalYear,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
+            AuthenticatedUser currentUser,
+            WebRequest request) {
         LOGGER.info("Fetching donations for parkId: " + parkId + ", fiscalYear: " + fiscalYear);
-        List<Donation> donations = donationService.getDonationsByParkAndFiscalYear(parkId, fiscalYear, token);
-        return ResponseEntity.ok(donations.stream().map(this::mapToDonationDto).collect(Collectors.toList()));
+        return ConditionalGet.respond(request, donationService.getDonationsVersionByParkAndFiscalYear(parkId, fiscalYear, currentUser), () ->
+                donationService.getDonationsByParkAndFiscalYear(parkId, fiscalYear, currentUser).stream()
+                        .map(this::mapToDonationDto).collect(Collectors.toList()));
+    }
+
+    @GetMapping("/parks/{parkId}/donations/fiscal-year/{fiscalYear}/totals")
+    public ResponseEntity<List<AmountByStatusDto>> getDonationTotalsByParkAndFiscalYear(
+            @PathVariable UUID parkId,
+            @PathVariable int fiscalYear,
+            AuthenticatedUser currentUser) {
+        return ResponseEntity.ok(donationService.getDonationTotalsByParkAndFiscalYear(parkId, fiscalYear, currentUser));
     }
 
     @GetMapping("/parks/{parkId}/top-donors")
@@ -96,13 +92,11 @@ public class DonationController {
     @GetMapping("/parks/{parkId}/donations")
     public ResponseEntity<List<DonationResponseDto>> getDonationsByPark(
             @PathVariable UUID parkId,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
-        List<Donation> donations = donationService.getDonationsByPark(parkId, token);
-        return ResponseEntity.ok(donations.stream().map(this::mapToDonationDto).collect(Collectors.toList()));
+            AuthenticatedUser currentUser,
+            WebRequest request) {
+        return ConditionalGet.respond(request, donationService.getDonationsVersionByPark(parkId, currentUser), () ->
+                donationService.getDonationsByPark(parkId, currentUser).stream()
+                        .map(this::mapToDonationDto).collect(Collectors.toList()));
     }
 
     @GetMapping("/donations/{donationId}")
@@ -0,0 +1,79 @@
+package com.park.parkpro.controller;
+
+import com.park.parkpro.security.AuthenticatedUser;
+import com.park.parkpro.service.ExportFormat;
+import com.park.parkpro.service.ExportService;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/parks/{parkId}/exports")
+public class ExportController {
+    private final ExportService exportService;
+
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    @GetMapping("/expenses")
+    public ResponseEntity<StreamingResponseBody> exportExpenses(
+            @PathVariable UUID parkId,
+            @RequestParam Integer fiscalYear,
+            @RequestParam(defaultValue = "ndjson") String format,
+            AuthenticatedUser currentUser) {
+        ExportFormat exportFormat = ExportFormat.fromParam(format);
+        exportService.checkAccess(parkId, currentUser);
+        return stream("expenses-" + fiscalYear, exportFormat,
+                out -> exportService.writeExpenses(parkId, fiscalYear, exportFormat, out));
+    }
+
+    @GetMapping("/withdraw-requests")
+    public ResponseEntity<StreamingResponseBody> exportWithdrawRequests(
+            @PathVariable UUID parkId,
+            @RequestParam Integer fiscalYear,
+            @RequestParam(defaultValue = "ndjson") String format,
+            AuthenticatedUser currentUser) {
+        ExportFormat exportFormat = ExportFormat.fromParam(format);
+        exportService.checkAccess(parkId, currentUser);
+        return stream("withdraw-requests-" + fiscalYear, exportFormat,
+                out -> exportService.writeWithdrawRequests(parkId, fiscalYear, exportFormat, out));
+    }
+
+    @GetMapping("/bookings")
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+            @PathVariable UUID parkId,
+            @RequestParam Integer fiscalYear,
+            @RequestParam(defaultValue = "ndjson") String format,
+            AuthenticatedUser currentUser) {
+        ExportFormat exportFormat = ExportFormat.fromParam(format);
+        exportService.checkAccess(parkId, currentUser);
+        return stream("bookings-" + fiscalYear, exportFormat,
+                out -> exportService.writeBookings(parkId, fiscalYear, exportFormat, out));
+    }
+
+    @GetMapping("/donations")
+    public ResponseEntity<StreamingResponseBody> exportDonations(
+            @PathVariable UUID parkId,
+            @RequestParam Integer fiscalYear,
+            @RequestParam(defaultValue = "ndjson") String format,
+            AuthenticatedUser currentUser) {
+        ExportFormat exportFormat = ExportFormat.fromParam(format);
+        exportService.checkAccess(parkId, currentUser);
+        return stream("donations-" + fiscalYear, exportFormat,
+                out -> exportService.writeDonations(parkId, fiscalYear, exportFormat, out));
+    }
+
+    private ResponseEntity<StreamingResponseBody> stream(String fileName, ExportFormat format, StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getMediaType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(fileName + "." + format.getExtension()).build().toString())
+                .body(body);
+    }
+}
@@ -3,7 +3,8 @@ package com.park.parkpro.controller;
 import com.park.parkpro.domain.FundingRequest;
 import com.park.parkpro.dto.CreateFundingRequestDto;
 import com.park.parkpro.dto.FundingRequestResponseDto;
-import com.park.parkpro.exception.UnauthorizedException;
+import com.park.parkpro.dto.PageResponseDto;
+import com.park.parkpro.security.AuthenticatedUser;
 import com.park.parkpro.service.FundingRequestService;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
@@ -30,15 +31,11 @@ public class FundingRequestController {
     public ResponseEntity<FundingRequestResponseDto> createFundingRequest(
             @PathVariable UUID parkId,
             @Valid @RequestBody CreateFundingRequestDto request,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
+            AuthenticatedUser currentUser) {
         LOGGER.info("Creating funding request for parkId: " + parkId);
         FundingRequest fundingRequest = fundingRequestService.createFundingRequest(
                 parkId, request.getRequestedAmount(), request.getRequestType(),
-                request.getReason(), request.getBudgetId(), request.getBudgetCategoryId(), token);
+                request.getReason(), request.getBudgetId(), request.getBudgetCategoryId(), currentUser);
         return ResponseEntity.created(URI.create("/api/funding-requests/" + fundingRequest.getId()))
                 .body(mapToFundingRequestDto(fundingRequest));
     }
@@ -47,13 +44,9 @@ public class FundingRequestController {
     public ResponseEntity<FundingRequestResponseDto> approveFundingRequest(
             @PathVariable UUID fundingRequestId,
             @RequestParam BigDecimal approvedAmount,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
+            AuthenticatedUser currentUser) {
         LOGGER.info("Approving funding request: " + fundingRequestId);
-        FundingRequest fundingRequest = fundingRequestService.approveFundingRequest(fundingRequestId, approvedAmount, token);
+        FundingRequest fundingRequest = fundingRequestService.approveFundingRequest(fundingRequestId, approvedAmount, currentUser);
         return ResponseEntity.ok(mapToFundingRequestDto(fundingRequest));
     }
 
@@ -61,23 +54,16 @@ public class FundingRequestController {
     public ResponseEntity<FundingRequestResponseDto> rejectFundingRequest(
             @PathVariable UUID fundingRequestId,
             @RequestParam(required = false) String rejectionReason,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
+            AuthenticatedUser currentUser) {
         LOGGER.info("Rejecting funding request: " + fundingRequestId);
-        FundingRequest fundingRequest = fundingRequestService.rejectFundingRequest(fundingRequestId, rejectionReason, token);
+        FundingRequest fundingRequest = fundingRequestService.rejectFundingRequest(fundingRequestId, rejectionReason, currentUser);
         return ResponseEntity.ok(mapToFundingRequestDto(fundingRequest));
     }
 
     @GetMapping("/funding-requests/{fundingRequestId}")
     public ResponseEntity<FundingRequestResponseDto> getFundingRequestById(
             @PathVariable UUID fundingRequestId,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
+            AuthenticatedUser currentUser) {
         LOGGER.info("Fetching funding request: " + fundingRequestId);
         FundingRequest fundingRequest = fundingRequestService.getFundingRequestById(fundingRequestId);
         return ResponseEntity.ok(mapToFundingRequestDto(fundingRequest));
@@ -87,28 +73,20 @@ public class FundingRequestController {
     public ResponseEntity<FundingRequestResponseDto> updateFundingRequest(
             @PathVariable UUID fundingRequestId,
             @Valid @RequestBody CreateFundingRequestDto request,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
+            AuthenticatedUser currentUser) {
         LOGGER.info("Updating funding request: " + fundingRequestId);
         FundingRequest fundingRequest = fundingRequestService.updateFundingRequest(
                 fundingRequestId, request.getRequestedAmount(), request.getRequestType(),
-                request.getReason(), request.getBudgetId(), request.getBudgetCategoryId(), token);
+                request.getReason(), request.getBudgetId(), request.getBudgetCategoryId(), currentUser);
         return ResponseEntity.ok(mapToFundingRequestDto(fundingRequest));
     }
 
     @DeleteMapping("/funding-requests/{fundingRequestId}")
     public ResponseEntity<Void> deleteFundingRequest(
             @PathVariable UUID fundingRequestId,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
+            AuthenticatedUser currentUser) {
         LOGGER.info("Deleting funding request: " + fundingRequestId);
-        fundingRequestService.deleteFundingRequest(fundingRequestId, token);
+        fundingRequestService.deleteFundingRequest(fundingRequestId, currentUser);
         return ResponseEntity.noContent().build();
     }
 
@@ -116,13 +94,9 @@ public class FundingRequestController {
     public ResponseEntity<List<FundingRequestResponseDto>> getFundingRequestsByPark(
             @PathVariable UUID parkId,
             @RequestParam(required = false) Integer fiscalYear,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
+            AuthenticatedUser currentUser) {
         LOGGER.info("Fetching funding requests for parkId: " + parkId + ", fiscalYear: " + (fiscalYear != null ? fiscalYear : "current"));
-        List<FundingRequest> fundingRequests = fundingRequestService.getFundingRequestsByPark(parkId, fiscalYear, token);
+        List<FundingRequest> fundingRequests = fundingRequestService.getFundingRequestsByPark(parkId, fiscalYear, currentUser);
         return ResponseEntity.ok(fundingRequests.stream()
                 .map(this::mapToFundingRequestDto)
                 .collect(Collectors.toList()));
@@ -131,43 +105,32 @@ public class FundingRequestController {
     @GetMapping("/budgets/{budgetId}/funding-requests")
     public ResponseEntity<List<FundingRequestResponseDto>> getFundingRequestsByBudget(
             @PathVariable UUID budgetId,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
+            AuthenticatedUser currentUser) {
         LOGGER.info("Fetching funding requests for budgetId: " + budgetId);
-        List<FundingRequest> fundingRequests = fundingRequestService.getFundingRequestsByBudget(budgetId, token);
+        List<FundingRequest> fundingRequests = fundingRequestService.getFundingRequestsByBudget(budgetId, currentUser);
         return ResponseEntity.ok(fundingRequests.stream()
                 .map(this::mapToFundingRequestDto)
                 .collect(Collectors.toList()));
     }
 
     @GetMapping("/funding-requests")
-    public ResponseEntity<List<FundingRequestResponseDto>> getAllFundingRequests(
+    public ResponseEntity<PageResponseDto<FundingRequestResponseDto>> getAllFundingRequests(
             @RequestParam(required = false) Integer fiscalYear,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            AuthenticatedUser currentUser) {
         LOGGER.info("Fetching all funding requests" + (fiscalYear != null ? " for fiscalYear: " + fiscalYear : ""));
-        List<FundingRequest> fundingRequests = fundingRequestService.getAllFundingRequests(fiscalYear, token);
-        return ResponseEntity.ok(fundingRequests.stream()
-                .map(this::mapToFundingRequestDto)
-                .collect(Collectors.toList()));
+        PageResponseDto<FundingRequest> fundingRequests = fundingRequestService.getAllFundingRequests(
+                fiscalYear, cursor, size, currentUser);
+        return ResponseEntity.ok(fundingRequests.map(this::mapToFundingRequestDto));
     }
 
     @GetMapping("/funding-requests/fiscal-year/{fiscalYear}")
     public ResponseEntity<List<FundingRequestResponseDto>> getFundingRequestsByFiscalYear(
             @PathVariable int fiscalYear,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
+            AuthenticatedUser currentUser) {
         LOGGER.info("Fetching funding requests for fiscalYear: " + fiscalYear);
-        List<FundingRequest> fundingRequests = fundingRequestService.getFundingRequestsByFiscalYear(fiscalYear, token);
+        List<FundingRequest> fundingRequests = fundingRequestService.getFundingRequestsByFiscalYear(fiscalYear, currentUser);
         return ResponseEntity.ok(fundingRequests.stream()
                 .map(this::mapToFundingRequestDto)
                 .collect(Collectors.toList()));
@@ -4,11 +4,12 @@ import com.park.parkpro.domain.IncomeStream;
 import com.park.parkpro.dto.IncomeStreamResponseDto;
 import com.park.parkpro.dto.CreateIncomeStreamRequestDto;
 import com.park.parkpro.dto.UpdateIncomeStreamRequestDto;
-import com.park.parkpro.exception.UnauthorizedException;
+import com.park.parkpro.security.AuthenticatedUser;
 import com.park.parkpro.service.IncomeStreamService;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.UUID;
@@ -27,13 +28,9 @@ public class IncomeStreamController {
     public ResponseEntity<IncomeStreamResponseDto> createIncomeStream(
             @PathVariable UUID budgetId,
             @Valid @RequestBody CreateIncomeStreamRequestDto request,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
+            AuthenticatedUser currentUser) {
         IncomeStream incomeStream = incomeStreamService.createIncomeStream(
-                budgetId, request.getName(), request.getPercentage(), request.getParkId(), request.getTotalContribution(), token);
+                budgetId, request.getName(), request.getPercentage(), request.getParkId(), request.getTotalContribution(), currentUser);
         return ResponseEntity.ok(mapToDto(incomeStream));
     }
 
@@ -41,48 +38,38 @@ public class IncomeStreamController {
     public ResponseEntity<IncomeStreamResponseDto> updateIncomeStream(
             @PathVariable UUID incomeStreamId,
             @Valid @RequestBody UpdateIncomeStreamRequestDto request,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
+            AuthenticatedUser currentUser) {
         IncomeStream incomeStream = incomeStreamService.updateIncomeStream(
-                incomeStreamId, request.getName(), request.getPercentage(), request.getTotalContribution(), token);
+                incomeStreamId, request.getName(), request.getPercentage(), request.getTotalContribution(), currentUser);
         return ResponseEntity.ok(mapToDto(incomeStream));
     }
 
     @GetMapping("/budgets/{budgetId}/income-streams")
     public ResponseEntity<List<IncomeStreamResponseDto>> getIncomeStreamsByBudget(
             @PathVariable UUID budgetId,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        List<IncomeStream> incomeStreams = incomeStreamService.getIncomeStreamsByBudget(budgetId);
-        return ResponseEntity.ok(incomeStreams.stream().map(this::mapToDto).collect(Collectors.toList()));
+            AuthenticatedUser currentUser,
+            WebRequest request) {
+        return ConditionalGet.respond(request, incomeStreamService.getIncomeStreamsVersionByBudget(budgetId), () ->
+                incomeStreamService.getIncomeStreamsByBudget(budgetId).stream()
+                        .map(this::mapToDto).collect(Collectors.toList()));
     }
 
     @GetMapping("/parks/{parkId}/income-streams/fiscal-year/{fiscalYear}")
     public ResponseEntity<List<IncomeStreamResponseDto>> getIncomeStreamsByParkAndFiscalYear(
             @PathVariable UUID parkId,
             @PathVariable Integer fiscalYear,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        List<IncomeStream> incomeStreams = incomeStreamService.getIncomeStreamsByParkAndFiscalYear(parkId, fiscalYear);
-        return ResponseEntity.ok(incomeStreams.stream().map(this::mapToDto).collect(Collectors.toList()));
+            AuthenticatedUser currentUser,
+            WebRequest request) {
+        return ConditionalGet.respond(request, incomeStreamService.getIncomeStreamsVersionByParkAndFiscalYear(parkId, fiscalYear), () ->
+                incomeStreamService.getIncomeStreamsByParkAndFiscalYear(parkId, fiscalYear).stream()
+                        .map(this::mapToDto).collect(Collectors.toList()));
     }
 
     @DeleteMapping("/income-streams/{incomeStreamId}")
     public ResponseEntity<Void> deleteIncomeStream(
             @PathVariable UUID incomeStreamId,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
-        incomeStreamService.deleteIncomeStream(incomeStreamId, token);
+            AuthenticatedUser currentUser) {
+        incomeStreamService.deleteIncomeStream(incomeStreamId, currentUser);
         return ResponseEntity.noContent().build();
     }
 
@@ -4,7 +4,7 @@ import com.park.parkpro.domain.OpportunityApplication;
 import com.park.parkpro.dto.CreateOpportunityApplicationRequestDto;
 import com.park.parkpro.dto.OpportunityApplicationResponseDto;
 import com.park.parkpro.dto.UpdateOpportunityApplicationStatusRequestDto;
-import com.park.parkpro.exception.UnauthorizedException;
+import com.park.parkpro.security.AuthenticatedUser;
 import com.park.parkpro.service.OpportunityApplicationService;
 import com.park.parkpro.service.OpportunityService;
 import jakarta.validation.Valid;
@@ -30,14 +30,10 @@ public class OpportunityApplicationController {
     @PostMapping
     public ResponseEntity<OpportunityApplicationResponseDto> createApplication(
             @Valid @RequestBody CreateOpportunityApplicationRequestDto request,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
+            AuthenticatedUser currentUser) {
         OpportunityApplication application = applicationService.createApplication(
                 request.getOpportunityId(), request.getFirstName(), request.getLastName(),
-                request.getEmail(), request.getApplicationLetterUrl(), token);
+                request.getEmail(), request.getApplicationLetterUrl(), currentUser);
         return ResponseEntity.created(URI.create("/api/opportunity-applications/" + application.getId()))
                 .body(mapToApplicationDto(application));
     }
@@ -46,25 +42,17 @@ public class OpportunityApplicationController {
     public ResponseEntity<OpportunityApplicationResponseDto> updateApplicationStatus(
             @PathVariable UUID applicationId,
             @Valid @RequestBody UpdateOpportunityApplicationStatusRequestDto request,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
+            AuthenticatedUser currentUser) {
         OpportunityApplication application = applicationService.updateApplicationStatus(
-                applicationId, request.getStatus(), request.getApprovalMessage(), request.getRejectionReason(), token);
+                applicationId, request.getStatus(), request.getApprovalMessage(), request.getRejectionReason(), currentUser);
         return ResponseEntity.ok(mapToApplicationDto(application));
     }
 
     @GetMapping("/opportunity/{opportunityId}")
     public ResponseEntity<List<OpportunityApplicationResponseDto>> getApplicationsByOpportunity(
             @PathVariable UUID opportunityId,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
-        List<OpportunityApplication> applications = applicationService.getApplicationsByOpportunity(opportunityId, token);
+            AuthenticatedUser currentUser) {
+        List<OpportunityApplication> applications = applicationService.getApplicationsByOpportunity(opportunityId, currentUser);
         return ResponseEntity.ok(applications.stream().map(this::mapToApplicationDto).collect(Collectors.toList()));
     }
 
@@ -76,35 +64,23 @@ public class OpportunityApplicationController {
 
     @GetMapping("/my")
     public ResponseEntity<List<OpportunityApplicationResponseDto>> getMyApplications(
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
-        List<OpportunityApplication> applications = applicationService.getMyApplications(token);
+            AuthenticatedUser currentUser) {
+        List<OpportunityApplication> applications = applicationService.getMyApplications(currentUser);
         return ResponseEntity.ok(applications.stream().map(this::mapToApplicationDto).collect(Collectors.toList()));
     }
 
     @GetMapping
     public ResponseEntity<List<OpportunityApplicationResponseDto>> getAllApplications(
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
-        List<OpportunityApplication> applications = applicationService.getAllApplications(token);
+            AuthenticatedUser currentUser) {
+        List<OpportunityApplication> applications = applicationService.getAllApplications(currentUser);
         return ResponseEntity.ok(applications.stream().map(this::mapToApplicationDto).collect(Collectors.toList()));
     }
 
     @GetMapping("/park/{parkId}")
     public ResponseEntity<List<OpportunityApplicationResponseDto>> getApplicationsByPark(
             @PathVariable UUID parkId,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
-        List<OpportunityApplication> applications = applicationService.getApplicationsByPark(parkId, token);
+            AuthenticatedUser currentUser) {
+        List<OpportunityApplication> applications = applicationService.getApplicationsByPark(parkId, currentUser);
         return ResponseEntity.ok(applications.stream().map(this::mapToApplicationDto).collect(Collectors.toList()));
     }
 
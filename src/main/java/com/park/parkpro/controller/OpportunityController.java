@@ -4,10 +4,13 @@ package com.park.parkpro.controller;
 import com.park.parkpro.domain.Opportunity;
 import com.park.parkpro.dto.CreateOpportunityRequestDto;
 import com.park.parkpro.dto.OpportunityResponseDto;
-import com.park.parkpro.exception.UnauthorizedException;
+import com.park.parkpro.dto.PageResponseDto;
+import com.park.parkpro.security.AuthenticatedUser;
+import com.park.parkpro.service.CatalogCache;
 import com.park.parkpro.service.OpportunityService;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
 import org.springframework.web.bind.annotation.*;
 
 import java.net.URI;
@@ -19,24 +22,22 @@ import java.util.stream.Collectors;
 @RequestMapping("/api")
 public class OpportunityController {
     private final OpportunityService opportunityService;
+    private final CatalogCache catalogCache;
 
-    public OpportunityController(OpportunityService opportunityService) {
+    public OpportunityController(OpportunityService opportunityService, CatalogCache catalogCache) {
         this.opportunityService = opportunityService;
+        this.catalogCache = catalogCache;
     }
 
     @PostMapping("/opportunities")
     public ResponseEntity<OpportunityResponseDto> createOpportunity(
             @Valid @RequestBody CreateOpportunityRequestDto request,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
+            AuthenticatedUser currentUser) {
         System.out.println("Request: " + request);
         Opportunity opportunity = opportunityService.createOpportunity(
                 request.getTitle(), request.getDescription(), request.getDetails(),
                 request.getType(), request.getStatus(), request.getVisibility(),
-                request.getParkId(), token);
+                request.getParkId(), currentUser);
         return ResponseEntity.created(URI.create("/api/opportunities/" + opportunity.getId()))
                 .body(mapToOpportunityDto(opportunity));
     }
@@ -45,54 +46,59 @@ public class OpportunityController {
     public ResponseEntity<OpportunityResponseDto> updateOpportunity(
             @PathVariable UUID opportunityId,
             @Valid @RequestBody CreateOpportunityRequestDto request,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
+            AuthenticatedUser currentUser) {
         Opportunity opportunity = opportunityService.updateOpportunity(
                 opportunityId, request.getTitle(), request.getDescription(), request.getDetails(),
-                request.getStatus(), request.getVisibility(), request.getParkId(), token);
+                request.getStatus(), request.getVisibility(), request.getParkId(), currentUser);
         return ResponseEntity.ok(mapToOpportunityDto(opportunity));
     }
 
     @GetMapping("/opportunities")
-    public ResponseEntity<List<OpportunityResponseDto>> getAllOpportunities(
-            @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        String token = (authHeader != null && authHeader.startsWith("Bearer ")) ? authHeader.substring(7) : null;
-        List<Opportunity> opportunities = opportunityService.getAllOpportunities(token);
-        return ResponseEntity.ok(opportunities.stream().map(this::mapToOpportunityDto).collect(Collectors.toList()));
+    public ResponseEntity<PageResponseDto<OpportunityResponseDto>> getAllOpportunities(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @Nullable AuthenticatedUser currentUser) {
+        if (isPublicView(currentUser)) {
+            return ConditionalGet.cached(catalogCache.publicOpportunities(cursor, size, () -> opportunityService
+                    .getAllOpportunities(cursor, size, currentUser).map(this::mapToOpportunityDto)));
+        }
+        PageResponseDto<Opportunity> opportunities = opportunityService.getAllOpportunities(cursor, size, currentUser);
+        return ResponseEntity.ok(opportunities.map(this::mapToOpportunityDto));
     }
 
     @GetMapping("/opportunities/{opportunityId}")
     public ResponseEntity<OpportunityResponseDto> getOpportunityById(
             @PathVariable UUID opportunityId,
-            @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        String token = (authHeader != null && authHeader.startsWith("Bearer ")) ? authHeader.substring(7) : null;
-        Opportunity opportunity = opportunityService.getOpportunityById(opportunityId, token);
+            @Nullable AuthenticatedUser currentUser) {
+        Opportunity opportunity = opportunityService.getOpportunityById(opportunityId, currentUser);
         return ResponseEntity.ok(mapToOpportunityDto(opportunity));
     }
 
     @GetMapping("/opportunities/my")
     public ResponseEntity<List<OpportunityResponseDto>> getMyOpportunities(
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
-        List<Opportunity> opportunities = opportunityService.getOpportunitiesByCreator(token);
+            AuthenticatedUser currentUser) {
+        List<Opportunity> opportunities = opportunityService.getOpportunitiesByCreator(currentUser);
         return ResponseEntity.ok(opportunities.stream().map(this::mapToOpportunityDto).collect(Collectors.toList()));
     }
 
     @GetMapping("/park/{parkId}/opportunities")
     public ResponseEntity<List<OpportunityResponseDto>> getOpportunitiesByParkId(
             @PathVariable UUID parkId,
-            @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        String token = (authHeader != null && authHeader.startsWith("Bearer ")) ? authHeader.substring(7) : null;
-        List<Opportunity> opportunities = opportunityService.getOpportunitiesByParkId(parkId, token);
+            @Nullable AuthenticatedUser currentUser) {
+        if (isPublicView(currentUser)) {
+            return ConditionalGet.cached(catalogCache.publicOpportunitiesByPark(parkId, () -> opportunityService
+                    .getOpportunitiesByParkId(parkId, currentUser).stream()
+                    .map(this::mapToOpportunityDto).collect(Collectors.toList())));
+        }
+        List<Opportunity> opportunities = opportunityService.getOpportunitiesByParkId(parkId, currentUser);
         return ResponseEntity.ok(opportunities.stream().map(this::mapToOpportunityDto).collect(Collectors.toList()));
     }
 
+    // Everyone but ADMIN and PARK_MANAGER sees the same PUBLIC opportunities, so only that view is cached
+    private boolean isPublicView(@Nullable AuthenticatedUser currentUser) {
+        return currentUser == null || !currentUser.hasAnyRole(List.of("ADMIN", "PARK_MANAGER"));
+    }
+
     private OpportunityResponseDto mapToOpportunityDto(Opportunity opportunity) {
         return new OpportunityResponseDto(
                 opportunity.getId(), opportunity.getTitle(), opportunity.getDescription(), opportunity.getDetails(),
@@ -2,9 +2,9 @@ package com.park.parkpro.controller;
 
 import com.park.parkpro.domain.User;
 import com.park.parkpro.dto.*;
-import com.park.parkpro.exception.UnauthorizedException;
+import com.park.parkpro.dto.PageResponseDto;
 import com.park.parkpro.exception.BadRequestException;
-import com.park.parkpro.security.JwtUtil;
+import com.park.parkpro.security.AuthenticatedUser;
 import com.park.parkpro.service.UserService;
 import com.park.parkpro.service.AuthService;
 import jakarta.validation.Valid;
@@ -23,12 +23,10 @@ public class UserController {
 
     private final UserService userService;
     private final AuthService authService;
-    private final JwtUtil jwtUtil;
 
-    public UserController(UserService userService, AuthService authService, JwtUtil jwtUtil) {
+    public UserController(UserService userService, AuthService authService) {
         this.userService = userService;
         this.authService = authService;
-        this.jwtUtil = jwtUtil;
     }
 
     @PostMapping("/users")
@@ -87,20 +85,15 @@ public class UserController {
     }
 
     @GetMapping("/users")
-    public ResponseEntity<List<UserResponseDto>> getUsers(
+    public ResponseEntity<PageResponseDto<UserResponseDto>> getUsers(
             @RequestParam(required = false) String role,
-            @RequestParam(required = false) UUID parkId) {
-        List<UserResponseDto> users;
+            @RequestParam(required = false) UUID parkId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
         if (role != null && parkId != null) {
             throw new BadRequestException("Cannot filter by both role and parkId simultaneously");
-        } else if (role != null) {
-            users = userService.getUsersByRole(role).stream().map(this::mapToUserResponseDto).collect(Collectors.toList());
-        } else if (parkId != null) {
-            users = userService.getUsersByParkId(parkId).stream().map(this::mapToUserResponseDto).collect(Collectors.toList());
-        } else {
-            users = userService.getAllUsers().stream().map(this::mapToUserResponseDto).collect(Collectors.toList());
         }
-        return ResponseEntity.ok(users);
+        return ResponseEntity.ok(userService.getUsers(role, parkId, cursor, size).map(this::mapToUserResponseDto));
     }
 
     @GetMapping("/users/{userId}")
@@ -112,26 +105,14 @@ public class UserController {
     @GetMapping("/parks/{parkId}/users")
     public ResponseEntity<List<UserResponseDto>> getUsersByPark(
             @PathVariable UUID parkId,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
+            AuthenticatedUser currentUser) {
         List<User> users = userService.getUsersByParkId(parkId);
         return ResponseEntity.ok(users.stream().map(this::mapToUserResponseDto).collect(Collectors.toList()));
     }
 
     @GetMapping("/users/me")
-    public ResponseEntity<UserResponseDto> getCurrentUser(@RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
-        if (!jwtUtil.validateToken(token)) {
-            throw new UnauthorizedException("Invalid or expired JWT token");
-        }
-        String email = jwtUtil.getEmailFromToken(token);
-        User user = userService.getUserByEmail(email);
+    public ResponseEntity<UserResponseDto> getCurrentUser(AuthenticatedUser currentUser) {
+        User user = userService.getUserById(currentUser.id());
         return ResponseEntity.ok(mapToUserResponseDto(user));
     }
 
@@ -139,26 +120,18 @@ public class UserController {
     public ResponseEntity<UserResponseDto> updateUserProfile(
             @PathVariable UUID userId,
             @Valid @RequestBody UpdateUserProfileRequestDto request,
-            @RequestHeader("Authorization") String authHeader) {
+            AuthenticatedUser currentUser) {
         System.out.println(userId);
         System.out.println(request);
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
-        User updatedUser = userService.updateUserProfile(userId, request, token);
+        User updatedUser = userService.updateUserProfile(userId, request, currentUser);
         return ResponseEntity.ok(mapToUserResponseDto(updatedUser));
     }
 
     @DeleteMapping("/users/{userId}")
     public ResponseEntity<Void> deleteUser(
             @PathVariable UUID userId,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
-        userService.deleteUser(userId, token);
+            AuthenticatedUser currentUser) {
+        userService.deleteUser(userId, currentUser);
         return ResponseEntity.noContent().build();
     }
 
@@ -166,12 +139,8 @@ public class UserController {
     public ResponseEntity<UserResponseDto> adminUpdateUser(
             @PathVariable UUID userId,
             @Valid @RequestBody AdminUpdateUserRequestDto request,
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new UnauthorizedException("Invalid or missing Authorization header");
-        }
-        String token = authHeader.substring(7);
-        User updatedUser = userService.adminUpdateUser(userId, request, token);
+            AuthenticatedUser currentUser) {
+        User updatedUser = userService.adminUpdateUser(userId, request, currentUser);
         return ResponseEntity.ok(mapToUserResponseDto(updatedUser));
     }
 
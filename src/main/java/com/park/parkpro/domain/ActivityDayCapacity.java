@@ -0,0 +1,42 @@
+package com.park.parkpro.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "activity_day_capacity",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"activity_id", "visit_date"}))
+@Getter
+@Setter
+@NoArgsConstructor
+public class ActivityDayCapacity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "activity_id", nullable = false)
+    private Activity activity;
+
+    @Column(name = "visit_date", nullable = false)
+    private LocalDate visitDate;
+
+    // Tickets still available, only ever changed through conditional updates
+    @Column(name = "remaining", nullable = false)
+    private int remaining;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    public ActivityDayCapacity(Activity activity, LocalDate visitDate, int remaining) {
+        this.activity = activity;
+        this.visitDate = visitDate;
+        this.remaining = remaining;
+    }
+}
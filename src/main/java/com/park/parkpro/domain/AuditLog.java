@@ -24,14 +24,14 @@ public class AuditLog {
     @Column(name = "details")
     private String details;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "performed_by")
     private User performedBy;
 
     @Column(name = "performed_at", nullable = false)
     private LocalDateTime performedAt;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "reviewed_by")
     private User reviewedBy;
 
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -22,18 +23,18 @@ public class Booking {
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
-    @ManyToOne(fetch = FetchType.LAZY)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "visitor_id", nullable = false)
     private User visitor;
 
-    @ManyToOne(fetch = FetchType.LAZY)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "activity_id", nullable = false)
     private Activity activity;
 
     @Column(name = "amount", nullable = false)
     private BigDecimal amount;
 
-    @ManyToOne(fetch = FetchType.LAZY)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "park_id", nullable = false)
     private Park park;
 
@@ -52,9 +53,17 @@ public class Booking {
     @Column(name = "stripe_payment_intent_id")
     private String stripePaymentIntentId;
 
+    @Column(name = "stripe_payment_method_id")
+    private String stripePaymentMethodId;
+
     @Column(name = "stripe_payment_status")
     private String stripePaymentStatus;
 
+    // Set for bookings made in bulk; those are charged through the batch and carry no payment method of their own
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "booking_batch_id")
+    private BookingBatch batch;
+
     @Column(name = "confirmed_at")
     private LocalDateTime confirmedAt;
 
@@ -64,6 +73,8 @@ public class Booking {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt = LocalDateTime.now();
 
+    // Pages of bookings load their members in one IN query per batch instead of one query per booking
+    @BatchSize(size = 100)
     @OneToMany(mappedBy = "booking", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<BookingGroupMember> groupMembers = new ArrayList<>();
 }
\ No newline at end of file
@@ -0,0 +1,50 @@
+package com.park.parkpro.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Bookings created together by a tour operator and paid with a single charge
+@Entity
+@Table(name = "booking_batch")
+@Getter
+@Setter
+@NoArgsConstructor
+public class BookingBatch {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "visitor_id", nullable = false)
+    private User visitor;
+
+    @Column(name = "amount", nullable = false)
+    private BigDecimal amount;
+
+    @Column(name = "currency", nullable = false)
+    private String currency = "XAF";
+
+    @Column(name = "status", nullable = false)
+    private String status;
+
+    @Column(name = "stripe_payment_intent_id")
+    private String stripePaymentIntentId;
+
+    @Column(name = "stripe_payment_method_id", nullable = false)
+    private String stripePaymentMethodId;
+
+    @Column(name = "stripe_payment_status")
+    private String stripePaymentStatus;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt = LocalDateTime.now();
+}
\ No newline at end of file
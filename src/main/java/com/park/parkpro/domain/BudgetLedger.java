@@ -0,0 +1,67 @@
+package com.park.parkpro.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "budget_ledger")
+@Getter
+@Setter
+@NoArgsConstructor
+public class BudgetLedger {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "budget_id", nullable = false, unique = true)
+    private Budget budget;
+
+    @Column(name = "total_expenses", nullable = false)
+    private BigDecimal totalExpenses = BigDecimal.ZERO;
+
+    @Column(name = "total_withdraws", nullable = false)
+    private BigDecimal totalWithdraws = BigDecimal.ZERO;
+
+    @Column(name = "total_bookings", nullable = false)
+    private BigDecimal totalBookings = BigDecimal.ZERO;
+
+    @Column(name = "total_donations", nullable = false)
+    private BigDecimal totalDonations = BigDecimal.ZERO;
+
+    @Column(name = "total_funding", nullable = false)
+    private BigDecimal totalFunding = BigDecimal.ZERO;
+
+    @Column(name = "reconciled_at")
+    private LocalDateTime reconciledAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt = LocalDateTime.now();
+
+    public BudgetLedger(Budget budget) {
+        this.budget = budget;
+    }
+
+    // Net movement applied on top of the budget's base balance
+    public BigDecimal getNetMovement() {
+        return totalBookings.add(totalDonations).add(totalFunding)
+                .subtract(totalExpenses).subtract(totalWithdraws);
+    }
+
+    public boolean matches(BudgetLedger other) {
+        return totalExpenses.compareTo(other.totalExpenses) == 0
+                && totalWithdraws.compareTo(other.totalWithdraws) == 0
+                && totalBookings.compareTo(other.totalBookings) == 0
+                && totalDonations.compareTo(other.totalDonations) == 0
+                && totalFunding.compareTo(other.totalFunding) == 0;
+    }
+}
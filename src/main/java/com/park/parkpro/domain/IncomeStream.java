@@ -10,7 +10,8 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "income_stream")
+@Table(name = "income_stream",
+        uniqueConstraints = @UniqueConstraint(name = "uk_income_stream_budget_kind", columnNames = {"budget_id", "kind"}))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -19,11 +20,11 @@ public class IncomeStream {
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
-    @ManyToOne(fetch = FetchType.LAZY)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "budget_id", nullable = false)
     private Budget budget;
 
-    @ManyToOne(fetch = FetchType.LAZY)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "park_id", nullable = false)
     private Park park;
 
@@ -33,6 +34,10 @@ public class IncomeStream {
     @Column(name = "name", nullable = false)
     private String name;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "kind")
+    private IncomeStreamKind kind;
+
     @Column(name = "percentage", nullable = false)
     private BigDecimal percentage;
 
@@ -42,13 +47,22 @@ public class IncomeStream {
     @Column(name = "actual_balance", nullable = false)
     private BigDecimal actualBalance;
 
-    @ManyToOne(fetch = FetchType.LAZY)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "created_by", nullable = false)
     private User createdBy;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
 
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt = LocalDateTime.now();
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
 }
\ No newline at end of file
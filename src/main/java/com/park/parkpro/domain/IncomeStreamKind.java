@@ -0,0 +1,17 @@
+package com.park.parkpro.domain;
+
+// Streams the application credits on its own; streams set up by finance officers have no kind
+public enum IncomeStreamKind {
+    BOOKINGS("Bookings"),
+    DONATIONS("Donations");
+
+    private final String streamName;
+
+    IncomeStreamKind(String streamName) {
+        this.streamName = streamName;
+    }
+
+    public String getStreamName() {
+        return streamName;
+    }
+}
\ No newline at end of file
@@ -36,11 +36,11 @@ public class Opportunity {
     @Column(name = "visibility", nullable = false, length = 20)
     private String visibility; // PUBLIC, PRIVATE
 
-    @ManyToOne(fetch = FetchType.LAZY)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "created_by", nullable = false)
     private User createdBy;
 
-    @ManyToOne(fetch = FetchType.LAZY)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "park_id", nullable = false)
     private Park park; // New relationship
 
@@ -18,7 +18,7 @@ public class OpportunityApplication {
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
-    @ManyToOne(fetch = FetchType.LAZY)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "opportunity_id", nullable = false)
     private Opportunity opportunity;
 
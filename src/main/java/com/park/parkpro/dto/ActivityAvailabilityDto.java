@@ -0,0 +1,7 @@
+package com.park.parkpro.dto;
+
+import java.time.LocalDate;
+
+// remaining is null for activities without a daily capacity
+public record ActivityAvailabilityDto(LocalDate date, Integer capacity, Integer remaining, boolean available) {
+}
@@ -0,0 +1,14 @@
+package com.park.parkpro.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+public record AmountByKeyDto(UUID key, BigDecimal total) {
+
+    public static Map<UUID, BigDecimal> toMap(List<AmountByKeyDto> totals) {
+        return totals.stream().collect(Collectors.toMap(AmountByKeyDto::key, AmountByKeyDto::total));
+    }
+}
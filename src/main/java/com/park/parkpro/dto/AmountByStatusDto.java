@@ -0,0 +1,15 @@
+package com.park.parkpro.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record AmountByStatusDto(String status, BigDecimal total, Long count) {
+
+    public static BigDecimal totalFor(List<AmountByStatusDto> totals, String status) {
+        return totals.stream()
+                .filter(row -> status.equals(row.status()))
+                .map(AmountByStatusDto::total)
+                .findFirst()
+                .orElse(BigDecimal.ZERO);
+    }
+}
@@ -15,6 +15,22 @@ public class AuditLogDto {
     private UUID reviewedById;
     private LocalDateTime reviewedAt;
 
+    // Constructors
+    public AuditLogDto() {}
+
+    public AuditLogDto(UUID id, String action, String entityType, UUID entityId, String details, UUID performedById,
+                       LocalDateTime performedAt, UUID reviewedById, LocalDateTime reviewedAt) {
+        this.id = id;
+        this.action = action;
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.details = details;
+        this.performedById = performedById;
+        this.performedAt = performedAt;
+        this.reviewedById = reviewedById;
+        this.reviewedAt = reviewedAt;
+    }
+
     // Getters and Setters
     public UUID getId() {
         return id;
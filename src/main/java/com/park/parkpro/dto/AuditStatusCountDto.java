@@ -0,0 +1,6 @@
+package com.park.parkpro.dto;
+
+import com.park.parkpro.domain.AuditStatus;
+
+public record AuditStatusCountDto(AuditStatus auditStatus, Long count) {
+}
@@ -0,0 +1,11 @@
+package com.park.parkpro.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record BookingExportRow(UUID id, LocalDateTime createdAt, LocalDate visitDate, String activity,
+                               BigDecimal amount, String currency, String status, UUID visitorId,
+                               String paymentReference) {
+}
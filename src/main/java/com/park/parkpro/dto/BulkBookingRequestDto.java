@@ -0,0 +1,16 @@
+package com.park.parkpro.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class BulkBookingRequestDto {
+    // Lines are validated one by one so a bad line is reported without failing the others
+    @NotEmpty
+    @Size(max = 500)
+    private List<CreateBookingRequestDto> lines;
+
+    public List<CreateBookingRequestDto> getLines() { return lines; }
+    public void setLines(List<CreateBookingRequestDto> lines) { this.lines = lines; }
+}
@@ -0,0 +1,12 @@
+package com.park.parkpro.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+// batchId, status and totalAmount are null when none of the lines could be reserved
+public record BulkBookingResponseDto(UUID batchId, String status, BigDecimal totalAmount, String currency,
+                                     int reserved, int rejected, List<LineResultDto> lines) {
+    public record LineResultDto(int line, String status, BookingResponseDto booking, String error) {
+    }
+}
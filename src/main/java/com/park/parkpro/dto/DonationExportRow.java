@@ -0,0 +1,9 @@
+package com.park.parkpro.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record DonationExportRow(UUID id, LocalDateTime createdAt, BigDecimal amount, String currency, String status,
+                                UUID donorId, String paymentReference, LocalDateTime confirmedAt) {
+}
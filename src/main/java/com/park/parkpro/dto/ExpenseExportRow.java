@@ -0,0 +1,11 @@
+package com.park.parkpro.dto;
+
+import com.park.parkpro.domain.AuditStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record ExpenseExportRow(UUID id, LocalDateTime createdAt, BigDecimal amount, String currency,
+                               String description, String category, AuditStatus auditStatus, UUID createdById) {
+}
@@ -1,6 +1,8 @@
 package com.park.parkpro.dto;
 
 import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 public class PageResponseDto<T> {
     private List<T> content;
@@ -8,6 +10,11 @@ public class PageResponseDto<T> {
     private int totalPages;
     private int currentPage;
     private int pageSize;
+    private String nextCursor;
+
+    // For JSON deserialization
+    private PageResponseDto() {
+    }
 
     public PageResponseDto(List<T> content, long totalElements, int totalPages, int currentPage, int pageSize) {
         this.content = content;
@@ -17,6 +24,19 @@ public class PageResponseDto<T> {
         this.pageSize = pageSize;
     }
 
+    // Cursor pages do not count the table, totals are reported as -1 and nextCursor is null on the last page
+    public PageResponseDto(List<T> content, int pageSize, String nextCursor) {
+        this(content, -1, -1, -1, pageSize);
+        this.nextCursor = nextCursor;
+    }
+
+    public <R> PageResponseDto<R> map(Function<? super T, ? extends R> mapper) {
+        PageResponseDto<R> mapped = new PageResponseDto<>(
+                content.stream().map(mapper).collect(Collectors.toList()), totalElements, totalPages, currentPage, pageSize);
+        mapped.nextCursor = nextCursor;
+        return mapped;
+    }
+
     public List<T> getContent() {
         return content;
     }
@@ -36,4 +56,8 @@ public class PageResponseDto<T> {
     public int getPageSize() {
         return pageSize;
     }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
 }
@@ -0,0 +1,7 @@
+package com.park.parkpro.dto;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record TicketsByActivityDateDto(UUID activityId, LocalDate visitDate, Long tickets) {
+}
@@ -0,0 +1,6 @@
+package com.park.parkpro.dto;
+
+import java.time.LocalDate;
+
+public record TicketsByDateDto(LocalDate visitDate, Long tickets) {
+}
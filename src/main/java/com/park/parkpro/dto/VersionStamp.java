@@ -0,0 +1,32 @@
+package com.park.parkpro.dto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.stream.Stream;
+
+/**
+ * Row count and latest {@code updatedAt} behind a response, read with one aggregate query so a
+ * weak ETag can be compared before the rows themselves are loaded. Inserts and updates move the
+ * timestamp, deletes move the count, so every entity served this way must set {@code updatedAt} in a
+ * {@code @PreUpdate} hook and every bulk update must set it too.
+ */
+public record VersionStamp(long count, LocalDateTime lastUpdated) {
+
+    public VersionStamp(Long count, LocalDateTime lastUpdated) {
+        this(count != null ? count : 0L, lastUpdated, null);
+    }
+
+    // For responses that also show columns of joined rows, e.g. a budget with its ledger and park
+    public VersionStamp(Long count, LocalDateTime lastUpdated, LocalDateTime joinedLastUpdated) {
+        this(count != null ? count : 0L, Stream.of(lastUpdated, joinedLastUpdated)
+                .filter(time -> time != null)
+                .max(LocalDateTime::compareTo)
+                .orElse(null));
+    }
+
+    public String etag() {
+        long micros = lastUpdated == null ? 0 : lastUpdated.toEpochSecond(ZoneOffset.UTC) * 1_000_000
+                + lastUpdated.getNano() / 1_000;
+        return "W/\"" + Long.toHexString(count) + "-" + Long.toHexString(micros) + "\"";
+    }
+}
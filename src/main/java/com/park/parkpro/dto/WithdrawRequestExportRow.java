@@ -0,0 +1,13 @@
+package com.park.parkpro.dto;
+
+import com.park.parkpro.domain.AuditStatus;
+import com.park.parkpro.domain.WithdrawRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record WithdrawRequestExportRow(UUID id, LocalDateTime createdAt, BigDecimal amount, String currency,
+                                       String reason, String category, WithdrawRequest.WithdrawRequestStatus status,
+                                       AuditStatus auditStatus, UUID requesterId, LocalDateTime approvedAt) {
+}
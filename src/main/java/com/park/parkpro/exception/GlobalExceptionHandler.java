@@ -1,6 +1,7 @@
 package com.park.parkpro.exception;
 
 import com.park.parkpro.dto.ErrorResponseDto;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -46,6 +47,13 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.CONFLICT);
     }
 
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponseDto> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        ErrorResponseDto error = new ErrorResponseDto(HttpStatus.CONFLICT.value(), "Conflict",
+                "The data was changed by another request, please reload and try again");
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(AccessDeniedException.class)
     public ResponseEntity<ErrorResponseDto> handleAccessDeniedException(AccessDeniedException ex, WebRequest request) {
         ErrorResponseDto error = new ErrorResponseDto(HttpStatus.FORBIDDEN.value(), "Forbidden", "You do not have permission to access this resource");
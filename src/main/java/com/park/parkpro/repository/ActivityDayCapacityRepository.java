@@ -0,0 +1,47 @@
+package com.park.parkpro.repository;
+
+import com.park.parkpro.domain.Activity;
+import com.park.parkpro.domain.ActivityDayCapacity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface ActivityDayCapacityRepository extends JpaRepository<ActivityDayCapacity, UUID> {
+    boolean existsByActivityIdAndVisitDate(UUID activityId, LocalDate visitDate);
+    List<ActivityDayCapacity> findByActivityIdAndVisitDateBetween(UUID activityId, LocalDate from, LocalDate to);
+    List<ActivityDayCapacity> findByActivityIdInAndVisitDateBetween(Collection<UUID> activityIds, LocalDate from, LocalDate to);
+
+    // A counter seeded concurrently wins; PostgreSQL waits for its transaction instead of failing this one
+    @Modifying
+    @Query("INSERT INTO ActivityDayCapacity (id, activity, visitDate, remaining, createdAt) " +
+            "VALUES (:id, :activity, :visitDate, :remaining, :createdAt) ON CONFLICT DO NOTHING")
+    int insertIfAbsent(UUID id, Activity activity, LocalDate visitDate, int remaining, LocalDateTime createdAt);
+
+    @Modifying
+    @Query("UPDATE ActivityDayCapacity c SET c.remaining = c.remaining - :tickets " +
+            "WHERE c.activity.id = :activityId AND c.visitDate = :visitDate AND c.remaining >= :tickets")
+    int tryReserve(UUID activityId, LocalDate visitDate, int tickets);
+
+    @Modifying
+    @Query("UPDATE ActivityDayCapacity c SET c.remaining = c.remaining + :tickets " +
+            "WHERE c.activity.id = :activityId AND c.visitDate = :visitDate")
+    int release(UUID activityId, LocalDate visitDate, int tickets);
+
+    @Modifying
+    @Query("UPDATE ActivityDayCapacity c SET c.remaining = c.remaining + :delta WHERE c.activity.id = :activityId")
+    int adjustRemaining(UUID activityId, int delta);
+
+    @Modifying
+    @Query("DELETE FROM ActivityDayCapacity c WHERE c.activity.id = :activityId")
+    int deleteByActivityId(UUID activityId);
+
+    @Modifying
+    @Query("DELETE FROM ActivityDayCapacity c WHERE c.visitDate < :date")
+    int deleteByVisitDateBefore(LocalDate date);
+}
@@ -0,0 +1,81 @@
+package com.park.parkpro.repository;
+
+import com.park.parkpro.domain.Budget;
+import com.park.parkpro.domain.WithdrawRequest;
+import com.park.parkpro.dto.AmountByKeyDto;
+import com.park.parkpro.dto.AmountByStatusDto;
+import com.park.parkpro.dto.AuditStatusCountDto;
+import com.park.parkpro.dto.TicketsByActivityDateDto;
+import com.park.parkpro.dto.TicketsByDateDto;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+// Totals and counts computed by the database so callers never load entities just to add numbers
+public interface AggregateQueryRepository extends Repository<Budget, UUID> {
+
+    @Query("SELECT COALESCE(SUM(e.amount), 0) FROM Expense e WHERE e.budget.id = :budgetId")
+    BigDecimal sumExpensesByBudgetId(UUID budgetId);
+
+    @Query("SELECT new com.park.parkpro.dto.AmountByStatusDto(CAST(w.status AS String), COALESCE(SUM(w.amount), 0), COUNT(w)) " +
+            "FROM WithdrawRequest w WHERE w.budget.id = :budgetId GROUP BY w.status")
+    List<AmountByStatusDto> sumWithdrawsByBudgetIdGroupByStatus(UUID budgetId);
+
+    @Query("SELECT new com.park.parkpro.dto.AmountByStatusDto(b.status, COALESCE(SUM(b.amount), 0), COUNT(b)) " +
+            "FROM Booking b WHERE b.park.id = :parkId AND b.visitDate >= :from AND b.visitDate < :to GROUP BY b.status")
+    List<AmountByStatusDto> sumBookingsByParkIdAndVisitDateGroupByStatus(UUID parkId, LocalDate from, LocalDate to);
+
+    @Query("SELECT new com.park.parkpro.dto.AmountByStatusDto(d.status, COALESCE(SUM(d.amount), 0), COUNT(d)) " +
+            "FROM Donation d WHERE d.park.id = :parkId AND d.fiscalYear = :fiscalYear GROUP BY d.status")
+    List<AmountByStatusDto> sumDonationsByParkIdAndFiscalYearGroupByStatus(UUID parkId, Integer fiscalYear);
+
+    @Query("SELECT new com.park.parkpro.dto.AmountByStatusDto(fr.status, COALESCE(SUM(fr.approvedAmount), 0), COUNT(fr)) " +
+            "FROM FundingRequest fr WHERE fr.budget.id = :budgetId GROUP BY fr.status")
+    List<AmountByStatusDto> sumFundingByBudgetIdGroupByStatus(UUID budgetId);
+
+    @Query("SELECT new com.park.parkpro.dto.AuditStatusCountDto(e.auditStatus, COUNT(e)) " +
+            "FROM Expense e WHERE e.park.id = :parkId AND e.budget.fiscalYear = :fiscalYear GROUP BY e.auditStatus")
+    List<AuditStatusCountDto> countExpensesByAuditStatus(UUID parkId, Integer fiscalYear);
+
+    @Query("SELECT new com.park.parkpro.dto.AuditStatusCountDto(w.auditStatus, COUNT(w)) " +
+            "FROM WithdrawRequest w WHERE w.park.id = :parkId AND w.budget.fiscalYear = :fiscalYear GROUP BY w.auditStatus")
+    List<AuditStatusCountDto> countWithdrawRequestsByAuditStatus(UUID parkId, Integer fiscalYear);
+
+    // Fiscal-year wide variants, one grouped query per source table keyed by budget or park
+
+    @Query("SELECT new com.park.parkpro.dto.AmountByKeyDto(e.budget.id, COALESCE(SUM(e.amount), 0)) " +
+            "FROM Expense e WHERE e.budget.fiscalYear = :fiscalYear GROUP BY e.budget.id")
+    List<AmountByKeyDto> sumExpensesByBudgetForFiscalYear(Integer fiscalYear);
+
+    @Query("SELECT new com.park.parkpro.dto.AmountByKeyDto(w.budget.id, COALESCE(SUM(w.amount), 0)) " +
+            "FROM WithdrawRequest w WHERE w.budget.fiscalYear = :fiscalYear AND w.status = :status GROUP BY w.budget.id")
+    List<AmountByKeyDto> sumWithdrawsByBudgetForFiscalYear(Integer fiscalYear, WithdrawRequest.WithdrawRequestStatus status);
+
+    @Query("SELECT new com.park.parkpro.dto.AmountByKeyDto(b.park.id, COALESCE(SUM(b.amount), 0)) " +
+            "FROM Booking b WHERE b.visitDate >= :from AND b.visitDate < :to AND b.status = :status GROUP BY b.park.id")
+    List<AmountByKeyDto> sumBookingsByParkForVisitDate(LocalDate from, LocalDate to, String status);
+
+    @Query("SELECT new com.park.parkpro.dto.AmountByKeyDto(d.park.id, COALESCE(SUM(d.amount), 0)) " +
+            "FROM Donation d WHERE d.fiscalYear = :fiscalYear AND d.status = :status GROUP BY d.park.id")
+    List<AmountByKeyDto> sumDonationsByParkForFiscalYear(Integer fiscalYear, String status);
+
+    @Query("SELECT new com.park.parkpro.dto.AmountByKeyDto(fr.budget.id, COALESCE(SUM(fr.approvedAmount), 0)) " +
+            "FROM FundingRequest fr WHERE fr.budget.fiscalYear = :fiscalYear AND fr.status = :status GROUP BY fr.budget.id")
+    List<AmountByKeyDto> sumFundingByBudgetForFiscalYear(Integer fiscalYear, String status);
+
+    @Query("SELECT new com.park.parkpro.dto.TicketsByDateDto(b.visitDate, COUNT(gm)) " +
+            "FROM BookingGroupMember gm JOIN gm.booking b WHERE b.activity.id = :activityId " +
+            "AND b.visitDate BETWEEN :from AND :to AND b.status IN :statuses GROUP BY b.visitDate")
+    List<TicketsByDateDto> countTicketsByVisitDate(UUID activityId, LocalDate from, LocalDate to, Collection<String> statuses);
+
+    @Query("SELECT new com.park.parkpro.dto.TicketsByActivityDateDto(b.activity.id, b.visitDate, COUNT(gm)) " +
+            "FROM BookingGroupMember gm JOIN gm.booking b WHERE b.activity.id IN :activityIds " +
+            "AND b.visitDate BETWEEN :from AND :to AND b.status IN :statuses GROUP BY b.activity.id, b.visitDate")
+    List<TicketsByActivityDateDto> countTicketsByActivityAndVisitDate(Collection<UUID> activityIds, LocalDate from, LocalDate to,
+                                                                      Collection<String> statuses);
+}
@@ -0,0 +1,12 @@
+package com.park.parkpro.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Optional criteria for audit log queries; null fields are not filtered on, the time range is [from, to)
+public record AuditLogFilter(String entityType, UUID entityId, String action, UUID performedById,
+                             LocalDateTime from, LocalDateTime to) {
+    public static AuditLogFilter none() {
+        return new AuditLogFilter(null, null, null, null, null, null);
+    }
+}
\ No newline at end of file
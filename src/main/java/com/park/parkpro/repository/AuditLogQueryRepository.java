@@ -0,0 +1,14 @@
+package com.park.parkpro.repository;
+
+import com.park.parkpro.dto.AuditLogDto;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+public interface AuditLogQueryRepository {
+    /**
+     * Newest first keyset page of audit logs matching every non-null criterion of the filter, read
+     * straight into DTOs so no {@code User} is ever loaded.
+     */
+    Window<AuditLogDto> findAuditLogs(AuditLogFilter filter, ScrollPosition position, Limit limit);
+}
\ No newline at end of file
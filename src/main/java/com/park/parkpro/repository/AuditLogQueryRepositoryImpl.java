@@ -0,0 +1,72 @@
+package com.park.parkpro.repository;
+
+import com.park.parkpro.dto.AuditLogDto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Only the given criteria end up in the WHERE clause, so the planner can pick the matching (column, performed_at, id) index
+public class AuditLogQueryRepositoryImpl implements AuditLogQueryRepository {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Window<AuditLogDto> findAuditLogs(AuditLogFilter filter, ScrollPosition position, Limit limit) {
+        StringBuilder jpql = new StringBuilder("SELECT new com.park.parkpro.dto.AuditLogDto(a.id, a.action, a.entityType, " +
+                "a.entityId, a.details, a.performedBy.id, a.performedAt, a.reviewedBy.id, a.reviewedAt) FROM AuditLog a WHERE 1 = 1");
+        Map<String, Object> parameters = new HashMap<>();
+        if (filter.entityType() != null) {
+            jpql.append(" AND a.entityType = :entityType");
+            parameters.put("entityType", filter.entityType());
+        }
+        if (filter.entityId() != null) {
+            jpql.append(" AND a.entityId = :entityId");
+            parameters.put("entityId", filter.entityId());
+        }
+        if (filter.action() != null) {
+            jpql.append(" AND a.action = :action");
+            parameters.put("action", filter.action());
+        }
+        if (filter.performedById() != null) {
+            jpql.append(" AND a.performedBy.id = :performedById");
+            parameters.put("performedById", filter.performedById());
+        }
+        if (filter.from() != null) {
+            jpql.append(" AND a.performedAt >= :from");
+            parameters.put("from", filter.from());
+        }
+        if (filter.to() != null) {
+            jpql.append(" AND a.performedAt < :to");
+            parameters.put("to", filter.to());
+        }
+        Map<String, Object> after = ((KeysetScrollPosition) position).getKeys();
+        if (!after.isEmpty()) {
+            jpql.append(" AND (a.performedAt < :afterPerformedAt OR (a.performedAt = :afterPerformedAt AND a.id < :afterId))");
+            parameters.put("afterPerformedAt", after.get("performedAt"));
+            parameters.put("afterId", after.get("id"));
+        }
+        jpql.append(" ORDER BY a.performedAt DESC, a.id DESC");
+
+        TypedQuery<AuditLogDto> query = entityManager.createQuery(jpql.toString(), AuditLogDto.class);
+        parameters.forEach(query::setParameter);
+        // One extra row tells whether there is a next page
+        List<AuditLogDto> rows = query.setMaxResults(limit.max() + 1).getResultList();
+        boolean hasNext = rows.size() > limit.max();
+        List<AuditLogDto> page = hasNext ? rows.subList(0, limit.max()) : rows;
+        return Window.from(page, index -> {
+            Map<String, Object> keys = new LinkedHashMap<>();
+            keys.put("performedAt", page.get(index).getPerformedAt());
+            keys.put("id", page.get(index).getId());
+            return ScrollPosition.forward(keys);
+        }, hasNext);
+    }
+}
\ No newline at end of file
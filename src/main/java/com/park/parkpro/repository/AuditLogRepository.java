@@ -4,10 +4,8 @@ import com.park.parkpro.domain.AuditLog;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface AuditLogRepository extends JpaRepository<AuditLog, UUID> {
-    List<AuditLog> findByEntityType(String entityType);
+public interface AuditLogRepository extends JpaRepository<AuditLog, UUID>, AuditLogQueryRepository {
 }
\ No newline at end of file
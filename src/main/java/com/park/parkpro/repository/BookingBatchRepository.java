@@ -0,0 +1,24 @@
+package com.park.parkpro.repository;
+
+import com.park.parkpro.domain.BookingBatch;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface BookingBatchRepository extends JpaRepository<BookingBatch, UUID> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM BookingBatch b WHERE b.id = :batchId")
+    Optional<BookingBatch> findByIdForUpdate(UUID batchId);
+
+    @Query("SELECT b FROM BookingBatch b WHERE b.status = 'PENDING' AND b.createdAt BETWEEN :from AND :to")
+    List<BookingBatch> findPendingPaymentsCreatedBetween(LocalDateTime from, LocalDateTime to);
+
+    @Query("SELECT b.id FROM BookingBatch b WHERE b.status = 'PENDING' AND b.createdAt < :before")
+    List<UUID> findPendingIdsCreatedBefore(LocalDateTime before);
+}
\ No newline at end of file
@@ -1,20 +1,52 @@
 package com.park.parkpro.repository;
 
 import com.park.parkpro.domain.Booking;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface BookingRepository extends JpaRepository<Booking, UUID> {
     List<Booking> findByVisitorId(UUID visitorId);
     List<Booking> findByParkId(UUID parkId);
 
+    // Batch is optional on bookings, so the derived query would outer-join booking_batch instead of filtering on booking_batch_id
+    @Query("SELECT b FROM Booking b WHERE b.batch.id = :batchId")
+    List<Booking> findByBatchId(UUID batchId);
+
     @Query("SELECT b FROM Booking b JOIN b.groupMembers gm WHERE gm.user.id = :userId")
     List<Booking> findByGroupMemberUserId(UUID userId);
 
     @Query("SELECT COUNT(b) FROM Booking b WHERE b.activity.id = :activityId AND b.visitDate = :visitDate AND b.status = 'CONFIRMED'")
     long countByActivityIdAndVisitDateAndStatus(UUID activityId, LocalDate visitDate, String status);
+
+    @Query("SELECT COUNT(gm) FROM BookingGroupMember gm WHERE gm.booking.activity.id = :activityId " +
+            "AND gm.booking.visitDate = :visitDate AND gm.booking.status IN :statuses")
+    long countTicketsByActivityIdAndVisitDateAndStatusIn(UUID activityId, LocalDate visitDate, Collection<String> statuses);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.id = :bookingId")
+    Optional<Booking> findByIdForUpdate(UUID bookingId);
+
+    @Query("SELECT b FROM Booking b JOIN FETCH b.activity WHERE b.status = 'PENDING' AND b.stripePaymentMethodId IS NOT NULL " +
+            "AND b.createdAt BETWEEN :from AND :to")
+    List<Booking> findPendingPaymentsCreatedBetween(LocalDateTime from, LocalDateTime to);
+
+    // Bookings of a batch are expired together with their batch
+    @Query("SELECT b.id FROM Booking b WHERE b.status = 'PENDING' AND b.batch IS NULL AND b.createdAt < :before")
+    List<UUID> findPendingIdsCreatedBefore(LocalDateTime before);
+
+    Window<Booking> findByParkId(UUID parkId, ScrollPosition position, Limit limit, Sort sort);
+    Window<Booking> findByVisitorId(UUID visitorId, ScrollPosition position, Limit limit, Sort sort);
 }
\ No newline at end of file
@@ -1,7 +1,9 @@
 package com.park.parkpro.repository;
 
 import com.park.parkpro.domain.BudgetCategory;
+import com.park.parkpro.dto.VersionStamp;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
 import java.math.BigDecimal;
@@ -13,4 +15,24 @@ public interface BudgetCategoryRepository extends JpaRepository<BudgetCategory,
 
     @Query("SELECT COALESCE(SUM(bc.allocatedAmount), 0) FROM BudgetCategory bc WHERE bc.budget.id = :budgetId")
     BigDecimal sumAllocatedAmountByBudgetId(UUID budgetId);
+
+    @Query("SELECT new com.park.parkpro.dto.VersionStamp(COUNT(bc), MAX(bc.updatedAt)) FROM BudgetCategory bc WHERE bc.budget.id = :budgetId")
+    VersionStamp findVersionByBudgetId(UUID budgetId);
+
+    // Balance changes are applied in place and bump the version, so entity updates still see them as conflicts.
+    // Returns 0 when the category cannot cover the amount.
+    @Modifying
+    @Query("UPDATE BudgetCategory bc SET bc.usedAmount = bc.usedAmount + :amount, bc.balance = bc.balance - :amount, " +
+            "bc.updatedAt = CURRENT_TIMESTAMP, bc.version = bc.version + 1 WHERE bc.id = :categoryId AND bc.balance >= :amount")
+    int addSpending(UUID categoryId, BigDecimal amount);
+
+    @Modifying
+    @Query("UPDATE BudgetCategory bc SET bc.usedAmount = bc.usedAmount - :amount, bc.balance = bc.balance + :amount, " +
+            "bc.updatedAt = CURRENT_TIMESTAMP, bc.version = bc.version + 1 WHERE bc.id = :categoryId")
+    int removeSpending(UUID categoryId, BigDecimal amount);
+
+    @Modifying
+    @Query("UPDATE BudgetCategory bc SET bc.allocatedAmount = bc.allocatedAmount + :amount, bc.balance = bc.balance + :amount, " +
+            "bc.updatedAt = CURRENT_TIMESTAMP, bc.version = bc.version + 1 WHERE bc.id = :categoryId")
+    int addAllocation(UUID categoryId, BigDecimal amount);
 }
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.park.parkpro.repository;
+
+import com.park.parkpro.domain.BudgetLedger;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface BudgetLedgerRepository extends JpaRepository<BudgetLedger, UUID> {
+    Optional<BudgetLedger> findByBudgetId(UUID budgetId);
+    List<BudgetLedger> findByBudgetIdIn(Collection<UUID> budgetIds);
+
+    @Modifying
+    @Query("UPDATE BudgetLedger l SET l.totalExpenses = l.totalExpenses + :amount, l.updatedAt = CURRENT_TIMESTAMP WHERE l.budget.id = :budgetId")
+    int addExpenses(UUID budgetId, BigDecimal amount);
+
+    @Modifying
+    @Query("UPDATE BudgetLedger l SET l.totalWithdraws = l.totalWithdraws + :amount, l.updatedAt = CURRENT_TIMESTAMP WHERE l.budget.id = :budgetId")
+    int addWithdraws(UUID budgetId, BigDecimal amount);
+
+    @Modifying
+    @Query("UPDATE BudgetLedger l SET l.totalBookings = l.totalBookings + :amount, l.updatedAt = CURRENT_TIMESTAMP WHERE l.budget.id = :budgetId")
+    int addBookings(UUID budgetId, BigDecimal amount);
+
+    @Modifying
+    @Query("UPDATE BudgetLedger l SET l.totalDonations = l.totalDonations + :amount, l.updatedAt = CURRENT_TIMESTAMP WHERE l.budget.id = :budgetId")
+    int addDonations(UUID budgetId, BigDecimal amount);
+
+    @Modifying
+    @Query("UPDATE BudgetLedger l SET l.totalFunding = l.totalFunding + :amount, l.updatedAt = CURRENT_TIMESTAMP WHERE l.budget.id = :budgetId")
+    int addFunding(UUID budgetId, BigDecimal amount);
+}
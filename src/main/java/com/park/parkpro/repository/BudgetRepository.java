@@ -1,22 +1,56 @@
 package com.park.parkpro.repository;
 
 import com.park.parkpro.domain.Budget;
+import com.park.parkpro.dto.VersionStamp;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface BudgetRepository extends JpaRepository<Budget, UUID> {
+    @EntityGraph(attributePaths = {"park"})
     List<Budget> findByParkId(UUID parkId);
     Optional<Budget> findByParkIdAndFiscalYear(UUID parkId, Integer fiscalYear);
     List<Budget> findByFiscalYear(Integer fiscalYear);
 
+    @Query("SELECT b FROM Budget b JOIN FETCH b.park LEFT JOIN FETCH b.createdBy LEFT JOIN FETCH b.approvedBy WHERE b.fiscalYear = :fiscalYear")
+    List<Budget> findByFiscalYearWithParkAndUsers(Integer fiscalYear);
+
+    @Query("SELECT b.park.id FROM Budget b WHERE b.park.id IN :parkIds AND b.fiscalYear = :fiscalYear")
+    List<UUID> findParkIdsWithBudget(Collection<UUID> parkIds, Integer fiscalYear);
+
+    @Query("SELECT DISTINCT b.fiscalYear FROM Budget b")
+    List<Integer> findDistinctFiscalYears();
+
     @Query("SELECT COALESCE(SUM(bc.balance), 0) FROM BudgetCategory bc WHERE bc.budget.id = :budgetId")
     BigDecimal sumCategoryBalances(UUID budgetId);
 
+    @Query("SELECT b.id FROM Budget b WHERE b.park.id = :parkId AND b.fiscalYear = :fiscalYear")
+    Optional<UUID> findIdByParkIdAndFiscalYear(UUID parkId, Integer fiscalYear);
+
     @Query("SELECT b.unallocated FROM Budget b WHERE b.id = :budgetId")
     BigDecimal getUnallocatedById(UUID budgetId);
+
+    // Returns 0 when the budget has less than the amount left to allocate
+    @Modifying
+    @Query("UPDATE Budget b SET b.unallocated = b.unallocated - :amount, b.updatedAt = CURRENT_TIMESTAMP, " +
+            "b.version = b.version + 1 WHERE b.id = :budgetId AND b.unallocated >= :amount")
+    int allocate(UUID budgetId, BigDecimal amount);
+
+    // Balances come from the ledger and responses show the park name, so both count towards the version
+    @Query("SELECT new com.park.parkpro.dto.VersionStamp(COUNT(b), MAX(b.updatedAt), " +
+            "GREATEST(COALESCE(MAX(l.updatedAt), MAX(b.updatedAt)), MAX(p.updatedAt))) " +
+            "FROM Budget b JOIN b.park p LEFT JOIN BudgetLedger l ON l.budget = b WHERE b.id = :budgetId")
+    VersionStamp findVersionById(UUID budgetId);
+
+    @Query("SELECT new com.park.parkpro.dto.VersionStamp(COUNT(b), MAX(b.updatedAt), " +
+            "GREATEST(COALESCE(MAX(l.updatedAt), MAX(b.updatedAt)), MAX(p.updatedAt))) " +
+            "FROM Budget b JOIN b.park p LEFT JOIN BudgetLedger l ON l.budget = b WHERE p.id = :parkId")
+    VersionStamp findVersionByParkId(UUID parkId);
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.park.parkpro.repository;
 
 import com.park.parkpro.domain.Donation;
 import com.park.parkpro.dto.OutstandingDonorResponseDto;
+import com.park.parkpro.dto.VersionStamp;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -16,6 +17,15 @@ public interface DonationRepository extends JpaRepository<Donation, UUID> {
     @Query("SELECT d FROM Donation d WHERE d.park.id = :parkId AND d.fiscalYear = :fiscalYear")
     List<Donation> findByParkIdAndFiscalYear(@Param("parkId") UUID parkId, @Param("fiscalYear") int fiscalYear);
 
+    // Responses show the donor's name, so renaming a donor changes the version too
+    @Query("SELECT new com.park.parkpro.dto.VersionStamp(COUNT(d), MAX(d.updatedAt), MAX(u.updatedAt)) " +
+            "FROM Donation d JOIN d.donor u WHERE d.park.id = :parkId")
+    VersionStamp findVersionByParkId(@Param("parkId") UUID parkId);
+
+    @Query("SELECT new com.park.parkpro.dto.VersionStamp(COUNT(d), MAX(d.updatedAt), MAX(u.updatedAt)) " +
+            "FROM Donation d JOIN d.donor u WHERE d.park.id = :parkId AND d.fiscalYear = :fiscalYear")
+    VersionStamp findVersionByParkIdAndFiscalYear(@Param("parkId") UUID parkId, @Param("fiscalYear") int fiscalYear);
+
     @Query("SELECT new com.park.parkpro.dto.OutstandingDonorResponseDto(" +
             "d.donor.id, CONCAT(d.donor.firstName, ' ', d.donor.lastName), SUM(d.amount), " +
             "(SELECT d2.motiveForDonation FROM Donation d2 WHERE d2.donor.id = d.donor.id AND d2.park.id = :parkId " +
@@ -2,6 +2,11 @@ package com.park.parkpro.repository;
 
 import com.park.parkpro.domain.Expense;
 import jakarta.validation.constraints.NotNull;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -10,15 +15,25 @@ import java.util.List;
 import java.util.UUID;
 
 public interface ExpenseRepository extends JpaRepository<Expense, UUID> {
+    @EntityGraph(attributePaths = {"park", "budgetCategory"})
     List<Expense> findByBudgetCategoryId(UUID budgetCategoryId);
+    @EntityGraph(attributePaths = {"park", "budgetCategory"})
     List<Expense> findByParkId(UUID parkId);
+    @EntityGraph(attributePaths = {"park", "budgetCategory"})
     List<Expense> findByBudgetId(UUID budgetId);
     List<Expense> findByCreatedById(UUID createdById);
+    @EntityGraph(attributePaths = {"park", "budgetCategory"})
     List<Expense> findByCreatedByIdAndBudgetId(UUID createdById, UUID budgetId);
     
+    @EntityGraph(attributePaths = {"park", "budgetCategory"})
     @Query("SELECT e FROM Expense e WHERE e.park.id = :parkId AND e.budget.fiscalYear = :fiscalYear")
     List<Expense> findByParkIdAndYear(
         @NotNull(message = "Park ID is required") @Param("parkId") UUID parkId, 
         @NotNull(message = "Audit year is required") @Param("fiscalYear") Integer fiscalYear
     );
+
+    @EntityGraph(attributePaths = {"park", "budgetCategory"})
+    Window<Expense> findByParkId(UUID parkId, ScrollPosition position, Limit limit, Sort sort);
+    @EntityGraph(attributePaths = {"park", "budgetCategory"})
+    Window<Expense> findByBudgetId(UUID budgetId, ScrollPosition position, Limit limit, Sort sort);
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.park.parkpro.repository;
+
+import com.park.parkpro.domain.Expense;
+import com.park.parkpro.dto.BookingExportRow;
+import com.park.parkpro.dto.DonationExportRow;
+import com.park.parkpro.dto.ExpenseExportRow;
+import com.park.parkpro.dto.WithdrawRequestExportRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.Repository;
+
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+// Flat export rows read through a server-side cursor; streams must be consumed inside a transaction and closed
+public interface ExportQueryRepository extends Repository<Expense, UUID> {
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.park.parkpro.dto.ExpenseExportRow(e.id, e.createdAt, e.amount, e.currency, e.description, " +
+            "c.name, e.auditStatus, e.createdBy.id) FROM Expense e JOIN e.budgetCategory c " +
+            "WHERE e.park.id = :parkId AND e.budget.fiscalYear = :fiscalYear ORDER BY e.createdAt, e.id")
+    Stream<ExpenseExportRow> streamExpenses(UUID parkId, Integer fiscalYear);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.park.parkpro.dto.WithdrawRequestExportRow(w.id, w.createdAt, w.amount, w.currency, w.reason, " +
+            "c.name, w.status, w.auditStatus, w.requester.id, w.approvedAt) FROM WithdrawRequest w JOIN w.budgetCategory c " +
+            "WHERE w.park.id = :parkId AND w.budget.fiscalYear = :fiscalYear ORDER BY w.createdAt, w.id")
+    Stream<WithdrawRequestExportRow> streamWithdrawRequests(UUID parkId, Integer fiscalYear);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.park.parkpro.dto.BookingExportRow(b.id, b.createdAt, b.visitDate, a.name, b.amount, b.currency, " +
+            "b.status, b.visitor.id, b.paymentReference) FROM Booking b JOIN b.activity a " +
+            "WHERE b.park.id = :parkId AND b.visitDate >= :from AND b.visitDate < :to ORDER BY b.createdAt, b.id")
+    Stream<BookingExportRow> streamBookings(UUID parkId, LocalDate from, LocalDate to);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.park.parkpro.dto.DonationExportRow(d.id, d.createdAt, d.amount, d.currency, d.status, " +
+            "d.donor.id, d.paymentReference, d.confirmedAt) FROM Donation d " +
+            "WHERE d.park.id = :parkId AND d.fiscalYear = :fiscalYear ORDER BY d.createdAt, d.id")
+    Stream<DonationExportRow> streamDonations(UUID parkId, Integer fiscalYear);
+}
@@ -1,6 +1,11 @@
 package com.park.parkpro.repository;
 
 import com.park.parkpro.domain.FundingRequest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -9,13 +14,22 @@ import java.util.List;
 import java.util.UUID;
 
 public interface FundingRequestRepository extends JpaRepository<FundingRequest, UUID> {
+    @EntityGraph(attributePaths = {"park", "budgetCategory"})
     List<FundingRequest> findByParkId(UUID parkId);
 
+    @EntityGraph(attributePaths = {"park", "budgetCategory"})
     @Query("SELECT fr FROM FundingRequest fr JOIN fr.budget b WHERE fr.park.id = :parkId AND b.fiscalYear = :fiscalYear")
     List<FundingRequest> findByParkIdAndFiscalYear(@Param("parkId") UUID parkId, @Param("fiscalYear") int fiscalYear);
 
+    @EntityGraph(attributePaths = {"park", "budgetCategory"})
     List<FundingRequest> findByBudgetId(UUID budgetId);
 
+    @EntityGraph(attributePaths = {"park", "budgetCategory"})
     @Query("SELECT fr FROM FundingRequest fr JOIN fr.budget b WHERE b.fiscalYear = :fiscalYear")
     List<FundingRequest> findByFiscalYear(@Param("fiscalYear") int fiscalYear);
+
+    @EntityGraph(attributePaths = {"park", "budgetCategory"})
+    Window<FundingRequest> findAllBy(ScrollPosition position, Limit limit, Sort sort);
+    @EntityGraph(attributePaths = {"park", "budgetCategory"})
+    Window<FundingRequest> findByBudgetFiscalYear(Integer fiscalYear, ScrollPosition position, Limit limit, Sort sort);
 }
\ No newline at end of file
@@ -1,11 +1,18 @@
 package com.park.parkpro.repository;
 
+import com.park.parkpro.domain.Budget;
 import com.park.parkpro.domain.IncomeStream;
+import com.park.parkpro.domain.IncomeStreamKind;
+import com.park.parkpro.domain.Park;
+import com.park.parkpro.domain.User;
+import com.park.parkpro.dto.VersionStamp;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -27,4 +34,41 @@ public interface IncomeStreamRepository extends JpaRepository<IncomeStream, UUID
     Optional<BigDecimal> sumTotalContributionByBudgetIdExcluding(@Param("budgetId") UUID budgetId, @Param("incomeStreamId") UUID incomeStreamId);
 
     boolean existsByBudgetIdAndNameContaining(UUID budgetId, String name);
+
+    @Query("SELECT i.id FROM IncomeStream i WHERE i.budget.id = :budgetId AND i.kind = :kind")
+    Optional<UUID> findIdByBudgetIdAndKind(@Param("budgetId") UUID budgetId, @Param("kind") IncomeStreamKind kind);
+
+    // Streams created by hand before kinds existed, oldest first
+    @Query("SELECT i.id FROM IncomeStream i WHERE i.budget.id = :budgetId AND i.kind IS NULL AND i.name LIKE CONCAT('%', :name, '%') " +
+            "ORDER BY i.createdAt, i.id")
+    List<UUID> findUntypedIdsByBudgetIdAndNameContaining(@Param("budgetId") UUID budgetId, @Param("name") String name);
+
+    // Leaves the stream untyped when the budget already has a stream of that kind
+    @Modifying
+    @Query("UPDATE IncomeStream i SET i.kind = :kind, i.updatedAt = CURRENT_TIMESTAMP, i.version = i.version + 1 " +
+            "WHERE i.id = :incomeStreamId AND i.kind IS NULL AND NOT EXISTS " +
+            "(SELECT 1 FROM IncomeStream o WHERE o.budget = i.budget AND o.kind = :kind)")
+    int assignKind(@Param("incomeStreamId") UUID incomeStreamId, @Param("kind") IncomeStreamKind kind);
+
+    // A stream of the same kind created concurrently wins under the unique (budget, kind) constraint
+    @Modifying
+    @Query("INSERT INTO IncomeStream (id, budget, park, fiscalYear, name, kind, percentage, totalContribution, actualBalance, " +
+            "createdBy, version, createdAt, updatedAt) VALUES (:id, :budget, :park, :fiscalYear, :name, :kind, 0, 0, 0, " +
+            ":createdBy, 0, :createdAt, :createdAt) ON CONFLICT DO NOTHING")
+    int insertIfAbsent(@Param("id") UUID id, @Param("budget") Budget budget, @Param("park") Park park,
+                       @Param("fiscalYear") Integer fiscalYear, @Param("name") String name,
+                       @Param("kind") IncomeStreamKind kind, @Param("createdBy") User createdBy,
+                       @Param("createdAt") LocalDateTime createdAt);
+
+    @Query("SELECT new com.park.parkpro.dto.VersionStamp(COUNT(i), MAX(i.updatedAt)) FROM IncomeStream i WHERE i.budget.id = :budgetId")
+    VersionStamp findVersionByBudgetId(@Param("budgetId") UUID budgetId);
+
+    @Query("SELECT new com.park.parkpro.dto.VersionStamp(COUNT(i), MAX(i.updatedAt)) FROM IncomeStream i " +
+            "WHERE i.park.id = :parkId AND i.fiscalYear = :fiscalYear")
+    VersionStamp findVersionByParkIdAndFiscalYear(@Param("parkId") UUID parkId, @Param("fiscalYear") Integer fiscalYear);
+
+    @Modifying
+    @Query("UPDATE IncomeStream i SET i.actualBalance = i.actualBalance + :amount, i.updatedAt = CURRENT_TIMESTAMP, " +
+            "i.version = i.version + 1 WHERE i.id = :incomeStreamId")
+    int addActualBalance(@Param("incomeStreamId") UUID incomeStreamId, @Param("amount") BigDecimal amount);
 }
\ No newline at end of file
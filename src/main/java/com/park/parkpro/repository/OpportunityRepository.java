@@ -1,6 +1,10 @@
 package com.park.parkpro.repository;
 
 import com.park.parkpro.domain.Opportunity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.List;
@@ -11,4 +15,7 @@ public interface OpportunityRepository extends JpaRepository<Opportunity, UUID>
     List<Opportunity> findByCreatedById(UUID createdById);
     List<Opportunity> findByParkId(UUID parkId);
     List<Opportunity> findByParkIdAndVisibility(UUID parkId, String visibility);
+
+    Window<Opportunity> findAllBy(ScrollPosition position, Limit limit, Sort sort);
+    Window<Opportunity> findByVisibility(String visibility, ScrollPosition position, Limit limit, Sort sort);
 }
\ No newline at end of file
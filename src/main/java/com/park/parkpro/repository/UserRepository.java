@@ -1,7 +1,12 @@
 package com.park.parkpro.repository;
 
 import com.park.parkpro.domain.User;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 import java.util.Optional;
@@ -10,6 +15,11 @@ import java.util.UUID;
 public interface UserRepository extends JpaRepository<User, UUID> {
     Optional<User> findByEmail(String email);
     List<User> findByRole(String role);
+    // Park is optional on users, so the derived query would outer-join park instead of filtering on park_id
+    @Query("SELECT u FROM User u WHERE u.park.id = :parkId")
     List<User> findByParkId(UUID parkId);
 
+    Window<User> findAllBy(ScrollPosition position, Limit limit, Sort sort);
+    Window<User> findByRole(String role, ScrollPosition position, Limit limit, Sort sort);
+    Window<User> findByParkId(UUID parkId, ScrollPosition position, Limit limit, Sort sort);
 }
\ No newline at end of file
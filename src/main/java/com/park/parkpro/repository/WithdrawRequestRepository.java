@@ -1,6 +1,7 @@
 package com.park.parkpro.repository;
 
 import com.park.parkpro.domain.WithdrawRequest;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -9,11 +10,16 @@ import java.util.List;
 import java.util.UUID;
 
 public interface WithdrawRequestRepository extends JpaRepository<WithdrawRequest, UUID> {
+    @EntityGraph(attributePaths = {"park", "budgetCategory"})
     List<WithdrawRequest> findByBudgetCategoryId(UUID budgetCategoryId);
+    @EntityGraph(attributePaths = {"park", "budgetCategory"})
     List<WithdrawRequest> findByBudgetId(UUID budgetId);
+    @EntityGraph(attributePaths = {"park", "budgetCategory"})
     List<WithdrawRequest> findByRequesterId(UUID requesterId);
+    @EntityGraph(attributePaths = {"park", "budgetCategory"})
     List<WithdrawRequest> findByRequesterIdAndBudgetId(UUID requesterId, UUID budgetId);
     
+    @EntityGraph(attributePaths = {"park", "budgetCategory"})
     @Query("SELECT w FROM WithdrawRequest w WHERE w.park.id = :parkId AND w.budget.fiscalYear = :fiscalYear")
     List<WithdrawRequest> findByParkIdAndYear(@Param("parkId") UUID parkId, @Param("fiscalYear") Integer fiscalYear);
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.park.parkpro.security;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The caller of the current request, resolved once by {@link JwtFilter}. Controllers receive it as a
+ * handler argument and pass it to services in place of the raw token.
+ */
+public record AuthenticatedUser(UUID id, String email, String role, UUID parkId) {
+    public boolean hasRole(String role) {
+        return role.equals(this.role);
+    }
+
+    public boolean hasAnyRole(List<String> roles) {
+        return roles.contains(role);
+    }
+
+    public boolean isAssignedTo(UUID parkId) {
+        return this.parkId != null && this.parkId.equals(parkId);
+    }
+}
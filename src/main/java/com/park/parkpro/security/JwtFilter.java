@@ -1,5 +1,6 @@
 package com.park.parkpro.security;
 
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -7,7 +8,6 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -29,16 +29,17 @@ public class JwtFilter extends OncePerRequestFilter {
         String authHeader = request.getHeader("Authorization");
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
-            if (jwtUtil.validateToken(token)) {
-                String email = jwtUtil.getEmailFromToken(token);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+            try {
+                TokenClaims claims = jwtUtil.parseToken(token);
+                UserDetails userDetails = userDetailsService.loadUserByUsername(claims.email());
                 UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
-                auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                        userDetails, token, userDetails.getAuthorities());
+                // Services read the verified claims back from here instead of parsing the token again
+                auth.setDetails(claims);
                 SecurityContextHolder.getContext().setAuthentication(auth);
-                System.out.println("Set authentication for: " + email + ", Authorities: " + userDetails.getAuthorities());
-            } else {
-                System.out.println("Token validation failed for: " + token);
+                System.out.println("Set authentication for: " + claims.email() + ", Authorities: " + userDetails.getAuthorities());
+            } catch (JwtException | IllegalArgumentException e) {
+                System.out.println("Token validation failed: " + e.getMessage());
             }
         }
         chain.doFilter(request, response);
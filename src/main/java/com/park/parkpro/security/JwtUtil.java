@@ -1,60 +1,126 @@
 package com.park.parkpro.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
+import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
 
 @Component
 public class JwtUtil {
-    @Value("${jwt.secret}")
-    private String secret; // Must be at least 32 characters for HS512
+    private final SecretKey key;
+    private final JwtParser parser;
+    private final long expiration;
+    // Signature checks already done for a token, keyed by its SHA-256 and dropped once it expires
+    private final Cache<String, TokenClaims> verifiedTokens;
 
-    @Value("${jwt.expiration}")
-    private long expiration;
+    public JwtUtil(@Value("${jwt.secret}") String secret, // Must be at least 64 characters for HS512
+                   @Value("${jwt.expiration}") long expiration,
+                   @Value("${jwt.verified-cache-size:10000}") long verifiedCacheSize) {
+        this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(key).build();
+        this.expiration = expiration;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(new Expiry<String, TokenClaims>() {
+                    @Override
+                    public long expireAfterCreate(String hash, TokenClaims claims, long currentTime) {
+                        return Math.max(0, Duration.between(Instant.now(), claims.expiresAt()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String hash, TokenClaims claims, long currentTime, long currentDuration) {
+                        return expireAfterCreate(hash, claims, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String hash, TokenClaims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
 
     public String generateToken(String email, String role) {
         return Jwts.builder()
-                .subject(email) // Modern method for setting subject
-                .claim("role", role) // Add role as a claim
-                .issuedAt(new Date()) // Modern method for issuance time
-                .expiration(new Date(System.currentTimeMillis() + expiration)) // Modern method for expiration
-                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)), Jwts.SIG.HS512) // Secure key generation
+                .subject(email)
+                .claim("role", role)
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + expiration))
+                .signWith(key, Jwts.SIG.HS512)
                 .compact();
     }
 
+    /**
+     * Verifies the token once and returns its claims. Tokens seen before are served from the
+     * verified-token cache until they expire. Throws {@link JwtException} for invalid tokens.
+     */
+    public TokenClaims parseToken(String token) {
+        String hash = hash(token);
+        TokenClaims cached = verifiedTokens.getIfPresent(hash);
+        if (cached != null && !cached.isExpired(Instant.now())) {
+            return cached;
+        }
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        // The parser only enforces exp when it is present, and a token without one would never expire
+        if (claims.getExpiration() == null) {
+            throw new JwtException("Token has no expiration");
+        }
+        TokenClaims parsed = new TokenClaims(claims.getSubject(), claims.get("role", String.class),
+                claims.getExpiration().toInstant());
+        verifiedTokens.put(hash, parsed);
+        return parsed;
+    }
+
     public String getEmailFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8))) // Secure key for verification
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .getSubject();
+        return resolveClaims(token).email();
     }
 
     public String getRoleFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .get("role", String.class);
+        return resolveClaims(token).role();
     }
 
     public boolean validateToken(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
-                    .build()
-                    .parseSignedClaims(token);
-            System.out.println("Token validated successfully for: " + getEmailFromToken(token));
+            parseToken(token);
             return true;
-        } catch (Exception e) {
+        } catch (JwtException | IllegalArgumentException e) {
             System.out.println("Token validation failed: " + e.getMessage());
             return false;
         }
     }
-}
\ No newline at end of file
+
+    // Claims already attached to the current request by JwtFilter, falling back to a (cached) parse
+    private TokenClaims resolveClaims(String token) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getDetails() instanceof TokenClaims claims && token.equals(auth.getCredentials())) {
+            return claims;
+        }
+        return parseToken(token);
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
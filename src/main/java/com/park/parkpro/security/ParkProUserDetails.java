@@ -0,0 +1,72 @@
+package com.park.parkpro.security;
+
+import com.park.parkpro.domain.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+// Immutable snapshot of the account fields needed for authentication, safe to cache across requests
+public class ParkProUserDetails implements UserDetails {
+    private final UUID id;
+    private final String email;
+    private final String password;
+    private final String role;
+    private final UUID parkId;
+    private final List<GrantedAuthority> authorities;
+    private final AuthenticatedUser authenticatedUser;
+
+    public ParkProUserDetails(UUID id, String email, String password, String role, UUID parkId) {
+        this.id = id;
+        this.email = email;
+        this.password = password;
+        this.role = role;
+        this.parkId = parkId;
+        this.authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role));
+        this.authenticatedUser = new AuthenticatedUser(id, email, role, parkId);
+    }
+
+    public static ParkProUserDetails from(User user) {
+        return new ParkProUserDetails(user.getId(), user.getEmail(), user.getPassword(), user.getRole(),
+                user.getPark() != null ? user.getPark().getId() : null);
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public UUID getParkId() {
+        return parkId;
+    }
+
+    public AuthenticatedUser getAuthenticatedUser() {
+        return authenticatedUser;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public String toString() {
+        return "ParkProUserDetails{id=" + id + ", email=" + email + ", role=" + role + "}";
+    }
+}
@@ -0,0 +1,9 @@
+package com.park.parkpro.security;
+
+import java.time.Instant;
+
+public record TokenClaims(String email, String role, Instant expiresAt) {
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
@@ -1,28 +1,71 @@
 package com.park.parkpro.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.park.parkpro.repository.UserRepository;
-import org.springframework.security.core.userdetails.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
 
 @Service
 public class UserDetailsServiceImpl implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final Cache<String, ParkProUserDetails> userCache;
 
-    public UserDetailsServiceImpl(UserRepository userRepository) {
+    public UserDetailsServiceImpl(UserRepository userRepository,
+                                  @Value("${security.user-cache.ttl:60s}") Duration userCacheTtl,
+                                  @Value("${security.user-cache.max-size:10000}") long userCacheMaxSize) {
         this.userRepository = userRepository;
+        this.userCache = Caffeine.newBuilder()
+                .expireAfterWrite(userCacheTtl)
+                .maximumSize(userCacheMaxSize)
+                .build();
     }
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        com.park.parkpro.domain.User user = userRepository.findByEmail(email)
+        // Already resolved for this request
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof ParkProUserDetails principal
+                && principal.getUsername().equals(email)) {
+            return principal;
+        }
+        ParkProUserDetails cached = userCache.getIfPresent(email);
+        if (cached != null) {
+            return cached;
+        }
+        ParkProUserDetails loaded = userRepository.findByEmail(email)
+                .map(ParkProUserDetails::from)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
-        return User.withUsername(user.getEmail())
-                .password(user.getPassword())
-                .authorities("ROLE_" + user.getRole())
-                .build();
+        userCache.put(email, loaded);
+        return loaded;
+    }
+
+    /**
+     * Drops the cached principal for the given email. When called inside a transaction the entry is
+     * dropped again after commit, so a concurrent request cannot re-cache the pre-update row.
+     */
+    public void evict(String email) {
+        if (email == null) {
+            return;
+        }
+        userCache.invalidate(email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    userCache.invalidate(email);
+                }
+            });
+        }
     }
-}
\ No newline at end of file
+}
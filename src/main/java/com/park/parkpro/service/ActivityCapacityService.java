@@ -0,0 +1,279 @@
+package com.park.parkpro.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.park.parkpro.domain.Activity;
+import com.park.parkpro.domain.ActivityDayCapacity;
+import com.park.parkpro.dto.ActivityAvailabilityDto;
+import com.park.parkpro.dto.TicketsByActivityDateDto;
+import com.park.parkpro.dto.TicketsByDateDto;
+import com.park.parkpro.exception.BadRequestException;
+import com.park.parkpro.repository.ActivityDayCapacityRepository;
+import com.park.parkpro.repository.AggregateQueryRepository;
+import com.park.parkpro.repository.BookingRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Enforces {@link Activity#getCapacityPerDay()} with one counter row per activity and visit date.
+ * Tickets are taken with a conditional UPDATE, so concurrent bookings serialize on the counter row
+ * and can never take it below zero. Remaining tickets per day are also served to the availability
+ * calendar from a short-lived cache that every reservation and release invalidates.
+ */
+@Service
+public class ActivityCapacityService {
+    private static final Logger LOGGER = Logger.getLogger(ActivityCapacityService.class.getName());
+    // Booking statuses that hold tickets against an activity day
+    private static final List<String> HOLDING_STATUSES = List.of("CONFIRMED", "PENDING");
+    private static final int MAX_AVAILABILITY_DAYS = 92;
+    private final ActivityDayCapacityRepository capacityRepository;
+    private final BookingRepository bookingRepository;
+    private final AggregateQueryRepository aggregateQueryRepository;
+    private final Cache<ActivityDay, Integer> remainingCache;
+
+    public ActivityCapacityService(ActivityDayCapacityRepository capacityRepository, BookingRepository bookingRepository,
+                                   AggregateQueryRepository aggregateQueryRepository,
+                                   @Value("${booking.availability-cache.ttl:30s}") Duration availabilityCacheTtl,
+                                   @Value("${booking.availability-cache.max-size:100000}") long availabilityCacheMaxSize) {
+        this.capacityRepository = capacityRepository;
+        this.bookingRepository = bookingRepository;
+        this.aggregateQueryRepository = aggregateQueryRepository;
+        this.remainingCache = Caffeine.newBuilder()
+                .expireAfterWrite(availabilityCacheTtl)
+                .maximumSize(availabilityCacheMaxSize)
+                .build();
+    }
+
+    public List<ActivityAvailabilityDto> getAvailability(Activity activity, LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new BadRequestException("'to' must not be before 'from'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_AVAILABILITY_DAYS) {
+            throw new BadRequestException("Availability can be requested for at most " + MAX_AVAILABILITY_DAYS + " days");
+        }
+        LocalDate today = LocalDate.now();
+        List<LocalDate> days = from.datesUntil(to.plusDays(1)).collect(Collectors.toList());
+        Integer capacity = activity.getCapacityPerDay();
+        if (capacity == null) {
+            return days.stream()
+                    .map(day -> new ActivityAvailabilityDto(day, null, null, !day.isBefore(today)))
+                    .collect(Collectors.toList());
+        }
+
+        List<ActivityDay> keys = days.stream().map(day -> new ActivityDay(activity.getId(), day)).collect(Collectors.toList());
+        Map<ActivityDay, Integer> remaining = remainingCache.getAll(keys, missing -> loadRemaining(activity, missing));
+        List<ActivityAvailabilityDto> availability = new ArrayList<>(days.size());
+        for (ActivityDay key : keys) {
+            int left = Math.max(0, remaining.get(key));
+            availability.add(new ActivityAvailabilityDto(key.visitDate(), capacity, left,
+                    left > 0 && !key.visitDate().isBefore(today)));
+        }
+        return availability;
+    }
+
+    @Transactional
+    public void reserve(Activity activity, LocalDate visitDate, int tickets) {
+        if (activity.getCapacityPerDay() == null) {
+            return;
+        }
+        evict(activity.getId(), visitDate);
+        if (capacityRepository.tryReserve(activity.getId(), visitDate, tickets) == 1) {
+            return;
+        }
+        if (!capacityRepository.existsByActivityIdAndVisitDate(activity.getId(), visitDate)) {
+            seed(activity, visitDate);
+            if (capacityRepository.tryReserve(activity.getId(), visitDate, tickets) == 1) {
+                return;
+            }
+        }
+        throw new BadRequestException("Not enough available slots for this activity on " + visitDate);
+    }
+
+    /**
+     * Reserves tickets for many activity days at once. Remaining tickets for every requested day are
+     * read in one grouped lookup and requests are admitted in order while they fit; the admitted
+     * tickets are then taken with one conditional UPDATE per activity day. Returns the indexes of the
+     * requests that could not be reserved.
+     */
+    @Transactional
+    public Set<Integer> reserveAll(List<TicketRequest> requests) {
+        Map<ActivityDay, List<Integer>> limited = new LinkedHashMap<>();
+        Map<UUID, Activity> activities = new HashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            TicketRequest request = requests.get(i);
+            if (request.activity().getCapacityPerDay() != null) {
+                activities.put(request.activity().getId(), request.activity());
+                limited.computeIfAbsent(new ActivityDay(request.activity().getId(), request.visitDate()), key -> new ArrayList<>()).add(i);
+            }
+        }
+        Set<Integer> rejected = new HashSet<>();
+        if (limited.isEmpty()) {
+            return rejected;
+        }
+
+        Map<ActivityDay, Integer> remaining = loadRemaining(activities, limited.keySet());
+        Map<ActivityDay, Integer> admitted = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            TicketRequest request = requests.get(i);
+            if (request.activity().getCapacityPerDay() == null) {
+                continue;
+            }
+            ActivityDay key = new ActivityDay(request.activity().getId(), request.visitDate());
+            int left = remaining.get(key) - admitted.getOrDefault(key, 0);
+            if (request.tickets() <= left) {
+                admitted.merge(key, request.tickets(), Integer::sum);
+            } else {
+                rejected.add(i);
+            }
+        }
+
+        for (Map.Entry<ActivityDay, Integer> entry : admitted.entrySet()) {
+            ActivityDay key = entry.getKey();
+            evict(key.activityId(), key.visitDate());
+            if (!capacityRepository.existsByActivityIdAndVisitDate(key.activityId(), key.visitDate())) {
+                seed(activities.get(key.activityId()), key.visitDate());
+            }
+            // Another booking took the tickets since they were read, the whole day is rejected
+            if (capacityRepository.tryReserve(key.activityId(), key.visitDate(), entry.getValue()) == 0) {
+                limited.get(key).stream()
+                        .filter(index -> !rejected.contains(index))
+                        .forEach(rejected::add);
+            }
+        }
+        return rejected;
+    }
+
+    // Days without a counter yet are seeded from the bookings themselves, so there is nothing to give back
+    @Transactional
+    public void release(UUID activityId, LocalDate visitDate, int tickets) {
+        capacityRepository.release(activityId, visitDate, tickets);
+        evict(activityId, visitDate);
+    }
+
+    @Transactional
+    public void onCapacityChanged(UUID activityId, Integer previousCapacity, Integer newCapacity) {
+        if (Objects.equals(previousCapacity, newCapacity)) {
+            return;
+        }
+        evictActivity(activityId);
+        if (previousCapacity == null || newCapacity == null) {
+            capacityRepository.deleteByActivityId(activityId);
+        } else {
+            capacityRepository.adjustRemaining(activityId, newCapacity - previousCapacity);
+        }
+    }
+
+    @Transactional
+    public void removeActivity(UUID activityId) {
+        capacityRepository.deleteByActivityId(activityId);
+        evictActivity(activityId);
+    }
+
+    @Scheduled(cron = "${booking.capacity.purge-cron:0 45 2 * * *}")
+    @Transactional
+    public void purgePastDays() {
+        int purged = capacityRepository.deleteByVisitDateBefore(LocalDate.now());
+        LOGGER.info("Purged " + purged + " activity day capacity counters for past dates");
+    }
+
+    // Seeds in the caller's transaction, so a first booking of the day holds a single pooled connection
+    private void seed(Activity activity, LocalDate visitDate) {
+        long heldTickets = bookingRepository.countTicketsByActivityIdAndVisitDateAndStatusIn(
+                activity.getId(), visitDate, HOLDING_STATUSES);
+        if (capacityRepository.insertIfAbsent(UUID.randomUUID(), activity, visitDate,
+                activity.getCapacityPerDay() - (int) heldTickets, LocalDateTime.now()) == 0) {
+            LOGGER.fine("Capacity counter for activity " + activity.getId() + " on " + visitDate + " was seeded concurrently");
+        }
+    }
+
+    // Counter rows where they exist, otherwise the tickets held by bookings, in two queries for the whole range
+    private Map<ActivityDay, Integer> loadRemaining(Activity activity, Set<? extends ActivityDay> days) {
+        LocalDate from = days.stream().map(ActivityDay::visitDate).min(LocalDate::compareTo).orElseThrow();
+        LocalDate to = days.stream().map(ActivityDay::visitDate).max(LocalDate::compareTo).orElseThrow();
+        Map<LocalDate, Integer> counters = capacityRepository.findByActivityIdAndVisitDateBetween(activity.getId(), from, to)
+                .stream()
+                .collect(Collectors.toMap(ActivityDayCapacity::getVisitDate, ActivityDayCapacity::getRemaining));
+        Map<LocalDate, Long> heldTickets = aggregateQueryRepository.countTicketsByVisitDate(activity.getId(), from, to, HOLDING_STATUSES)
+                .stream()
+                .collect(Collectors.toMap(TicketsByDateDto::visitDate, TicketsByDateDto::tickets));
+
+        Map<ActivityDay, Integer> remaining = new HashMap<>();
+        for (ActivityDay day : days) {
+            Integer counter = counters.get(day.visitDate());
+            remaining.put(day, counter != null ? counter
+                    : activity.getCapacityPerDay() - heldTickets.getOrDefault(day.visitDate(), 0L).intValue());
+        }
+        return remaining;
+    }
+
+    // The same as above across activities, used to admit a batch of reservations in one pass
+    private Map<ActivityDay, Integer> loadRemaining(Map<UUID, Activity> activities, Set<ActivityDay> days) {
+        LocalDate from = days.stream().map(ActivityDay::visitDate).min(LocalDate::compareTo).orElseThrow();
+        LocalDate to = days.stream().map(ActivityDay::visitDate).max(LocalDate::compareTo).orElseThrow();
+        Map<ActivityDay, Integer> remaining = new HashMap<>();
+        capacityRepository.findByActivityIdInAndVisitDateBetween(activities.keySet(), from, to).stream()
+                .map(counter -> Map.entry(new ActivityDay(counter.getActivity().getId(), counter.getVisitDate()), counter.getRemaining()))
+                .filter(entry -> days.contains(entry.getKey()))
+                .forEach(entry -> remaining.put(entry.getKey(), entry.getValue()));
+        if (remaining.size() < days.size()) {
+            Map<ActivityDay, Long> heldTickets = aggregateQueryRepository.countTicketsByActivityAndVisitDate(
+                            activities.keySet(), from, to, HOLDING_STATUSES).stream()
+                    .collect(Collectors.toMap(held -> new ActivityDay(held.activityId(), held.visitDate()),
+                            TicketsByActivityDateDto::tickets));
+            for (ActivityDay day : days) {
+                remaining.computeIfAbsent(day, key -> activities.get(key.activityId()).getCapacityPerDay()
+                        - heldTickets.getOrDefault(key, 0L).intValue());
+            }
+        }
+        return remaining;
+    }
+
+    // Dropped again after commit so a concurrent read cannot re-cache the pre-commit value
+    private void evict(UUID activityId, LocalDate visitDate) {
+        ActivityDay key = new ActivityDay(activityId, visitDate);
+        remainingCache.invalidate(key);
+        afterCommit(() -> remainingCache.invalidate(key));
+    }
+
+    private void evictActivity(UUID activityId) {
+        remainingCache.asMap().keySet().removeIf(key -> key.activityId().equals(activityId));
+        afterCommit(() -> remainingCache.asMap().keySet().removeIf(key -> key.activityId().equals(activityId)));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        }
+    }
+
+    public record TicketRequest(Activity activity, LocalDate visitDate, int tickets) {
+    }
+
+    private record ActivityDay(UUID activityId, LocalDate visitDate) {
+    }
+}
@@ -3,15 +3,18 @@ package com.park.parkpro.service;
 import com.park.parkpro.domain.Activity;
 import com.park.parkpro.domain.Park;
 import com.park.parkpro.domain.User;
+import com.park.parkpro.dto.ActivityAvailabilityDto;
 import com.park.parkpro.exception.NotFoundException;
 import com.park.parkpro.repository.ActivityRepository;
 import com.park.parkpro.repository.ParkRepository;
 import com.park.parkpro.repository.UserRepository;
-import com.park.parkpro.security.JwtUtil;
+import com.park.parkpro.security.AuthenticatedUser;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
@@ -21,18 +24,21 @@ public class ActivityService {
     private final ActivityRepository activityRepository;
     private final ParkRepository parkRepository;
     private final UserRepository userRepository;
-    private final JwtUtil jwtUtil;
+    private final ActivityCapacityService activityCapacityService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public ActivityService(ActivityRepository activityRepository, ParkRepository parkRepository,
-                           UserRepository userRepository, JwtUtil jwtUtil) {
+                           UserRepository userRepository, ActivityCapacityService activityCapacityService,
+                           ApplicationEventPublisher eventPublisher) {
         this.activityRepository = activityRepository;
         this.parkRepository = parkRepository;
         this.userRepository = userRepository;
-        this.jwtUtil = jwtUtil;
+        this.activityCapacityService = activityCapacityService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
-    public Activity createActivity(UUID parkId, String name, BigDecimal price, String description, String picture, Integer capacityPerDay, String token) {
+    public Activity createActivity(UUID parkId, String name, BigDecimal price, String description, String picture, Integer capacityPerDay, AuthenticatedUser currentUser) {
         Park park = parkRepository.findById(parkId)
                 .orElseThrow(() -> new NotFoundException("Park not found with ID: " + parkId));
 
@@ -43,11 +49,13 @@ public class ActivityService {
         activity.setDescription(description);
         activity.setPicture(picture);
         activity.setCapacityPerDay(capacityPerDay);
-        return activityRepository.save(activity);
+        activity = activityRepository.save(activity);
+        eventPublisher.publishEvent(CatalogChangedEvent.activity(parkId, activity.getId()));
+        return activity;
     }
 
     @Transactional
-    public Activity updateActivity(UUID activityId, String name, BigDecimal price, String description, String picture, Integer capacityPerDay, String token) {
+    public Activity updateActivity(UUID activityId, String name, BigDecimal price, String description, String picture, Integer capacityPerDay, AuthenticatedUser currentUser) {
         Activity activity = activityRepository.findById(activityId)
                 .orElseThrow(() -> new NotFoundException("Activity not found with ID: " + activityId));
 
@@ -55,17 +63,23 @@ public class ActivityService {
         if (price != null) activity.setPrice(price);
         if (description != null) activity.setDescription(description);
         if (picture != null && !picture.trim().isEmpty()) activity.setPicture(picture);
-        if (capacityPerDay != null) activity.setCapacityPerDay(capacityPerDay);
+        if (capacityPerDay != null) {
+            activityCapacityService.onCapacityChanged(activityId, activity.getCapacityPerDay(), capacityPerDay);
+            activity.setCapacityPerDay(capacityPerDay);
+        }
         activity.setUpdatedAt(LocalDateTime.now());
+        eventPublisher.publishEvent(CatalogChangedEvent.activity(activity.getPark().getId(), activityId));
         return activityRepository.save(activity);
     }
 
     @Transactional
-    public void deleteActivity(UUID activityId, String token) {
+    public void deleteActivity(UUID activityId, AuthenticatedUser currentUser) {
         Activity activity = activityRepository.findById(activityId)
                 .orElseThrow(() -> new NotFoundException("Activity not found with ID: " + activityId));
 
+        activityCapacityService.removeActivity(activityId);
         activityRepository.delete(activity);
+        eventPublisher.publishEvent(CatalogChangedEvent.activity(activity.getPark().getId(), activityId));
     }
 
     public List<Activity> getActivitiesByPark(UUID parkId) {
@@ -79,4 +93,9 @@ public class ActivityService {
         return activityRepository.findById(activityId)
                 .orElseThrow(() -> new NotFoundException("Activity not found with ID: " + activityId));
     }
-}
\ No newline at end of file
+
+    public List<ActivityAvailabilityDto> getAvailability(UUID activityId, LocalDate from, LocalDate to) {
+        Activity activity = getActivityById(activityId);
+        return activityCapacityService.getAvailability(activity, from, to);
+    }
+}
@@ -1,21 +1,15 @@
 package com.park.parkpro.service;
 
-import com.park.parkpro.domain.AuditLog;
-import com.park.parkpro.domain.User;
 import com.park.parkpro.dto.AuditLogDto;
 import com.park.parkpro.dto.CreateAuditLogDto;
-import com.park.parkpro.exception.NotFoundException;
+import com.park.parkpro.exception.BadRequestException;
+import com.park.parkpro.repository.AuditLogFilter;
 import com.park.parkpro.repository.AuditLogRepository;
-import com.park.parkpro.repository.UserRepository;
-import com.park.parkpro.security.JwtUtil;
+import com.park.parkpro.security.AuthenticatedUser;
+import com.park.parkpro.dto.PageResponseDto;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-
-import java.time.LocalDateTime;
-import java.util.List;
-import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 public class AuditLogService {
@@ -24,55 +18,31 @@ public class AuditLogService {
     private AuditLogRepository auditLogRepository;
 
     @Autowired
-    private UserRepository userRepository;
-
-    @Autowired
-    private JwtUtil jwtUtil;
-
-    @Transactional
-    public AuditLogDto createAuditLog(CreateAuditLogDto dto, String token) {
-        String email = jwtUtil.getEmailFromToken(token);
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + email));
+    private AuditLogWriter auditLogWriter;
 
-        AuditLog auditLog = new AuditLog(
+    public AuditLogDto createAuditLog(CreateAuditLogDto dto, AuthenticatedUser currentUser) {
+        if (dto.getAction() == null || dto.getAction().isBlank() || dto.getEntityType() == null || dto.getEntityType().isBlank()) {
+            throw new BadRequestException("Action and entity type are required");
+        }
+        AuditLogWriter.Entry entry = AuditLogWriter.Entry.of(
                 dto.getAction(),
                 dto.getEntityType(),
                 dto.getEntityId(),
                 dto.getDetails(),
-                user,
-                LocalDateTime.now()
+                currentUser.id()
         );
 
-        auditLog = auditLogRepository.save(auditLog);
-        return mapToDto(auditLog);
-    }
-
-    public List<AuditLogDto> getAuditLogsByEntityType(String entityType) {
-        return auditLogRepository.findByEntityType(entityType)
-                .stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
-    }
-
-    public List<AuditLogDto> getAllAuditLogs() {
-        return auditLogRepository.findAll()
-                .stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+        auditLogWriter.append(entry);
+        return new AuditLogDto(entry.id(), entry.action(), entry.entityType(), entry.entityId(), entry.details(),
+                entry.performedById(), entry.performedAt(), null, null);
     }
 
-    private AuditLogDto mapToDto(AuditLog auditLog) {
-        AuditLogDto dto = new AuditLogDto();
-        dto.setId(auditLog.getId());
-        dto.setAction(auditLog.getAction());
-        dto.setEntityType(auditLog.getEntityType());
-        dto.setEntityId(auditLog.getEntityId());
-        dto.setDetails(auditLog.getDetails());
-        dto.setPerformedById(auditLog.getPerformedBy() != null ? auditLog.getPerformedBy().getId() : null);
-        dto.setPerformedAt(auditLog.getPerformedAt());
-        dto.setReviewedById(auditLog.getReviewedBy() != null ? auditLog.getReviewedBy().getId() : null);
-        dto.setReviewedAt(auditLog.getReviewedAt());
-        return dto;
+    public PageResponseDto<AuditLogDto> getAuditLogs(AuditLogFilter filter, String cursor, int size) {
+        if (filter.from() != null && filter.to() != null && !filter.from().isBefore(filter.to())) {
+            throw new BadRequestException("'from' must be before 'to'");
+        }
+        Limit limit = KeysetPages.limit(size);
+        return KeysetPages.toPage(auditLogRepository.findAuditLogs(
+                filter, KeysetPages.position(cursor, "performedAt"), limit), limit, "performedAt");
     }
 }
\ No newline at end of file
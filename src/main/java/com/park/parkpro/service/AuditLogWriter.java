@@ -0,0 +1,435 @@
+package com.park.parkpro.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Writes audit log entries off the request thread. Entries are queued once the caller's transaction
+ * commits and a background thread inserts them in JDBC batches of {@code audit.log.batch-size}, or
+ * whatever has arrived after {@code audit.log.flush-interval}. When the bounded queue is full the
+ * caller inserts its entry itself and leaves it to the background thread if that fails, so audit
+ * entries are never dropped. Only transient database errors are retried; a batch the database
+ * rejects is written row by row, and rows it still rejects are logged and set aside instead of
+ * holding back the entries behind them.
+ * <p>
+ * With {@code audit.log.wal.enabled} every entry is also appended to a local file before the caller's
+ * transaction commits. The file is truncated whenever everything in it has reached the database, and
+ * whatever is left in it at startup is replayed, so a crash loses nothing that was committed. Rejected
+ * entries go to a {@code .rejected} file next to it.
+ */
+@Service
+@DependsOn("entityManagerFactory")
+public class AuditLogWriter {
+    private static final Logger LOGGER = Logger.getLogger(AuditLogWriter.class.getName());
+    private static final String INSERT = "INSERT INTO audit_log (id, action, entity_type, entity_id, details, performed_by, performed_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    // Rows already written by an earlier attempt of a batch are skipped
+    private static final String INSERT_IF_ABSENT = "INSERT INTO audit_log (id, action, entity_type, entity_id, details, performed_by, performed_at) "
+            + "SELECT ?, ?, ?, ?, ?, ?, ? WHERE NOT EXISTS (SELECT 1 FROM audit_log WHERE id = ?)";
+    // Marks an entry of a transaction that rolled back after it was appended to the WAL
+    private static final String WAL_DISCARDED = "-";
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(1);
+    private static final int MAX_DETAILS_LENGTH = 255;
+
+    public record Entry(UUID id, String action, String entityType, UUID entityId, String details,
+                        UUID performedById, LocalDateTime performedAt) {
+        public Entry {
+            Objects.requireNonNull(action, "action");
+            Objects.requireNonNull(entityType, "entityType");
+            if (details != null && details.length() > MAX_DETAILS_LENGTH) {
+                details = details.substring(0, MAX_DETAILS_LENGTH);
+            }
+        }
+
+        public static Entry of(String action, String entityType, UUID entityId, String details, UUID performedById) {
+            return new Entry(UUID.randomUUID(), action, entityType, entityId, details, performedById, LocalDateTime.now());
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final BlockingQueue<Entry> queue;
+    // Entries a request thread failed to write when the queue was full, picked up again by the flusher
+    private final Queue<Entry> retries = new ConcurrentLinkedQueue<>();
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final Path walPath;
+    private final Path rejectedPath;
+    private final boolean walSync;
+    private final Object walLock = new Object();
+    private FileChannel wal;
+    // Entries appended to the WAL since it was last truncated, and how many of them are in the database
+    private long walAppended;
+    private long walWritten;
+    private Thread flusher;
+    private volatile boolean running;
+
+    public AuditLogWriter(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                          @Value("${audit.log.queue-capacity:10000}") int queueCapacity,
+                          @Value("${audit.log.batch-size:100}") int batchSize,
+                          @Value("${audit.log.flush-interval:200ms}") Duration flushInterval,
+                          @Value("${audit.log.wal.enabled:false}") boolean walEnabled,
+                          @Value("${audit.log.wal.path:data/audit-log.wal}") Path walPath,
+                          @Value("${audit.log.wal.sync:true}") boolean walSync) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.walPath = walEnabled ? walPath : null;
+        this.rejectedPath = walEnabled ? walPath.resolveSibling(walPath.getFileName() + ".rejected") : null;
+        this.walSync = walSync;
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (walPath != null) {
+            recover();
+            wal = FileChannel.open(walPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        running = true;
+        flusher = new Thread(this::flushLoop, "audit-log-writer");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException, IOException {
+        // The flusher notices within one flush interval; stop() then writes what it left behind
+        running = false;
+        flusher.join(flushInterval.toMillis() + 5_000);
+        flush();
+        if (wal != null) {
+            wal.close();
+        }
+    }
+
+    /**
+     * Queues the entry after the current transaction commits, or right away outside of one. The WAL
+     * append happens before the commit, so failing to write it fails the transaction rather than
+     * losing the entry.
+     */
+    public void append(Entry entry) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                private boolean logged;
+
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    appendToWal(entry);
+                    logged = true;
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        enqueue(entry);
+                    } else if (logged) {
+                        discardFromWal(entry);
+                    }
+                }
+            });
+        } else {
+            appendToWal(entry);
+            enqueue(entry);
+        }
+    }
+
+    /**
+     * Writes everything queued so far on the calling thread.
+     */
+    public void flush() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        while (takeRetries(batch) + queue.drainTo(batch, batchSize - batch.size()) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void enqueue(Entry entry) {
+        try {
+            if (queue.offer(entry, flushInterval.toMillis(), TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        LOGGER.warning("Audit log queue is full, writing entry " + entry.id() + " on the request thread");
+        try {
+            insertAll(List.of(entry));
+            markWritten(1);
+        } catch (DataAccessException e) {
+            LOGGER.log(Level.WARNING, "Failed to write audit log entry " + entry.id() + ", leaving it to the flusher", e);
+            retries.add(entry);
+        }
+    }
+
+    private int takeRetries(List<Entry> batch) {
+        int taken = 0;
+        Entry retry;
+        while (batch.size() < batchSize && (retry = retries.poll()) != null) {
+            batch.add(retry);
+            taken++;
+        }
+        return taken;
+    }
+
+    private void flushLoop() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                takeRetries(batch);
+                Entry first = queue.poll(flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    if (!batch.isEmpty()) {
+                        write(batch);
+                        batch.clear();
+                    }
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - batch.size());
+                long deadline = System.nanoTime() + flushInterval.toNanos();
+                while (batch.size() < batchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    Entry next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    queue.drainTo(batch, batchSize - batch.size());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    // Retries transient failures until the batch is in the database; while stopping, leftovers stay in the WAL
+    private void write(List<Entry> batch) {
+        while (true) {
+            try {
+                insertAll(batch);
+                markWritten(batch.size());
+                return;
+            } catch (DataAccessException e) {
+                LOGGER.log(Level.WARNING, "Failed to write " + batch.size() + " audit log entries, retrying", e);
+                if (!running) {
+                    return;
+                }
+                try {
+                    Thread.sleep(RETRY_DELAY.toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    // Only transient failures escape; entries the database rejects for good are set aside
+    private void insertAll(List<Entry> entries) {
+        try {
+            insert(entries);
+        } catch (DataAccessException e) {
+            if (isTransient(e)) {
+                throw e;
+            }
+            // A JDBC batch is not atomic, part of it may be in the database already
+            LOGGER.log(Level.WARNING, "Failed to write " + entries.size() + " audit log entries as a batch, writing them one by one", e);
+            for (Entry entry : entries) {
+                try {
+                    jdbcTemplate.update(INSERT_IF_ABSENT, entry.id(), entry.action(), entry.entityType(), entry.entityId(),
+                            entry.details(), entry.performedById(), Timestamp.valueOf(entry.performedAt()), entry.id());
+                } catch (DataAccessException rowFailure) {
+                    if (isTransient(rowFailure)) {
+                        throw rowFailure;
+                    }
+                    reject(entry, rowFailure);
+                }
+            }
+        }
+    }
+
+    private static boolean isTransient(DataAccessException e) {
+        return e instanceof TransientDataAccessException || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException;
+    }
+
+    private void reject(Entry entry, DataAccessException failure) {
+        String line;
+        try {
+            line = objectMapper.writeValueAsString(entry);
+        } catch (IOException e) {
+            line = entry.toString();
+        }
+        LOGGER.log(Level.SEVERE, "Audit log entry rejected by the database, setting it aside: " + line, failure);
+        if (rejectedPath == null) {
+            return;
+        }
+        try {
+            synchronized (walLock) {
+                Files.writeString(rejectedPath, line + "\n", StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to set aside audit log entry " + entry.id() + " in " + rejectedPath, e);
+        }
+    }
+
+    private void insert(List<Entry> entries) {
+        jdbcTemplate.batchUpdate(INSERT, entries, entries.size(), (statement, entry) -> {
+            statement.setObject(1, entry.id());
+            statement.setString(2, entry.action());
+            statement.setString(3, entry.entityType());
+            statement.setObject(4, entry.entityId());
+            statement.setString(5, entry.details());
+            statement.setObject(6, entry.performedById());
+            statement.setTimestamp(7, Timestamp.valueOf(entry.performedAt()));
+        });
+    }
+
+    private void appendToWal(Entry entry) {
+        if (wal == null) {
+            return;
+        }
+        try {
+            writeToWal(objectMapper.writeValueAsString(entry), true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append audit log entry " + entry.id() + " to " + walPath, e);
+        }
+    }
+
+    // Runs after the transaction has ended, so a failure is only logged
+    private void discardFromWal(Entry entry) {
+        if (wal == null) {
+            return;
+        }
+        try {
+            writeToWal(WAL_DISCARDED + entry.id(), false);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to mark rolled back audit log entry " + entry.id() + " in " + walPath
+                    + ", it will be replayed on restart", e);
+        }
+        markWritten(1);
+    }
+
+    // Counting in the same critical section keeps markWritten from truncating a line it has not accounted for
+    private void writeToWal(String text, boolean entry) throws IOException {
+        ByteBuffer line = ByteBuffer.wrap((text + "\n").getBytes(StandardCharsets.UTF_8));
+        synchronized (walLock) {
+            while (line.hasRemaining()) {
+                wal.write(line);
+            }
+            if (walSync) {
+                wal.force(false);
+            }
+            if (entry) {
+                walAppended++;
+            }
+        }
+    }
+
+    private void markWritten(int count) {
+        if (wal == null) {
+            return;
+        }
+        synchronized (walLock) {
+            walWritten += count;
+            if (walWritten < walAppended) {
+                return;
+            }
+            try {
+                wal.truncate(0);
+                walAppended = 0;
+                walWritten = 0;
+            } catch (IOException e) {
+                // Harmless, replaying already written entries is skipped by id
+                LOGGER.log(Level.WARNING, "Failed to truncate audit log WAL " + walPath, e);
+            }
+        }
+    }
+
+    private void recover() throws IOException {
+        if (!Files.exists(walPath)) {
+            Files.createDirectories(walPath.toAbsolutePath().getParent());
+            return;
+        }
+        List<Entry> entries = new ArrayList<>();
+        Set<UUID> discarded = new HashSet<>();
+        for (String line : Files.readAllLines(walPath, StandardCharsets.UTF_8)) {
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                if (line.startsWith(WAL_DISCARDED)) {
+                    discarded.add(UUID.fromString(line.substring(WAL_DISCARDED.length())));
+                } else {
+                    entries.add(objectMapper.readValue(line, Entry.class));
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                // A crash mid-append leaves a torn last line
+                LOGGER.warning("Skipping unreadable audit log WAL line: " + line);
+            }
+        }
+        entries.removeIf(entry -> discarded.contains(entry.id()));
+        Set<UUID> written = new HashSet<>();
+        for (int from = 0; from < entries.size(); from += batchSize) {
+            List<Object> ids = entries.subList(from, Math.min(from + batchSize, entries.size())).stream()
+                    .map(entry -> (Object) entry.id())
+                    .toList();
+            String placeholders = String.join(",", ids.stream().map(id -> "?").toList());
+            written.addAll(jdbcTemplate.queryForList("SELECT id FROM audit_log WHERE id IN (" + placeholders + ")",
+                    UUID.class, ids.toArray()));
+        }
+        List<Entry> missing = entries.stream().filter(entry -> !written.contains(entry.id())).toList();
+        for (int from = 0; from < missing.size(); from += batchSize) {
+            insertAll(missing.subList(from, Math.min(from + batchSize, missing.size())));
+        }
+        if (!missing.isEmpty()) {
+            LOGGER.info("Replayed " + missing.size() + " audit log entries from " + walPath);
+        }
+        Files.write(walPath, new byte[0]);
+    }
+}
\ No newline at end of file
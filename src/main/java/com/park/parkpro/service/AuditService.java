@@ -6,31 +6,30 @@ import com.park.parkpro.dto.CreateAuditRequestDto;
 import com.park.parkpro.dto.UpdateAuditRequestDto;
 import com.park.parkpro.exception.NotFoundException;
 import com.park.parkpro.repository.*;
-import com.park.parkpro.security.JwtUtil;
+import com.park.parkpro.security.AuthenticatedUser;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class AuditService {
     private final AuditRepository auditRepository;
     private final ParkRepository parkRepository;
-    private final ExpenseRepository expenseRepository;
-    private final WithdrawRequestRepository withdrawRequestRepository;
+    private final AggregateQueryRepository aggregateQueryRepository;
     private final UserRepository userRepository;
-    private final JwtUtil jwtUtil;
 
     @Transactional
-    public AuditResponseDto createAudit(CreateAuditRequestDto request, String token) {
-        String email = jwtUtil.getEmailFromToken(token);
-        User currentUser = userRepository.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + email));
+    public AuditResponseDto createAudit(CreateAuditRequestDto request, AuthenticatedUser currentUser) {
+        User auditor = userRepository.getReferenceById(currentUser.id());
 
         Park park = parkRepository.findById(request.getParkId())
                 .orElseThrow(() -> new NotFoundException("Park not found"));
@@ -52,8 +51,8 @@ public class AuditService {
                 .percentageUnjustified(stats.percentageUnjustified)
                 .totalPercentage(stats.percentagePassed)
                 .auditProgress(AuditProgress.IN_PROGRESS)
-                .createdBy(currentUser)
-                .updatedBy(currentUser)
+                .createdBy(auditor)
+                .updatedBy(auditor)
                 .build();
 
         audit = auditRepository.save(audit);
@@ -102,16 +101,14 @@ public class AuditService {
     }
 
     @Transactional
-    public AuditResponseDto updateAuditProgress(UUID id, UpdateAuditRequestDto request, String token) {
-        String email = jwtUtil.getEmailFromToken(token);
-        User currentUser = userRepository.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + email));
+    public AuditResponseDto updateAuditProgress(UUID id, UpdateAuditRequestDto request, AuthenticatedUser currentUser) {
+        User auditor = userRepository.getReferenceById(currentUser.id());
 
         Audit audit = auditRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Audit not found"));
 
         audit.setAuditProgress(request.getAuditProgress());
-        audit.setUpdatedBy(currentUser);
+        audit.setUpdatedBy(auditor);
         audit.setUpdatedAt(LocalDateTime.now());
         
         audit = auditRepository.save(audit);
@@ -145,27 +142,20 @@ public class AuditService {
 
     // Helper method to calculate audit statistics
     private AuditStatistics calculateAuditStatistics(UUID parkId, Integer year) {
-        List<Expense> expenses = expenseRepository.findByParkIdAndYear(parkId, year);
-        List<WithdrawRequest> withdrawRequests = withdrawRequestRepository.findByParkIdAndYear(parkId, year);
+        Map<AuditStatus, Long> counts = new EnumMap<>(AuditStatus.class);
+        Stream.concat(aggregateQueryRepository.countExpensesByAuditStatus(parkId, year).stream(),
+                        aggregateQueryRepository.countWithdrawRequestsByAuditStatus(parkId, year).stream())
+                .forEach(row -> counts.merge(row.auditStatus(), row.count(), Long::sum));
 
-        int totalItems = expenses.size() + withdrawRequests.size();
+        long totalItems = counts.values().stream().mapToLong(Long::longValue).sum();
         if (totalItems == 0) {
             throw new IllegalStateException("No expenses or withdraw requests found for the specified year");
         }
 
-        long passedCount = expenses.stream().filter(e -> e.getAuditStatus() == AuditStatus.PASSED).count() +
-                withdrawRequests.stream().filter(w -> w.getAuditStatus() == AuditStatus.PASSED).count();
-
-        long failedCount = expenses.stream().filter(e -> e.getAuditStatus() == AuditStatus.FAILED).count() +
-                withdrawRequests.stream().filter(w -> w.getAuditStatus() == AuditStatus.FAILED).count();
-
-        long unjustifiedCount = expenses.stream().filter(e -> e.getAuditStatus() == AuditStatus.UNJUSTIFIED).count() +
-                withdrawRequests.stream().filter(w -> w.getAuditStatus() == AuditStatus.UNJUSTIFIED).count();
-
         AuditStatistics stats = new AuditStatistics();
-        stats.percentagePassed = (double) passedCount / totalItems * 100;
-        stats.percentageFailed = (double) failedCount / totalItems * 100;
-        stats.percentageUnjustified = (double) unjustifiedCount / totalItems * 100;
+        stats.percentagePassed = (double) counts.getOrDefault(AuditStatus.PASSED, 0L) / totalItems * 100;
+        stats.percentageFailed = (double) counts.getOrDefault(AuditStatus.FAILED, 0L) / totalItems * 100;
+        stats.percentageUnjustified = (double) counts.getOrDefault(AuditStatus.UNJUSTIFIED, 0L) / totalItems * 100;
 
         return stats;
     }
@@ -0,0 +1,11 @@
+package com.park.parkpro.service;
+
+import java.util.UUID;
+
+/**
+ * Published once the PENDING bookings of a bulk request have been saved; the whole batch is
+ * charged once after the reserving transaction commits.
+ */
+public record BookingBatchReservedEvent(UUID batchId, Long amountInCents, String currency,
+                                        String description, String paymentMethodId) {
+}
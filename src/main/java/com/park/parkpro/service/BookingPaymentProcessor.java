@@ -0,0 +1,112 @@
+package com.park.parkpro.service;
+
+import com.stripe.exception.StripeException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Charges reserved bookings on the payment executor, outside of any database transaction,
+ * and hands the outcome to {@link BookingService#finalizeBooking}. Bookings left PENDING by a
+ * full queue or a Stripe outage are picked up again by the retry sweep, and fail for good once
+ * they are older than the retry window.
+ */
+@Service
+public class BookingPaymentProcessor {
+    private static final Logger LOGGER = Logger.getLogger(BookingPaymentProcessor.class.getName());
+    // Stripe keeps idempotency keys for 24 hours, older reservations are expired instead of retried
+    private static final Duration RETRY_WINDOW = Duration.ofHours(23);
+    private final StripeService stripeService;
+    private final BookingService bookingService;
+    private final TaskExecutor paymentExecutor;
+    private final Duration retryAfter;
+
+    public BookingPaymentProcessor(StripeService stripeService, BookingService bookingService,
+                                   @Qualifier("paymentExecutor") TaskExecutor paymentExecutor,
+                                   @Value("${booking.payment.retry-after:5m}") Duration retryAfter) {
+        this.stripeService = stripeService;
+        this.bookingService = bookingService;
+        this.paymentExecutor = paymentExecutor;
+        this.retryAfter = retryAfter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onBookingReserved(BookingReservedEvent event) {
+        submit(event);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onBookingBatchReserved(BookingBatchReservedEvent event) {
+        submit(event);
+    }
+
+    @Scheduled(fixedDelayString = "${booking.payment.retry-interval:PT5M}")
+    public void retryPendingPayments() {
+        LocalDateTime now = LocalDateTime.now();
+        List<BookingReservedEvent> pending = bookingService.findPendingPayments(now.minus(RETRY_WINDOW), now.minus(retryAfter));
+        if (!pending.isEmpty()) {
+            LOGGER.info("Retrying payment for " + pending.size() + " pending bookings");
+            pending.forEach(this::submit);
+        }
+        List<BookingBatchReservedEvent> pendingBatches = bookingService.findPendingBatchPayments(now.minus(RETRY_WINDOW), now.minus(retryAfter));
+        if (!pendingBatches.isEmpty()) {
+            LOGGER.info("Retrying payment for " + pendingBatches.size() + " pending booking batches");
+            pendingBatches.forEach(this::submit);
+        }
+        int expired = bookingService.expirePendingPayments(now.minus(RETRY_WINDOW));
+        if (expired > 0) {
+            LOGGER.warning("Expired " + expired + " bookings whose payment never settled");
+        }
+    }
+
+    private void submit(BookingReservedEvent event) {
+        submit(() -> charge(event), "booking " + event.bookingId());
+    }
+
+    private void submit(BookingBatchReservedEvent event) {
+        submit(() -> charge(event), "booking batch " + event.batchId());
+    }
+
+    private void submit(Runnable charge, String target) {
+        try {
+            paymentExecutor.execute(charge);
+        } catch (TaskRejectedException e) {
+            LOGGER.warning("Payment queue is full, " + target + " stays PENDING until the next retry");
+        }
+    }
+
+    private void charge(BookingReservedEvent event) {
+        PaymentResult payment;
+        try {
+            payment = stripeService.chargePayment(event.amountInCents(), event.currency(), event.description(),
+                    event.paymentMethodId(), event.bookingId().toString());
+        } catch (StripeException e) {
+            LOGGER.warning("Payment for booking " + event.bookingId() + " did not complete, will retry: " + e.getMessage());
+            return;
+        }
+        bookingService.finalizeBooking(event.bookingId(), payment);
+    }
+
+    // The batch ID is the idempotency key, it never collides with a booking ID
+    private void charge(BookingBatchReservedEvent event) {
+        PaymentResult payment;
+        try {
+            payment = stripeService.chargePayment(event.amountInCents(), event.currency(), event.description(),
+                    event.paymentMethodId(), event.batchId().toString());
+        } catch (StripeException e) {
+            LOGGER.warning("Payment for booking batch " + event.batchId() + " did not complete, will retry: " + e.getMessage());
+            return;
+        }
+        bookingService.finalizeBatch(event.batchId(), payment);
+    }
+}
@@ -0,0 +1,11 @@
+package com.park.parkpro.service;
+
+import java.util.UUID;
+
+/**
+ * Published once a PENDING booking has been saved; the payment is charged
+ * after the reserving transaction commits.
+ */
+public record BookingReservedEvent(UUID bookingId, Long amountInCents, String currency,
+                                   String description, String paymentMethodId) {
+}
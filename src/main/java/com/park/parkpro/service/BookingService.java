@@ -2,76 +2,420 @@ package com.park.parkpro.service;
 
 import com.park.parkpro.domain.Activity;
 import com.park.parkpro.domain.Booking;
+import com.park.parkpro.domain.BookingBatch;
 import com.park.parkpro.domain.BookingGroupMember;
-import com.park.parkpro.domain.IncomeStream;
+import com.park.parkpro.domain.IncomeStreamKind;
 import com.park.parkpro.domain.Park;
 import com.park.parkpro.domain.User;
 import com.park.parkpro.dto.CreateBookingRequestDto;
 import com.park.parkpro.exception.BadRequestException;
+import com.park.parkpro.exception.CustomException;
 import com.park.parkpro.exception.ForbiddenException;
 import com.park.parkpro.exception.NotFoundException;
 import com.park.parkpro.repository.ActivityRepository;
+import com.park.parkpro.repository.BookingBatchRepository;
 import com.park.parkpro.repository.BookingRepository;
 import com.park.parkpro.repository.BudgetRepository;
-import com.park.parkpro.repository.IncomeStreamRepository;
 import com.park.parkpro.repository.ParkRepository;
 import com.park.parkpro.repository.UserRepository;
-import com.park.parkpro.security.JwtUtil;
-import com.stripe.exception.StripeException;
-import com.stripe.model.PaymentIntent;
+import com.park.parkpro.security.AuthenticatedUser;
+import com.park.parkpro.dto.PageResponseDto;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
 
 @Service
 public class BookingService {
     private static final Logger LOGGER = Logger.getLogger(BookingService.class.getName());
     private final BookingRepository bookingRepository;
+    private final BookingBatchRepository bookingBatchRepository;
     private final ActivityRepository activityRepository;
     private final ParkRepository parkRepository;
     private final UserRepository userRepository;
     private final BudgetRepository budgetRepository;
-    private final IncomeStreamRepository incomeStreamRepository;
-    private final JwtUtil jwtUtil;
-    private final StripeService stripeService;
+    private final IncomeStreamResolver incomeStreamResolver;
+    private final BudgetLedgerService budgetLedgerService;
+    private final ActivityCapacityService activityCapacityService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OptimisticRetryExecutor optimisticRetry;
 
     public BookingService(BookingRepository bookingRepository, ActivityRepository activityRepository,
                           ParkRepository parkRepository, UserRepository userRepository,
-                          BudgetRepository budgetRepository, IncomeStreamRepository incomeStreamRepository,
-                          JwtUtil jwtUtil, StripeService stripeService) {
+                          BudgetRepository budgetRepository, IncomeStreamResolver incomeStreamResolver,
+                          BudgetLedgerService budgetLedgerService, ActivityCapacityService activityCapacityService,
+                          ApplicationEventPublisher eventPublisher, BookingBatchRepository bookingBatchRepository,
+                          OptimisticRetryExecutor optimisticRetry) {
         this.bookingRepository = bookingRepository;
+        this.bookingBatchRepository = bookingBatchRepository;
         this.activityRepository = activityRepository;
         this.parkRepository = parkRepository;
         this.userRepository = userRepository;
         this.budgetRepository = budgetRepository;
-        this.incomeStreamRepository = incomeStreamRepository;
-        this.jwtUtil = jwtUtil;
-        this.stripeService = stripeService;
+        this.incomeStreamResolver = incomeStreamResolver;
+        this.budgetLedgerService = budgetLedgerService;
+        this.activityCapacityService = activityCapacityService;
+        this.eventPublisher = eventPublisher;
+        this.optimisticRetry = optimisticRetry;
     }
 
     @Transactional
     public Booking createBooking(UUID activityId, LocalDate visitDate, Integer numberOfTickets,
                                  List<CreateBookingRequestDto.GroupMemberDto> groupMembers,
-                                 String paymentMethodId, String token) throws StripeException {
-        String email = jwtUtil.getEmailFromToken(token);
-        User visitor = userRepository.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + email));
-        if (!"VISITOR".equals(visitor.getRole())) {
+                                 String paymentMethodId, AuthenticatedUser currentUser) {
+        if (!currentUser.hasRole("VISITOR")) {
             throw new ForbiddenException("Only VISITOR can create bookings");
         }
+        User visitor = userRepository.getReferenceById(currentUser.id());
         Activity activity = activityRepository.findById(activityId)
                 .orElseThrow(() -> new NotFoundException("Activity not found with ID: " + activityId));
         Park park = activity.getPark();
 
+        // Registered group members are loaded in a single query
+        Map<UUID, User> registeredMembers = loadRegisteredMembers(groupMembers);
+        validateBookingLine(visitDate, numberOfTickets, groupMembers, registeredMembers);
+
+        // The park needs a budget for the booking income to be recorded against
+        int fiscalYear = LocalDate.now().getYear();
+        if (incomeStreamResolver.findBudgetId(park.getId(), fiscalYear).isEmpty()) {
+            throw new NotFoundException("No budget found for park " + park.getId() + " and fiscal year " + fiscalYear);
+        }
+
+        // Availability Check, pending reservations hold their tickets until the payment settles
+        activityCapacityService.reserve(activity, visitDate, numberOfTickets);
+
+        // Reserve the booking, the payment is charged once this transaction commits
+        Booking booking = newBooking(visitor, activity, visitDate, numberOfTickets, groupMembers, registeredMembers);
+        booking.setStripePaymentMethodId(paymentMethodId);
+
+        booking = bookingRepository.save(booking);
+        eventPublisher.publishEvent(toReservedEvent(booking));
+        LOGGER.info("Reserved booking pending payment: ID=" + booking.getId() + ", Amount=" + booking.getAmount() + ", Tickets=" + numberOfTickets);
+        return booking;
+    }
+
+    /**
+     * Reserves many bookings for one visitor, typically a tour operator, and charges them together.
+     * Every line is validated on its own and lines that fail are reported back without affecting the
+     * rest; capacity for all remaining lines is checked in one pass. The accepted bookings are saved
+     * in batched inserts under a {@link BookingBatch}, which is charged once after commit.
+     */
+    @Transactional
+    public BulkBookingResult createBulkBookings(List<CreateBookingRequestDto> lines, String paymentMethodId,
+                                                AuthenticatedUser currentUser) {
+        if (!currentUser.hasRole("VISITOR")) {
+            throw new ForbiddenException("Only VISITOR can create bookings");
+        }
+        if (lines == null || lines.isEmpty()) {
+            throw new BadRequestException("At least one booking line is required");
+        }
+        User visitor = userRepository.getReferenceById(currentUser.id());
+
+        Set<UUID> activityIds = lines.stream()
+                .map(CreateBookingRequestDto::getActivityId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<UUID, Activity> activities = activityRepository.findAllById(activityIds).stream()
+                .collect(Collectors.toMap(Activity::getId, Function.identity()));
+        Map<UUID, User> registeredMembers = loadRegisteredMembers(lines.stream()
+                .filter(line -> line.getGroupMembers() != null)
+                .flatMap(line -> line.getGroupMembers().stream())
+                .collect(Collectors.toList()));
+        int fiscalYear = LocalDate.now().getYear();
+        Set<UUID> parkIds = activities.values().stream().map(activity -> activity.getPark().getId()).collect(Collectors.toSet());
+        Set<UUID> parksWithBudget = parkIds.isEmpty() ? Set.of()
+                : new HashSet<>(budgetRepository.findParkIdsWithBudget(parkIds, fiscalYear));
+
+        String[] errors = new String[lines.size()];
+        List<Integer> candidates = new ArrayList<>();
+        List<ActivityCapacityService.TicketRequest> ticketRequests = new ArrayList<>();
+        for (int i = 0; i < lines.size(); i++) {
+            CreateBookingRequestDto line = lines.get(i);
+            try {
+                Activity activity = activities.get(line.getActivityId());
+                if (activity == null) {
+                    throw new NotFoundException("Activity not found with ID: " + line.getActivityId());
+                }
+                validateBookingLine(line.getVisitDate(), line.getNumberOfTickets(), line.getGroupMembers(), registeredMembers);
+                if (!parksWithBudget.contains(activity.getPark().getId())) {
+                    throw new NotFoundException("No budget found for park " + activity.getPark().getId() + " and fiscal year " + fiscalYear);
+                }
+                candidates.add(i);
+                ticketRequests.add(new ActivityCapacityService.TicketRequest(activity, line.getVisitDate(), line.getNumberOfTickets()));
+            } catch (CustomException e) {
+                errors[i] = e.getMessage();
+            }
+        }
+
+        Set<Integer> overbooked = activityCapacityService.reserveAll(ticketRequests);
+        Booking[] bookings = new Booking[lines.size()];
+        List<Booking> accepted = new ArrayList<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            int index = candidates.get(i);
+            CreateBookingRequestDto line = lines.get(index);
+            if (overbooked.contains(i)) {
+                errors[index] = "Not enough available slots for this activity on " + line.getVisitDate();
+                continue;
+            }
+            bookings[index] = newBooking(visitor, activities.get(line.getActivityId()), line.getVisitDate(),
+                    line.getNumberOfTickets(), line.getGroupMembers(), registeredMembers);
+            accepted.add(bookings[index]);
+        }
+
+        BookingBatch batch = null;
+        if (!accepted.isEmpty()) {
+            batch = new BookingBatch();
+            batch.setVisitor(visitor);
+            batch.setStatus("PENDING");
+            batch.setStripePaymentMethodId(paymentMethodId);
+            batch.setAmount(accepted.stream().map(Booking::getAmount).reduce(BigDecimal.ZERO, BigDecimal::add));
+            batch = bookingBatchRepository.save(batch);
+            for (Booking booking : accepted) {
+                booking.setBatch(batch);
+            }
+            bookingRepository.saveAll(accepted);
+            int tickets = accepted.stream().mapToInt(booking -> booking.getGroupMembers().size()).sum();
+            eventPublisher.publishEvent(new BookingBatchReservedEvent(batch.getId(), toCents(batch.getAmount()),
+                    batch.getCurrency(), "Bulk booking of " + tickets + " tickets in " + accepted.size() + " bookings",
+                    paymentMethodId));
+            LOGGER.info("Reserved booking batch pending payment: ID=" + batch.getId() + ", Amount=" + batch.getAmount()
+                    + ", Bookings=" + accepted.size() + ", Rejected=" + (lines.size() - accepted.size()));
+        }
+
+        List<BulkBookingResult.Line> results = new ArrayList<>(lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            results.add(new BulkBookingResult.Line(i, bookings[i], errors[i]));
+        }
+        return new BulkBookingResult(batch, results);
+    }
+
+    // The charge has already happened, so a conflict on the income stream retries only the bookkeeping
+    public Booking finalizeBooking(UUID bookingId, PaymentResult payment) {
+        return optimisticRetry.execute("confirming the booking", () -> doFinalizeBooking(bookingId, payment));
+    }
+
+    private Booking doFinalizeBooking(UUID bookingId, PaymentResult payment) {
+        Booking booking = bookingRepository.findByIdForUpdate(bookingId)
+                .orElseThrow(() -> new NotFoundException("Booking not found with ID: " + bookingId));
+        if (!"PENDING".equals(booking.getStatus())) {
+            if (payment.succeeded() && !"CONFIRMED".equals(booking.getStatus())) {
+                LOGGER.severe("Payment " + payment.paymentIntentId() + " succeeded for booking " + bookingId
+                        + " in status " + booking.getStatus() + ", refund required");
+            }
+            return booking;
+        }
+
+        if (!applyPayment(booking, payment)) {
+            LOGGER.warning("Payment failed for booking " + bookingId + ": " + payment.failureMessage());
+            return bookingRepository.save(booking);
+        }
+        Booking confirmed = bookingRepository.save(booking);
+        recordBookingIncome(confirmed.getPark(), confirmed.getVisitDate().getYear(), confirmed.getAmount(), confirmed.getVisitor());
+        LOGGER.info("Confirmed booking: ID=" + confirmed.getId() + ", PaymentIntent=" + payment.paymentIntentId());
+        return confirmed;
+    }
+
+    // Applies one charge to every booking of the batch, income is recorded once per park and visit year
+    public BookingBatch finalizeBatch(UUID batchId, PaymentResult payment) {
+        return optimisticRetry.execute("confirming the booking batch", () -> doFinalizeBatch(batchId, payment));
+    }
+
+    private BookingBatch doFinalizeBatch(UUID batchId, PaymentResult payment) {
+        BookingBatch batch = bookingBatchRepository.findByIdForUpdate(batchId)
+                .orElseThrow(() -> new NotFoundException("Booking batch not found with ID: " + batchId));
+        if (!"PENDING".equals(batch.getStatus())) {
+            if (payment.succeeded() && !"CONFIRMED".equals(batch.getStatus())) {
+                LOGGER.severe("Payment " + payment.paymentIntentId() + " succeeded for booking batch " + batchId
+                        + " in status " + batch.getStatus() + ", refund required");
+            }
+            return batch;
+        }
+
+        batch.setStripePaymentIntentId(payment.paymentIntentId());
+        batch.setStripePaymentStatus(payment.status());
+        batch.setStatus(payment.succeeded() ? "CONFIRMED" : "PAYMENT_FAILED");
+        batch.setUpdatedAt(LocalDateTime.now());
+        List<Booking> bookings = bookingRepository.findByBatchId(batchId).stream()
+                .filter(booking -> "PENDING".equals(booking.getStatus()))
+                .collect(Collectors.toList());
+        Map<Park, Map<Integer, BigDecimal>> income = new HashMap<>();
+        for (Booking booking : bookings) {
+            if (applyPayment(booking, payment)) {
+                income.computeIfAbsent(booking.getPark(), park -> new HashMap<>())
+                        .merge(booking.getVisitDate().getYear(), booking.getAmount(), BigDecimal::add);
+            }
+        }
+        bookingRepository.saveAll(bookings);
+        income.forEach((park, byYear) -> byYear.forEach((visitYear, amount) ->
+                recordBookingIncome(park, visitYear, amount, batch.getVisitor())));
+        if (payment.succeeded()) {
+            LOGGER.info("Confirmed booking batch: ID=" + batchId + ", Bookings=" + bookings.size() + ", PaymentIntent=" + payment.paymentIntentId());
+        } else {
+            LOGGER.warning("Payment failed for booking batch " + batchId + ": " + payment.failureMessage());
+        }
+        return bookingBatchRepository.save(batch);
+    }
+
+    @Transactional(readOnly = true)
+    public List<BookingReservedEvent> findPendingPayments(LocalDateTime from, LocalDateTime to) {
+        return bookingRepository.findPendingPaymentsCreatedBetween(from, to).stream()
+                .map(this::toReservedEvent)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public List<BookingBatchReservedEvent> findPendingBatchPayments(LocalDateTime from, LocalDateTime to) {
+        return bookingBatchRepository.findPendingPaymentsCreatedBetween(from, to).stream()
+                .map(batch -> new BookingBatchReservedEvent(batch.getId(), toCents(batch.getAmount()), batch.getCurrency(),
+                        "Bulk booking " + batch.getId(), batch.getStripePaymentMethodId()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Fails bookings whose payment never settled within the retry window and gives their tickets back.
+     * PENDING bookings cannot be cancelled, so without this their tickets would stay held for good.
+     * A batch expires with all of its bookings.
+     */
+    public int expirePendingPayments(LocalDateTime before) {
+        int expired = 0;
+        for (UUID bookingId : bookingRepository.findPendingIdsCreatedBefore(before)) {
+            if (optimisticRetry.execute("expiring the booking", () -> doExpireBooking(bookingId))) {
+                expired++;
+            }
+        }
+        for (UUID batchId : bookingBatchRepository.findPendingIdsCreatedBefore(before)) {
+            expired += optimisticRetry.execute("expiring the booking batch", () -> doExpireBatch(batchId));
+        }
+        return expired;
+    }
+
+    private int doExpireBatch(UUID batchId) {
+        BookingBatch batch = bookingBatchRepository.findByIdForUpdate(batchId).orElse(null);
+        if (batch == null || !"PENDING".equals(batch.getStatus())) {
+            return 0;
+        }
+        batch.setStatus("PAYMENT_FAILED");
+        batch.setUpdatedAt(LocalDateTime.now());
+        List<Booking> bookings = bookingRepository.findByBatchId(batchId).stream()
+                .filter(booking -> "PENDING".equals(booking.getStatus()))
+                .collect(Collectors.toList());
+        for (Booking booking : bookings) {
+            booking.setStatus("PAYMENT_FAILED");
+            booking.setUpdatedAt(LocalDateTime.now());
+            activityCapacityService.release(booking.getActivity().getId(), booking.getVisitDate(), booking.getGroupMembers().size());
+        }
+        bookingRepository.saveAll(bookings);
+        bookingBatchRepository.save(batch);
+        LOGGER.warning("Payment for booking batch " + batchId + " did not settle within the retry window, "
+                + bookings.size() + " bookings expired");
+        return bookings.size();
+    }
+
+    private boolean doExpireBooking(UUID bookingId) {
+        Booking booking = bookingRepository.findByIdForUpdate(bookingId).orElse(null);
+        if (booking == null || !"PENDING".equals(booking.getStatus())) {
+            return false;
+        }
+        booking.setStatus("PAYMENT_FAILED");
+        booking.setUpdatedAt(LocalDateTime.now());
+        activityCapacityService.release(booking.getActivity().getId(), booking.getVisitDate(), booking.getGroupMembers().size());
+        bookingRepository.save(booking);
+        LOGGER.warning("Payment for booking " + bookingId + " did not settle within the retry window, booking expired");
+        return true;
+    }
+
+    public Booking cancelBooking(UUID bookingId, AuthenticatedUser currentUser) {
+        return optimisticRetry.execute("cancelling the booking", () -> doCancelBooking(bookingId, currentUser));
+    }
+
+    private Booking doCancelBooking(UUID bookingId, AuthenticatedUser currentUser) {
+        Booking booking = bookingRepository.findById(bookingId)
+                .orElseThrow(() -> new NotFoundException("Booking not found with ID: " + bookingId));
+
+        if (currentUser.hasRole("VISITOR") && !booking.getVisitor().getId().equals(currentUser.id())) {
+            throw new ForbiddenException("VISITOR can only cancel their own bookings");
+        }
+        if (currentUser.hasAnyRole(List.of("PARK_MANAGER", "ADMIN", "FINANCE_OFFICER"))) {
+            if (currentUser.hasRole("PARK_MANAGER") && !booking.getPark().getId().equals(currentUser.parkId())) {
+                throw new ForbiddenException("PARK_MANAGER can only cancel bookings for their assigned park");
+            }
+        } else if (!currentUser.hasRole("VISITOR")) {
+            throw new ForbiddenException("Only VISITOR, PARK_MANAGER, ADMIN, or FINANCE_OFFICER can cancel bookings");
+        }
+        if ("CANCELLED".equals(booking.getStatus())) {
+            throw new BadRequestException("Booking is already cancelled");
+        }
+        if ("PENDING".equals(booking.getStatus())) {
+            throw new BadRequestException("Booking payment is still being processed");
+        }
+
+        // Revert income stream actual balance
+        boolean wasConfirmed = "CONFIRMED".equals(booking.getStatus());
+        if (wasConfirmed) {
+            incomeStreamResolver.reverseIncome(booking.getPark().getId(), LocalDate.now().getYear(),
+                    IncomeStreamKind.BOOKINGS, booking.getAmount());
+        }
+
+        booking.setStatus("CANCELLED");
+        booking.setUpdatedAt(LocalDateTime.now());
+        Booking cancelled = bookingRepository.save(booking);
+        if (wasConfirmed) {
+            activityCapacityService.release(cancelled.getActivity().getId(), cancelled.getVisitDate(),
+                    cancelled.getGroupMembers().size());
+            budgetLedgerService.recordBooking(cancelled.getPark().getId(), cancelled.getVisitDate().getYear(),
+                    cancelled.getAmount().negate());
+        }
+        return cancelled;
+    }
+
+    public PageResponseDto<Booking> getBookingsByVisitor(String cursor, int size, AuthenticatedUser currentUser) {
+        if (!currentUser.hasRole("VISITOR")) {
+            throw new ForbiddenException("Only VISITOR can view their own bookings");
+        }
+        Limit limit = KeysetPages.limit(size);
+        return KeysetPages.toPage(bookingRepository.findByVisitorId(currentUser.id(),
+                KeysetPages.position(cursor, "createdAt"), limit, KeysetPages.newestFirst("createdAt")), limit, "createdAt");
+    }
+
+    public PageResponseDto<Booking> getBookingsByPark(UUID parkId, String cursor, int size, AuthenticatedUser currentUser) {
+        if (!currentUser.hasAnyRole(List.of("PARK_MANAGER", "ADMIN", "FINANCE_OFFICER", "AUDITOR"))) {
+            throw new ForbiddenException("Only PARK_MANAGER, ADMIN, FINANCE_OFFICER, or AUDITOR can view park bookings");
+        }
+        if (!parkRepository.existsById(parkId)) {
+            throw new NotFoundException("Park not found with ID: " + parkId);
+        }
+        Limit limit = KeysetPages.limit(size);
+        PageResponseDto<Booking> bookings = KeysetPages.toPage(bookingRepository.findByParkId(parkId,
+                KeysetPages.position(cursor, "createdAt"), limit, KeysetPages.newestFirst("createdAt")), limit, "createdAt");
+        LOGGER.info("Retrieved " + bookings.getContent().size() + " bookings for parkId: " + parkId);
+        return bookings;
+    }
+
+    public Booking getBookingById(UUID bookingId) {
+        return bookingRepository.findById(bookingId)
+                .orElseThrow(() -> new NotFoundException("Booking not found with ID: " + bookingId));
+    }
+
+    private void validateBookingLine(LocalDate visitDate, Integer numberOfTickets,
+                                     List<CreateBookingRequestDto.GroupMemberDto> groupMembers,
+                                     Map<UUID, User> registeredMembers) {
         // Validate number of tickets
-        if (numberOfTickets < 1) {
+        if (numberOfTickets == null || numberOfTickets < 1) {
             throw new BadRequestException("Number of tickets must be at least 1");
         }
         if (numberOfTickets > 1 && (groupMembers == null || groupMembers.isEmpty())) {
@@ -81,15 +425,7 @@ public class BookingService {
             throw new BadRequestException("Number of tickets must match the number of group members plus the primary visitor");
         }
 
-        // Availability Check
-        if (activity.getCapacityPerDay() != null) {
-            long confirmedBookings = bookingRepository.countByActivityIdAndVisitDateAndStatus(
-                    activityId, visitDate, "CONFIRMED");
-            if (confirmedBookings + numberOfTickets > activity.getCapacityPerDay()) {
-                throw new BadRequestException("Not enough available slots for this activity on " + visitDate);
-            }
-        }
-        if (visitDate.isBefore(LocalDate.now())) {
+        if (visitDate == null || visitDate.isBefore(LocalDate.now())) {
             throw new BadRequestException("Visit date must be today or in the future");
         }
 
@@ -97,8 +433,10 @@ public class BookingService {
         if (groupMembers != null) {
             for (CreateBookingRequestDto.GroupMemberDto member : groupMembers) {
                 if (member.getUserId() != null) {
-                    User memberUser = userRepository.findById(member.getUserId())
-                            .orElseThrow(() -> new NotFoundException("User not found with ID: " + member.getUserId()));
+                    User memberUser = registeredMembers.get(member.getUserId());
+                    if (memberUser == null) {
+                        throw new NotFoundException("User not found with ID: " + member.getUserId());
+                    }
                     if (!"VISITOR".equals(memberUser.getRole())) {
                         throw new BadRequestException("Group members must have VISITOR role");
                     }
@@ -107,60 +445,18 @@ public class BookingService {
                 }
             }
         }
+    }
 
-        // Determine fiscal year and budget
-        int fiscalYear = LocalDate.now().getYear();
-        var budget = budgetRepository.findByParkIdAndFiscalYear(park.getId(), fiscalYear)
-                .orElseThrow(() -> new NotFoundException("No budget found for park " + park.getId() + " and fiscal year " + fiscalYear));
-
-        // Find or create Bookings income stream
-        IncomeStream bookingStream = incomeStreamRepository.findByBudgetIdAndNameContaining(budget.getId(), "Bookings")
-                .stream().findFirst()
-                .orElseGet(() -> {
-                    IncomeStream newStream = new IncomeStream();
-                    newStream.setBudget(budget);
-                    newStream.setPark(park);
-                    newStream.setFiscalYear(fiscalYear);
-                    newStream.setName("Bookings");
-                    newStream.setPercentage(BigDecimal.ZERO);
-                    newStream.setTotalContribution(BigDecimal.ZERO);
-                    newStream.setActualBalance(BigDecimal.ZERO);
-                    newStream.setCreatedBy(visitor);
-                    return incomeStreamRepository.save(newStream);
-                });
-
-        // Calculate total amount
-        BigDecimal totalAmount = activity.getPrice().multiply(new BigDecimal(numberOfTickets));
-        Long amountInCents = totalAmount.multiply(new BigDecimal("100")).longValue();
-
-        // Create and confirm PaymentIntent
-        PaymentIntent paymentIntent = stripeService.createPaymentIntent(
-                amountInCents, "XAF", "Booking for " + activity.getName() + " (" + numberOfTickets + " tickets)", "temp_booking_id");
-
-        // Attach payment method and confirm
-        paymentIntent = paymentIntent.update(Map.of("payment_method", paymentMethodId));
-        paymentIntent = stripeService.confirmPaymentIntent(paymentIntent.getId());
-        if (!"succeeded".equals(paymentIntent.getStatus())) {
-            throw new BadRequestException("Payment failed: " + paymentIntent.getLastPaymentError().getMessage());
-        }
-
-        // Update income stream actual balance
-        bookingStream.setActualBalance(bookingStream.getActualBalance().add(totalAmount));
-        incomeStreamRepository.save(bookingStream);
-
-        // Create booking
+    private Booking newBooking(User visitor, Activity activity, LocalDate visitDate, int numberOfTickets,
+                               List<CreateBookingRequestDto.GroupMemberDto> groupMembers, Map<UUID, User> registeredMembers) {
         Booking booking = new Booking();
         booking.setVisitor(visitor);
         booking.setActivity(activity);
-        booking.setAmount(totalAmount);
-        booking.setPark(park);
+        booking.setAmount(activity.getPrice().multiply(new BigDecimal(numberOfTickets)));
+        booking.setPark(activity.getPark());
         booking.setVisitDate(visitDate);
-        booking.setStatus("CONFIRMED");
-        booking.setPaymentReference(paymentIntent.getId());
-        booking.setStripePaymentIntentId(paymentIntent.getId());
-        booking.setStripePaymentStatus(paymentIntent.getStatus());
+        booking.setStatus("PENDING");
         booking.setCurrency("XAF");
-        booking.setConfirmedAt(LocalDateTime.now());
 
         // Add primary visitor as a group member
         BookingGroupMember primaryMember = new BookingGroupMember();
@@ -174,8 +470,7 @@ public class BookingService {
                 BookingGroupMember groupMember = new BookingGroupMember();
                 groupMember.setBooking(booking);
                 if (member.getUserId() != null) {
-                    User memberUser = userRepository.findById(member.getUserId()).orElseThrow();
-                    groupMember.setUser(memberUser);
+                    groupMember.setUser(registeredMembers.get(member.getUserId()));
                 } else {
                     groupMember.setGuestName(member.getGuestName());
                     groupMember.setGuestEmail(member.getGuestEmail());
@@ -183,79 +478,54 @@ public class BookingService {
                 booking.getGroupMembers().add(groupMember);
             }
         }
-
-        booking = bookingRepository.save(booking);
-
-        // Update metadata with actual booking ID
-        paymentIntent.update(Map.of("metadata", Map.of("booking_id", booking.getId().toString())));
-        LOGGER.info("Created and confirmed booking: ID=" + booking.getId() + ", Amount=" + booking.getAmount() + ", Tickets=" + numberOfTickets);
         return booking;
     }
 
-    @Transactional
-    public Booking cancelBooking(UUID bookingId, String token) {
-        String email = jwtUtil.getEmailFromToken(token);
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + email));
-        Booking booking = bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new NotFoundException("Booking not found with ID: " + bookingId));
-
-        if ("VISITOR".equals(user.getRole()) && !booking.getVisitor().getId().equals(user.getId())) {
-            throw new ForbiddenException("VISITOR can only cancel their own bookings");
-        }
-        if (List.of("PARK_MANAGER", "ADMIN", "FINANCE_OFFICER").contains(user.getRole())) {
-            if ("PARK_MANAGER".equals(user.getRole()) && !booking.getPark().getId().equals(user.getPark().getId())) {
-                throw new ForbiddenException("PARK_MANAGER can only cancel bookings for their assigned park");
-            }
-        } else if (!"VISITOR".equals(user.getRole())) {
-            throw new ForbiddenException("Only VISITOR, PARK_MANAGER, ADMIN, or FINANCE_OFFICER can cancel bookings");
-        }
-        if ("CANCELLED".equals(booking.getStatus())) {
-            throw new BadRequestException("Booking is already cancelled");
+    // Records the charge on a PENDING booking; a failed payment gives its tickets back
+    private boolean applyPayment(Booking booking, PaymentResult payment) {
+        booking.setPaymentReference(payment.paymentIntentId());
+        booking.setStripePaymentIntentId(payment.paymentIntentId());
+        booking.setStripePaymentStatus(payment.status());
+        booking.setUpdatedAt(LocalDateTime.now());
+        if (!payment.succeeded()) {
+            booking.setStatus("PAYMENT_FAILED");
+            activityCapacityService.release(booking.getActivity().getId(), booking.getVisitDate(), booking.getGroupMembers().size());
+            return false;
         }
+        booking.setStatus("CONFIRMED");
+        booking.setConfirmedAt(LocalDateTime.now());
+        return true;
+    }
 
-        // Revert income stream actual balance
-        int fiscalYear = LocalDate.now().getYear();
-        var budget = budgetRepository.findByParkIdAndFiscalYear(booking.getPark().getId(), fiscalYear)
-                .orElseThrow(() -> new NotFoundException("No budget found for park " + booking.getPark().getId() + " and fiscal year " + fiscalYear));
-        IncomeStream bookingStream = incomeStreamRepository.findByBudgetIdAndNameContaining(budget.getId(), "Bookings")
-                .stream().findFirst()
-                .orElseThrow(() -> new NotFoundException("No Bookings income stream found for budget " + budget.getId()));
-        bookingStream.setActualBalance(bookingStream.getActualBalance().subtract(booking.getAmount()));
-        incomeStreamRepository.save(bookingStream);
-
-        booking.setStatus("CANCELLED");
-        booking.setUpdatedAt(LocalDateTime.now());
-        return bookingRepository.save(booking);
+    private void recordBookingIncome(Park park, int visitYear, BigDecimal amount, User createdBy) {
+        // Update the Bookings income stream actual balance, creating the stream on first use
+        incomeStreamResolver.recordIncome(park.getId(), LocalDate.now().getYear(), IncomeStreamKind.BOOKINGS, amount, createdBy.getId());
+        budgetLedgerService.recordBooking(park.getId(), visitYear, amount);
     }
 
-    public List<Booking> getBookingsByVisitor(String token) {
-        String email = jwtUtil.getEmailFromToken(token);
-        User visitor = userRepository.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + email));
-        if (!"VISITOR".equals(visitor.getRole())) {
-            throw new ForbiddenException("Only VISITOR can view their own bookings");
-        }
-        return bookingRepository.findByVisitorId(visitor.getId());
+    private static Long toCents(BigDecimal amount) {
+        return amount.multiply(new BigDecimal("100")).longValue();
     }
 
-    public List<Booking> getBookingsByPark(UUID parkId, String token) {
-        String email = jwtUtil.getEmailFromToken(token);
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + email));
-        if (!List.of("PARK_MANAGER", "ADMIN", "FINANCE_OFFICER", "AUDITOR").contains(user.getRole())) {
-            throw new ForbiddenException("Only PARK_MANAGER, ADMIN, FINANCE_OFFICER, or AUDITOR can view park bookings");
+    private Map<UUID, User> loadRegisteredMembers(List<CreateBookingRequestDto.GroupMemberDto> groupMembers) {
+        if (groupMembers == null) {
+            return Map.of();
         }
-        if (!parkRepository.existsById(parkId)) {
-            throw new NotFoundException("Park not found with ID: " + parkId);
+        Set<UUID> userIds = groupMembers.stream()
+                .map(CreateBookingRequestDto.GroupMemberDto::getUserId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (userIds.isEmpty()) {
+            return Map.of();
         }
-        List<Booking> bookings = bookingRepository.findByParkId(parkId);
-        LOGGER.info("Retrieved " + bookings.size() + " bookings for parkId: " + parkId);
-        return bookings;
+        return userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
     }
 
-    public Booking getBookingById(UUID bookingId) {
-        return bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new NotFoundException("Booking not found with ID: " + bookingId));
+    private BookingReservedEvent toReservedEvent(Booking booking) {
+        Long amountInCents = toCents(booking.getAmount());
+        String description = "Booking for " + booking.getActivity().getName() + " (" + booking.getGroupMembers().size() + " tickets)";
+        return new BookingReservedEvent(booking.getId(), amountInCents, booking.getCurrency(), description,
+                booking.getStripePaymentMethodId());
     }
 }
\ No newline at end of file
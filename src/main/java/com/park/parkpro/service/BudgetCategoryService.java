@@ -4,13 +4,14 @@ import com.park.parkpro.domain.Budget;
 import com.park.parkpro.domain.BudgetCategory;
 import com.park.parkpro.domain.SpendingStrategy;
 import com.park.parkpro.domain.User;
+import com.park.parkpro.dto.VersionStamp;
 import com.park.parkpro.exception.BadRequestException;
 import com.park.parkpro.exception.ForbiddenException;
 import com.park.parkpro.exception.NotFoundException;
 import com.park.parkpro.repository.BudgetCategoryRepository;
 import com.park.parkpro.repository.BudgetRepository;
 import com.park.parkpro.repository.UserRepository;
-import com.park.parkpro.security.JwtUtil;
+import com.park.parkpro.security.AuthenticatedUser;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,30 +24,24 @@ public class BudgetCategoryService {
     private final BudgetCategoryRepository budgetCategoryRepository;
     private final BudgetRepository budgetRepository;
     private final UserRepository userRepository;
-    private final JwtUtil jwtUtil;
 
     public BudgetCategoryService(BudgetCategoryRepository budgetCategoryRepository,
                                  BudgetRepository budgetRepository,
-                                 UserRepository userRepository,
-                                 JwtUtil jwtUtil) {
+                                 UserRepository userRepository) {
         this.budgetCategoryRepository = budgetCategoryRepository;
         this.budgetRepository = budgetRepository;
         this.userRepository = userRepository;
-        this.jwtUtil = jwtUtil;
     }
 
     @Transactional
-    public BudgetCategory createBudgetCategory(UUID budgetId, String name, BigDecimal percentage, SpendingStrategy spendingStrategy, String token) {
+    public BudgetCategory createBudgetCategory(UUID budgetId, String name, BigDecimal percentage, SpendingStrategy spendingStrategy, AuthenticatedUser currentUser) {
         Budget budget = budgetRepository.findById(budgetId)
                 .orElseThrow(() -> new NotFoundException("Budget not found with ID: " + budgetId));
         if (!"DRAFT".equals(budget.getStatus())) {
             throw new BadRequestException("Categories can only be added to DRAFT budgets");
         }
 
-        String email = jwtUtil.getEmailFromToken(token);
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + email));
-        if (!List.of("ADMIN", "FINANCE_OFFICER").contains(user.getRole())) {
+        if (!currentUser.hasAnyRole(List.of("ADMIN", "FINANCE_OFFICER"))) {
             throw new ForbiddenException("Only ADMIN or FINANCE_OFFICER can create budget categories");
         }
 
@@ -69,7 +64,7 @@ public class BudgetCategoryService {
     }
 
     @Transactional
-    public BudgetCategory updateBudgetCategory(UUID categoryId, BigDecimal allocatedAmount, SpendingStrategy spendingStrategy, String token) {
+    public BudgetCategory updateBudgetCategory(UUID categoryId, BigDecimal allocatedAmount, SpendingStrategy spendingStrategy, AuthenticatedUser currentUser) {
         BudgetCategory category = budgetCategoryRepository.findById(categoryId)
                 .orElseThrow(() -> new NotFoundException("Budget category not found with ID: " + categoryId));
         Budget budget = category.getBudget();
@@ -77,10 +72,7 @@ public class BudgetCategoryService {
             throw new BadRequestException("Categories can only be updated for DRAFT budgets");
         }
 
-        String email = jwtUtil.getEmailFromToken(token);
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + email));
-        if (!List.of("ADMIN", "FINANCE_OFFICER").contains(user.getRole())) {
+        if (!currentUser.hasAnyRole(List.of("ADMIN", "FINANCE_OFFICER"))) {
             throw new ForbiddenException("Only ADMIN or FINANCE_OFFICER can update budget categories");
         }
 
@@ -103,8 +95,12 @@ public class BudgetCategoryService {
         return budgetCategoryRepository.findByBudgetId(budgetId);
     }
 
+    public VersionStamp getBudgetCategoriesVersion(UUID budgetId) {
+        return budgetCategoryRepository.findVersionByBudgetId(budgetId);
+    }
+
     @Transactional
-    public void deleteBudgetCategory(UUID categoryId, String token) {
+    public void deleteBudgetCategory(UUID categoryId, AuthenticatedUser currentUser) {
         BudgetCategory category = budgetCategoryRepository.findById(categoryId)
                 .orElseThrow(() -> new NotFoundException("Budget category not found with ID: " + categoryId));
         Budget budget = category.getBudget();
@@ -112,10 +108,7 @@ public class BudgetCategoryService {
             throw new BadRequestException("Categories can only be deleted for DRAFT budgets");
         }
 
-        String email = jwtUtil.getEmailFromToken(token);
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + email));
-        if (!List.of("ADMIN", "FINANCE_OFFICER").contains(user.getRole())) {
+        if (!currentUser.hasAnyRole(List.of("ADMIN", "FINANCE_OFFICER"))) {
             throw new ForbiddenException("Only ADMIN or FINANCE_OFFICER can delete budget categories");
         }
 
@@ -0,0 +1,209 @@
+package com.park.parkpro.service;
+
+import com.park.parkpro.domain.*;
+import com.park.parkpro.dto.AmountByKeyDto;
+import com.park.parkpro.dto.AmountByStatusDto;
+import com.park.parkpro.repository.*;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+@Service
+public class BudgetLedgerService {
+    private static final Logger LOGGER = Logger.getLogger(BudgetLedgerService.class.getName());
+    private final BudgetLedgerRepository budgetLedgerRepository;
+    private final BudgetRepository budgetRepository;
+    private final AggregateQueryRepository aggregateQueryRepository;
+
+    public BudgetLedgerService(BudgetLedgerRepository budgetLedgerRepository, BudgetRepository budgetRepository,
+                               AggregateQueryRepository aggregateQueryRepository) {
+        this.budgetLedgerRepository = budgetLedgerRepository;
+        this.budgetRepository = budgetRepository;
+        this.aggregateQueryRepository = aggregateQueryRepository;
+    }
+
+    @Transactional
+    public void openLedger(Budget budget) {
+        budgetLedgerRepository.save(new BudgetLedger(budget));
+    }
+
+    @Transactional
+    public BigDecimal getBalance(Budget budget) {
+        BudgetLedger ledger = budgetLedgerRepository.findByBudgetId(budget.getId())
+                .orElseGet(() -> rebuild(budget));
+        return budget.getBalance().add(ledger.getNetMovement());
+    }
+
+    @Transactional
+    public Map<UUID, BigDecimal> getBalances(Collection<Budget> budgets) {
+        Map<UUID, BudgetLedger> ledgers = budgetLedgerRepository.findByBudgetIdIn(
+                        budgets.stream().map(Budget::getId).collect(Collectors.toList())).stream()
+                .collect(Collectors.toMap(ledger -> ledger.getBudget().getId(), Function.identity()));
+
+        // Seed missing ledgers in bulk, one grouped pass per fiscal year
+        Map<Integer, List<Budget>> missingByYear = budgets.stream()
+                .filter(budget -> !ledgers.containsKey(budget.getId()))
+                .collect(Collectors.groupingBy(Budget::getFiscalYear));
+        missingByYear.forEach((fiscalYear, missing) -> {
+            List<BudgetLedger> seeded = budgetLedgerRepository.saveAll(
+                    recomputeFiscalYear(fiscalYear, missing).values());
+            seeded.forEach(ledger -> ledgers.put(ledger.getBudget().getId(), ledger));
+        });
+
+        Map<UUID, BigDecimal> balances = new HashMap<>();
+        for (Budget budget : budgets) {
+            balances.put(budget.getId(), budget.getBalance().add(ledgers.get(budget.getId()).getNetMovement()));
+        }
+        return balances;
+    }
+
+    @Transactional
+    public void recordExpense(UUID budgetId, BigDecimal amount) {
+        if (budgetLedgerRepository.addExpenses(budgetId, amount) == 0) {
+            rebuild(budgetId);
+        }
+    }
+
+    @Transactional
+    public void recordWithdraw(UUID budgetId, BigDecimal amount) {
+        if (budgetLedgerRepository.addWithdraws(budgetId, amount) == 0) {
+            rebuild(budgetId);
+        }
+    }
+
+    @Transactional
+    public void recordBooking(UUID parkId, Integer fiscalYear, BigDecimal amount) {
+        budgetRepository.findByParkIdAndFiscalYear(parkId, fiscalYear).ifPresent(budget -> {
+            if (budgetLedgerRepository.addBookings(budget.getId(), amount) == 0) {
+                rebuild(budget);
+            }
+        });
+    }
+
+    @Transactional
+    public void recordDonation(UUID parkId, Integer fiscalYear, BigDecimal amount) {
+        budgetRepository.findByParkIdAndFiscalYear(parkId, fiscalYear).ifPresent(budget -> {
+            if (budgetLedgerRepository.addDonations(budget.getId(), amount) == 0) {
+                rebuild(budget);
+            }
+        });
+    }
+
+    @Transactional
+    public void recordFunding(UUID budgetId, BigDecimal amount) {
+        if (budgetLedgerRepository.addFunding(budgetId, amount) == 0) {
+            rebuild(budgetId);
+        }
+    }
+
+    @Scheduled(cron = "${budget.ledger.reconciliation-cron:0 30 2 * * *}")
+    @Transactional
+    public void reconcileAll() {
+        int drifted = 0;
+        for (Integer fiscalYear : budgetRepository.findDistinctFiscalYears()) {
+            List<Budget> budgets = budgetRepository.findByFiscalYear(fiscalYear);
+            Map<UUID, BudgetLedger> expected = recomputeFiscalYear(fiscalYear, budgets);
+            Map<UUID, BudgetLedger> ledgers = budgetLedgerRepository.findByBudgetIdIn(expected.keySet()).stream()
+                    .collect(Collectors.toMap(ledger -> ledger.getBudget().getId(), Function.identity()));
+            LocalDateTime now = LocalDateTime.now();
+            for (Budget budget : budgets) {
+                BudgetLedger ledger = ledgers.get(budget.getId());
+                BudgetLedger recomputed = expected.get(budget.getId());
+                if (ledger == null) {
+                    ledger = recomputed;
+                } else if (!ledger.matches(recomputed)) {
+                    LOGGER.warning("Budget ledger drift detected for budget " + budget.getId() + ", rebuilding from source records");
+                    copyTotals(recomputed, ledger);
+                    drifted++;
+                }
+                ledger.setReconciledAt(now);
+                budgetLedgerRepository.save(ledger);
+            }
+        }
+        LOGGER.info("Budget ledger reconciliation finished, corrected ledgers: " + drifted);
+    }
+
+    private BudgetLedger rebuild(UUID budgetId) {
+        return budgetRepository.findById(budgetId).map(this::rebuild).orElse(null);
+    }
+
+    private BudgetLedger rebuild(Budget budget) {
+        BudgetLedger expected = recompute(budget);
+        BudgetLedger ledger = budgetLedgerRepository.findByBudgetId(budget.getId())
+                .orElseGet(() -> new BudgetLedger(budget));
+        copyTotals(expected, ledger);
+        ledger.setReconciledAt(LocalDateTime.now());
+        return budgetLedgerRepository.save(ledger);
+    }
+
+    private void copyTotals(BudgetLedger source, BudgetLedger target) {
+        target.setTotalExpenses(source.getTotalExpenses());
+        target.setTotalWithdraws(source.getTotalWithdraws());
+        target.setTotalBookings(source.getTotalBookings());
+        target.setTotalDonations(source.getTotalDonations());
+        target.setTotalFunding(source.getTotalFunding());
+        target.setUpdatedAt(LocalDateTime.now());
+    }
+
+    private BudgetLedger recompute(Budget budget) {
+        UUID budgetId = budget.getId();
+        Integer fiscalYear = budget.getFiscalYear();
+        UUID parkId = budget.getPark().getId();
+
+        BudgetLedger ledger = new BudgetLedger(budget);
+        ledger.setTotalExpenses(aggregateQueryRepository.sumExpensesByBudgetId(budgetId));
+        ledger.setTotalWithdraws(AmountByStatusDto.totalFor(
+                aggregateQueryRepository.sumWithdrawsByBudgetIdGroupByStatus(budgetId),
+                WithdrawRequest.WithdrawRequestStatus.APPROVED.name()));
+        ledger.setTotalBookings(AmountByStatusDto.totalFor(
+                aggregateQueryRepository.sumBookingsByParkIdAndVisitDateGroupByStatus(
+                        parkId, LocalDate.of(fiscalYear, 1, 1), LocalDate.of(fiscalYear + 1, 1, 1)),
+                "CONFIRMED"));
+        ledger.setTotalDonations(AmountByStatusDto.totalFor(
+                aggregateQueryRepository.sumDonationsByParkIdAndFiscalYearGroupByStatus(parkId, fiscalYear),
+                "CONFIRMED"));
+        ledger.setTotalFunding(AmountByStatusDto.totalFor(
+                aggregateQueryRepository.sumFundingByBudgetIdGroupByStatus(budgetId),
+                "APPROVED"));
+        return ledger;
+    }
+
+    private Map<UUID, BudgetLedger> recomputeFiscalYear(Integer fiscalYear, Collection<Budget> budgets) {
+        Map<UUID, BigDecimal> expenses = AmountByKeyDto.toMap(
+                aggregateQueryRepository.sumExpensesByBudgetForFiscalYear(fiscalYear));
+        Map<UUID, BigDecimal> withdraws = AmountByKeyDto.toMap(aggregateQueryRepository.sumWithdrawsByBudgetForFiscalYear(
+                fiscalYear, WithdrawRequest.WithdrawRequestStatus.APPROVED));
+        Map<UUID, BigDecimal> bookingsByPark = AmountByKeyDto.toMap(aggregateQueryRepository.sumBookingsByParkForVisitDate(
+                LocalDate.of(fiscalYear, 1, 1), LocalDate.of(fiscalYear + 1, 1, 1), "CONFIRMED"));
+        Map<UUID, BigDecimal> donationsByPark = AmountByKeyDto.toMap(
+                aggregateQueryRepository.sumDonationsByParkForFiscalYear(fiscalYear, "CONFIRMED"));
+        Map<UUID, BigDecimal> funding = AmountByKeyDto.toMap(
+                aggregateQueryRepository.sumFundingByBudgetForFiscalYear(fiscalYear, "APPROVED"));
+
+        Map<UUID, BudgetLedger> ledgers = new HashMap<>();
+        for (Budget budget : budgets) {
+            UUID parkId = budget.getPark().getId();
+            BudgetLedger ledger = new BudgetLedger(budget);
+            ledger.setTotalExpenses(expenses.getOrDefault(budget.getId(), BigDecimal.ZERO));
+            ledger.setTotalWithdraws(withdraws.getOrDefault(budget.getId(), BigDecimal.ZERO));
+            ledger.setTotalBookings(bookingsByPark.getOrDefault(parkId, BigDecimal.ZERO));
+            ledger.setTotalDonations(donationsByPark.getOrDefault(parkId, BigDecimal.ZERO));
+            ledger.setTotalFunding(funding.getOrDefault(budget.getId(), BigDecimal.ZERO));
+            ledger.setReconciledAt(LocalDateTime.now());
+            ledgers.put(budget.getId(), ledger);
+        }
+        return ledgers;
+    }
+}
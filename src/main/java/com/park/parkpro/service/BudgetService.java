@@ -2,19 +2,22 @@ package com.park.parkpro.service;
 
 import com.park.parkpro.domain.*;
 import com.park.parkpro.dto.BudgetByFiscalYearResponseDto;
+import com.park.parkpro.dto.VersionStamp;
 import com.park.parkpro.exception.BadRequestException;
 import com.park.parkpro.exception.ConflictException;
 import com.park.parkpro.exception.ForbiddenException;
 import com.park.parkpro.exception.NotFoundException;
 import com.park.parkpro.repository.*;
-import com.park.parkpro.security.JwtUtil;
+import com.park.parkpro.security.AuthenticatedUser;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,90 +26,27 @@ public class BudgetService {
     private final ParkRepository parkRepository;
     private final UserRepository userRepository;
     private final IncomeStreamRepository incomeStreamRepository;
-    private final ExpenseRepository expenseRepository;
-    private final BookingRepository bookingRepository;
-    private final DonationRepository donationRepository;
-    private final FundingRequestRepository fundingRequestRepository;
-    private final WithdrawRequestRepository withdrawRequestRepository;
-    private final JwtUtil jwtUtil;
+    private final BudgetLedgerService budgetLedgerService;
 
     public BudgetService(BudgetRepository budgetRepository, ParkRepository parkRepository,
                          UserRepository userRepository, IncomeStreamRepository incomeStreamRepository,
-                         ExpenseRepository expenseRepository, BookingRepository bookingRepository,
-                         DonationRepository donationRepository, FundingRequestRepository fundingRequestRepository,
-                         WithdrawRequestRepository withdrawRequestRepository, JwtUtil jwtUtil) {
+                         BudgetLedgerService budgetLedgerService) {
         this.budgetRepository = budgetRepository;
         this.parkRepository = parkRepository;
         this.userRepository = userRepository;
         this.incomeStreamRepository = incomeStreamRepository;
-        this.expenseRepository = expenseRepository;
-        this.bookingRepository = bookingRepository;
-        this.donationRepository = donationRepository;
-        this.fundingRequestRepository = fundingRequestRepository;
-        this.withdrawRequestRepository = withdrawRequestRepository;
-        this.jwtUtil = jwtUtil;
-    }
-
-    private BigDecimal calculateBudgetBalance(Budget budget) {
-        UUID budgetId = budget.getId();
-        Integer fiscalYear = budget.getFiscalYear();
-        UUID parkId = budget.getPark().getId();
-
-        // Get base balance from budget
-        BigDecimal balance = budget.getBalance();
-
-        // Subtract expenses
-        BigDecimal totalExpenses = expenseRepository.findByBudgetId(budgetId).stream()
-                .map(Expense::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        balance = balance.subtract(totalExpenses);
-
-        // Subtract approved withdraw requests
-        BigDecimal totalWithdraws = withdrawRequestRepository.findByBudgetId(budgetId).stream()
-                .filter(request -> WithdrawRequest.WithdrawRequestStatus.APPROVED.equals(request.getStatus()))
-                .map(WithdrawRequest::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        balance = balance.subtract(totalWithdraws);
-
-        // Add confirmed bookings for the fiscal year
-        BigDecimal totalBookings = bookingRepository.findByParkId(parkId).stream()
-                .filter(booking -> {
-                    int bookingFiscalYear = booking.getVisitDate().getYear();
-                    return bookingFiscalYear == fiscalYear && "CONFIRMED".equals(booking.getStatus());
-                })
-                .map(Booking::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        balance = balance.add(totalBookings);
-
-        // Add confirmed donations
-        BigDecimal totalDonations = donationRepository.findByParkIdAndFiscalYear(parkId, fiscalYear).stream()
-                .filter(donation -> "CONFIRMED".equals(donation.getStatus()))
-                .map(Donation::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        balance = balance.add(totalDonations);
-
-        // Add approved funding requests
-        BigDecimal totalApprovedFunding = fundingRequestRepository.findByBudgetId(budgetId).stream()
-                .filter(request -> "APPROVED".equals(request.getStatus()))
-                .map(FundingRequest::getApprovedAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        balance = balance.add(totalApprovedFunding);
-
-        return balance;
+        this.budgetLedgerService = budgetLedgerService;
     }
 
     public Budget getBudgetById(UUID budgetId) {
         Budget budget = budgetRepository.findById(budgetId)
                 .orElseThrow(() -> new NotFoundException("Budget not found with id: " + budgetId));
-        budget.setBalance(calculateBudgetBalance(budget));
+        budget.setBalance(budgetLedgerService.getBalance(budget));
         return budget;
     }
 
     @Transactional
-    public Budget createBudget(UUID parkId, Integer fiscalYear, BigDecimal totalAmount, String status, String token) {
-        String email = jwtUtil.getEmailFromToken(token);
-        User createdBy = userRepository.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + email));
+    public Budget createBudget(UUID parkId, Integer fiscalYear, BigDecimal totalAmount, String status, AuthenticatedUser currentUser) {
         Park park = parkRepository.findById(parkId)
                 .orElseThrow(() -> new NotFoundException("Park not found with ID: " + parkId));
 
@@ -127,13 +67,15 @@ public class BudgetService {
         budget.setBalance(totalAmount);
         budget.setUnallocated(totalAmount); // Initialize unallocated
         budget.setStatus(status);
-        budget.setCreatedBy(createdBy);
+        budget.setCreatedBy(userRepository.getReferenceById(currentUser.id()));
         budget.setApprovedBy(null); // Explicitly null for DRAFT
-        return budgetRepository.save(budget);
+        budget = budgetRepository.save(budget);
+        budgetLedgerService.openLedger(budget);
+        return budget;
     }
 
     @Transactional
-    public Budget updateBudget(UUID budgetId, Integer fiscalYear, BigDecimal totalAmount, String status, String token) {
+    public Budget updateBudget(UUID budgetId, Integer fiscalYear, BigDecimal totalAmount, String status, AuthenticatedUser currentUser) {
         Budget budget = budgetRepository.findById(budgetId)
                 .orElseThrow(() -> new NotFoundException("Budget not found with ID: " + budgetId));
         if (!"DRAFT".equals(budget.getStatus())) {
@@ -146,8 +88,6 @@ public class BudgetService {
             throw new BadRequestException("Updated budgets must remain in DRAFT status");
         }
 
-        String email = jwtUtil.getEmailFromToken(token);
-
         budget.setTotalAmount(totalAmount);
         budget.setFiscalYear(fiscalYear);
         budget.setUnallocated(totalAmount.subtract(budgetRepository.sumCategoryBalances(budgetId))); // Sync unallocated
@@ -157,17 +97,14 @@ public class BudgetService {
     }
 
     @Transactional
-    public Budget approveBudget(UUID budgetId, String token) {
+    public Budget approveBudget(UUID budgetId, AuthenticatedUser currentUser) {
         Budget budget = budgetRepository.findById(budgetId)
                 .orElseThrow(() -> new NotFoundException("Budget not found with ID: " + budgetId));
         if (!"DRAFT".equals(budget.getStatus())) {
             throw new BadRequestException("Only DRAFT budgets can be approved");
         }
 
-        String email = jwtUtil.getEmailFromToken(token);
-        User approver = userRepository.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + email));
-        if (!"GOVERNMENT_OFFICER".equals(approver.getRole())) {
+        if (!currentUser.hasRole("GOVERNMENT_OFFICER")) {
             throw new ForbiddenException("Only GOVERNMENT_OFFICER can approve budgets");
         }
 
@@ -180,7 +117,7 @@ public class BudgetService {
 
         budget.setBalance(governmentStreams.get(0).getTotalContribution());
         budget.setStatus("APPROVED");
-        budget.setApprovedBy(approver);
+        budget.setApprovedBy(userRepository.getReferenceById(currentUser.id()));
         budget.setApprovedAt(LocalDateTime.now());
         
         // Top up government income streams actual balance
@@ -193,22 +130,19 @@ public class BudgetService {
     }
 
     @Transactional
-    public Budget rejectBudget(UUID budgetId, String token) {
+    public Budget rejectBudget(UUID budgetId, AuthenticatedUser currentUser) {
         Budget budget = budgetRepository.findById(budgetId)
                 .orElseThrow(() -> new NotFoundException("Budget not found with ID: " + budgetId));
         if (!"DRAFT".equals(budget.getStatus())) {
             throw new BadRequestException("Only DRAFT budgets can be rejected");
         }
 
-        String email = jwtUtil.getEmailFromToken(token);
-        User approver = userRepository.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + email));
-        if (!"GOVERNMENT_OFFICER".equals(approver.getRole())) {
+        if (!currentUser.hasRole("GOVERNMENT_OFFICER")) {
             throw new ForbiddenException("Only GOVERNMENT_OFFICER can reject budgets");
         }
 
         budget.setStatus("REJECTED");
-        budget.setApprovedBy(approver);
+        budget.setApprovedBy(userRepository.getReferenceById(currentUser.id()));
         budget.setApprovedAt(LocalDateTime.now());
         return budgetRepository.save(budget);
     }
@@ -217,30 +151,36 @@ public class BudgetService {
         if (!parkRepository.existsById(parkId)) {
             throw new NotFoundException("Park not found with ID: " + parkId);
         }
-        return budgetRepository.findByParkId(parkId).stream()
-                .peek(budget -> budget.setBalance(calculateBudgetBalance(budget)))
-                .collect(Collectors.toList());
+        List<Budget> budgets = budgetRepository.findByParkId(parkId);
+        // Resolve every balance before touching the entities so no dirty budget gets flushed mid-way
+        Map<UUID, BigDecimal> balances = budgetLedgerService.getBalances(budgets);
+        budgets.forEach(budget -> budget.setBalance(balances.get(budget.getId())));
+        return budgets;
+    }
+
+    public VersionStamp getBudgetVersion(UUID budgetId) {
+        return budgetRepository.findVersionById(budgetId);
+    }
+
+    public VersionStamp getBudgetsVersionByPark(UUID parkId) {
+        return budgetRepository.findVersionByParkId(parkId);
     }
 
-    public List<BudgetByFiscalYearResponseDto> getBudgetsByFiscalYear(Integer fiscalYear, String token) {
-        String email = jwtUtil.getEmailFromToken(token);
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + email));
-        if (!List.of("GOVERNMENT_OFFICER", "AUDITOR").contains(user.getRole())) {
+    public List<BudgetByFiscalYearResponseDto> getBudgetsByFiscalYear(Integer fiscalYear, AuthenticatedUser currentUser) {
+        if (!currentUser.hasAnyRole(List.of("GOVERNMENT_OFFICER", "AUDITOR"))) {
             throw new ForbiddenException("Only GOVERNMENT_OFFICER and AUDITOR can view budgets by fiscal year");
         }
 
         List<Park> allParks = parkRepository.findAll();
-        List<Budget> budgets = budgetRepository.findByFiscalYear(fiscalYear);
+        List<Budget> budgets = budgetRepository.findByFiscalYearWithParkAndUsers(fiscalYear);
+        Map<UUID, Budget> budgetsByPark = budgets.stream()
+                .collect(Collectors.toMap(budget -> budget.getPark().getId(), Function.identity(), (first, second) -> first));
+        Map<UUID, BigDecimal> balances = budgetLedgerService.getBalances(budgetsByPark.values());
 
         return allParks.stream().map(park -> {
-            Budget budget = budgets.stream()
-                    .filter(b -> b.getPark().getId().equals(park.getId()))
-                    .findFirst()
-                    .orElse(null);
-            
-            BigDecimal balance = budget != null ? calculateBudgetBalance(budget) : null;
-            
+            Budget budget = budgetsByPark.get(park.getId());
+            BigDecimal balance = budget != null ? balances.get(budget.getId()) : null;
+
             return new BudgetByFiscalYearResponseDto(
                     budget != null ? budget.getId() : null,
                     park.getId(),
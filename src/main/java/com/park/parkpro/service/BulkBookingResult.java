@@ -0,0 +1,12 @@
+package com.park.parkpro.service;
+
+import com.park.parkpro.domain.Booking;
+import com.park.parkpro.domain.BookingBatch;
+
+import java.util.List;
+
+// batch is null when no line could be reserved; each line has either a booking or an error
+public record BulkBookingResult(BookingBatch batch, List<Line> lines) {
+    public record Line(int index, Booking booking, String error) {
+    }
+}
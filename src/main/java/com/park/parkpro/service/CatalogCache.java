@@ -0,0 +1,103 @@
+package com.park.parkpro.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.park.parkpro.dto.ActivityResponseDto;
+import com.park.parkpro.dto.OpportunityResponseDto;
+import com.park.parkpro.dto.PageResponseDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of the public activity and opportunity catalogs, holding the response DTOs
+ * together with an ETag over their JSON form and the time they were read. Entries are dropped after
+ * every committed catalog write on this instance and expire after {@code catalog.cache.ttl}, which
+ * bounds how stale other instances can be. Only the views anonymous users get are cached; staff see
+ * private opportunities and always read through to the database.
+ */
+@Service
+public class CatalogCache {
+    public record Entry<T>(T body, String etag, Instant lastModified) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final Cache<UUID, Entry<List<ActivityResponseDto>>> activitiesByPark;
+    private final Cache<UUID, Entry<ActivityResponseDto>> activities;
+    private final Cache<String, Entry<PageResponseDto<OpportunityResponseDto>>> publicOpportunities;
+    private final Cache<UUID, Entry<List<OpportunityResponseDto>>> publicOpportunitiesByPark;
+    private volatile Instant lastChange = Instant.EPOCH;
+
+    public CatalogCache(ObjectMapper objectMapper,
+                        @Value("${catalog.cache.ttl:10m}") Duration ttl,
+                        @Value("${catalog.cache.max-size:10000}") long maxSize) {
+        this.objectMapper = objectMapper;
+        this.activitiesByPark = Caffeine.newBuilder().expireAfterWrite(ttl).maximumSize(maxSize).build();
+        this.activities = Caffeine.newBuilder().expireAfterWrite(ttl).maximumSize(maxSize).build();
+        this.publicOpportunities = Caffeine.newBuilder().expireAfterWrite(ttl).maximumSize(maxSize).build();
+        this.publicOpportunitiesByPark = Caffeine.newBuilder().expireAfterWrite(ttl).maximumSize(maxSize).build();
+    }
+
+    public Entry<List<ActivityResponseDto>> activitiesByPark(UUID parkId, Supplier<List<ActivityResponseDto>> loader) {
+        return activitiesByPark.get(parkId, key -> entry(loader.get()));
+    }
+
+    public Entry<ActivityResponseDto> activity(UUID activityId, Supplier<ActivityResponseDto> loader) {
+        return activities.get(activityId, key -> entry(loader.get()));
+    }
+
+    public Entry<PageResponseDto<OpportunityResponseDto>> publicOpportunities(
+            String cursor, int size, Supplier<PageResponseDto<OpportunityResponseDto>> loader) {
+        return publicOpportunities.get(size + "|" + (cursor != null ? cursor : ""), key -> entry(loader.get()));
+    }
+
+    public Entry<List<OpportunityResponseDto>> publicOpportunitiesByPark(
+            UUID parkId, Supplier<List<OpportunityResponseDto>> loader) {
+        return publicOpportunitiesByPark.get(parkId, key -> entry(loader.get()));
+    }
+
+    // Invalidating waits for a load of the same key in progress, so a load that read the old rows is dropped too
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        lastChange = Instant.now();
+        switch (event.catalog()) {
+            case ACTIVITIES -> {
+                activitiesByPark.invalidate(event.parkId());
+                if (event.entityId() != null) {
+                    activities.invalidate(event.entityId());
+                } else {
+                    activities.asMap().values().removeIf(entry -> entry.body() != null && event.parkId().equals(entry.body().getParkId()));
+                }
+            }
+            // Pages shift and opportunities can move between parks, so any change drops them all
+            case OPPORTUNITIES -> {
+                publicOpportunities.invalidateAll();
+                publicOpportunitiesByPark.invalidateAll();
+            }
+        }
+    }
+
+    private <T> Entry<T> entry(T body) {
+        try {
+            String etag = "\"" + DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(body)) + "\"";
+            // HTTP dates have second precision, so a reload in the second of a change must not reuse that second
+            Instant lastModified = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+            Instant afterChange = lastChange.truncatedTo(ChronoUnit.SECONDS).plusSeconds(1);
+            return new Entry<>(body, etag, lastModified.isBefore(afterChange) ? afterChange : lastModified);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
\ No newline at end of file
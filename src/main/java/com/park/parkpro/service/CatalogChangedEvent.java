@@ -0,0 +1,27 @@
+package com.park.parkpro.service;
+
+import java.util.UUID;
+
+/**
+ * Published by writes to the public catalogs; {@link CatalogCache} drops the affected
+ * entries once the writing transaction commits.
+ */
+public record CatalogChangedEvent(Catalog catalog, UUID parkId, UUID entityId) {
+    public enum Catalog {
+        ACTIVITIES,
+        OPPORTUNITIES
+    }
+
+    public static CatalogChangedEvent activity(UUID parkId, UUID activityId) {
+        return new CatalogChangedEvent(Catalog.ACTIVITIES, parkId, activityId);
+    }
+
+    // Without an activity id, every cached activity of the park is dropped
+    public static CatalogChangedEvent park(UUID parkId) {
+        return new CatalogChangedEvent(Catalog.ACTIVITIES, parkId, null);
+    }
+
+    public static CatalogChangedEvent opportunities() {
+        return new CatalogChangedEvent(Catalog.OPPORTUNITIES, null, null);
+    }
+}
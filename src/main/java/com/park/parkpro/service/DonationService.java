@@ -1,23 +1,23 @@
 package com.park.parkpro.service;
 
 import com.park.parkpro.domain.Donation;
-import com.park.parkpro.domain.IncomeStream;
+import com.park.parkpro.domain.IncomeStreamKind;
 import com.park.parkpro.domain.Park;
 import com.park.parkpro.domain.User;
+import com.park.parkpro.dto.AmountByStatusDto;
 import com.park.parkpro.dto.OutstandingDonorResponseDto;
+import com.park.parkpro.dto.VersionStamp;
 import com.park.parkpro.exception.ForbiddenException;
 import com.park.parkpro.exception.NotFoundException;
-import com.park.parkpro.repository.BudgetRepository;
+import com.park.parkpro.repository.AggregateQueryRepository;
 import com.park.parkpro.repository.DonationRepository;
-import com.park.parkpro.repository.IncomeStreamRepository;
 import com.park.parkpro.repository.ParkRepository;
 import com.park.parkpro.repository.UserRepository;
-import com.park.parkpro.security.JwtUtil;
+import com.park.parkpro.security.AuthenticatedUser;
 import com.stripe.exception.StripeException;
 import com.stripe.model.PaymentIntent;
 import com.stripe.param.PaymentIntentCreateParams;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -32,27 +32,25 @@ public class DonationService {
     private final DonationRepository donationRepository;
     private final UserRepository userRepository;
     private final ParkRepository parkRepository;
-    private final BudgetRepository budgetRepository;
-    private final IncomeStreamRepository incomeStreamRepository;
-    private final JwtUtil jwtUtil;
+    private final IncomeStreamResolver incomeStreamResolver;
+    private final AggregateQueryRepository aggregateQueryRepository;
+    private final BudgetLedgerService budgetLedgerService;
+    private final OptimisticRetryExecutor optimisticRetry;
 
     public DonationService(DonationRepository donationRepository, UserRepository userRepository,
-                           ParkRepository parkRepository, BudgetRepository budgetRepository,
-                           IncomeStreamRepository incomeStreamRepository, JwtUtil jwtUtil) {
+                           ParkRepository parkRepository, IncomeStreamResolver incomeStreamResolver,
+                           AggregateQueryRepository aggregateQueryRepository,
+                           BudgetLedgerService budgetLedgerService, OptimisticRetryExecutor optimisticRetry) {
         this.donationRepository = donationRepository;
         this.userRepository = userRepository;
         this.parkRepository = parkRepository;
-        this.budgetRepository = budgetRepository;
-        this.incomeStreamRepository = incomeStreamRepository;
-        this.jwtUtil = jwtUtil;
+        this.incomeStreamResolver = incomeStreamResolver;
+        this.aggregateQueryRepository = aggregateQueryRepository;
+        this.budgetLedgerService = budgetLedgerService;
+        this.optimisticRetry = optimisticRetry;
     }
 
-    @Transactional
-    public Donation createDonation(UUID parkId, String amount, String motiveForDonation, String paymentMethodId, String token) throws StripeException {
-        String email = jwtUtil.getEmailFromToken(token);
-        User donor = userRepository.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + email));
-
+    public Donation createDonation(UUID parkId, String amount, String motiveForDonation, String paymentMethodId, AuthenticatedUser currentUser) throws StripeException {
         Park park = parkRepository.findById(parkId)
                 .orElseThrow(() -> new NotFoundException("Park not found with ID: " + parkId));
 
@@ -68,26 +66,11 @@ public class DonationService {
 
         // Determine fiscal year and budget
         int fiscalYear = LocalDate.now().getYear();
-        var budget = budgetRepository.findByParkIdAndFiscalYear(parkId, fiscalYear)
-                .orElseThrow(() -> new NotFoundException("No budget found for park " + parkId + " and fiscal year " + fiscalYear));
-
-        // Find or create Donations income stream
-        IncomeStream donationStream = incomeStreamRepository.findByBudgetIdAndNameContaining(budget.getId(), "Donations")
-                .stream().findFirst()
-                .orElseGet(() -> {
-                    IncomeStream newStream = new IncomeStream();
-                    newStream.setBudget(budget);
-                    newStream.setPark(park);
-                    newStream.setFiscalYear(fiscalYear);
-                    newStream.setName("Donations");
-                    newStream.setPercentage(BigDecimal.ZERO);
-                    newStream.setTotalContribution(BigDecimal.ZERO);
-                    newStream.setActualBalance(BigDecimal.ZERO);
-                    newStream.setCreatedBy(donor);
-                    return incomeStreamRepository.save(newStream);
-                });
-
-        // Payment processing with Stripe
+        if (incomeStreamResolver.findBudgetId(parkId, fiscalYear).isEmpty()) {
+            throw new NotFoundException("No budget found for park " + parkId + " and fiscal year " + fiscalYear);
+        }
+
+        // Payment processing with Stripe, before any balance is touched so a retried transaction never charges twice
         PaymentIntentCreateParams params = PaymentIntentCreateParams.builder()
                 .setAmount(donationAmount.multiply(new BigDecimal("100")).longValue())
                 .setCurrency("XAF")
@@ -104,32 +87,46 @@ public class DonationService {
 
         PaymentIntent paymentIntent = PaymentIntent.create(params);
 
-        // Update income stream actual balance (Rule 3)
-        donationStream.setActualBalance(donationStream.getActualBalance().add(donationAmount));
-        incomeStreamRepository.save(donationStream);
+        try {
+            return optimisticRetry.execute("recording the donation", () -> recordDonation(parkId, fiscalYear,
+                    donationAmount, motiveForDonation, paymentIntent.getId(), currentUser));
+        } catch (RuntimeException e) {
+            LOGGER.severe("Payment " + paymentIntent.getId() + " succeeded for a donation to park " + parkId
+                    + " but recording it failed, refund required");
+            throw e;
+        }
+    }
+
+    private Donation recordDonation(UUID parkId, int fiscalYear, BigDecimal donationAmount,
+                                    String motiveForDonation, String paymentReference, AuthenticatedUser currentUser) {
+        User donor = userRepository.getReferenceById(currentUser.id());
+        Park park = parkRepository.getReferenceById(parkId);
+
+        // Update the Donations income stream actual balance, creating the stream on first use (Rule 3)
+        incomeStreamResolver.recordIncome(parkId, fiscalYear, IncomeStreamKind.DONATIONS, donationAmount, donor.getId());
 
         Donation donation = new Donation();
         donation.setDonor(donor);
         donation.setPark(park);
         donation.setAmount(donationAmount);
         donation.setStatus("CONFIRMED");
-        donation.setPaymentReference(paymentIntent.getId());
+        donation.setPaymentReference(paymentReference);
         donation.setCurrency("XAF");
         donation.setMotiveForDonation(motiveForDonation);
         donation.setFiscalYear(fiscalYear);
         donation.setConfirmedAt(LocalDateTime.now());
 
         Donation savedDonation = donationRepository.save(donation);
+        budgetLedgerService.recordDonation(parkId, fiscalYear, donationAmount);
         LOGGER.info("Saved donation: ID=" + savedDonation.getId() + ", Amount=" + savedDonation.getAmount());
         return savedDonation;
     }
 
-    @Transactional
-    public Donation cancelDonation(UUID donationId, String token) {
-        String email = jwtUtil.getEmailFromToken(token);
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + email));
+    public Donation cancelDonation(UUID donationId, AuthenticatedUser currentUser) {
+        return optimisticRetry.execute("cancelling the donation", () -> doCancelDonation(donationId, currentUser));
+    }
 
+    private Donation doCancelDonation(UUID donationId, AuthenticatedUser currentUser) {
         Donation donation = donationRepository.findById(donationId)
                 .orElseThrow(() -> new NotFoundException("Donation not found with ID: " + donationId));
 
@@ -138,53 +135,67 @@ public class DonationService {
         }
 
         // Revert income stream actual balance (Rule 3)
-        var budget = budgetRepository.findByParkIdAndFiscalYear(donation.getPark().getId(), donation.getFiscalYear())
-                .orElseThrow(() -> new NotFoundException("No budget found for park " + donation.getPark().getId() + " and fiscal year " + donation.getFiscalYear()));
-        IncomeStream donationStream = incomeStreamRepository.findByBudgetIdAndNameContaining(budget.getId(), "Donations")
-                .stream().findFirst()
-                .orElseThrow(() -> new NotFoundException("No Donations income stream found for budget " + budget.getId()));
-        donationStream.setActualBalance(donationStream.getActualBalance().subtract(donation.getAmount()));
-        incomeStreamRepository.save(donationStream);
+        incomeStreamResolver.reverseIncome(donation.getPark().getId(), donation.getFiscalYear(),
+                IncomeStreamKind.DONATIONS, donation.getAmount());
 
         // Refund via Stripe (simplified)
         // TODO: Implement actual Stripe refund logic here
 
         donation.setStatus("CANCELLED");
         donation.setUpdatedAt(LocalDateTime.now());
-        return donationRepository.save(donation);
+        Donation cancelled = donationRepository.save(donation);
+        budgetLedgerService.recordDonation(cancelled.getPark().getId(), cancelled.getFiscalYear(), cancelled.getAmount().negate());
+        return cancelled;
     }
 
-    public List<Donation> getDonationsByDonor(String token) {
-        String email = jwtUtil.getEmailFromToken(token);
-        User donor = userRepository.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + email));
-        return donationRepository.findByDonorId(donor.getId());
+    public List<Donation> getDonationsByDonor(AuthenticatedUser currentUser) {
+        return donationRepository.findByDonorId(currentUser.id());
     }
 
-    public List<Donation> getDonationsByPark(UUID parkId, String token) {
-        String email = jwtUtil.getEmailFromToken(token);
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + email));
+    public List<Donation> getDonationsByPark(UUID parkId, AuthenticatedUser currentUser) {
         return donationRepository.findByParkId(parkId);
     }
 
-    public List<Donation> getDonationsByParkAndFiscalYear(UUID parkId, int fiscalYear, String token) {
-        String email = jwtUtil.getEmailFromToken(token);
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + email));
-        
+    public VersionStamp getDonationsVersionByPark(UUID parkId, AuthenticatedUser currentUser) {
+        return donationRepository.findVersionByParkId(parkId);
+    }
+
+    public List<Donation> getDonationsByParkAndFiscalYear(UUID parkId, int fiscalYear, AuthenticatedUser currentUser) {
+        checkCanViewParkDonations(parkId, fiscalYear, currentUser);
+        return donationRepository.findByParkIdAndFiscalYear(parkId, fiscalYear);
+    }
+
+    public VersionStamp getDonationsVersionByParkAndFiscalYear(UUID parkId, int fiscalYear, AuthenticatedUser currentUser) {
+        checkCanViewParkDonations(parkId, fiscalYear, currentUser);
+        return donationRepository.findVersionByParkIdAndFiscalYear(parkId, fiscalYear);
+    }
+
+    private void checkCanViewParkDonations(UUID parkId, int fiscalYear, AuthenticatedUser currentUser) {
         Park park = parkRepository.findById(parkId)
                 .orElseThrow(() -> new NotFoundException("Park not found with ID: " + parkId));
 
-        if ("FINANCE_OFFICER".equals(user.getRole()) && !park.getId().equals(user.getPark().getId())) {
+        if (currentUser.hasRole("FINANCE_OFFICER") && !park.getId().equals(currentUser.parkId())) {
             throw new ForbiddenException("FINANCE_OFFICER can only view donations for their assigned park");
         }
 
         if (fiscalYear < 2000 || fiscalYear > LocalDate.now().getYear() + 1) {
             throw new IllegalArgumentException("Invalid fiscal year: " + fiscalYear);
         }
+    }
 
-        return donationRepository.findByParkIdAndFiscalYear(parkId, fiscalYear);
+    public List<AmountByStatusDto> getDonationTotalsByParkAndFiscalYear(UUID parkId, int fiscalYear, AuthenticatedUser currentUser) {
+        Park park = parkRepository.findById(parkId)
+                .orElseThrow(() -> new NotFoundException("Park not found with ID: " + parkId));
+
+        if (currentUser.hasRole("FINANCE_OFFICER") && !park.getId().equals(currentUser.parkId())) {
+            throw new ForbiddenException("FINANCE_OFFICER can only view donations for their assigned park");
+        }
+
+        if (fiscalYear < 2000 || fiscalYear > LocalDate.now().getYear() + 1) {
+            throw new IllegalArgumentException("Invalid fiscal year: " + fiscalYear);
+        }
+
+        return aggregateQueryRepository.sumDonationsByParkIdAndFiscalYearGroupByStatus(parkId, fiscalYear);
     }
 
     public List<OutstandingDonorResponseDto> getTopDonorsByPark(UUID parkId) {
@@ -0,0 +1,37 @@
+package com.park.parkpro.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.logging.Logger;
+
+/**
+ * Drains the email outbox on a fixed delay. Each batch is claimed and recorded in its own short
+ * transactions, so a large backlog is committed as it goes and no rows stay locked while mail is sent.
+ */
+@Service
+public class EmailDispatcher {
+    private static final Logger LOGGER = Logger.getLogger(EmailDispatcher.class.getName());
+    private final EmailOutboxService emailOutboxService;
+    private final int batchSize;
+
+    public EmailDispatcher(EmailOutboxService emailOutboxService,
+                           @Value("${email.outbox.batch-size:50}") int batchSize) {
+        this.emailOutboxService = emailOutboxService;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${email.outbox.poll-interval:PT5S}")
+    public void dispatch() {
+        int claimed;
+        int total = 0;
+        do {
+            claimed = emailOutboxService.dispatchDue(batchSize);
+            total += claimed;
+        } while (claimed == batchSize);
+        if (total > 0) {
+            LOGGER.fine("Processed " + total + " queued emails");
+        }
+    }
+}
\ No newline at end of file
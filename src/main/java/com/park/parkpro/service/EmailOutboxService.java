@@ -0,0 +1,140 @@
+package com.park.parkpro.service;
+
+import com.park.parkpro.domain.EmailOutbox;
+import com.park.parkpro.repository.EmailOutboxRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Queues outgoing mail in the {@code email_outbox} table as part of the caller's transaction, so a
+ * rolled back request never sends mail and a committed one never loses it. {@link EmailDispatcher}
+ * delivers due messages in batches over one SMTP connection; failed messages are retried with
+ * exponential backoff until {@code email.outbox.max-attempts} is reached and then marked FAILED.
+ * A batch is claimed and its outcome recorded in two short transactions, so no connection or row
+ * lock is held while SMTP is talked to. A claimed message whose outcome is never recorded becomes
+ * due again once {@code email.outbox.send-lease} has passed.
+ */
+@Service
+public class EmailOutboxService {
+    private static final Logger LOGGER = Logger.getLogger(EmailOutboxService.class.getName());
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transaction;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration maxRetryBackoff;
+    private final Duration sendLease;
+
+    public EmailOutboxService(EmailOutboxRepository emailOutboxRepository, JavaMailSender mailSender,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${email.outbox.max-attempts:8}") int maxAttempts,
+                              @Value("${email.outbox.retry-backoff:30s}") Duration retryBackoff,
+                              @Value("${email.outbox.max-retry-backoff:1h}") Duration maxRetryBackoff,
+                              @Value("${email.outbox.send-lease:5m}") Duration sendLease) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.mailSender = mailSender;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.maxRetryBackoff = maxRetryBackoff;
+        this.sendLease = sendLease;
+    }
+
+    @Transactional
+    public EmailOutbox enqueue(String recipient, String subject, String body) {
+        return emailOutboxRepository.save(new EmailOutbox(recipient, subject, body));
+    }
+
+    /**
+     * Sends up to {@code batchSize} due messages and records the outcome of each. Claimed rows are
+     * marked SENDING and leased, other dispatchers skip them until the lease runs out.
+     *
+     * @return the number of messages claimed
+     */
+    public int dispatchDue(int batchSize) {
+        List<EmailOutbox> due = transaction.execute(status -> claim(batchSize));
+        if (due.isEmpty()) {
+            return 0;
+        }
+        Map<SimpleMailMessage, EmailOutbox> messages = new IdentityHashMap<>();
+        for (EmailOutbox email : due) {
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setTo(email.getRecipient());
+            message.setSubject(email.getSubject());
+            message.setText(email.getBody());
+            messages.put(message, email);
+        }
+
+        Map<Object, Exception> failures = new IdentityHashMap<>();
+        try {
+            mailSender.send(messages.keySet().toArray(SimpleMailMessage[]::new));
+        } catch (MailSendException e) {
+            failures.putAll(e.getFailedMessages());
+            if (failures.isEmpty()) {
+                messages.keySet().forEach(message -> failures.put(message, e));
+            }
+        } catch (MailException e) {
+            // Connection or authentication problems fail the whole batch
+            messages.keySet().forEach(message -> failures.put(message, e));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        messages.forEach((message, email) -> {
+            Exception failure = failures.get(message);
+            if (failure == null) {
+                email.setStatus("SENT");
+                email.setSentAt(now);
+                email.setLastError(null);
+            } else {
+                recordFailure(email, failure, now);
+            }
+        });
+        transaction.executeWithoutResult(status -> emailOutboxRepository.saveAll(due));
+        if (!failures.isEmpty()) {
+            LOGGER.warning("Failed to send " + failures.size() + " of " + due.size() + " queued emails");
+        }
+        return due.size();
+    }
+
+    // The attempt is counted on claim, so a message that keeps crashing its dispatcher still runs out of attempts
+    private List<EmailOutbox> claim(int batchSize) {
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutbox> due = emailOutboxRepository.findDueForUpdate(now, Limit.of(batchSize));
+        for (EmailOutbox email : due) {
+            email.setStatus("SENDING");
+            email.setAttempts(email.getAttempts() + 1);
+            email.setNextAttemptAt(now.plus(sendLease));
+        }
+        emailOutboxRepository.saveAll(due);
+        return due;
+    }
+
+    private void recordFailure(EmailOutbox email, Exception failure, LocalDateTime now) {
+        String error = String.valueOf(failure.getMessage());
+        email.setLastError(error.length() > 1000 ? error.substring(0, 1000) : error);
+        if (email.getAttempts() >= maxAttempts) {
+            email.setStatus("FAILED");
+            LOGGER.severe("Giving up on email " + email.getId() + " to " + email.getRecipient()
+                    + " after " + email.getAttempts() + " attempts: " + error);
+            return;
+        }
+        email.setStatus("PENDING");
+        Duration backoff = retryBackoff.multipliedBy(1L << Math.min(email.getAttempts() - 1, 20));
+        email.setNextAttemptAt(now.plus(backoff.compareTo(maxRetryBackoff) > 0 ? maxRetryBackoff : backoff));
+    }
+}
\ No newline at end of file
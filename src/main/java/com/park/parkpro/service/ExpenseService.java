@@ -8,7 +8,9 @@ import com.park.parkpro.exception.BadRequestException;
 import com.park.parkpro.exception.ForbiddenException;
 import com.park.parkpro.exception.NotFoundException;
 import com.park.parkpro.repository.*;
-import com.park.parkpro.security.JwtUtil;
+import com.park.parkpro.security.AuthenticatedUser;
+import com.park.parkpro.dto.PageResponseDto;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,30 +27,34 @@ public class ExpenseService {
     private final BudgetRepository budgetRepository;
     private final BudgetCategoryRepository budgetCategoryRepository;
     private final ParkRepository parkRepository;
-    private final AuditLogRepository auditLogRepository;
+    private final AuditLogWriter auditLogWriter;
     private final UserRepository userRepository;
-    private final JwtUtil jwtUtil;
+    private final BudgetLedgerService budgetLedgerService;
+    private final OptimisticRetryExecutor optimisticRetry;
 
     public ExpenseService(ExpenseRepository expenseRepository, BudgetRepository budgetRepository,
-                          BudgetCategoryRepository budgetCategoryRepository, ParkRepository parkRepository, AuditLogRepository auditLogRepository,
-                          UserRepository userRepository, JwtUtil jwtUtil) {
+                          BudgetCategoryRepository budgetCategoryRepository, ParkRepository parkRepository, AuditLogWriter auditLogWriter,
+                          UserRepository userRepository, BudgetLedgerService budgetLedgerService,
+                          OptimisticRetryExecutor optimisticRetry) {
         this.expenseRepository = expenseRepository;
         this.budgetRepository = budgetRepository;
         this.budgetCategoryRepository = budgetCategoryRepository;
         this.parkRepository = parkRepository;
-        this.auditLogRepository = auditLogRepository;
+        this.auditLogWriter = auditLogWriter;
         this.userRepository = userRepository;
-        this.jwtUtil = jwtUtil;
+        this.budgetLedgerService = budgetLedgerService;
+        this.optimisticRetry = optimisticRetry;
     }
 
-    @Transactional
-    public Expense createExpense(CreateExpenseRequestDto request, String token) {
-        String email = jwtUtil.getEmailFromToken(token);
-        User createdBy = userRepository.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + email));
-        if (!List.of("FINANCE_OFFICER", "PARK_MANAGER", "ADMIN").contains(createdBy.getRole())) {
+    public Expense createExpense(CreateExpenseRequestDto request, AuthenticatedUser currentUser) {
+        return optimisticRetry.execute("creating the expense", () -> doCreateExpense(request, currentUser));
+    }
+
+    private Expense doCreateExpense(CreateExpenseRequestDto request, AuthenticatedUser currentUser) {
+        if (!currentUser.hasAnyRole(List.of("FINANCE_OFFICER", "PARK_MANAGER", "ADMIN"))) {
             throw new ForbiddenException("Only FINANCE_OFFICER, PARK_MANAGER, or ADMIN can create expenses");
         }
+        User createdBy = userRepository.getReferenceById(currentUser.id());
 
         Budget budget = budgetRepository.findById(request.getBudgetId())
                 .orElseThrow(() -> new NotFoundException("Budget not found with ID: " + request.getBudgetId()));
@@ -86,10 +92,10 @@ public class ExpenseService {
             throw new BadRequestException("Park does not match the budget's park");
         }
 
-        // Update budget and category balances
-        budgetCategory.setUsedAmount(budgetCategory.getUsedAmount().add(request.getAmount()));
-        budgetCategory.setBalance(budgetCategory.getAllocatedAmount().subtract(budgetCategory.getUsedAmount()));
-        budgetCategoryRepository.save(budgetCategory);
+        // Update budget and category balances; the balance check above is repeated in the update itself
+        if (budgetCategoryRepository.addSpending(budgetCategory.getId(), request.getAmount()) == 0) {
+            throw new BadRequestException("Insufficient balance in budget category");
+        }
 
         // budget.setBalance(budget.getBalance().subtract(request.getAmount()));
         // budgetRepository.save(budget);
@@ -99,14 +105,13 @@ public class ExpenseService {
         if (request.getReceiptUrl() != null) {
             expense.setReceiptUrl(request.getReceiptUrl());
         }
-        return expenseRepository.save(expense);
+        expense = expenseRepository.save(expense);
+        budgetLedgerService.recordExpense(budget.getId(), expense.getAmount());
+        return expense;
     }
 
-    public List<Expense> getExpensesByBudgetCategory(UUID budgetCategoryId, String token) {
-        String email = jwtUtil.getEmailFromToken(token);
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + email));
-        if (!List.of("FINANCE_OFFICER", "PARK_MANAGER", "ADMIN", "GOVERNMENT_OFFICER", "AUDITOR").contains(user.getRole())) {
+    public List<Expense> getExpensesByBudgetCategory(UUID budgetCategoryId, AuthenticatedUser currentUser) {
+        if (!currentUser.hasAnyRole(List.of("FINANCE_OFFICER", "PARK_MANAGER", "ADMIN", "GOVERNMENT_OFFICER", "AUDITOR"))) {
             throw new ForbiddenException("Only authorized roles can view expenses");
         }
 
@@ -115,48 +120,39 @@ public class ExpenseService {
         return expenseRepository.findByBudgetCategoryId(budgetCategoryId);
     }
 
-    public List<Expense> getExpensesByPark(UUID parkId, String token) {
-        String email = jwtUtil.getEmailFromToken(token);
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + email));
-        if (!List.of("FINANCE_OFFICER", "PARK_MANAGER", "ADMIN", "GOVERNMENT_OFFICER", "AUDITOR").contains(user.getRole())) {
+    public PageResponseDto<Expense> getExpensesByPark(UUID parkId, String cursor, int size, AuthenticatedUser currentUser) {
+        if (!currentUser.hasAnyRole(List.of("FINANCE_OFFICER", "PARK_MANAGER", "ADMIN", "GOVERNMENT_OFFICER", "AUDITOR"))) {
             throw new ForbiddenException("Only authorized roles can view expenses");
         }
 
         Park park = parkRepository.findById(parkId)
                 .orElseThrow(() -> new NotFoundException("Park not found with ID: " + parkId));
-        return expenseRepository.findByParkId(parkId);
+        Limit limit = KeysetPages.limit(size);
+        return KeysetPages.toPage(expenseRepository.findByParkId(parkId,
+                KeysetPages.position(cursor, "createdAt"), limit, KeysetPages.newestFirst("createdAt")), limit, "createdAt");
     }
 
-    public List<Expense> getExpensesByBudget(UUID budgetId, String token) {
-        String email = jwtUtil.getEmailFromToken(token);
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + email));
-        if (!List.of("FINANCE_OFFICER", "PARK_MANAGER", "ADMIN", "GOVERNMENT_OFFICER", "AUDITOR").contains(user.getRole())) {
+    public PageResponseDto<Expense> getExpensesByBudget(UUID budgetId, String cursor, int size, AuthenticatedUser currentUser) {
+        if (!currentUser.hasAnyRole(List.of("FINANCE_OFFICER", "PARK_MANAGER", "ADMIN", "GOVERNMENT_OFFICER", "AUDITOR"))) {
             throw new ForbiddenException("Only authorized roles can view expenses");
         }
 
         Budget budget = budgetRepository.findById(budgetId)
                 .orElseThrow(() -> new NotFoundException("Budget not found with ID: " + budgetId));
-        return expenseRepository.findByBudgetId(budgetId);
+        Limit limit = KeysetPages.limit(size);
+        return KeysetPages.toPage(expenseRepository.findByBudgetId(budgetId,
+                KeysetPages.position(cursor, "createdAt"), limit, KeysetPages.newestFirst("createdAt")), limit, "createdAt");
     }
 
-    public List<Expense> getExpensesByCreatedBy(UUID budgetId, String token) {
-        String email = jwtUtil.getEmailFromToken(token);
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + email));
-
+    public List<Expense> getExpensesByCreatedBy(UUID budgetId, AuthenticatedUser currentUser) {
         Budget budget = budgetRepository.findById(budgetId)
                 .orElseThrow(() -> new NotFoundException("Budget not found with ID: " + budgetId));
 
-        return expenseRepository.findByCreatedByIdAndBudgetId(user.getId(), budgetId);
+        return expenseRepository.findByCreatedByIdAndBudgetId(currentUser.id(), budgetId);
     }
 
-    public Expense getExpenseById(UUID expenseId, String token) {
-        String email = jwtUtil.getEmailFromToken(token);
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + email));
-        if (!List.of("FINANCE_OFFICER", "PARK_MANAGER", "ADMIN", "GOVERNMENT_OFFICER", "AUDITOR").contains(user.getRole())) {
+    public Expense getExpenseById(UUID expenseId, AuthenticatedUser currentUser) {
+        if (!currentUser.hasAnyRole(List.of("FINANCE_OFFICER", "PARK_MANAGER", "ADMIN", "GOVERNMENT_OFFICER", "AUDITOR"))) {
             throw new ForbiddenException("Only authorized roles can view expense details");
         }
 
@@ -164,16 +160,15 @@ public class ExpenseService {
                 .orElseThrow(() -> new NotFoundException("Expense not found with ID: " + expenseId));
     }
 
-    @Transactional
-    public Expense updateExpense(UUID expenseId, UpdateExpenseRequestDto request, String token) {
-        String email = jwtUtil.getEmailFromToken(token);
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + email));
+    public Expense updateExpense(UUID expenseId, UpdateExpenseRequestDto request, AuthenticatedUser currentUser) {
+        return optimisticRetry.execute("updating the expense", () -> doUpdateExpense(expenseId, request, currentUser));
+    }
 
+    private Expense doUpdateExpense(UUID expenseId, UpdateExpenseRequestDto request, AuthenticatedUser currentUser) {
         Expense expense = expenseRepository.findById(expenseId)
                 .orElseThrow(() -> new NotFoundException("Expense not found with ID: " + expenseId));
 
-        if ("PARK_MANAGER".equals(user.getRole())) {
+        if (currentUser.hasRole("PARK_MANAGER")) {
             if (request.getDescription() != null) {
                 expense.setDescription(request.getDescription());
             }
@@ -189,28 +184,28 @@ public class ExpenseService {
                 if (newCategory.getBalance().compareTo(expense.getAmount()) < 0) {
                     throw new BadRequestException("Insufficient balance in new budget category");
                 }
-                BudgetCategory oldCategory = expense.getBudgetCategory();
-                oldCategory.setUsedAmount(oldCategory.getUsedAmount().subtract(expense.getAmount()));
-                oldCategory.setBalance(oldCategory.getAllocatedAmount().subtract(oldCategory.getUsedAmount()));
-                budgetCategoryRepository.save(oldCategory);
+                if (budgetCategoryRepository.addSpending(newCategory.getId(), expense.getAmount()) == 0) {
+                    throw new BadRequestException("Insufficient balance in new budget category");
+                }
+                budgetCategoryRepository.removeSpending(expense.getBudgetCategory().getId(), expense.getAmount());
                 expense.setBudgetCategory(newCategory);
-                newCategory.setUsedAmount(newCategory.getUsedAmount().add(expense.getAmount()));
-                newCategory.setBalance(newCategory.getAllocatedAmount().subtract(newCategory.getUsedAmount()));
-                budgetCategoryRepository.save(newCategory);
             }
-        } else if ("FINANCE_OFFICER".equals(user.getRole()) || "ADMIN".equals(user.getRole())) {
+        } else if (currentUser.hasRole("FINANCE_OFFICER") || currentUser.hasRole("ADMIN")) {
             if (request.getAmount() != null) {
                 BigDecimal oldAmount = expense.getAmount();
                 BudgetCategory category = expense.getBudgetCategory();
                 if (category.getBalance().add(oldAmount).compareTo(request.getAmount()) < 0) {
                     throw new BadRequestException("Insufficient balance in budget category for new amount");
                 }
-                category.setUsedAmount(category.getUsedAmount().subtract(oldAmount).add(request.getAmount()));
-                category.setBalance(category.getAllocatedAmount().subtract(category.getUsedAmount()));
-                budgetCategoryRepository.save(category);
-                Budget budget = expense.getBudget();
-                budget.setBalance(budget.getBalance().add(oldAmount).subtract(request.getAmount()));
-                budgetRepository.save(budget);
+                BigDecimal difference = request.getAmount().subtract(oldAmount);
+                if (difference.signum() > 0) {
+                    if (budgetCategoryRepository.addSpending(category.getId(), difference) == 0) {
+                        throw new BadRequestException("Insufficient balance in budget category for new amount");
+                    }
+                } else if (difference.signum() < 0) {
+                    budgetCategoryRepository.removeSpending(category.getId(), difference.negate());
+                }
+                budgetLedgerService.recordExpense(expense.getBudget().getId(), difference);
                 expense.setAmount(request.getAmount());
             }
             if (request.getAuditStatus() != null) {
@@ -225,14 +220,11 @@ public class ExpenseService {
                 if (newCategory.getBalance().compareTo(expense.getAmount()) < 0) {
                     throw new BadRequestException("Insufficient balance in new budget category");
                 }
-                BudgetCategory oldCategory = expense.getBudgetCategory();
-                oldCategory.setUsedAmount(oldCategory.getUsedAmount().subtract(expense.getAmount()));
-                oldCategory.setBalance(oldCategory.getAllocatedAmount().subtract(oldCategory.getUsedAmount()));
-                budgetCategoryRepository.save(oldCategory);
+                if (budgetCategoryRepository.addSpending(newCategory.getId(), expense.getAmount()) == 0) {
+                    throw new BadRequestException("Insufficient balance in new budget category");
+                }
+                budgetCategoryRepository.removeSpending(expense.getBudgetCategory().getId(), expense.getAmount());
                 expense.setBudgetCategory(newCategory);
-                newCategory.setUsedAmount(newCategory.getUsedAmount().add(expense.getAmount()));
-                newCategory.setBalance(newCategory.getAllocatedAmount().subtract(newCategory.getUsedAmount()));
-                budgetCategoryRepository.save(newCategory);
             }
         } else {
             throw new ForbiddenException("User role not authorized to update expenses");
@@ -243,11 +235,8 @@ public class ExpenseService {
     }
 
     @Transactional
-    public void deleteExpense(UUID expenseId, String token) {
-        String email = jwtUtil.getEmailFromToken(token);
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + email));
-        if (!List.of("FINANCE_OFFICER", "ADMIN").contains(user.getRole())) {
+    public void deleteExpense(UUID expenseId, AuthenticatedUser currentUser) {
+        if (!currentUser.hasAnyRole(List.of("FINANCE_OFFICER", "ADMIN"))) {
             throw new ForbiddenException("Only FINANCE_OFFICER or ADMIN can delete expenses");
         }
 
@@ -255,14 +244,12 @@ public class ExpenseService {
                 .orElseThrow(() -> new NotFoundException("Expense not found with ID: " + expenseId));
 
         expenseRepository.delete(expense);
+        budgetLedgerService.recordExpense(expense.getBudget().getId(), expense.getAmount().negate());
     }
 
     @Transactional
-    public Expense updateAuditStatus(UUID expenseId, UpdateAuditStatusDto request, String token) {
-        String email = jwtUtil.getEmailFromToken(token);
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + email));
-        if (!List.of("AUDITOR").contains(user.getRole())) {
+    public Expense updateAuditStatus(UUID expenseId, UpdateAuditStatusDto request, AuthenticatedUser currentUser) {
+        if (!currentUser.hasAnyRole(List.of("AUDITOR"))) {
             throw new ForbiddenException("Only AUDITOR can update audit status");
         }
 
@@ -284,13 +271,12 @@ public class ExpenseService {
                     request.getAuditStatus(),
                     request.getJustification() != null ? " with justification: " + request.getJustification() : ""
             );
-            auditLogRepository.save(new AuditLog(
+            auditLogWriter.append(AuditLogWriter.Entry.of(
                     "UPDATE_AUDIT_STATUS",
                     "EXPENSE",
                     expenseId,
                     logMessage,
-                    user,
-                    LocalDateTime.now()
+                    currentUser.id()
             ));
         }
 
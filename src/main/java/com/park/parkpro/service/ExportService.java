@@ -0,0 +1,166 @@
+package com.park.parkpro.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.park.parkpro.dto.BookingExportRow;
+import com.park.parkpro.dto.DonationExportRow;
+import com.park.parkpro.dto.ExpenseExportRow;
+import com.park.parkpro.dto.WithdrawRequestExportRow;
+import com.park.parkpro.exception.ForbiddenException;
+import com.park.parkpro.exception.NotFoundException;
+import com.park.parkpro.repository.ExportQueryRepository;
+import com.park.parkpro.repository.ParkRepository;
+import com.park.parkpro.security.AuthenticatedUser;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Writes full-year exports row by row straight from a database cursor, so memory use does not
+ * depend on the size of the year. Write methods open their own read-only transaction and are
+ * meant to be called from the streaming response thread.
+ */
+@Service
+public class ExportService {
+    private static final Logger LOGGER = Logger.getLogger(ExportService.class.getName());
+    private static final List<String> EXPORT_ROLES = List.of("ADMIN", "AUDITOR", "FINANCE_OFFICER", "GOVERNMENT_OFFICER");
+    private final ExportQueryRepository exportQueryRepository;
+    private final ParkRepository parkRepository;
+    private final ObjectMapper objectMapper;
+
+    public ExportService(ExportQueryRepository exportQueryRepository, ParkRepository parkRepository,
+                         ObjectMapper objectMapper) {
+        this.exportQueryRepository = exportQueryRepository;
+        this.parkRepository = parkRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    // Checked on the request thread before the response is committed
+    public void checkAccess(UUID parkId, AuthenticatedUser currentUser) {
+        if (!currentUser.hasAnyRole(EXPORT_ROLES)) {
+            throw new ForbiddenException("Only ADMIN, AUDITOR, FINANCE_OFFICER, or GOVERNMENT_OFFICER can export park records");
+        }
+        if (!parkRepository.existsById(parkId)) {
+            throw new NotFoundException("Park not found with ID: " + parkId);
+        }
+        if (currentUser.hasRole("FINANCE_OFFICER") && !currentUser.isAssignedTo(parkId)) {
+            throw new ForbiddenException("FINANCE_OFFICER can only export records for their assigned park");
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void writeExpenses(UUID parkId, Integer fiscalYear, ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<? extends Record> rows = exportQueryRepository.streamExpenses(parkId, fiscalYear)) {
+            write(rows, ExpenseExportRow.class, format, out, "expenses");
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void writeWithdrawRequests(UUID parkId, Integer fiscalYear, ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<? extends Record> rows = exportQueryRepository.streamWithdrawRequests(parkId, fiscalYear)) {
+            write(rows, WithdrawRequestExportRow.class, format, out, "withdraw requests");
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void writeBookings(UUID parkId, Integer fiscalYear, ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<? extends Record> rows = exportQueryRepository.streamBookings(
+                parkId, LocalDate.of(fiscalYear, 1, 1), LocalDate.of(fiscalYear + 1, 1, 1))) {
+            write(rows, BookingExportRow.class, format, out, "bookings");
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void writeDonations(UUID parkId, Integer fiscalYear, ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<? extends Record> rows = exportQueryRepository.streamDonations(parkId, fiscalYear)) {
+            write(rows, DonationExportRow.class, format, out, "donations");
+        }
+    }
+
+    // The CSV header comes from the row type, so an empty export still names its columns
+    private void write(Stream<? extends Record> rows, Class<? extends Record> type, ExportFormat format,
+                       OutputStream out, String label) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        Method[] accessors = format == ExportFormat.CSV ? writeCsvHeader(type, writer) : null;
+        Iterator<? extends Record> iterator = rows.iterator();
+        long count = 0;
+        while (iterator.hasNext()) {
+            Record row = iterator.next();
+            if (format == ExportFormat.NDJSON) {
+                writer.write(objectMapper.writeValueAsString(row));
+            } else {
+                writeCsvRow(row, accessors, writer);
+            }
+            writer.write('\n');
+            count++;
+        }
+        writer.flush();
+        LOGGER.info("Exported " + count + " " + label + " as " + format);
+    }
+
+    private Method[] writeCsvHeader(Class<?> type, Writer writer) throws IOException {
+        RecordComponent[] components = type.getRecordComponents();
+        Method[] accessors = new Method[components.length];
+        for (int i = 0; i < components.length; i++) {
+            accessors[i] = components[i].getAccessor();
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(components[i].getName());
+        }
+        writer.write('\n');
+        return accessors;
+    }
+
+    private void writeCsvRow(Record row, Method[] accessors, Writer writer) throws IOException {
+        for (int i = 0; i < accessors.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            try {
+                Object value = accessors[i].invoke(row);
+                if (value != null) {
+                    writer.write(csvEscape(value.toString()));
+                }
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalStateException("Cannot read export column " + accessors[i].getName(), e);
+            }
+        }
+    }
+
+    // Quotes separators and neutralizes leading characters spreadsheets would evaluate as formulas
+    static String csvEscape(String value) {
+        String escaped = value;
+        if (!escaped.isEmpty() && "=+-@".indexOf(escaped.charAt(0)) >= 0 && !isNumber(escaped)) {
+            escaped = "'" + escaped;
+        }
+        if (escaped.contains(",") || escaped.contains("\"") || escaped.contains("\n") || escaped.contains("\r")) {
+            escaped = "\"" + escaped.replace("\"", "\"\"") + "\"";
+        }
+        return escaped;
+    }
+
+    private static boolean isNumber(String value) {
+        try {
+            new BigDecimal(value);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
@@ -13,7 +13,11 @@ import com.park.parkpro.repository.BudgetRepository;
 import com.park.parkpro.repository.FundingRequestRepository;
 import com.park.parkpro.repository.ParkRepository;
 import com.park.parkpro.repository.UserRepository;
-import com.park.parkpro.security.JwtUtil;
+import com.park.parkpro.security.AuthenticatedUser;
+import com.park.parkpro.dto.PageResponseDto;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -32,34 +36,32 @@ public class FundingRequestService {
     private final BudgetCategoryRepository budgetCategoryRepository;
     private final ParkRepository parkRepository;
     private final UserRepository userRepository;
-    private final JwtUtil jwtUtil;
+    private final BudgetLedgerService budgetLedgerService;
 
     public FundingRequestService(FundingRequestRepository fundingRequestRepository,
                                  BudgetRepository budgetRepository,
                                  BudgetCategoryRepository budgetCategoryRepository,
                                  ParkRepository parkRepository,
                                  UserRepository userRepository,
-                                 JwtUtil jwtUtil) {
+                                 BudgetLedgerService budgetLedgerService) {
         this.fundingRequestRepository = fundingRequestRepository;
         this.budgetRepository = budgetRepository;
         this.budgetCategoryRepository = budgetCategoryRepository;
         this.parkRepository = parkRepository;
         this.userRepository = userRepository;
-        this.jwtUtil = jwtUtil;
+        this.budgetLedgerService = budgetLedgerService;
     }
 
     @Transactional
     public FundingRequest createFundingRequest(UUID parkId, BigDecimal requestedAmount, String requestType,
-                                               String reason, UUID budgetId, UUID budgetCategoryId, String token) {
-        String email = jwtUtil.getEmailFromToken(token);
-        User requester = userRepository.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + email));
-        if (!"FINANCE_OFFICER".equals(requester.getRole())) {
+                                               String reason, UUID budgetId, UUID budgetCategoryId, AuthenticatedUser currentUser) {
+        if (!currentUser.hasRole("FINANCE_OFFICER")) {
             throw new ForbiddenException("Only FINANCE_OFFICER can create funding requests");
         }
+        User requester = userRepository.getReferenceById(currentUser.id());
         Park park = parkRepository.findById(parkId)
                 .orElseThrow(() -> new NotFoundException("Park not found with ID: " + parkId));
-        if (!park.getId().equals(requester.getPark().getId())) {
+        if (!park.getId().equals(currentUser.parkId())) {
             throw new ForbiddenException("You can only request funds for your assigned park");
         }
         Budget budget = budgetRepository.findById(budgetId)
@@ -100,13 +102,11 @@ public class FundingRequestService {
     }
 
     @Transactional
-    public FundingRequest approveFundingRequest(UUID fundingRequestId, BigDecimal approvedAmount, String token) {
-        String email = jwtUtil.getEmailFromToken(token);
-        User approver = userRepository.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + email));
-        if (!"GOVERNMENT_OFFICER".equals(approver.getRole())) {
+    public FundingRequest approveFundingRequest(UUID fundingRequestId, BigDecimal approvedAmount, AuthenticatedUser currentUser) {
+        if (!currentUser.hasRole("GOVERNMENT_OFFICER")) {
             throw new ForbiddenException("Only GOVERNMENT_OFFICER can approve funding requests");
         }
+        User approver = userRepository.getReferenceById(currentUser.id());
         FundingRequest request = fundingRequestRepository.findById(fundingRequestId)
                 .orElseThrow(() -> new NotFoundException("Funding request not found with ID: " + fundingRequestId));
         if (!"PENDING".equals(request.getStatus())) {
@@ -118,21 +118,14 @@ public class FundingRequestService {
 
         Budget budget = request.getBudget();
         BudgetCategory category = request.getBudgetCategory();
-        BigDecimal unallocated = budget.getUnallocated();
-        if (approvedAmount.compareTo(unallocated) > 0) {
-            throw new BadRequestException("Insufficient unallocated funds: " + unallocated);
-        }
 
-        // Update budget and category (Rule 6)
+        // Update budget and category (Rule 6); the unallocated check and decrement are one statement
         // budget.setTotalAmount(budget.getTotalAmount().add(approvedAmount));
-        budget.setUnallocated(unallocated.subtract(approvedAmount));
-        category.setAllocatedAmount(category.getAllocatedAmount().add(approvedAmount));
-        category.setBalance(category.getBalance().add(approvedAmount));
+        if (budgetRepository.allocate(budget.getId(), approvedAmount) == 0) {
+            throw new BadRequestException("Insufficient unallocated funds: " + budgetRepository.getUnallocatedById(budget.getId()));
+        }
+        budgetCategoryRepository.addAllocation(category.getId(), approvedAmount);
         // budget.setBalance(budgetRepository.sumCategoryBalances(budget.getId()));
-        budget.setUpdatedAt(LocalDateTime.now());
-
-        budgetCategoryRepository.save(category);
-        budgetRepository.save(budget);
 
         request.setStatus("APPROVED");
         request.setApprovedAmount(approvedAmount);
@@ -140,18 +133,17 @@ public class FundingRequestService {
         request.setApprovedAt(LocalDateTime.now());
         request.setUpdatedAt(LocalDateTime.now());
         FundingRequest savedRequest = fundingRequestRepository.save(request);
+        budgetLedgerService.recordFunding(budget.getId(), approvedAmount);
         LOGGER.info("Approved funding request: ID=" + savedRequest.getId() + ", Approved Amount=" + approvedAmount);
         return savedRequest;
     }
 
     @Transactional
-    public FundingRequest rejectFundingRequest(UUID fundingRequestId, String rejectionReason, String token) {
-        String email = jwtUtil.getEmailFromToken(token);
-        User approver = userRepository.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + email));
-        if (!"GOVERNMENT_OFFICER".equals(approver.getRole())) {
+    public FundingRequest rejectFundingRequest(UUID fundingRequestId, String rejectionReason, AuthenticatedUser currentUser) {
+        if (!currentUser.hasRole("GOVERNMENT_OFFICER")) {
             throw new ForbiddenException("Only GOVERNMENT_OFFICER can reject funding requests");
         }
+        User approver = userRepository.getReferenceById(currentUser.id());
         FundingRequest request = fundingRequestRepository.findById(fundingRequestId)
                 .orElseThrow(() -> new NotFoundException("Funding request not found with ID: " + fundingRequestId));
         if (!"PENDING".equals(request.getStatus())) {
@@ -180,11 +172,8 @@ public class FundingRequestService {
 
     @Transactional
     public FundingRequest updateFundingRequest(UUID fundingRequestId, BigDecimal requestedAmount, String requestType,
-                                               String reason, UUID budgetId, UUID budgetCategoryId, String token) {
-        String email = jwtUtil.getEmailFromToken(token);
-        User requester = userRepository.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + email));
-        if (!"FINANCE_OFFICER".equals(requester.getRole())) {
+                                               String reason, UUID budgetId, UUID budgetCategoryId, AuthenticatedUser currentUser) {
+        if (!currentUser.hasRole("FINANCE_OFFICER")) {
             throw new ForbiddenException("Only FINANCE_OFFICER can update funding requests");
         }
         FundingRequest request = fundingRequestRepository.findById(fundingRequestId)
@@ -192,11 +181,11 @@ public class FundingRequestService {
         if (!"PENDING".equals(request.getStatus())) {
             throw new BadRequestException("Only PENDING funding requests can be updated");
         }
-        if (!request.getRequester().getId().equals(requester.getId())) {
+        if (!request.getRequester().getId().equals(currentUser.id())) {
             throw new ForbiddenException("You can only update your own funding requests");
         }
         Park park = request.getPark();
-        if (!park.getId().equals(requester.getPark().getId())) {
+        if (!park.getId().equals(currentUser.parkId())) {
             throw new ForbiddenException("You can only update requests for your assigned park");
         }
         Budget budget = budgetRepository.findById(budgetId)
@@ -231,11 +220,8 @@ public class FundingRequestService {
     }
 
     @Transactional
-    public void deleteFundingRequest(UUID fundingRequestId, String token) {
-        String email = jwtUtil.getEmailFromToken(token);
-        User requester = userRepository.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + email));
-        if (!"FINANCE_OFFICER".equals(requester.getRole())) {
+    public void deleteFundingRequest(UUID fundingRequestId, AuthenticatedUser currentUser) {
+        if (!currentUser.hasRole("FINANCE_OFFICER")) {
             throw new ForbiddenException("Only FINANCE_OFFICER can delete funding requests");
         }
         FundingRequest request = fundingRequestRepository.findById(fundingRequestId)
@@ -243,18 +229,15 @@ public class FundingRequestService {
         if (!"PENDING".equals(request.getStatus())) {
             throw new BadRequestException("Only PENDING funding requests can be deleted");
         }
-        if (!request.getRequester().getId().equals(requester.getId())) {
+        if (!request.getRequester().getId().equals(currentUser.id())) {
             throw new ForbiddenException("You can only delete your own funding requests");
         }
         fundingRequestRepository.delete(request);
         LOGGER.info("Deleted funding request: ID=" + fundingRequestId);
     }
 
-    public List<FundingRequest> getFundingRequestsByFiscalYear(int fiscalYear, String token) {
-        String email = jwtUtil.getEmailFromToken(token);
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + email));
-        if (!List.of("ADMIN", "GOVERNMENT_OFFICER", "AUDITOR").contains(user.getRole())) {
+    public List<FundingRequest> getFundingRequestsByFiscalYear(int fiscalYear, AuthenticatedUser currentUser) {
+        if (!currentUser.hasAnyRole(List.of("ADMIN", "GOVERNMENT_OFFICER", "AUDITOR"))) {
             throw new ForbiddenException("Only ADMIN, GOVERNMENT_OFFICER, or AUDITOR can view funding requests by fiscal year");
         }
         if (fiscalYear < 2000 || fiscalYear > LocalDate.now().getYear() + 1) {
@@ -265,16 +248,13 @@ public class FundingRequestService {
         return requests;
     }
 
-    public List<FundingRequest> getFundingRequestsByPark(UUID parkId, Integer fiscalYear, String token) {
-        String email = jwtUtil.getEmailFromToken(token);
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + email));
-        if (!List.of("ADMIN", "FINANCE_OFFICER", "GOVERNMENT_OFFICER", "AUDITOR").contains(user.getRole())) {
+    public List<FundingRequest> getFundingRequestsByPark(UUID parkId, Integer fiscalYear, AuthenticatedUser currentUser) {
+        if (!currentUser.hasAnyRole(List.of("ADMIN", "FINANCE_OFFICER", "GOVERNMENT_OFFICER", "AUDITOR"))) {
             throw new ForbiddenException("Only ADMIN, FINANCE_OFFICER, GOVERNMENT_OFFICER, or AUDITOR can view funding requests");
         }
         Park park = parkRepository.findById(parkId)
                 .orElseThrow(() -> new NotFoundException("Park not found with ID: " + parkId));
-        if ("FINANCE_OFFICER".equals(user.getRole()) && !park.getId().equals(user.getPark().getId())) {
+        if (currentUser.hasRole("FINANCE_OFFICER") && !park.getId().equals(currentUser.parkId())) {
             throw new ForbiddenException("FINANCE_OFFICER can only view funding requests for their assigned park");
         }
         List<FundingRequest> requests;
@@ -284,35 +264,28 @@ public class FundingRequestService {
         return requests;
     }
 
-    public List<FundingRequest> getAllFundingRequests(Integer fiscalYear, String token) {
-        String email = jwtUtil.getEmailFromToken(token);
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + email));
-        if (!List.of("ADMIN", "GOVERNMENT_OFFICER", "AUDITOR").contains(user.getRole())) {
+    public PageResponseDto<FundingRequest> getAllFundingRequests(Integer fiscalYear, String cursor, int size,
+                                                                 AuthenticatedUser currentUser) {
+        if (!currentUser.hasAnyRole(List.of("ADMIN", "GOVERNMENT_OFFICER", "AUDITOR"))) {
             throw new ForbiddenException("Only ADMIN, GOVERNMENT_OFFICER, or AUDITOR can view all funding requests");
         }
-        List<FundingRequest> requests;
-        if (fiscalYear != null) {
-            requests = fundingRequestRepository.findAll().stream()
-                    .filter(fr -> fr.getBudget().getFiscalYear() == fiscalYear)
-                    .toList();
-        } else {
-            requests = fundingRequestRepository.findAll();
-        }
-        LOGGER.info("Retrieved " + requests.size() + " funding requests" + (fiscalYear != null ? " for fiscalYear: " + fiscalYear : ""));
+        Limit limit = KeysetPages.limit(size);
+        ScrollPosition position = KeysetPages.position(cursor, "createdAt");
+        Sort sort = KeysetPages.newestFirst("createdAt");
+        PageResponseDto<FundingRequest> requests = KeysetPages.toPage(fiscalYear != null
+                ? fundingRequestRepository.findByBudgetFiscalYear(fiscalYear, position, limit, sort)
+                : fundingRequestRepository.findAllBy(position, limit, sort), limit, "createdAt");
+        LOGGER.info("Retrieved " + requests.getContent().size() + " funding requests" + (fiscalYear != null ? " for fiscalYear: " + fiscalYear : ""));
         return requests;
     }
 
-    public List<FundingRequest> getFundingRequestsByBudget(UUID budgetId, String token) {
-        String email = jwtUtil.getEmailFromToken(token);
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + email));
-        if (!List.of("ADMIN", "FINANCE_OFFICER", "GOVERNMENT_OFFICER", "AUDITOR").contains(user.getRole())) {
+    public List<FundingRequest> getFundingRequestsByBudget(UUID budgetId, AuthenticatedUser currentUser) {
+        if (!currentUser.hasAnyRole(List.of("ADMIN", "FINANCE_OFFICER", "GOVERNMENT_OFFICER", "AUDITOR"))) {
             throw new ForbiddenException("Only ADMIN, FINANCE_OFFICER, GOVERNMENT_OFFICER, or AUDITOR can view funding requests");
         }
         Budget budget = budgetRepository.findById(budgetId)
                 .orElseThrow(() -> new NotFoundException("Budget not found with ID: " + budgetId));
-        if ("FINANCE_OFFICER".equals(user.getRole()) && !budget.getPark().getId().equals(user.getPark().getId())) {
+        if (currentUser.hasRole("FINANCE_OFFICER") && !budget.getPark().getId().equals(currentUser.parkId())) {
             throw new ForbiddenException("FINANCE_OFFICER can only view funding requests for their assigned park");
         }
         List<FundingRequest> requests = fundingRequestRepository.findByBudgetId(budgetId);
@@ -0,0 +1,158 @@
+package com.park.parkpro.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.park.parkpro.domain.IncomeStreamKind;
+import com.park.parkpro.exception.NotFoundException;
+import com.park.parkpro.repository.BudgetRepository;
+import com.park.parkpro.repository.IncomeStreamRepository;
+import com.park.parkpro.repository.ParkRepository;
+import com.park.parkpro.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Finds the budget of a park's fiscal year and its Bookings or Donations income stream, and applies
+ * income to the stream with an atomic update. Both ids are cached, since neither changes once the
+ * rows exist. A missing stream is inserted in the caller's transaction under the unique (budget, kind)
+ * constraint, so concurrent first payments end up on the same row. A stream id that no longer
+ * updates a row is dropped from the cache and resolved again.
+ */
+@Service
+public class IncomeStreamResolver {
+    private static final Logger LOGGER = Logger.getLogger(IncomeStreamResolver.class.getName());
+    private final BudgetRepository budgetRepository;
+    private final IncomeStreamRepository incomeStreamRepository;
+    private final ParkRepository parkRepository;
+    private final UserRepository userRepository;
+    private final Cache<ParkYear, UUID> budgetIds;
+    private final Cache<BudgetKind, UUID> streamIds;
+
+    private record ParkYear(UUID parkId, int fiscalYear) {
+    }
+
+    private record BudgetKind(UUID budgetId, IncomeStreamKind kind) {
+    }
+
+    public IncomeStreamResolver(BudgetRepository budgetRepository, IncomeStreamRepository incomeStreamRepository,
+                                ParkRepository parkRepository, UserRepository userRepository,
+                                @Value("${income-stream.cache.ttl:1h}") Duration ttl,
+                                @Value("${income-stream.cache.max-size:10000}") long maxSize) {
+        this.budgetRepository = budgetRepository;
+        this.incomeStreamRepository = incomeStreamRepository;
+        this.parkRepository = parkRepository;
+        this.userRepository = userRepository;
+        this.budgetIds = Caffeine.newBuilder().expireAfterAccess(ttl).maximumSize(maxSize).build();
+        this.streamIds = Caffeine.newBuilder().expireAfterAccess(ttl).maximumSize(maxSize).build();
+    }
+
+    // Parks without a budget are not cached, so a budget created later is picked up straight away.
+    // Lookups run outside the cache, which must not block other keys on a database round trip.
+    public Optional<UUID> findBudgetId(UUID parkId, int fiscalYear) {
+        ParkYear key = new ParkYear(parkId, fiscalYear);
+        UUID cached = budgetIds.getIfPresent(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<UUID> budgetId = budgetRepository.findIdByParkIdAndFiscalYear(parkId, fiscalYear);
+        budgetId.ifPresent(id -> budgetIds.put(key, id));
+        return budgetId;
+    }
+
+    /**
+     * Adds the amount to the park's stream of the given kind, creating the stream on first use.
+     * Returns false when the park has no budget for the fiscal year.
+     */
+    public boolean recordIncome(UUID parkId, int fiscalYear, IncomeStreamKind kind, BigDecimal amount, UUID createdById) {
+        Optional<UUID> budgetId = findBudgetId(parkId, fiscalYear);
+        if (budgetId.isEmpty()) {
+            return false;
+        }
+        BudgetKind key = new BudgetKind(budgetId.get(), kind);
+        apply(key, amount, () -> resolve(key, parkId, fiscalYear, createdById));
+        return true;
+    }
+
+    // Takes back income recorded earlier, so the budget and the stream must already exist
+    public void reverseIncome(UUID parkId, int fiscalYear, IncomeStreamKind kind, BigDecimal amount) {
+        UUID budgetId = findBudgetId(parkId, fiscalYear)
+                .orElseThrow(() -> new NotFoundException("No budget found for park " + parkId + " and fiscal year " + fiscalYear));
+        BudgetKind key = new BudgetKind(budgetId, kind);
+        apply(key, amount.negate(), () -> find(key));
+    }
+
+    private void apply(BudgetKind key, BigDecimal amount, Supplier<UUID> streamId) {
+        if (incomeStreamRepository.addActualBalance(streamId.get(), amount) == 0) {
+            streamIds.invalidate(key);
+            UUID resolved = streamId.get();
+            if (incomeStreamRepository.addActualBalance(resolved, amount) == 0) {
+                throw new IllegalStateException("Income stream " + resolved + " for budget " + key.budgetId() + " disappeared while applying income");
+            }
+        }
+    }
+
+    private UUID find(BudgetKind key) {
+        UUID streamId = lookup(key);
+        if (streamId == null) {
+            throw new NotFoundException("No " + key.kind().getStreamName() + " income stream found for budget " + key.budgetId());
+        }
+        return streamId;
+    }
+
+    private UUID resolve(BudgetKind key, UUID parkId, int fiscalYear, UUID createdById) {
+        UUID streamId = lookup(key);
+        if (streamId == null) {
+            create(key, parkId, fiscalYear, createdById);
+            streamId = incomeStreamRepository.findIdByBudgetIdAndKind(key.budgetId(), key.kind())
+                    .orElseThrow(() -> new IllegalStateException("No " + key.kind() + " income stream after creating it for budget " + key.budgetId()));
+            streamIds.put(key, streamId);
+        }
+        return streamId;
+    }
+
+    private UUID lookup(BudgetKind key) {
+        UUID streamId = streamIds.getIfPresent(key);
+        if (streamId == null) {
+            streamId = load(key);
+            if (streamId != null) {
+                streamIds.put(key, streamId);
+            }
+        }
+        return streamId;
+    }
+
+    // Streams named by hand before kinds existed are adopted rather than duplicated
+    private UUID load(BudgetKind key) {
+        Optional<UUID> typed = incomeStreamRepository.findIdByBudgetIdAndKind(key.budgetId(), key.kind());
+        if (typed.isPresent()) {
+            return typed.get();
+        }
+        incomeStreamRepository.findUntypedIdsByBudgetIdAndNameContaining(key.budgetId(), key.kind().getStreamName())
+                .stream().findFirst()
+                .ifPresent(streamId -> adopt(key, streamId));
+        return incomeStreamRepository.findIdByBudgetIdAndKind(key.budgetId(), key.kind()).orElse(null);
+    }
+
+    // Adopting and creating join the caller's transaction, so a payment holds a single pooled connection
+    private void adopt(BudgetKind key, UUID streamId) {
+        if (incomeStreamRepository.assignKind(streamId, key.kind()) == 0) {
+            LOGGER.fine(key.kind() + " income stream for budget " + key.budgetId() + " was typed concurrently");
+        }
+    }
+
+    private void create(BudgetKind key, UUID parkId, int fiscalYear, UUID createdById) {
+        if (incomeStreamRepository.insertIfAbsent(UUID.randomUUID(), budgetRepository.getReferenceById(key.budgetId()),
+                parkRepository.getReferenceById(parkId), fiscalYear, key.kind().getStreamName(), key.kind(),
+                userRepository.getReferenceById(createdById), LocalDateTime.now()) == 0) {
+            LOGGER.fine(key.kind() + " income stream for budget " + key.budgetId() + " was created concurrently");
+        }
+    }
+}
\ No newline at end of file
@@ -4,6 +4,7 @@ import com.park.parkpro.domain.Budget;
 import com.park.parkpro.domain.IncomeStream;
 import com.park.parkpro.domain.Park;
 import com.park.parkpro.domain.User;
+import com.park.parkpro.dto.VersionStamp;
 import com.park.parkpro.exception.BadRequestException;
 import com.park.parkpro.exception.ForbiddenException;
 import com.park.parkpro.exception.NotFoundException;
@@ -11,7 +12,7 @@ import com.park.parkpro.repository.BudgetRepository;
 import com.park.parkpro.repository.IncomeStreamRepository;
 import com.park.parkpro.repository.ParkRepository;
 import com.park.parkpro.repository.UserRepository;
-import com.park.parkpro.security.JwtUtil;
+import com.park.parkpro.security.AuthenticatedUser;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,31 +26,26 @@ public class IncomeStreamService {
     private final BudgetRepository budgetRepository;
     private final ParkRepository parkRepository;
     private final UserRepository userRepository;
-    private final JwtUtil jwtUtil;
 
     public IncomeStreamService(IncomeStreamRepository incomeStreamRepository,
                                BudgetRepository budgetRepository,
                                ParkRepository parkRepository,
-                               UserRepository userRepository,
-                               JwtUtil jwtUtil) {
+                               UserRepository userRepository) {
         this.incomeStreamRepository = incomeStreamRepository;
         this.budgetRepository = budgetRepository;
         this.parkRepository = parkRepository;
         this.userRepository = userRepository;
-        this.jwtUtil = jwtUtil;
     }
 
     @Transactional
-    public IncomeStream createIncomeStream(UUID budgetId, String name, BigDecimal percentage,  UUID parkId, BigDecimal totalContribution, String token) {
+    public IncomeStream createIncomeStream(UUID budgetId, String name, BigDecimal percentage,  UUID parkId, BigDecimal totalContribution, AuthenticatedUser currentUser) {
         Budget budget = budgetRepository.findById(budgetId)
                 .orElseThrow(() -> new NotFoundException("Budget not found with ID: " + budgetId));
 
         Park park = parkRepository.findById(parkId)
                 .orElseThrow(() -> new NotFoundException("Park not found with ID: " + parkId));
 
-        String email = jwtUtil.getEmailFromToken(token);
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + email));
+        User user = userRepository.getReferenceById(currentUser.id());
 
         // Restrict modifications to DRAFT budgets
         if (!"DRAFT".equals(budget.getStatus())) {
@@ -83,7 +79,7 @@ public class IncomeStreamService {
     }
 
     @Transactional
-    public IncomeStream updateIncomeStream(UUID incomeStreamId, String name, BigDecimal percentage, BigDecimal totalContribution, String token) {
+    public IncomeStream updateIncomeStream(UUID incomeStreamId, String name, BigDecimal percentage, BigDecimal totalContribution, AuthenticatedUser currentUser) {
         IncomeStream incomeStream = incomeStreamRepository.findById(incomeStreamId)
                 .orElseThrow(() -> new NotFoundException("Income stream not found with ID: " + incomeStreamId));
         Budget budget = incomeStream.getBudget();
@@ -121,8 +117,16 @@ public class IncomeStreamService {
         return incomeStreamRepository.findByParkIdAndFiscalYear(parkId, fiscalYear);
     }
 
+    public VersionStamp getIncomeStreamsVersionByBudget(UUID budgetId) {
+        return incomeStreamRepository.findVersionByBudgetId(budgetId);
+    }
+
+    public VersionStamp getIncomeStreamsVersionByParkAndFiscalYear(UUID parkId, Integer fiscalYear) {
+        return incomeStreamRepository.findVersionByParkIdAndFiscalYear(parkId, fiscalYear);
+    }
+
     @Transactional
-    public void deleteIncomeStream(UUID incomeStreamId, String token) {
+    public void deleteIncomeStream(UUID incomeStreamId, AuthenticatedUser currentUser) {
         IncomeStream incomeStream = incomeStreamRepository.findById(incomeStreamId)
                 .orElseThrow(() -> new NotFoundException("Income stream not found with ID: " + incomeStreamId));
         Budget budget = incomeStream.getBudget();
@@ -130,10 +134,7 @@ public class IncomeStreamService {
             throw new BadRequestException("Income streams can only be deleted for DRAFT budgets");
         }
 
-        String email = jwtUtil.getEmailFromToken(token);
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + email));
-        if (!"FINANCE_OFFICER".equals(user.getRole())) {
+        if (!currentUser.hasRole("FINANCE_OFFICER")) {
             throw new ForbiddenException("Only FINANCE_OFFICER can delete income streams");
         }
 
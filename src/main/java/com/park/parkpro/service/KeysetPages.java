@@ -0,0 +1,64 @@
+package com.park.parkpro.service;
+
+import com.park.parkpro.dto.PageResponseDto;
+import com.park.parkpro.exception.BadRequestException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keyset paging over (timestamp, id), newest first. The cursor handed to clients is the
+ * Base64url encoded key of the last row of a page and is opaque to them.
+ */
+final class KeysetPages {
+    static final int MAX_PAGE_SIZE = 100;
+
+    private KeysetPages() {
+    }
+
+    static Sort newestFirst(String timestampProperty) {
+        return Sort.by(Sort.Direction.DESC, timestampProperty, "id");
+    }
+
+    static Limit limit(int size) {
+        if (size < 1) {
+            throw new BadRequestException("Page size must be at least 1");
+        }
+        return Limit.of(Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    static ScrollPosition position(String cursor, String timestampProperty) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 2);
+            Map<String, Object> keys = new LinkedHashMap<>();
+            keys.put(timestampProperty, LocalDateTime.parse(parts[0]));
+            keys.put("id", UUID.fromString(parts[1]));
+            return ScrollPosition.forward(keys);
+        } catch (IllegalArgumentException | DateTimeParseException | ArrayIndexOutOfBoundsException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    static <T> PageResponseDto<T> toPage(Window<T> window, Limit limit, String timestampProperty) {
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            Map<String, Object> keys = ((KeysetScrollPosition) window.positionAt(window.size() - 1)).getKeys();
+            String raw = keys.get(timestampProperty) + "|" + keys.get("id");
+            nextCursor = Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+        return new PageResponseDto<>(window.getContent(), limit.max(), nextCursor);
+    }
+}
@@ -8,11 +8,8 @@ import com.park.parkpro.exception.NotFoundException;
 import com.park.parkpro.repository.OpportunityApplicationRepository;
 import com.park.parkpro.repository.OpportunityRepository;
 import com.park.parkpro.repository.UserRepository;
-import com.park.parkpro.security.JwtUtil;
+import com.park.parkpro.security.AuthenticatedUser;
 import com.stripe.model.Application;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.JavaMailSenderImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,28 +23,22 @@ public class OpportunityApplicationService {
     private final OpportunityApplicationRepository applicationRepository;
     private final OpportunityRepository opportunityRepository;
     private final UserRepository userRepository;
-    private final JwtUtil jwtUtil;
-    private final JavaMailSenderImpl mailSender;
+    private final EmailOutboxService emailOutboxService;
 
     public OpportunityApplicationService(
             OpportunityApplicationRepository applicationRepository,
             OpportunityRepository opportunityRepository,
             UserRepository userRepository,
-            JwtUtil jwtUtil, JavaMailSenderImpl mailSender) {
+            EmailOutboxService emailOutboxService) {
         this.applicationRepository = applicationRepository;
         this.opportunityRepository = opportunityRepository;
         this.userRepository = userRepository;
-        this.jwtUtil = jwtUtil;
-        this.mailSender = mailSender;
+        this.emailOutboxService = emailOutboxService;
     }
 
     @Transactional
     public OpportunityApplication createApplication(
-            UUID opportunityId, String firstName, String lastName, String email, String applicationLetterUrl, String token) {
-        String userEmail = jwtUtil.getEmailFromToken(token);
-        User applicant = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + userEmail));
-
+            UUID opportunityId, String firstName, String lastName, String email, String applicationLetterUrl, AuthenticatedUser currentUser) {
         Opportunity opportunity = opportunityRepository.findById(opportunityId)
                 .orElseThrow(() -> new NotFoundException("Opportunity not found with ID: " + opportunityId));
 
@@ -64,11 +55,7 @@ public class OpportunityApplicationService {
 
     @Transactional
     public OpportunityApplication updateApplicationStatus(
-            UUID applicationId, String status, String approvalMessage, String rejectionReason, String token) {
-        String userEmail = jwtUtil.getEmailFromToken(token);
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + userEmail));
-
+            UUID applicationId, String status, String approvalMessage, String rejectionReason, AuthenticatedUser currentUser) {
         OpportunityApplication application = applicationRepository.findById(applicationId)
                 .orElseThrow(() -> new NotFoundException("Application not found with ID: " + applicationId));
 
@@ -105,18 +92,10 @@ public class OpportunityApplicationService {
     }
 
     public void sendApplicationStatusUpdateEmail(String email, String subject, String body) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(email);
-        message.setSubject(subject);
-        message.setText(body);
-        mailSender.send(message);
+        emailOutboxService.enqueue(email, subject, body);
     }
 
-    public List<OpportunityApplication> getApplicationsByOpportunity(UUID opportunityId, String token) {
-        String userEmail = jwtUtil.getEmailFromToken(token);
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + userEmail));
-
+    public List<OpportunityApplication> getApplicationsByOpportunity(UUID opportunityId, AuthenticatedUser currentUser) {
         return applicationRepository.findByOpportunityId(opportunityId);
     }
 
@@ -125,32 +104,20 @@ public class OpportunityApplicationService {
                 .orElseThrow(() -> new NotFoundException("Application not found with ID: " + applicationId));
     }
 
-    public List<OpportunityApplication> getMyApplications(String token) {
-        String userEmail = jwtUtil.getEmailFromToken(token);
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + userEmail));
-
-        return applicationRepository.findByEmail(userEmail);
+    public List<OpportunityApplication> getMyApplications(AuthenticatedUser currentUser) {
+        return applicationRepository.findByEmail(currentUser.email());
     }
 
-    public List<OpportunityApplication> getAllApplications(String token) {
-        String userEmail = jwtUtil.getEmailFromToken(token);
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + userEmail));
-
-        if (!Arrays.asList("ADMIN", "PARK_MANAGER").contains(user.getRole())) {
+    public List<OpportunityApplication> getAllApplications(AuthenticatedUser currentUser) {
+        if (!currentUser.hasAnyRole(List.of("ADMIN", "PARK_MANAGER"))) {
             throw new ForbiddenException("Only ADMIN or PARK_MANAGER can view all applications");
         }
 
         return applicationRepository.findAll();
     }
 
-    public List<OpportunityApplication> getApplicationsByPark(UUID parkId, String token) {
-        String userEmail = jwtUtil.getEmailFromToken(token);
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + userEmail));
-
-        if (!Arrays.asList("ADMIN", "PARK_MANAGER", "FINANCE_OFFICER").contains(user.getRole())) {
+    public List<OpportunityApplication> getApplicationsByPark(UUID parkId, AuthenticatedUser currentUser) {
+        if (!currentUser.hasAnyRole(List.of("ADMIN", "PARK_MANAGER", "FINANCE_OFFICER"))) {
             throw new ForbiddenException("Only ADMIN, FINANCE_OFFICER, or PARK_MANAGER can view applications by park");
         }
 
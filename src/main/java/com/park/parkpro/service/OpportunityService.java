@@ -9,7 +9,12 @@ import com.park.parkpro.exception.NotFoundException;
 import com.park.parkpro.repository.OpportunityRepository;
 import com.park.parkpro.repository.ParkRepository;
 import com.park.parkpro.repository.UserRepository;
-import com.park.parkpro.security.JwtUtil;
+import com.park.parkpro.security.AuthenticatedUser;
+import com.park.parkpro.dto.PageResponseDto;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,27 +27,25 @@ public class OpportunityService {
     private final OpportunityRepository opportunityRepository;
     private final UserRepository userRepository;
     private final ParkRepository parkRepository;
-    private final JwtUtil jwtUtil;
+    private final ApplicationEventPublisher eventPublisher;
 
     public OpportunityService(OpportunityRepository opportunityRepository, UserRepository userRepository,
-                              ParkRepository parkRepository, JwtUtil jwtUtil) {
+                              ParkRepository parkRepository, ApplicationEventPublisher eventPublisher) {
         this.opportunityRepository = opportunityRepository;
         this.userRepository = userRepository;
         this.parkRepository = parkRepository;
-        this.jwtUtil = jwtUtil;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
     public Opportunity createOpportunity(String title, String description, String details, String type,
-                                         String status, String visibility, UUID parkId, String token) {
-        String email = jwtUtil.getEmailFromToken(token);
-        User creator = userRepository.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + email));
+                                         String status, String visibility, UUID parkId, AuthenticatedUser currentUser) {
+        User creator = userRepository.getReferenceById(currentUser.id());
 
         Park park = parkRepository.findById(parkId)
                 .orElseThrow(() -> new NotFoundException("Park not found with ID: " + parkId));
-        if ("PARK_MANAGER".equals(creator.getRole()) &&
-                (creator.getPark() == null || !creator.getPark().getId().equals(parkId))) {
+        if (currentUser.hasRole("PARK_MANAGER") &&
+                !currentUser.isAssignedTo(parkId)) {
             throw new ForbiddenException("PARK_MANAGER can only create opportunities for their assigned park");
         }
 
@@ -55,23 +58,21 @@ public class OpportunityService {
         opportunity.setVisibility(visibility);
         opportunity.setCreatedBy(creator);
         opportunity.setPark(park);
+        eventPublisher.publishEvent(CatalogChangedEvent.opportunities());
         return opportunityRepository.save(opportunity);
     }
 
     @Transactional
     public Opportunity updateOpportunity(UUID opportunityId, String title, String description, String details,
-                                         String status, String visibility, UUID parkId, String token) {
-        String email = jwtUtil.getEmailFromToken(token);
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + email));
+                                         String status, String visibility, UUID parkId, AuthenticatedUser currentUser) {
         Opportunity opportunity = opportunityRepository.findById(opportunityId)
                 .orElseThrow(() -> new NotFoundException("Opportunity not found with ID: " + opportunityId));
 
         if (parkId != null) {
             Park park = parkRepository.findById(parkId)
                     .orElseThrow(() -> new NotFoundException("Park not found with ID: " + parkId));
-            if ("PARK_MANAGER".equals(user.getRole()) &&
-                    (user.getPark() == null || !user.getPark().getId().equals(parkId))) {
+            if (currentUser.hasRole("PARK_MANAGER") &&
+                    !currentUser.isAssignedTo(parkId)) {
                 throw new ForbiddenException("PARK_MANAGER can only update opportunities for their assigned park");
             }
             opportunity.setPark(park);
@@ -82,38 +83,32 @@ public class OpportunityService {
         if (status != null) opportunity.setStatus(status);
         if (visibility != null) opportunity.setVisibility(visibility);
         opportunity.setUpdatedAt(LocalDateTime.now());
+        eventPublisher.publishEvent(CatalogChangedEvent.opportunities());
         return opportunityRepository.save(opportunity);
     }
 
-    public List<Opportunity> getAllOpportunities(String token) {
-        if (token == null || token.isEmpty()) {
-            return opportunityRepository.findByVisibility("PUBLIC");
+    public PageResponseDto<Opportunity> getAllOpportunities(String cursor, int size, AuthenticatedUser currentUser) {
+        Limit limit = KeysetPages.limit(size);
+        ScrollPosition position = KeysetPages.position(cursor, "createdAt");
+        Sort sort = KeysetPages.newestFirst("createdAt");
+        if (currentUser != null && currentUser.hasAnyRole(List.of("ADMIN", "PARK_MANAGER"))) {
+            return KeysetPages.toPage(opportunityRepository.findAllBy(position, limit, sort), limit, "createdAt");
         }
-
-        String email = jwtUtil.getEmailFromToken(token);
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + email));
-        if (List.of("ADMIN", "PARK_MANAGER").contains(user.getRole())) {
-            return opportunityRepository.findAll();
-        }
-        return opportunityRepository.findByVisibility("PUBLIC");
+        return KeysetPages.toPage(opportunityRepository.findByVisibility("PUBLIC", position, limit, sort), limit, "createdAt");
     }
 
-    public Opportunity getOpportunityById(UUID opportunityId, String token) {
+    public Opportunity getOpportunityById(UUID opportunityId, AuthenticatedUser currentUser) {
         Opportunity opportunity = opportunityRepository.findById(opportunityId)
                 .orElseThrow(() -> new NotFoundException("Opportunity not found with ID: " + opportunityId));
 
-        if (token == null || token.isEmpty()) {
+        if (currentUser == null) {
             if (!"PUBLIC".equals(opportunity.getVisibility())) {
                 throw new ForbiddenException("This opportunity is private and requires authentication");
             }
             return opportunity;
         }
 
-        String email = jwtUtil.getEmailFromToken(token);
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + email));
-        if (List.of("ADMIN", "PARK_MANAGER").contains(user.getRole())) {
+        if (currentUser.hasAnyRole(List.of("ADMIN", "PARK_MANAGER"))) {
             return opportunity;
         }
         if (!"PUBLIC".equals(opportunity.getVisibility())) {
@@ -122,37 +117,31 @@ public class OpportunityService {
         return opportunity;
     }
 
-    public List<Opportunity> getOpportunitiesByCreator(String token) {
-        String email = jwtUtil.getEmailFromToken(token);
-        User creator = userRepository.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + email));
-        if (!List.of("ADMIN", "PARK_MANAGER").contains(creator.getRole())) {
+    public List<Opportunity> getOpportunitiesByCreator(AuthenticatedUser currentUser) {
+        if (!currentUser.hasAnyRole(List.of("ADMIN", "PARK_MANAGER"))) {
             throw new ForbiddenException("Only ADMIN or PARK_MANAGER can view their created opportunities");
         }
-        return opportunityRepository.findByCreatedById(creator.getId());
+        return opportunityRepository.findByCreatedById(currentUser.id());
     }
 
     // src/main/java/com/park/parkpro/service/OpportunityService.java (partial update)
-    public List<Opportunity> getOpportunitiesByParkId(UUID parkId, String token) {
+    public List<Opportunity> getOpportunitiesByParkId(UUID parkId, AuthenticatedUser currentUser) {
         if (!parkRepository.existsById(parkId)) {
             throw new NotFoundException("Park not found with ID: " + parkId);
         }
 
-        if (token == null || token.isEmpty()) {
+        if (currentUser == null) {
             // Unauthenticated: return only PUBLIC opportunities for this park
             return opportunityRepository.findByParkIdAndVisibility(parkId, "PUBLIC");
         }
 
-        String email = jwtUtil.getEmailFromToken(token);
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + email));
-        if ("ADMIN".equals(user.getRole())) {
+        if (currentUser.hasRole("ADMIN")) {
             // ADMIN: return all opportunities for this park
             return opportunityRepository.findByParkId(parkId);
         }
-        if ("PARK_MANAGER".equals(user.getRole())) {
+        if (currentUser.hasRole("PARK_MANAGER")) {
             // PARK_MANAGER: return all opportunities for this park if it's their assigned park
-            if (user.getPark() == null || !user.getPark().getId().equals(parkId)) {
+            if (!currentUser.isAssignedTo(parkId)) {
                 throw new ForbiddenException("PARK_MANAGER can only view opportunities for their assigned park");
             }
             return opportunityRepository.findByParkId(parkId);
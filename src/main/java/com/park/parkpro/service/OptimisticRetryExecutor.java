@@ -0,0 +1,78 @@
+package com.park.parkpro.service;
+
+import com.park.parkpro.exception.ConflictException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.OptimisticLockException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Runs a read-modify-write in its own transaction and, when a {@code @Version} check fails at flush,
+ * runs it again on fresh rows, up to {@code optimistic-retry.max-attempts} times with a short jittered
+ * backoff. Callers that already hold a transaction run once: only their own transaction can restart
+ * the work, so the conflict is left to them. Entities whose balances are read, changed and written
+ * back carry a {@code @Version} column, so a concurrent write shows up here instead of being lost.
+ */
+@Component
+public class OptimisticRetryExecutor {
+    private static final Logger LOGGER = Logger.getLogger(OptimisticRetryExecutor.class.getName());
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final int maxAttempts;
+    private final Duration backoff;
+
+    public OptimisticRetryExecutor(PlatformTransactionManager transactionManager, EntityManager entityManager,
+                                   @Value("${optimistic-retry.max-attempts:5}") int maxAttempts,
+                                   @Value("${optimistic-retry.backoff:20ms}") Duration backoff) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManager = entityManager;
+        this.maxAttempts = maxAttempts;
+        this.backoff = backoff;
+    }
+
+    public <T> T execute(String operation, Supplier<T> work) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return work.get();
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                if (attempt >= maxAttempts) {
+                    LOGGER.warning(operation + " still conflicted after " + attempt + " attempts: " + e.getMessage());
+                    throw new ConflictException("The data changed while " + operation + ", please try again");
+                }
+                LOGGER.fine(operation + " conflicted on attempt " + attempt + ", retrying");
+                // An open-in-view EntityManager outlives the transaction and would hand back the stale rows
+                entityManager.clear();
+                pause(operation, attempt);
+            }
+        }
+    }
+
+    public void run(String operation, Runnable work) {
+        execute(operation, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    private void pause(String operation, int attempt) {
+        long millis = backoff.toMillis() * attempt;
+        try {
+            Thread.sleep(millis + ThreadLocalRandom.current().nextLong(millis + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("Interrupted while retrying " + operation);
+        }
+    }
+}
\ No newline at end of file
@@ -4,6 +4,7 @@ import com.park.parkpro.domain.Park;
 import com.park.parkpro.dto.PatchParkRequestDto;
 import com.park.parkpro.exception.DuplicateParkException;
 import com.park.parkpro.repository.ParkRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -16,9 +17,11 @@ import java.util.UUID;
 @Service
 public class ParkService {
     private final ParkRepository parkRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public ParkService(ParkRepository parkRepository) {
+    public ParkService(ParkRepository parkRepository, ApplicationEventPublisher eventPublisher) {
         this.parkRepository = parkRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     public Park createPark(Park park) {
@@ -71,14 +74,18 @@ public class ParkService {
         existingPark.setLocation(updatedPark.getLocation());
         existingPark.setDescription(updatedPark.getDescription());
         existingPark.setUpdatedAt(LocalDateTime.now());
-        return parkRepository.save(existingPark);
+        Park saved = parkRepository.save(existingPark);
+        // Opportunity responses carry the park name
+        eventPublisher.publishEvent(CatalogChangedEvent.opportunities());
+        return saved;
     }
 
     public Park patchPark(UUID id, PatchParkRequestDto patchRequest) {
         Park existingPark = parkRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Park with ID '" + id + "' not found"));
 
-        if (patchRequest.getName() != null && !patchRequest.getName().trim().isEmpty()) {
+        boolean renamed = patchRequest.getName() != null && !patchRequest.getName().trim().isEmpty();
+        if (renamed) {
             parkRepository.findByName(patchRequest.getName())
                     .ifPresent(p -> {
                         if (!p.getId().equals(id)) {
@@ -94,12 +101,18 @@ public class ParkService {
             existingPark.setDescription(patchRequest.getDescription());
         }
         existingPark.setUpdatedAt(LocalDateTime.now());
-        return parkRepository.save(existingPark);
+        Park saved = parkRepository.save(existingPark);
+        if (renamed) {
+            eventPublisher.publishEvent(CatalogChangedEvent.opportunities());
+        }
+        return saved;
     }
 
     public void deletePark(UUID id) {
         Park park = parkRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Park with ID '" + id + "' not found"));
         parkRepository.delete(park);
+        eventPublisher.publishEvent(CatalogChangedEvent.park(id));
+        eventPublisher.publishEvent(CatalogChangedEvent.opportunities());
     }
 }
@@ -0,0 +1,7 @@
+package com.park.parkpro.service;
+
+public record PaymentResult(String paymentIntentId, String status, String failureMessage) {
+    public boolean succeeded() {
+        return "succeeded".equals(status);
+    }
+}
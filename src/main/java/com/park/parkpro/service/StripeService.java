@@ -1,8 +1,11 @@
 package com.park.parkpro.service;
 
 import com.stripe.Stripe;
+import com.stripe.exception.CardException;
 import com.stripe.exception.StripeException;
 import com.stripe.model.PaymentIntent;
+import com.stripe.net.RequestOptions;
+import com.stripe.param.PaymentIntentCreateParams;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
@@ -62,4 +65,41 @@ public class StripeService {
         LOGGER.info("Retrieved PaymentIntent: ID=" + paymentIntent.getId() + ", Status=" + paymentIntent.getStatus());
         return paymentIntent;
     }
+
+    /**
+     * Creates and confirms a card PaymentIntent in a single call. The booking ID doubles as the
+     * idempotency key so a retried charge never bills the visitor twice. Card declines are
+     * returned as a failed result; connection and API errors are rethrown.
+     */
+    public PaymentResult chargePayment(Long amountInCents, String currency, String description,
+                                       String paymentMethodId, String bookingId) throws StripeException {
+        LOGGER.info("Charging booking " + bookingId + ": amount=" + amountInCents + ", currency=" + currency);
+        PaymentIntentCreateParams params = PaymentIntentCreateParams.builder()
+                .setAmount(amountInCents)
+                .setCurrency(currency)
+                .setDescription(description)
+                .setPaymentMethod(paymentMethodId)
+                .addPaymentMethodType("card")
+                .setConfirm(true)
+                .putMetadata("booking_id", bookingId)
+                .build();
+        RequestOptions options = RequestOptions.builder()
+                .setIdempotencyKey("booking-" + bookingId)
+                .build();
+        try {
+            PaymentIntent paymentIntent = PaymentIntent.create(params, options);
+            LOGGER.info("Charged booking " + bookingId + ": PaymentIntent=" + paymentIntent.getId() + ", Status=" + paymentIntent.getStatus());
+            String failureMessage = paymentIntent.getLastPaymentError() != null
+                    ? paymentIntent.getLastPaymentError().getMessage() : null;
+            return new PaymentResult(paymentIntent.getId(), paymentIntent.getStatus(), failureMessage);
+        } catch (CardException e) {
+            LOGGER.warning("Card declined for booking " + bookingId + ": " + e.getMessage());
+            String paymentIntentId = e.getStripeError() != null && e.getStripeError().getPaymentIntent() != null
+                    ? e.getStripeError().getPaymentIntent().getId() : null;
+            return new PaymentResult(paymentIntentId, "failed", e.getMessage());
+        } catch (StripeException e) {
+            LOGGER.severe("Stripe error: " + e.getMessage() + ", Request ID: " + e.getRequestId());
+            throw e;
+        }
+    }
 }
\ No newline at end of file
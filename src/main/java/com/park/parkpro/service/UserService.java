@@ -16,10 +16,14 @@ import com.park.parkpro.repository.ParkRepository;
 import com.park.parkpro.repository.UserRepository;
 import com.park.parkpro.repository.VerificationTokenRepository;
 import com.park.parkpro.repository.PasswordResetTokenRepository;
-import com.park.parkpro.security.JwtUtil;
+import com.park.parkpro.security.AuthenticatedUser;
+import com.park.parkpro.security.UserDetailsServiceImpl;
+import com.park.parkpro.dto.PageResponseDto;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.ResponseEntity;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -34,9 +38,9 @@ public class UserService {
     private final ParkRepository parkRepository;
     private final VerificationTokenRepository verificationTokenRepository;
     private final PasswordResetTokenRepository passwordResetTokenRepository;
-    private final JavaMailSender mailSender;
+    private final EmailOutboxService emailOutboxService;
     private static final Set<String> VALID_ROLES = Set.of("ADMIN", "FINANCE_OFFICER", "PARK_MANAGER", "VISITOR", "GOVERNMENT_OFFICER", "AUDITOR");
-    private final JwtUtil jwtUtil;
+    private final UserDetailsServiceImpl userDetailsService;
 
     // Add password validation constants
     private static final int MIN_PASSWORD_LENGTH = 8;
@@ -45,14 +49,14 @@ public class UserService {
 
     public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, ParkRepository parkRepository,
                        VerificationTokenRepository verificationTokenRepository, PasswordResetTokenRepository passwordResetTokenRepository,
-                       JavaMailSender mailSender, JwtUtil jwtUtil) {
+                       EmailOutboxService emailOutboxService, UserDetailsServiceImpl userDetailsService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.parkRepository = parkRepository;
         this.verificationTokenRepository = verificationTokenRepository;
         this.passwordResetTokenRepository = passwordResetTokenRepository;
-        this.mailSender = mailSender;
-        this.jwtUtil = jwtUtil;
+        this.emailOutboxService = emailOutboxService;
+        this.userDetailsService = userDetailsService;
     }
 
     public Boolean doesUserAlreadyExist(String email) {
@@ -135,6 +139,7 @@ public class UserService {
         }
         user.setActive(true);
         userRepository.save(user);
+        userDetailsService.evict(user.getEmail());
         verificationTokenRepository.delete(token);
     }
 
@@ -159,19 +164,17 @@ public class UserService {
     }
 
     @Transactional
-    public User updateUserProfile(UUID userId, UpdateUserProfileRequestDto request, String token) {
-        String emailFromToken = jwtUtil.getEmailFromToken(token);
-        User requestingUser = userRepository.findByEmail(emailFromToken)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + emailFromToken));
-
+    public User updateUserProfile(UUID userId, UpdateUserProfileRequestDto request, AuthenticatedUser currentUser) {
         User targetUser = userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("User not found with ID: " + userId));
 
         // Authorization check: User can only update their own profile unless ADMIN
-        if (!requestingUser.getId().equals(targetUser.getId()) && !"ADMIN".equals(requestingUser.getRole())) {
+        if (!currentUser.id().equals(targetUser.getId()) && !currentUser.hasRole("ADMIN")) {
             throw new ForbiddenException("You can only update your own profile");
         }
 
+        userDetailsService.evict(targetUser.getEmail());
+
         // Check if email is being changed and ensure uniqueness
         if (request.getEmail() != null && !request.getEmail().equals(targetUser.getEmail())) {
             if (userRepository.findByEmail(request.getEmail()).isPresent()) {
@@ -194,19 +197,17 @@ public class UserService {
     }
 
     @Transactional
-    public User adminUpdateUser(UUID userId, AdminUpdateUserRequestDto request, String token) {
-        String emailFromToken = jwtUtil.getEmailFromToken(token);
-        User requestingUser = userRepository.findByEmail(emailFromToken)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + emailFromToken));
-
+    public User adminUpdateUser(UUID userId, AdminUpdateUserRequestDto request, AuthenticatedUser currentUser) {
         // Authorization check: Only ADMIN can update any user's account
-        if (!"ADMIN".equals(requestingUser.getRole())) {
+        if (!currentUser.hasRole("ADMIN")) {
             throw new ForbiddenException("Only ADMIN can update user accounts");
         }
 
         User targetUser = userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("User not found with ID: " + userId));
 
+        userDetailsService.evict(targetUser.getEmail());
+
         // Update email with uniqueness check
         if (request.getEmail() != null && !request.getEmail().equals(targetUser.getEmail())) {
             if (userRepository.findByEmail(request.getEmail()).isPresent()) {
@@ -266,6 +267,7 @@ public class UserService {
         user.setPassword(passwordEncoder.encode(newPassword));
         user.setMustResetPassword(false); // Clear reset flag
         userRepository.save(user);
+        userDetailsService.evict(user.getEmail());
         passwordResetTokenRepository.delete(resetToken);
     }
 
@@ -283,10 +285,28 @@ public class UserService {
         }
         user.setPark(park);
         userRepository.save(user);
+        userDetailsService.evict(user.getEmail());
     }
 
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    public PageResponseDto<User> getUsers(String role, UUID parkId, String cursor, int size) {
+        Limit limit = KeysetPages.limit(size);
+        ScrollPosition position = KeysetPages.position(cursor, "createdAt");
+        Sort sort = KeysetPages.newestFirst("createdAt");
+        Window<User> users;
+        if (role != null) {
+            if (!VALID_ROLES.contains(role)) {
+                throw new BadRequestException("Invalid role: " + role);
+            }
+            users = userRepository.findByRole(role, position, limit, sort);
+        } else if (parkId != null) {
+            if (!parkRepository.existsById(parkId)) {
+                throw new NotFoundException("Park with ID '" + parkId + "' not found");
+            }
+            users = userRepository.findByParkId(parkId, position, limit, sort);
+        } else {
+            users = userRepository.findAllBy(position, limit, sort);
+        }
+        return KeysetPages.toPage(users, limit, "createdAt");
     }
 
     public User getUserById(UUID id) {
@@ -294,17 +314,6 @@ public class UserService {
                 .orElseThrow(() -> new NotFoundException("User with ID '" + id + "' not found"));
     }
 
-    public List<User> getUsersByRole(String role) {
-        if (!VALID_ROLES.contains(role)) {
-            throw new BadRequestException("Invalid role: " + role);
-        }
-        List<User> users = userRepository.findByRole(role);
-        if (users.isEmpty()) {
-            throw new NotFoundException("No users found with role: " + role);
-        }
-        return users;
-    }
-
     public List<User> getUsersByParkId(UUID parkId) {
         if (!parkRepository.existsById(parkId)) {
             throw new NotFoundException("Park with ID '" + parkId + "' not found");
@@ -322,13 +331,9 @@ public class UserService {
     }
 
     @Transactional
-    public void deleteUser(UUID userId, String token) {
-        String emailFromToken = jwtUtil.getEmailFromToken(token);
-        User requestingUser = userRepository.findByEmail(emailFromToken)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + emailFromToken));
-
+    public void deleteUser(UUID userId, AuthenticatedUser currentUser) {
         // Authorization check: Only ADMIN can delete users
-        if (!"ADMIN".equals(requestingUser.getRole())) {
+        if (!currentUser.hasRole("ADMIN")) {
             throw new ForbiddenException("Only ADMIN can delete user accounts");
         }
 
@@ -336,7 +341,7 @@ public class UserService {
                 .orElseThrow(() -> new NotFoundException("User not found with ID: " + userId));
 
         // Prevent admin from deleting their own account
-        if (requestingUser.getId().equals(targetUser.getId())) {
+        if (currentUser.id().equals(targetUser.getId())) {
             throw new BadRequestException("Admins cannot delete their own accounts");
         }
 
@@ -346,6 +351,7 @@ public class UserService {
 
         // Delete the user
         userRepository.delete(targetUser);
+        userDetailsService.evict(targetUser.getEmail());
     }
 
     private void validatePassword(String password) {
@@ -386,28 +392,16 @@ public class UserService {
     }
 
     private void sendVerificationEmail(String email, String code) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(email);
-        message.setSubject("Verify Your Account");
-        message.setText("Your verification code is: " + code);
-        mailSender.send(message);
+        emailOutboxService.enqueue(email, "Verify Your Account", "Your verification code is: " + code);
     }
 
     private void sendTempPasswordEmail(String email, String tempPassword) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(email);
-        message.setSubject("Your Account Credentials");
-        message.setText("Your temporary password is: " + tempPassword + "\nPlease reset it on your first login.");
-        mailSender.send(message);
+        emailOutboxService.enqueue(email, "Your Account Credentials",
+                "Your temporary password is: " + tempPassword + "\nPlease reset it on your first login.");
     }
 
     private void sendPasswordResetEmail(String email, String resetToken, String rolePath) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(email);
-        message.setSubject("Reset Your Password");
-        message.setText("Click this link to reset your password: http://localhost:3000/auth"+rolePath+"/reset-password/?token=" + resetToken);
-        System.out.println("EMAIL:");
-        System.out.println("Click this link to reset your password: http://localhost:3000/auth"+rolePath+"/reset-password/?token=" + resetToken);
-        mailSender.send(message);
+        String body = "Click this link to reset your password: http://localhost:3000/auth"+rolePath+"/reset-password/?token=" + resetToken;
+        emailOutboxService.enqueue(email, "Reset Your Password", body);
     }
 }
\ No newline at end of file
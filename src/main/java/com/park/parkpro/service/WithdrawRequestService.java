@@ -8,7 +8,7 @@ import com.park.parkpro.exception.BadRequestException;
 import com.park.parkpro.exception.ForbiddenException;
 import com.park.parkpro.exception.NotFoundException;
 import com.park.parkpro.repository.*;
-import com.park.parkpro.security.JwtUtil;
+import com.park.parkpro.security.AuthenticatedUser;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,30 +23,28 @@ public class WithdrawRequestService {
     private final BudgetRepository budgetRepository;
     private final BudgetCategoryRepository budgetCategoryRepository;
     private final ParkRepository parkRepository;
-    private final AuditLogRepository auditLogRepository;
+    private final AuditLogWriter auditLogWriter;
     private final UserRepository userRepository;
-    private final JwtUtil jwtUtil;
+    private final BudgetLedgerService budgetLedgerService;
 
     public WithdrawRequestService(WithdrawRequestRepository withdrawRequestRepository, BudgetRepository budgetRepository,
-                                  BudgetCategoryRepository budgetCategoryRepository, ParkRepository parkRepository, AuditLogRepository auditLogRepository,
-                                  UserRepository userRepository, JwtUtil jwtUtil) {
+                                  BudgetCategoryRepository budgetCategoryRepository, ParkRepository parkRepository, AuditLogWriter auditLogWriter,
+                                  UserRepository userRepository, BudgetLedgerService budgetLedgerService) {
         this.withdrawRequestRepository = withdrawRequestRepository;
         this.budgetRepository = budgetRepository;
         this.budgetCategoryRepository = budgetCategoryRepository;
         this.parkRepository = parkRepository;
-        this.auditLogRepository = auditLogRepository;
+        this.auditLogWriter = auditLogWriter;
         this.userRepository = userRepository;
-        this.jwtUtil = jwtUtil;
+        this.budgetLedgerService = budgetLedgerService;
     }
 
     @Transactional
-    public WithdrawRequest createWithdrawRequest(UUID budgetId, CreateWithdrawRequestDto request, String token) {
-        String email = jwtUtil.getEmailFromToken(token);
-        User requester = userRepository.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + email));
-        if (!List.of("PARK_MANAGER", "ADMIN").contains(requester.getRole())) {
+    public WithdrawRequest createWithdrawRequest(UUID budgetId, CreateWithdrawRequestDto request, AuthenticatedUser currentUser) {
+        if (!currentUser.hasAnyRole(List.of("PARK_MANAGER", "ADMIN"))) {
             throw new ForbiddenException("Only PARK_MANAGER or ADMIN can create withdraw requests");
         }
+        User requester = userRepository.getReferenceById(currentUser.id());
 
         Budget budget = budgetRepository.findById(budgetId)
                 .orElseThrow(() -> new NotFoundException("Budget not found with ID: " + budgetId));
@@ -76,13 +74,11 @@ public class WithdrawRequestService {
     }
 
     @Transactional
-    public WithdrawRequest approveWithdrawRequest(UUID withdrawRequestId, String token) {
-        String email = jwtUtil.getEmailFromToken(token);
-        User approver = userRepository.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + email));
-        if (!List.of("FINANCE_OFFICER", "ADMIN").contains(approver.getRole())) {
+    public WithdrawRequest approveWithdrawRequest(UUID withdrawRequestId, AuthenticatedUser currentUser) {
+        if (!currentUser.hasAnyRole(List.of("FINANCE_OFFICER", "ADMIN"))) {
             throw new ForbiddenException("Only FINANCE_OFFICER or ADMIN can approve withdraw requests");
         }
+        User approver = userRepository.getReferenceById(currentUser.id());
 
         WithdrawRequest request = withdrawRequestRepository.findById(withdrawRequestId)
                 .orElseThrow(() -> new NotFoundException("Withdraw request not found with ID: " + withdrawRequestId));
@@ -99,17 +95,17 @@ public class WithdrawRequestService {
         request.setStatus(WithdrawRequest.WithdrawRequestStatus.APPROVED);
         request.setApprover(approver);
         request.setApprovedAt(LocalDateTime.now());
-        return withdrawRequestRepository.save(request);
+        request = withdrawRequestRepository.save(request);
+        budgetLedgerService.recordWithdraw(request.getBudget().getId(), request.getAmount());
+        return request;
     }
 
     @Transactional
-    public WithdrawRequest rejectWithdrawRequest(UUID withdrawRequestId, String rejectionReason, String token) {
-        String email = jwtUtil.getEmailFromToken(token);
-        User approver = userRepository.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + email));
-        if (!List.of("FINANCE_OFFICER", "ADMIN").contains(approver.getRole())) {
+    public WithdrawRequest rejectWithdrawRequest(UUID withdrawRequestId, String rejectionReason, AuthenticatedUser currentUser) {
+        if (!currentUser.hasAnyRole(List.of("FINANCE_OFFICER", "ADMIN"))) {
             throw new ForbiddenException("Only FINANCE_OFFICER or ADMIN can reject withdraw requests");
         }
+        User approver = userRepository.getReferenceById(currentUser.id());
 
         WithdrawRequest request = withdrawRequestRepository.findById(withdrawRequestId)
                 .orElseThrow(() -> new NotFoundException("Withdraw request not found with ID: " + withdrawRequestId));
@@ -128,11 +124,8 @@ public class WithdrawRequestService {
     }
 
     @Transactional
-    public WithdrawRequest updateWithdrawRequest(UUID withdrawRequestId, UpdateWithdrawRequestDto request, String token) {
-        String email = jwtUtil.getEmailFromToken(token);
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + email));
-        if (!List.of("PARK_MANAGER", "FINANCE_OFFICER", "ADMIN").contains(user.getRole())) {
+    public WithdrawRequest updateWithdrawRequest(UUID withdrawRequestId, UpdateWithdrawRequestDto request, AuthenticatedUser currentUser) {
+        if (!currentUser.hasAnyRole(List.of("PARK_MANAGER", "FINANCE_OFFICER", "ADMIN"))) {
             throw new ForbiddenException("Only PARK_MANAGER, FINANCE_OFFICER, or ADMIN can update withdraw requests");
         }
 
@@ -161,11 +154,8 @@ public class WithdrawRequestService {
     }
 
     @Transactional
-    public WithdrawRequest updateAuditStatus(UUID withdrawRequestId, UpdateAuditStatusDto request, String token) {
-        String email = jwtUtil.getEmailFromToken(token);
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + email));
-        if (!List.of("AUDITOR").contains(user.getRole())) {
+    public WithdrawRequest updateAuditStatus(UUID withdrawRequestId, UpdateAuditStatusDto request, AuthenticatedUser currentUser) {
+        if (!currentUser.hasAnyRole(List.of("AUDITOR"))) {
             throw new ForbiddenException("Only AUDITOR can update audit status");
         }
 
@@ -186,35 +176,33 @@ public class WithdrawRequestService {
                 request.getAuditStatus(),
                 request.getJustification() != null ? " with justification: " + request.getJustification() : ""
         );
-        auditLogRepository.save(new AuditLog(
+        auditLogWriter.append(AuditLogWriter.Entry.of(
                 "UPDATE_AUDIT_STATUS",
                 "WITHDRAW_REQUEST",
                 withdrawRequestId,
                 logMessage,
-                user,
-                LocalDateTime.now()
+                currentUser.id()
         ));
 
         return withdrawRequest;
     }
 
     @Transactional
-    public void deleteWithdrawRequest(UUID withdrawRequestId, String token) {
-        String email = jwtUtil.getEmailFromToken(token);
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + email));
-
+    public void deleteWithdrawRequest(UUID withdrawRequestId, AuthenticatedUser currentUser) {
         WithdrawRequest request = withdrawRequestRepository.findById(withdrawRequestId)
                 .orElseThrow(() -> new NotFoundException("Withdraw request not found with ID: " + withdrawRequestId));
 
-        if (WithdrawRequest.WithdrawRequestStatus.APPROVED.equals(request.getStatus()) && !List.of("FINANCE_OFFICER").contains(user.getRole())) {
+        if (WithdrawRequest.WithdrawRequestStatus.APPROVED.equals(request.getStatus()) && !currentUser.hasAnyRole(List.of("FINANCE_OFFICER"))) {
             throw new ForbiddenException("Only FINANCE_OFFICER can delete APPROVED withdraw requests");
         }
-        if (!List.of("PARK_MANAGER", "FINANCE_OFFICER", "ADMIN").contains(user.getRole())) {
+        if (!currentUser.hasAnyRole(List.of("PARK_MANAGER", "FINANCE_OFFICER", "ADMIN"))) {
             throw new ForbiddenException("Only PARK_MANAGER, FINANCE_OFFICER, or ADMIN can delete withdraw requests");
         }
 
         withdrawRequestRepository.delete(request);
+        if (WithdrawRequest.WithdrawRequestStatus.APPROVED.equals(request.getStatus())) {
+            budgetLedgerService.recordWithdraw(request.getBudget().getId(), request.getAmount().negate());
+        }
     }
 
     public List<WithdrawRequest> getWithdrawRequestsByBudgetCategory(UUID budgetCategoryId) {
@@ -223,11 +211,8 @@ public class WithdrawRequestService {
         return withdrawRequestRepository.findByBudgetCategoryId(budgetCategoryId);
     }
 
-    public List<WithdrawRequest> getWithdrawRequestsByBudget(UUID budgetId, String token) {
-        String email = jwtUtil.getEmailFromToken(token);
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + email));
-        if (!List.of("ADMIN", "FINANCE_OFFICER", "GOVERNMENT_OFFICER", "AUDITOR").contains(user.getRole())) {
+    public List<WithdrawRequest> getWithdrawRequestsByBudget(UUID budgetId, AuthenticatedUser currentUser) {
+        if (!currentUser.hasAnyRole(List.of("ADMIN", "FINANCE_OFFICER", "GOVERNMENT_OFFICER", "AUDITOR"))) {
             throw new ForbiddenException("Only authorized roles can view withdraw requests");
         }
 
@@ -236,21 +221,14 @@ public class WithdrawRequestService {
         return withdrawRequestRepository.findByBudgetId(budgetId);
     }
 
-    public List<WithdrawRequest> getWithdrawRequestsByRequester(UUID budgetId, String token) {
-        String email = jwtUtil.getEmailFromToken(token);
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + email));
-
+    public List<WithdrawRequest> getWithdrawRequestsByRequester(UUID budgetId, AuthenticatedUser currentUser) {
         Budget budget = budgetRepository.findById(budgetId)
                 .orElseThrow(() -> new NotFoundException("Budget not found with ID: " + budgetId));
-        return withdrawRequestRepository.findByRequesterIdAndBudgetId(user.getId(), budgetId);
+        return withdrawRequestRepository.findByRequesterIdAndBudgetId(currentUser.id(), budgetId);
     }
 
-    public WithdrawRequest getWithdrawRequestById(UUID withdrawRequestId, String token) {
-        String email = jwtUtil.getEmailFromToken(token);
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new NotFoundException("User not found with email: " + email));
-        if (!List.of("ADMIN", "FINANCE_OFFICER", "GOVERNMENT_OFFICER", "AUDITOR", "PARK_MANAGER").contains(user.getRole())) {
+    public WithdrawRequest getWithdrawRequestById(UUID withdrawRequestId, AuthenticatedUser currentUser) {
+        if (!currentUser.hasAnyRole(List.of("ADMIN", "FINANCE_OFFICER", "GOVERNMENT_OFFICER", "AUDITOR", "PARK_MANAGER"))) {
             throw new ForbiddenException("Only authorized roles can view withdraw request details");
         }
 
@@ -0,0 +1,502 @@
+-- Schema as previously created by hibernate ddl-auto=update. Databases that already have it are
+-- baselined at this version (spring.flyway.baseline-on-migrate) and only receive later migrations.
+
+create table activity (
+    capacity_per_day integer,
+    price numeric(38,2) not null,
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    id uuid not null,
+    park_id uuid not null,
+    description varchar(255),
+    name varchar(255) not null,
+    picture varchar(255),
+    primary key (id)
+);
+
+create table activity_day_capacity (
+    remaining integer not null,
+    visit_date date not null,
+    created_at timestamp(6) not null,
+    activity_id uuid not null,
+    id uuid not null,
+    primary key (id),
+    unique (activity_id, visit_date)
+);
+
+create table audit (
+    audit_year integer,
+    percentage_failed float(53),
+    percentage_passed float(53),
+    percentage_unjustified float(53),
+    total_percentage float(53),
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    created_by uuid not null,
+    id uuid not null,
+    park_id uuid not null,
+    updated_by uuid not null,
+    audit_progress varchar(255) check (audit_progress in ('IN_PROGRESS','COMPLETED')),
+    primary key (id)
+);
+
+create table audit_log (
+    performed_at timestamp(6) not null,
+    reviewed_at timestamp(6),
+    entity_id uuid,
+    id uuid not null,
+    performed_by uuid,
+    reviewed_by uuid,
+    action varchar(255) not null,
+    details varchar(255),
+    entity_type varchar(255) not null,
+    primary key (id)
+);
+
+create table booking (
+    amount numeric(38,2) not null,
+    visit_date date not null,
+    confirmed_at timestamp(6),
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    activity_id uuid not null,
+    id uuid not null,
+    park_id uuid not null,
+    visitor_id uuid not null,
+    currency varchar(255) not null,
+    payment_reference varchar(255),
+    status varchar(255) not null,
+    stripe_payment_intent_id varchar(255),
+    stripe_payment_method_id varchar(255),
+    stripe_payment_status varchar(255),
+    primary key (id)
+);
+
+create table booking_group_member (
+    booking_id uuid not null,
+    id uuid not null,
+    user_id uuid,
+    guest_email varchar(255),
+    guest_name varchar(255),
+    primary key (id)
+);
+
+create table budget (
+    balance numeric(38,2) not null,
+    fiscal_year integer not null,
+    total_amount numeric(38,2) not null,
+    unallocated numeric(38,2) not null,
+    approved_at timestamp(6),
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    approved_by uuid,
+    created_by uuid not null,
+    id uuid not null,
+    park_id uuid not null,
+    status varchar(255) not null,
+    primary key (id)
+);
+
+create table budget_category (
+    allocated_amount numeric(38,2) not null,
+    balance numeric(38,2) not null,
+    used_amount numeric(38,2) not null,
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    budget_id uuid not null,
+    id uuid not null,
+    name varchar(255) not null,
+    spending_strategy varchar(255) not null check (spending_strategy in ('EXPENSE','WITHDRAW_REQUEST')),
+    primary key (id)
+);
+
+create table budget_ledger (
+    total_bookings numeric(38,2) not null,
+    total_donations numeric(38,2) not null,
+    total_expenses numeric(38,2) not null,
+    total_funding numeric(38,2) not null,
+    total_withdraws numeric(38,2) not null,
+    created_at timestamp(6) not null,
+    reconciled_at timestamp(6),
+    updated_at timestamp(6) not null,
+    budget_id uuid not null unique,
+    id uuid not null,
+    primary key (id)
+);
+
+create table donation (
+    amount numeric(38,2) not null,
+    fiscal_year integer not null,
+    confirmed_at timestamp(6),
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    donor_id uuid not null,
+    id uuid not null,
+    park_id uuid not null,
+    currency varchar(255) not null,
+    motive_for_donation varchar(255),
+    payment_reference varchar(255),
+    status varchar(255) not null,
+    primary key (id)
+);
+
+create table expense (
+    amount numeric(38,2) not null,
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    budget_category_id uuid not null,
+    budget_id uuid not null,
+    created_by uuid not null,
+    id uuid not null,
+    park_id uuid not null,
+    justification varchar(500),
+    audit_status varchar(255) not null check (audit_status in ('PASSED','FAILED','UNJUSTIFIED')),
+    currency varchar(255) not null,
+    description varchar(255) not null,
+    receipt_url varchar(255),
+    primary key (id)
+);
+
+create table funding_request (
+    approved_amount numeric(38,2),
+    requested_amount numeric(38,2) not null,
+    approved_at timestamp(6),
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    approver_id uuid,
+    budget_category_id uuid not null,
+    budget_id uuid not null,
+    id uuid not null,
+    park_id uuid not null,
+    requester_id uuid not null,
+    currency varchar(255) not null,
+    reason varchar(255) not null,
+    rejection_reason varchar(255),
+    request_type varchar(255) not null,
+    status varchar(255) not null,
+    primary key (id)
+);
+
+create table income_stream (
+    actual_balance numeric(38,2) not null,
+    fiscal_year integer not null,
+    percentage numeric(38,2) not null,
+    total_contribution numeric(38,2) not null,
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    budget_id uuid not null,
+    created_by uuid not null,
+    id uuid not null,
+    park_id uuid not null,
+    name varchar(255) not null,
+    primary key (id)
+);
+
+create table opportunity (
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    created_by uuid not null,
+    id uuid not null,
+    park_id uuid not null,
+    status varchar(20) not null,
+    visibility varchar(20) not null,
+    type varchar(50) not null,
+    title varchar(100) not null,
+    description TEXT not null,
+    details TEXT,
+    primary key (id)
+);
+
+create table opportunity_application (
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    id uuid not null,
+    opportunity_id uuid not null,
+    status varchar(20) not null,
+    first_name varchar(50) not null,
+    last_name varchar(50) not null,
+    email varchar(100) not null,
+    approval_message varchar(1000),
+    rejection_reason varchar(1000),
+    application_letter_url varchar(255) not null,
+    primary key (id)
+);
+
+create table park (
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    id uuid not null,
+    name varchar(100) not null unique,
+    description TEXT,
+    location varchar(255) not null,
+    primary key (id)
+);
+
+create table password_reset_token (
+    expiry_date timestamp(6) not null,
+    id uuid not null,
+    user_id uuid not null unique,
+    token varchar(255) not null,
+    primary key (id)
+);
+
+create table "user" (
+    age integer,
+    is_active boolean not null,
+    must_reset_password boolean not null,
+    created_at timestamp(6) not null,
+    last_login timestamp(6),
+    updated_at timestamp(6) not null,
+    phone varchar(15),
+    id uuid not null,
+    park_id uuid,
+    gender varchar(30),
+    nationality varchar(30),
+    passport_national_id varchar(30),
+    role varchar(30) not null,
+    first_name varchar(50) not null,
+    last_name varchar(50) not null,
+    email varchar(100) not null unique,
+    password varchar(255) not null,
+    primary key (id)
+);
+
+create table verification_token (
+    expiry_date timestamp(6) not null,
+    id uuid not null,
+    user_id uuid not null unique,
+    token varchar(255) not null,
+    primary key (id)
+);
+
+create table withdraw_request (
+    amount numeric(38,2) not null,
+    approved_at timestamp(6),
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    approver_id uuid,
+    budget_category_id uuid not null,
+    budget_id uuid not null,
+    id uuid not null,
+    park_id uuid not null,
+    requester_id uuid not null,
+    justification varchar(500),
+    audit_status varchar(255) not null check (audit_status in ('PASSED','FAILED','UNJUSTIFIED')),
+    currency varchar(255) not null,
+    description varchar(255),
+    reason varchar(255) not null,
+    receipt_url varchar(255),
+    rejection_reason varchar(255),
+    status varchar(255) not null check (status in ('REJECTED','APPROVED','PENDING')),
+    primary key (id)
+);
+
+alter table if exists activity 
+   add constraint FKga2argpu4bos51ngvap7473vq 
+   foreign key (park_id) 
+   references park;
+
+alter table if exists activity_day_capacity 
+   add constraint FKejdwslssby3ygk3a4oag9fd0o 
+   foreign key (activity_id) 
+   references activity;
+
+alter table if exists audit 
+   add constraint FKc05nudvt7pnyhhq9qpx9q6jw0 
+   foreign key (created_by) 
+   references "user";
+
+alter table if exists audit 
+   add constraint FKtqd54wycgdb26jr1pxpdtb1bg 
+   foreign key (park_id) 
+   references park;
+
+alter table if exists audit 
+   add constraint FKrt03j8ass243hjclos80fmx7d 
+   foreign key (updated_by) 
+   references "user";
+
+alter table if exists audit_log 
+   add constraint FKnsjqwxf1ay61nm5hecswux79a 
+   foreign key (performed_by) 
+   references "user";
+
+alter table if exists audit_log 
+   add constraint FKfpnk2mhfmfk83f07hm7unirxn 
+   foreign key (reviewed_by) 
+   references "user";
+
+alter table if exists booking 
+   add constraint FKn3p0dqhv1p3hl1gv6a2ltvsbu 
+   foreign key (activity_id) 
+   references activity;
+
+alter table if exists booking 
+   add constraint FKhame9vxeh5dnwps85fum541lp 
+   foreign key (park_id) 
+   references park;
+
+alter table if exists booking 
+   add constraint FKeglxxtd8mgwgcpr76mwlijl4g 
+   foreign key (visitor_id) 
+   references "user";
+
+alter table if exists booking_group_member 
+   add constraint FKqd4rsb05plwxcmlbc9fbtemf1 
+   foreign key (booking_id) 
+   references booking;
+
+alter table if exists booking_group_member 
+   add constraint FKgmqq8kuo8k4kkd56tf0gv50tf 
+   foreign key (user_id) 
+   references "user";
+
+alter table if exists budget 
+   add constraint FKpm4s1aamda5ownien402j198d 
+   foreign key (approved_by) 
+   references "user";
+
+alter table if exists budget 
+   add constraint FKcyqtto1f64tq9x26slbqquxse 
+   foreign key (created_by) 
+   references "user";
+
+alter table if exists budget 
+   add constraint FKkmuk8ccitrt5gyeep5373dtov 
+   foreign key (park_id) 
+   references park;
+
+alter table if exists budget_category 
+   add constraint FKosa9i1lxo3j8v3reheus8gubg 
+   foreign key (budget_id) 
+   references budget;
+
+alter table if exists budget_ledger 
+   add constraint FKg7v6g46b6u6trfk91npqk15lb 
+   foreign key (budget_id) 
+   references budget;
+
+alter table if exists donation 
+   add constraint FK4k6rfy6a4sawm4vw6atva06u5 
+   foreign key (donor_id) 
+   references "user";
+
+alter table if exists donation 
+   add constraint FK85cunek2t5q1lntiy8day68xn 
+   foreign key (park_id) 
+   references park;
+
+alter table if exists expense 
+   add constraint FKf7fru65n5syjnfkfov9ma34g1 
+   foreign key (budget_id) 
+   references budget;
+
+alter table if exists expense 
+   add constraint FKoh67ywietra5uq348r9copy5q 
+   foreign key (budget_category_id) 
+   references budget_category;
+
+alter table if exists expense 
+   add constraint FKfq6jgkeojh6isyo8xqbjr8dd2 
+   foreign key (created_by) 
+   references "user";
+
+alter table if exists expense 
+   add constraint FKnsy0g434ovibkuo3ik7xhrsvs 
+   foreign key (park_id) 
+   references park;
+
+alter table if exists funding_request 
+   add constraint FKsdpyvxarhc0v5d53tvuihc6aj 
+   foreign key (approver_id) 
+   references "user";
+
+alter table if exists funding_request 
+   add constraint FKnt3gbv5xsh6s1s1tv7dtcvgim 
+   foreign key (budget_id) 
+   references budget;
+
+alter table if exists funding_request 
+   add constraint FKq53hsiwb4tr96xaoq01qora7u 
+   foreign key (budget_category_id) 
+   references budget_category;
+
+alter table if exists funding_request 
+   add constraint FK8mn1mxgfhsyleb2pfwbqdrnjc 
+   foreign key (park_id) 
+   references park;
+
+alter table if exists funding_request 
+   add constraint FKyd9umebbkg3t68subijj8hu9 
+   foreign key (requester_id) 
+   references "user";
+
+alter table if exists income_stream 
+   add constraint FKkhj2otavnmmqkupb38iu522e6 
+   foreign key (budget_id) 
+   references budget;
+
+alter table if exists income_stream 
+   add constraint FKeush2nb9f2ybs696pvfp96bmb 
+   foreign key (created_by) 
+   references "user";
+
+alter table if exists income_stream 
+   add constraint FKk2d934eyxt4wa7d8vo6drjff1 
+   foreign key (park_id) 
+   references park;
+
+alter table if exists opportunity 
+   add constraint FKd7u94o520mhwrpxftupmsy109 
+   foreign key (created_by) 
+   references "user";
+
+alter table if exists opportunity 
+   add constraint FK13frgu1cwfgum0c5w3u3xcl1f 
+   foreign key (park_id) 
+   references park;
+
+alter table if exists opportunity_application 
+   add constraint FKjm4oo6idd92vssf5dm2kpe4gh 
+   foreign key (opportunity_id) 
+   references opportunity;
+
+alter table if exists password_reset_token 
+   add constraint FKopijiiwpt01x008euhjywip27 
+   foreign key (user_id) 
+   references "user";
+
+alter table if exists "user" 
+   add constraint FKorlh6syst0j4vfh57nftpaxon 
+   foreign key (park_id) 
+   references park;
+
+alter table if exists verification_token 
+   add constraint FK6fi831ey1xa2o3dmkq5pgvkib 
+   foreign key (user_id) 
+   references "user";
+
+alter table if exists withdraw_request 
+   add constraint FKm8ibt0g3y72itsw1ol63k41jt 
+   foreign key (approver_id) 
+   references "user";
+
+alter table if exists withdraw_request 
+   add constraint FKclb9ixai2mfslgjomyy9i47lo 
+   foreign key (budget_id) 
+   references budget;
+
+alter table if exists withdraw_request 
+   add constraint FKfddfjisolrrdi9j8dg65px5mx 
+   foreign key (budget_category_id) 
+   references budget_category;
+
+alter table if exists withdraw_request 
+   add constraint FKm4qs48uor1414kalkwlljc8t1 
+   foreign key (park_id) 
+   references park;
+
+alter table if exists withdraw_request 
+   add constraint FKg7s1jod4ghh2qpgxew9apf6pr 
+   foreign key (requester_id) 
+   references "user";
@@ -0,0 +1,63 @@
+-- Indexes for the repository finders. Keyset-paged lists index (filter, created_at, id) so a page is
+-- a single range read in the sort order; aggregates lead with their filter and end with the
+-- grouped column so the group-by can be served from the index.
+-- Park name search uses LIKE '%..%' and cannot use a btree index.
+
+create index if not exists idx_activity_park on activity (park_id);
+
+create index if not exists idx_audit_park_year on audit (park_id, audit_year);
+create index if not exists idx_audit_year on audit (audit_year);
+
+create index if not exists idx_audit_log_performed on audit_log (performed_at, id);
+create index if not exists idx_audit_log_entity_type on audit_log (entity_type);
+
+create index if not exists idx_booking_activity_visit_status on booking (activity_id, visit_date, status);
+create index if not exists idx_booking_park_visit_status on booking (park_id, visit_date, status);
+create index if not exists idx_booking_park_created on booking (park_id, created_at, id);
+create index if not exists idx_booking_visitor_created on booking (visitor_id, created_at, id);
+create index if not exists idx_booking_visit_status on booking (visit_date, status);
+create index if not exists idx_booking_status_created on booking (status, created_at);
+
+create index if not exists idx_booking_member_booking on booking_group_member (booking_id);
+create index if not exists idx_booking_member_user on booking_group_member (user_id);
+
+create index if not exists idx_budget_park_year on budget (park_id, fiscal_year);
+create index if not exists idx_budget_year on budget (fiscal_year);
+
+create index if not exists idx_budget_category_budget on budget_category (budget_id);
+
+create index if not exists idx_donation_park_year_status on donation (park_id, fiscal_year, status);
+create index if not exists idx_donation_year_status on donation (fiscal_year, status);
+create index if not exists idx_donation_donor_park on donation (donor_id, park_id, created_at);
+
+create index if not exists idx_expense_budget_created on expense (budget_id, created_at, id);
+create index if not exists idx_expense_park_created on expense (park_id, created_at, id);
+create index if not exists idx_expense_category on expense (budget_category_id);
+create index if not exists idx_expense_creator_budget on expense (created_by, budget_id);
+
+create index if not exists idx_funding_request_park on funding_request (park_id);
+create index if not exists idx_funding_request_budget_status on funding_request (budget_id, status);
+create index if not exists idx_funding_request_created on funding_request (created_at, id);
+
+create index if not exists idx_income_stream_budget_name on income_stream (budget_id, name);
+create index if not exists idx_income_stream_park_year on income_stream (park_id, fiscal_year);
+
+create index if not exists idx_opportunity_park_visibility on opportunity (park_id, visibility);
+create index if not exists idx_opportunity_visibility_created on opportunity (visibility, created_at, id);
+create index if not exists idx_opportunity_created on opportunity (created_at, id);
+create index if not exists idx_opportunity_creator on opportunity (created_by);
+
+create index if not exists idx_opportunity_application_opportunity on opportunity_application (opportunity_id);
+create index if not exists idx_opportunity_application_email on opportunity_application (email);
+
+create index if not exists idx_password_reset_token_token on password_reset_token (token);
+create index if not exists idx_verification_token_token on verification_token (token);
+
+create index if not exists idx_user_role_created on "user" (role, created_at, id);
+create index if not exists idx_user_park_created on "user" (park_id, created_at, id);
+create index if not exists idx_user_created on "user" (created_at, id);
+
+create index if not exists idx_withdraw_request_budget_status on withdraw_request (budget_id, status);
+create index if not exists idx_withdraw_request_park on withdraw_request (park_id);
+create index if not exists idx_withdraw_request_category on withdraw_request (budget_category_id);
+create index if not exists idx_withdraw_request_requester_budget on withdraw_request (requester_id, budget_id);
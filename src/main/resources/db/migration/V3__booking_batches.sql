@@ -0,0 +1,31 @@
+-- Bulk bookings: one booking_batch row per bulk request, charged once for all of its bookings.
+
+create table booking_batch (
+    amount numeric(38,2) not null,
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    id uuid not null,
+    visitor_id uuid not null,
+    currency varchar(255) not null,
+    status varchar(255) not null,
+    stripe_payment_intent_id varchar(255),
+    stripe_payment_method_id varchar(255) not null,
+    stripe_payment_status varchar(255),
+    primary key (id)
+);
+
+alter table if exists booking_batch
+   add constraint fk_booking_batch_visitor
+   foreign key (visitor_id)
+   references "user";
+
+alter table if exists booking add column booking_batch_id uuid;
+
+alter table if exists booking
+   add constraint fk_booking_booking_batch
+   foreign key (booking_batch_id)
+   references booking_batch;
+
+create index if not exists idx_booking_batch_status_created on booking_batch (status, created_at);
+create index if not exists idx_booking_batch_visitor on booking_batch (visitor_id);
+create index if not exists idx_booking_booking_batch on booking (booking_batch_id);
@@ -0,0 +1,17 @@
+-- Outgoing mail is queued here in the sender's transaction and delivered by a background dispatcher.
+
+create table email_outbox (
+    attempts integer not null,
+    created_at timestamp(6) not null,
+    next_attempt_at timestamp(6) not null,
+    sent_at timestamp(6),
+    id uuid not null,
+    status varchar(20) not null,
+    last_error varchar(1000),
+    recipient varchar(255) not null,
+    subject varchar(255) not null,
+    body text not null,
+    primary key (id)
+);
+
+create index if not exists idx_email_outbox_status_next_attempt on email_outbox (status, next_attempt_at);
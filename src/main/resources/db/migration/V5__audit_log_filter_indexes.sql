@@ -0,0 +1,9 @@
+-- Audit log queries filter on one or more columns and page newest first, so every filterable column
+-- gets a (column, performed_at, id) index; the time range alone uses idx_audit_log_performed.
+
+drop index if exists idx_audit_log_entity_type;
+
+create index if not exists idx_audit_log_entity_type_performed on audit_log (entity_type, performed_at, id);
+create index if not exists idx_audit_log_entity_performed on audit_log (entity_id, performed_at, id);
+create index if not exists idx_audit_log_action_performed on audit_log (action, performed_at, id);
+create index if not exists idx_audit_log_performer_performed on audit_log (performed_by, performed_at, id);
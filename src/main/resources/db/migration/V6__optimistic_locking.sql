@@ -0,0 +1,4 @@
+-- Version columns for optimistic locking on the balance-bearing rows
+alter table if exists budget add column if not exists version bigint not null default 0;
+alter table if exists budget_category add column if not exists version bigint not null default 0;
+alter table if exists income_stream add column if not exists version bigint not null default 0;
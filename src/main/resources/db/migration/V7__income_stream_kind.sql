@@ -0,0 +1,16 @@
+-- Typed Bookings and Donations streams, at most one of each per budget, so they are found and created without name matching
+alter table if exists income_stream add column if not exists kind varchar(255);
+
+update income_stream s set kind = 'BOOKINGS'
+where s.id = (select i.id from income_stream i
+              where i.budget_id = s.budget_id and i.name like '%Bookings%'
+              order by i.created_at, i.id limit 1);
+
+update income_stream s set kind = 'DONATIONS'
+where s.kind is null
+  and s.id = (select i.id from income_stream i
+              where i.budget_id = s.budget_id and i.kind is null and i.name like '%Donations%'
+              order by i.created_at, i.id limit 1);
+
+alter table if exists income_stream
+   add constraint uk_income_stream_budget_kind unique (budget_id, kind);
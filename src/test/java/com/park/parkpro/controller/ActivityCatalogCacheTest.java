@@ -0,0 +1,95 @@
+package com.park.parkpro.controller;
+
+import com.park.parkpro.domain.Activity;
+import com.park.parkpro.domain.Park;
+import com.park.parkpro.repository.ActivityRepository;
+import com.park.parkpro.repository.ParkRepository;
+import com.park.parkpro.security.AuthenticatedUser;
+import com.park.parkpro.service.ActivityService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class ActivityCatalogCacheTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ParkRepository parkRepository;
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    @Autowired
+    private ActivityService activityService;
+
+    private Park park;
+    private Activity activity;
+
+    @BeforeEach
+    void setUp() {
+        park = parkRepository.save(new Park("Catalog Park " + UUID.randomUUID(), "North", "Catalog cache test"));
+        activity = new Activity();
+        activity.setName("Canopy walk");
+        activity.setPark(park);
+        activity.setPrice(new BigDecimal("25.00"));
+        activity.setCapacityPerDay(40);
+        activity = activityRepository.save(activity);
+    }
+
+    @Test
+    void shouldAnswerNotModifiedWhileActivitiesAreUnchanged() {
+        ResponseEntity<String> first = restTemplate.getForEntity("/api/parks/" + park.getId() + "/activities", String.class);
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        String etag = first.getHeaders().getETag();
+        assertNotNull(etag);
+        assertTrue(first.getHeaders().getLastModified() > 0);
+
+        ResponseEntity<String> revalidated = get("/api/parks/" + park.getId() + "/activities", etag);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, revalidated.getStatusCode());
+        assertNull(revalidated.getBody());
+    }
+
+    @Test
+    void shouldServeFreshActivityAfterItIsUpdated() {
+        String path = "/api/activities/" + activity.getId();
+        String etag = restTemplate.getForEntity(path, String.class).getHeaders().getETag();
+        String listEtag = restTemplate.getForEntity("/api/parks/" + park.getId() + "/activities", String.class)
+                .getHeaders().getETag();
+
+        activityService.updateActivity(activity.getId(), "Night canopy walk", null, null, null, null,
+                new AuthenticatedUser(UUID.randomUUID(), "admin@example.com", "ADMIN", null));
+
+        ResponseEntity<String> afterUpdate = get(path, etag);
+        assertEquals(HttpStatus.OK, afterUpdate.getStatusCode());
+        assertTrue(afterUpdate.getBody().contains("Night canopy walk"));
+        assertNotEquals(etag, afterUpdate.getHeaders().getETag());
+
+        ResponseEntity<String> list = get("/api/parks/" + park.getId() + "/activities", listEtag);
+        assertEquals(HttpStatus.OK, list.getStatusCode());
+        assertTrue(list.getBody().contains("Night canopy walk"));
+    }
+
+    private ResponseEntity<String> get(String path, String etag) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(etag);
+        return restTemplate.exchange(path, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+    }
+}
@@ -0,0 +1,135 @@
+package com.park.parkpro.controller;
+
+import com.park.parkpro.domain.Budget;
+import com.park.parkpro.domain.BudgetCategory;
+import com.park.parkpro.domain.Park;
+import com.park.parkpro.domain.SpendingStrategy;
+import com.park.parkpro.domain.User;
+import com.park.parkpro.repository.BudgetCategoryRepository;
+import com.park.parkpro.repository.BudgetRepository;
+import com.park.parkpro.repository.ParkRepository;
+import com.park.parkpro.repository.UserRepository;
+import com.park.parkpro.security.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class ConditionalGetTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ParkRepository parkRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private BudgetCategoryRepository budgetCategoryRepository;
+
+    private String token;
+    private Budget budget;
+    private BudgetCategory category;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString();
+        Park park = parkRepository.save(new Park("Conditional Park " + suffix, "East", "Conditional GET test"));
+
+        User officer = new User();
+        officer.setEmail("officer-" + suffix + "@example.com");
+        officer.setPassword("$2a$10$unused");
+        officer.setRole("FINANCE_OFFICER");
+        officer.setFirstName("Finance");
+        officer.setLastName("Officer");
+        officer.setPark(park);
+        officer = userRepository.save(officer);
+        token = jwtUtil.generateToken(officer.getEmail(), officer.getRole());
+
+        budget = new Budget();
+        budget.setPark(park);
+        budget.setFiscalYear(2025);
+        budget.setTotalAmount(new BigDecimal("1000.00"));
+        budget.setBalance(new BigDecimal("1000.00"));
+        budget.setUnallocated(new BigDecimal("600.00"));
+        budget.setStatus("APPROVED");
+        budget.setCreatedBy(officer);
+        budget = budgetRepository.save(budget);
+
+        category = new BudgetCategory();
+        category.setBudget(budget);
+        category.setName("Maintenance");
+        category.setAllocatedAmount(new BigDecimal("400.00"));
+        category.setUsedAmount(BigDecimal.ZERO);
+        category.setBalance(new BigDecimal("400.00"));
+        category.setSpendingStrategy(SpendingStrategy.EXPENSE);
+        category = budgetCategoryRepository.save(category);
+    }
+
+    @Test
+    void shouldAnswerNotModifiedUntilACategoryChanges() {
+        String path = "/api/budgets/" + budget.getId() + "/categories";
+        ResponseEntity<String> first = get(path, null);
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        String etag = first.getHeaders().getETag();
+        assertNotNull(etag);
+        assertTrue(etag.startsWith("W/"));
+        assertTrue(first.getHeaders().getCacheControl().contains("no-cache"));
+
+        ResponseEntity<String> unchanged = get(path, etag);
+        assertEquals(HttpStatus.NOT_MODIFIED, unchanged.getStatusCode());
+        assertNull(unchanged.getBody());
+
+        category.setUsedAmount(new BigDecimal("50.00"));
+        category.setBalance(new BigDecimal("350.00"));
+        budgetCategoryRepository.save(category);
+
+        ResponseEntity<String> changed = get(path, etag);
+        assertEquals(HttpStatus.OK, changed.getStatusCode());
+        assertTrue(changed.getBody().contains("350"));
+        assertNotEquals(etag, changed.getHeaders().getETag());
+    }
+
+    @Test
+    void shouldChangeVersionWhenACategoryIsDeleted() {
+        String path = "/api/budgets/" + budget.getId() + "/categories";
+        String etag = get(path, null).getHeaders().getETag();
+
+        budgetCategoryRepository.delete(category);
+
+        ResponseEntity<String> afterDelete = get(path, etag);
+        assertEquals(HttpStatus.OK, afterDelete.getStatusCode());
+        assertEquals("[]", afterDelete.getBody());
+    }
+
+    private ResponseEntity<String> get(String path, String etag) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        if (etag != null) {
+            headers.setIfNoneMatch(etag);
+        }
+        return restTemplate.exchange(path, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+    }
+}
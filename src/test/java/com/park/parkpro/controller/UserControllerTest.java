@@ -4,6 +4,7 @@ import com.park.parkpro.TestConfig;
 import com.park.parkpro.domain.Park;
 import com.park.parkpro.dto.CreateUserRequestDto;
 import com.park.parkpro.dto.LoginRequestDto;
+import com.park.parkpro.dto.PageResponseDto;
 import com.park.parkpro.dto.UserResponseDto;
 import com.park.parkpro.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,6 +13,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -27,6 +29,8 @@ import static org.junit.jupiter.api.Assertions.*;
 @ActiveProfiles("test")
 @Import(TestConfig.class)
 class UserControllerTest {
+    private static final ParameterizedTypeReference<PageResponseDto<UserResponseDto>> USER_PAGE =
+            new ParameterizedTypeReference<>() {};
 
     @Autowired
     private TestRestTemplate restTemplate;
@@ -147,10 +151,10 @@ class UserControllerTest {
         request2.setRole("FINANCE_OFFICER");
         restTemplate.exchange("/api/users", HttpMethod.POST, createRequest(request2), UserResponseDto.class);
 
-        var response = restTemplate.exchange("/api/users", HttpMethod.GET, createGetRequest(), UserResponseDto[].class);
+        var response = restTemplate.exchange("/api/users", HttpMethod.GET, createGetRequest(), USER_PAGE);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        UserResponseDto[] users = response.getBody();
+        UserResponseDto[] users = response.getBody().getContent().toArray(new UserResponseDto[0]);
         assertNotNull(users);
         assertEquals(2, users.length);
         assertTrue(List.of(users).stream().anyMatch(u -> u.getEmail().equals("jean@example.com")));
@@ -175,10 +179,10 @@ class UserControllerTest {
         request2.setRole("FINANCE_OFFICER");
         restTemplate.exchange("/api/users", HttpMethod.POST, createRequest(request2), UserResponseDto.class);
 
-        var response = restTemplate.exchange("/api/users?role=PARK_MANAGER", HttpMethod.GET, createGetRequest(), UserResponseDto[].class);
+        var response = restTemplate.exchange("/api/users?role=PARK_MANAGER", HttpMethod.GET, createGetRequest(), USER_PAGE);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        UserResponseDto[] users = response.getBody();
+        UserResponseDto[] users = response.getBody().getContent().toArray(new UserResponseDto[0]);
         assertNotNull(users);
         assertEquals(1, users.length);
         assertEquals("jean@example.com", users[0].getEmail());
@@ -211,10 +215,10 @@ class UserControllerTest {
         UUID userId2 = userResponse2.getBody().getId();
         restTemplate.exchange("/api/users/" + userId2 + "/parks/" + parkId, HttpMethod.POST, createRequest(null), Void.class);
 
-        var response = restTemplate.exchange("/api/users?parkId=" + parkId, HttpMethod.GET, createGetRequest(), UserResponseDto[].class);
+        var response = restTemplate.exchange("/api/users?parkId=" + parkId, HttpMethod.GET, createGetRequest(), USER_PAGE);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        UserResponseDto[] users = response.getBody();
+        UserResponseDto[] users = response.getBody().getContent().toArray(new UserResponseDto[0]);
         assertNotNull(users);
         assertEquals(2, users.length);
         assertTrue(List.of(users).stream().anyMatch(u -> u.getEmail().equals("jean@example.com")));
@@ -0,0 +1,171 @@
+package com.park.parkpro.repository;
+
+import com.park.parkpro.domain.*;
+import com.park.parkpro.dto.AmountByKeyDto;
+import com.park.parkpro.dto.AmountByStatusDto;
+import com.park.parkpro.dto.AuditStatusCountDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class AggregateQueryRepositoryTest {
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AggregateQueryRepository aggregateQueryRepository;
+
+    private Park park;
+    private User user;
+    private Budget budget;
+    private BudgetCategory category;
+
+    @BeforeEach
+    void setUp() {
+        park = entityManager.persist(new Park("Loango", "Southwest Gabon", "Coastal park"));
+
+        user = new User();
+        user.setFirstName("Jane");
+        user.setLastName("Doe");
+        user.setEmail("jane@example.com");
+        user.setPassword("hashed");
+        user.setRole("FINANCE_OFFICER");
+        user = entityManager.persist(user);
+
+        budget = new Budget();
+        budget.setPark(park);
+        budget.setFiscalYear(2025);
+        budget.setTotalAmount(new BigDecimal("1000.00"));
+        budget.setBalance(new BigDecimal("1000.00"));
+        budget.setUnallocated(new BigDecimal("1000.00"));
+        budget.setStatus("APPROVED");
+        budget.setCreatedBy(user);
+        budget = entityManager.persist(budget);
+
+        category = new BudgetCategory();
+        category.setBudget(budget);
+        category.setName("Operations");
+        category.setAllocatedAmount(new BigDecimal("500.00"));
+        category.setUsedAmount(BigDecimal.ZERO);
+        category.setBalance(new BigDecimal("500.00"));
+        category.setSpendingStrategy(SpendingStrategy.EXPENSE);
+        category = entityManager.persist(category);
+    }
+
+    @Test
+    void shouldSumWithdrawsPerStatus() {
+        persistWithdraw("100.00", WithdrawRequest.WithdrawRequestStatus.APPROVED);
+        persistWithdraw("50.00", WithdrawRequest.WithdrawRequestStatus.APPROVED);
+        persistWithdraw("70.00", WithdrawRequest.WithdrawRequestStatus.PENDING);
+        entityManager.flush();
+
+        List<AmountByStatusDto> totals = aggregateQueryRepository.sumWithdrawsByBudgetIdGroupByStatus(budget.getId());
+
+        assertEquals(2, totals.size());
+        assertEquals(0, new BigDecimal("150.00").compareTo(AmountByStatusDto.totalFor(totals, "APPROVED")));
+        assertEquals(0, new BigDecimal("70.00").compareTo(AmountByStatusDto.totalFor(totals, "PENDING")));
+        assertEquals(0, BigDecimal.ZERO.compareTo(AmountByStatusDto.totalFor(totals, "REJECTED")));
+    }
+
+    @Test
+    void shouldSumDonationsForFiscalYearOnly() {
+        persistDonation("20.00", "CONFIRMED", 2025);
+        persistDonation("30.00", "CONFIRMED", 2025);
+        persistDonation("99.00", "CONFIRMED", 2024);
+        persistDonation("5.00", "CANCELLED", 2025);
+        entityManager.flush();
+
+        List<AmountByStatusDto> totals = aggregateQueryRepository.sumDonationsByParkIdAndFiscalYearGroupByStatus(park.getId(), 2025);
+
+        assertEquals(0, new BigDecimal("50.00").compareTo(AmountByStatusDto.totalFor(totals, "CONFIRMED")));
+        assertEquals(0, new BigDecimal("5.00").compareTo(AmountByStatusDto.totalFor(totals, "CANCELLED")));
+    }
+
+    @Test
+    void shouldSumBookingsWithinVisitDateRange() {
+        Activity activity = new Activity();
+        activity.setName("Safari");
+        activity.setPark(park);
+        activity.setPrice(new BigDecimal("10.00"));
+        activity = entityManager.persist(activity);
+        persistBooking(activity, "40.00", "CONFIRMED", LocalDate.of(2025, 3, 1));
+        persistBooking(activity, "60.00", "CONFIRMED", LocalDate.of(2025, 12, 31));
+        persistBooking(activity, "80.00", "CONFIRMED", LocalDate.of(2026, 1, 1));
+        entityManager.flush();
+
+        List<AmountByStatusDto> totals = aggregateQueryRepository.sumBookingsByParkIdAndVisitDateGroupByStatus(
+                park.getId(), LocalDate.of(2025, 1, 1), LocalDate.of(2026, 1, 1));
+
+        assertEquals(0, new BigDecimal("100.00").compareTo(AmountByStatusDto.totalFor(totals, "CONFIRMED")));
+    }
+
+    @Test
+    void shouldGroupFiscalYearTotalsByBudgetAndPark() {
+        persistWithdraw("100.00", WithdrawRequest.WithdrawRequestStatus.APPROVED);
+        persistWithdraw("70.00", WithdrawRequest.WithdrawRequestStatus.PENDING);
+        persistDonation("20.00", "CONFIRMED", 2025);
+        persistDonation("99.00", "CONFIRMED", 2024);
+        entityManager.flush();
+
+        Map<UUID, BigDecimal> withdraws = AmountByKeyDto.toMap(aggregateQueryRepository.sumWithdrawsByBudgetForFiscalYear(
+                2025, WithdrawRequest.WithdrawRequestStatus.APPROVED));
+        Map<UUID, BigDecimal> donations = AmountByKeyDto.toMap(
+                aggregateQueryRepository.sumDonationsByParkForFiscalYear(2025, "CONFIRMED"));
+
+        assertEquals(0, new BigDecimal("100.00").compareTo(withdraws.get(budget.getId())));
+        assertEquals(0, new BigDecimal("20.00").compareTo(donations.get(park.getId())));
+    }
+
+    @Test
+    void shouldCountExpensesPerAuditStatus() {
+        entityManager.persist(new Expense(budget, new BigDecimal("10.00"), "Fuel", category, park, user, AuditStatus.PASSED));
+        entityManager.persist(new Expense(budget, new BigDecimal("15.00"), "Food", category, park, user, AuditStatus.PASSED));
+        entityManager.persist(new Expense(budget, new BigDecimal("25.00"), "Tools", category, park, user, AuditStatus.FAILED));
+        entityManager.flush();
+
+        List<AuditStatusCountDto> counts = aggregateQueryRepository.countExpensesByAuditStatus(park.getId(), 2025);
+
+        assertEquals(2L, counts.stream().filter(c -> c.auditStatus() == AuditStatus.PASSED).findFirst().orElseThrow().count());
+        assertEquals(1L, counts.stream().filter(c -> c.auditStatus() == AuditStatus.FAILED).findFirst().orElseThrow().count());
+        assertEquals(0, new BigDecimal("50.00").compareTo(aggregateQueryRepository.sumExpensesByBudgetId(budget.getId())));
+    }
+
+    private void persistWithdraw(String amount, WithdrawRequest.WithdrawRequestStatus status) {
+        entityManager.persist(new WithdrawRequest(new BigDecimal(amount), "Supplies", null, user,
+                category, budget, null, status, park));
+    }
+
+    private void persistDonation(String amount, String status, int fiscalYear) {
+        Donation donation = new Donation();
+        donation.setDonor(user);
+        donation.setPark(park);
+        donation.setAmount(new BigDecimal(amount));
+        donation.setStatus(status);
+        donation.setFiscalYear(fiscalYear);
+        entityManager.persist(donation);
+    }
+
+    private void persistBooking(Activity activity, String amount, String status, LocalDate visitDate) {
+        Booking booking = new Booking();
+        booking.setVisitor(user);
+        booking.setActivity(activity);
+        booking.setPark(park);
+        booking.setAmount(new BigDecimal(amount));
+        booking.setStatus(status);
+        booking.setVisitDate(visitDate);
+        entityManager.persist(booking);
+    }
+}
@@ -0,0 +1,108 @@
+package com.park.parkpro.repository;
+
+import com.park.parkpro.domain.AuditLog;
+import com.park.parkpro.domain.User;
+import com.park.parkpro.dto.AuditLogDto;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class AuditLogQueryRepositoryTest {
+    private static final LocalDateTime START = LocalDateTime.of(2025, 3, 1, 9, 0);
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    private User auditor;
+    private User officer;
+    private UUID expenseId;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        auditor = entityManager.persist(user("auditor@example.com", "AUDITOR"));
+        officer = entityManager.persist(user("officer@example.com", "FINANCE_OFFICER"));
+        expenseId = UUID.randomUUID();
+        // One entry per hour, alternating between the two users
+        for (int i = 0; i < 7; i++) {
+            String entityType = i % 3 == 0 ? "WITHDRAW_REQUEST" : "EXPENSE";
+            UUID entityId = i < 4 ? expenseId : UUID.randomUUID();
+            entityManager.persist(new AuditLog(i % 2 == 0 ? "UPDATE_AUDIT_STATUS" : "CREATE", entityType, entityId,
+                    "Entry " + i, i % 2 == 0 ? auditor : officer, START.plusHours(i)));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void shouldApplyEveryGivenFilterInOneQueryWithoutLoadingUsers() {
+        AuditLogFilter filter = new AuditLogFilter("EXPENSE", null, "UPDATE_AUDIT_STATUS", auditor.getId(),
+                START, START.plusHours(6));
+
+        List<AuditLogDto> logs = auditLogRepository.findAuditLogs(filter, ScrollPosition.keyset(), Limit.of(20)).getContent();
+
+        assertEquals(List.of("Entry 4", "Entry 2"), logs.stream().map(AuditLogDto::getDetails).toList());
+        assertEquals(auditor.getId(), logs.get(0).getPerformedById());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void shouldFilterOnEntityIdAcrossEntityTypes() {
+        List<AuditLogDto> logs = auditLogRepository.findAuditLogs(
+                new AuditLogFilter(null, expenseId, null, null, null, null), ScrollPosition.keyset(), Limit.of(20)).getContent();
+
+        assertEquals(List.of("Entry 3", "Entry 2", "Entry 1", "Entry 0"), logs.stream().map(AuditLogDto::getDetails).toList());
+    }
+
+    @Test
+    void shouldPageNewestFirstWithoutGapsOrRepeats() {
+        List<String> seen = new ArrayList<>();
+        ScrollPosition position = ScrollPosition.keyset();
+        List<Boolean> hasNext = new ArrayList<>();
+        Window<AuditLogDto> page;
+        do {
+            page = auditLogRepository.findAuditLogs(AuditLogFilter.none(), position, Limit.of(3));
+            page.forEach(log -> seen.add(log.getDetails()));
+            hasNext.add(page.hasNext());
+            position = page.hasNext() ? page.positionAt(page.size() - 1) : position;
+        } while (page.hasNext());
+
+        assertEquals(List.of("Entry 6", "Entry 5", "Entry 4", "Entry 3", "Entry 2", "Entry 1", "Entry 0"), seen);
+        assertEquals(List.of(true, true, false), hasNext);
+    }
+
+    private static User user(String email, String role) {
+        User user = new User();
+        user.setFirstName("Jane");
+        user.setLastName("Doe");
+        user.setEmail(email);
+        user.setPassword("hashed");
+        user.setRole(role);
+        return user;
+    }
+}
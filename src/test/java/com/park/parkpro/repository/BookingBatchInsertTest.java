@@ -0,0 +1,76 @@
+package com.park.parkpro.repository;
+
+import com.park.parkpro.domain.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// A group booking is one INSERT for the booking plus one batched INSERT for all of its members
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class BookingBatchInsertTest {
+    private static final int GROUP_SIZE = 20;
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Test
+    void shouldBatchGroupMemberInserts() {
+        Park park = entityManager.persist(new Park("Loango", "Southwest Gabon", "Coastal park"));
+        User visitor = new User();
+        visitor.setFirstName("Jane");
+        visitor.setLastName("Doe");
+        visitor.setEmail("jane@example.com");
+        visitor.setPassword("hashed");
+        visitor.setRole("VISITOR");
+        visitor = entityManager.persist(visitor);
+        Activity activity = new Activity();
+        activity.setName("Safari");
+        activity.setPark(park);
+        activity.setPrice(new BigDecimal("10.00"));
+        activity = entityManager.persist(activity);
+        entityManager.flush();
+
+        Booking booking = new Booking();
+        booking.setVisitor(visitor);
+        booking.setActivity(activity);
+        booking.setPark(park);
+        booking.setAmount(new BigDecimal("200.00"));
+        booking.setStatus("PENDING");
+        booking.setVisitDate(LocalDate.now().plusDays(1));
+        for (int i = 0; i < GROUP_SIZE; i++) {
+            BookingGroupMember member = new BookingGroupMember();
+            member.setBooking(booking);
+            if (i == 0) {
+                member.setUser(visitor);
+            } else {
+                member.setGuestName("Guest " + i);
+                member.setGuestEmail("guest" + i + "@example.com");
+            }
+            booking.getGroupMembers().add(member);
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        bookingRepository.save(booking);
+        entityManager.flush();
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        entityManager.clear();
+        assertEquals(GROUP_SIZE, bookingRepository.findById(booking.getId()).orElseThrow().getGroupMembers().size());
+    }
+}
@@ -0,0 +1,167 @@
+package com.park.parkpro.repository;
+
+import com.park.parkpro.domain.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Walks the same associations as the controller mappers and checks the statement count stays flat
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class ListFetchPlanTest {
+    private static final int ROWS = 5;
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private ExpenseRepository expenseRepository;
+    @Autowired
+    private WithdrawRequestRepository withdrawRequestRepository;
+    @Autowired
+    private FundingRequestRepository fundingRequestRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    private Park park;
+    private Budget budget;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        park = entityManager.persist(new Park("Loango", "Southwest Gabon", "Coastal park"));
+        User user = new User();
+        user.setFirstName("Jane");
+        user.setLastName("Doe");
+        user.setEmail("jane@example.com");
+        user.setPassword("hashed");
+        user.setRole("FINANCE_OFFICER");
+        user = entityManager.persist(user);
+
+        budget = new Budget();
+        budget.setPark(park);
+        budget.setFiscalYear(2025);
+        budget.setTotalAmount(new BigDecimal("1000.00"));
+        budget.setBalance(new BigDecimal("1000.00"));
+        budget.setUnallocated(new BigDecimal("1000.00"));
+        budget.setStatus("APPROVED");
+        budget.setCreatedBy(user);
+        budget = entityManager.persist(budget);
+
+        Activity activity = new Activity();
+        activity.setName("Safari");
+        activity.setPark(park);
+        activity.setPrice(new BigDecimal("10.00"));
+        activity = entityManager.persist(activity);
+
+        for (int i = 0; i < ROWS; i++) {
+            // A category per row so lazy loading would show up as one query per row
+            BudgetCategory category = new BudgetCategory();
+            category.setBudget(budget);
+            category.setName("Category " + i);
+            category.setAllocatedAmount(new BigDecimal("100.00"));
+            category.setUsedAmount(BigDecimal.ZERO);
+            category.setBalance(new BigDecimal("100.00"));
+            category.setSpendingStrategy(SpendingStrategy.EXPENSE);
+            category = entityManager.persist(category);
+
+            entityManager.persist(new Expense(budget, new BigDecimal("10.00"), "Fuel", category, park, user, AuditStatus.PASSED));
+            entityManager.persist(new WithdrawRequest(new BigDecimal("5.00"), "Supplies", null, user,
+                    category, budget, null, WithdrawRequest.WithdrawRequestStatus.PENDING, park));
+
+            FundingRequest fundingRequest = new FundingRequest();
+            fundingRequest.setPark(park);
+            fundingRequest.setBudget(budget);
+            fundingRequest.setBudgetCategory(category);
+            fundingRequest.setRequestedAmount(new BigDecimal("50.00"));
+            fundingRequest.setRequestType("EXTRA_FUNDS");
+            fundingRequest.setReason("Repairs");
+            fundingRequest.setRequester(user);
+            fundingRequest.setStatus("PENDING");
+            fundingRequest.setCurrency("XAF");
+            entityManager.persist(fundingRequest);
+
+            Booking booking = new Booking();
+            booking.setVisitor(user);
+            booking.setActivity(activity);
+            booking.setPark(park);
+            booking.setAmount(new BigDecimal("10.00"));
+            booking.setStatus("CONFIRMED");
+            booking.setVisitDate(LocalDate.of(2025, 6, 1));
+            BookingGroupMember member = new BookingGroupMember();
+            member.setBooking(booking);
+            member.setGuestName("Guest " + i);
+            booking.getGroupMembers().add(member);
+            entityManager.persist(booking);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void expenseListsLoadParkAndCategoryInTheListQuery() {
+        List<Expense> expenses = expenseRepository.findByBudgetId(budget.getId(),
+                ScrollPosition.keyset(), Limit.of(20), Sort.by(Sort.Direction.DESC, "createdAt", "id")).getContent();
+        expenses.forEach(e -> assertNotNull(e.getPark().getName() + e.getBudgetCategory().getName()));
+
+        assertEquals(ROWS, expenses.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void withdrawRequestListsLoadParkAndCategoryInTheListQuery() {
+        List<WithdrawRequest> requests = withdrawRequestRepository.findByBudgetId(budget.getId());
+        requests.forEach(w -> assertNotNull(w.getPark().getName() + w.getBudgetCategory().getName()));
+
+        assertEquals(ROWS, requests.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void fundingRequestListsLoadParkAndCategoryInTheListQuery() {
+        List<FundingRequest> requests = fundingRequestRepository.findByParkIdAndFiscalYear(park.getId(), 2025);
+        requests.forEach(f -> assertNotNull(f.getPark().getName() + f.getBudgetCategory().getName()));
+
+        assertEquals(ROWS, requests.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void bookingPagesLoadGroupMembersInOneBatch() {
+        List<Booking> bookings = bookingRepository.findByParkId(park.getId(),
+                ScrollPosition.keyset(), Limit.of(20), Sort.by(Sort.Direction.DESC, "createdAt", "id")).getContent();
+        bookings.forEach(b -> assertEquals(1, b.getGroupMembers().size()));
+
+        assertEquals(ROWS, bookings.size());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void budgetListsLoadParkInTheListQuery() {
+        List<Budget> budgets = budgetRepository.findByParkId(park.getId());
+        budgets.forEach(b -> assertEquals("Loango", b.getPark().getName()));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,319 @@
+package com.park.parkpro.repository;
+
+import com.park.parkpro.domain.IncomeStreamKind;
+import com.park.parkpro.domain.User;
+import com.park.parkpro.domain.WithdrawRequest;
+import jakarta.persistence.EntityManager;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Builds the schema from the Flyway migrations on H2 in PostgreSQL mode, lets Hibernate validate it
+// against the entities, then EXPLAINs the SQL each finder generates and rejects full table scans.
+// Plans that lean on H2's implicit foreign key indexes must also be served by a migration index.
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:queryplans;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.park.parkpro.repository.QueryPlanTest$CapturingInspector"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class QueryPlanTest {
+    private static final List<String> CAPTURED = new CopyOnWriteArrayList<>();
+    private static final Pattern PLAN_INDEX = Pattern.compile("/\\* public\\.([^:*]+?)(?::|\\*/)");
+    private static final Pattern H2_FOREIGN_KEY_INDEX = Pattern.compile("fk\\w+_INDEX_\\w+");
+
+    public static class CapturingInspector implements StatementInspector {
+        @Override
+        public String inspect(String sql) {
+            CAPTURED.add(sql);
+            return sql;
+        }
+    }
+
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private ActivityRepository activityRepository;
+    @Autowired
+    private ActivityDayCapacityRepository activityDayCapacityRepository;
+    @Autowired
+    private AggregateQueryRepository aggregateQueryRepository;
+    @Autowired
+    private AuditRepository auditRepository;
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private BookingBatchRepository bookingBatchRepository;
+    @Autowired
+    private BudgetRepository budgetRepository;
+    @Autowired
+    private BudgetCategoryRepository budgetCategoryRepository;
+    @Autowired
+    private BudgetLedgerRepository budgetLedgerRepository;
+    @Autowired
+    private DonationRepository donationRepository;
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+    @Autowired
+    private ExpenseRepository expenseRepository;
+    @Autowired
+    private ExportQueryRepository exportQueryRepository;
+    @Autowired
+    private FundingRequestRepository fundingRequestRepository;
+    @Autowired
+    private IncomeStreamRepository incomeStreamRepository;
+    @Autowired
+    private OpportunityRepository opportunityRepository;
+    @Autowired
+    private OpportunityApplicationRepository opportunityApplicationRepository;
+    @Autowired
+    private ParkRepository parkRepository;
+    @Autowired
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private VerificationTokenRepository verificationTokenRepository;
+    @Autowired
+    private WithdrawRequestRepository withdrawRequestRepository;
+
+    private final UUID id = UUID.randomUUID();
+    private final LocalDate from = LocalDate.of(2025, 1, 1);
+    private final LocalDate to = LocalDate.of(2026, 1, 1);
+    private final Sort newestFirst = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+
+    @BeforeEach
+    void setUp() {
+        CAPTURED.clear();
+    }
+
+    @Test
+    void everyFinderUsesAnIndex() throws Exception {
+        User user = entityManager.getReference(User.class, id);
+        Map<String, Runnable> finders = new LinkedHashMap<>();
+        finders.put("activity.findByParkId", () -> activityRepository.findByParkId(id));
+        finders.put("activityDayCapacity.findByActivityIdInAndVisitDateBetween",
+                () -> activityDayCapacityRepository.findByActivityIdInAndVisitDateBetween(List.of(id), from, to));
+        finders.put("activityDayCapacity.findByActivityIdAndVisitDateBetween",
+                () -> activityDayCapacityRepository.findByActivityIdAndVisitDateBetween(id, from, to));
+        finders.put("aggregate.sumExpensesByBudgetId", () -> aggregateQueryRepository.sumExpensesByBudgetId(id));
+        finders.put("aggregate.sumWithdrawsByBudgetIdGroupByStatus", () -> aggregateQueryRepository.sumWithdrawsByBudgetIdGroupByStatus(id));
+        finders.put("aggregate.sumBookingsByParkIdAndVisitDateGroupByStatus",
+                () -> aggregateQueryRepository.sumBookingsByParkIdAndVisitDateGroupByStatus(id, from, to));
+        finders.put("aggregate.sumDonationsByParkIdAndFiscalYearGroupByStatus",
+                () -> aggregateQueryRepository.sumDonationsByParkIdAndFiscalYearGroupByStatus(id, 2025));
+        finders.put("aggregate.sumFundingByBudgetIdGroupByStatus", () -> aggregateQueryRepository.sumFundingByBudgetIdGroupByStatus(id));
+        finders.put("aggregate.countExpensesByAuditStatus", () -> aggregateQueryRepository.countExpensesByAuditStatus(id, 2025));
+        finders.put("aggregate.countWithdrawRequestsByAuditStatus", () -> aggregateQueryRepository.countWithdrawRequestsByAuditStatus(id, 2025));
+        finders.put("aggregate.sumExpensesByBudgetForFiscalYear", () -> aggregateQueryRepository.sumExpensesByBudgetForFiscalYear(2025));
+        finders.put("aggregate.sumWithdrawsByBudgetForFiscalYear", () -> aggregateQueryRepository.sumWithdrawsByBudgetForFiscalYear(
+                2025, WithdrawRequest.WithdrawRequestStatus.APPROVED));
+        finders.put("aggregate.sumBookingsByParkForVisitDate", () -> aggregateQueryRepository.sumBookingsByParkForVisitDate(from, to, "CONFIRMED"));
+        finders.put("aggregate.sumDonationsByParkForFiscalYear", () -> aggregateQueryRepository.sumDonationsByParkForFiscalYear(2025, "CONFIRMED"));
+        finders.put("aggregate.sumFundingByBudgetForFiscalYear", () -> aggregateQueryRepository.sumFundingByBudgetForFiscalYear(2025, "APPROVED"));
+        finders.put("aggregate.countTicketsByVisitDate", () -> aggregateQueryRepository.countTicketsByVisitDate(
+                id, from, to, List.of("PENDING", "CONFIRMED")));
+        finders.put("aggregate.countTicketsByActivityAndVisitDate", () -> aggregateQueryRepository.countTicketsByActivityAndVisitDate(
+                List.of(id), from, to, List.of("PENDING", "CONFIRMED")));
+        finders.put("audit.findByAuditYear", () -> auditRepository.findByAuditYear(2025));
+        finders.put("audit.findByParkIdAndAuditYear", () -> auditRepository.findByParkIdAndAuditYear(id, 2025));
+        finders.put("audit.findByParkId", () -> auditRepository.findByParkId(id));
+        finders.put("auditLog.findAuditLogs", () -> auditLogRepository.findAuditLogs(
+                AuditLogFilter.none(), ScrollPosition.keyset(), Limit.of(20)));
+        finders.put("auditLog.findAuditLogs(after)", () -> auditLogRepository.findAuditLogs(AuditLogFilter.none(),
+                ScrollPosition.forward(Map.of("performedAt", LocalDateTime.now(), "id", id)), Limit.of(20)));
+        finders.put("auditLog.findAuditLogs(entityType)", () -> auditLogRepository.findAuditLogs(
+                new AuditLogFilter("BUDGET", null, null, null, null, null), ScrollPosition.keyset(), Limit.of(20)));
+        finders.put("auditLog.findAuditLogs(entityId)", () -> auditLogRepository.findAuditLogs(
+                new AuditLogFilter(null, id, null, null, null, null), ScrollPosition.keyset(), Limit.of(20)));
+        finders.put("auditLog.findAuditLogs(action)", () -> auditLogRepository.findAuditLogs(
+                new AuditLogFilter(null, null, "UPDATE_AUDIT_STATUS", null, null, null), ScrollPosition.keyset(), Limit.of(20)));
+        finders.put("auditLog.findAuditLogs(performer)", () -> auditLogRepository.findAuditLogs(
+                new AuditLogFilter(null, null, null, id, null, null), ScrollPosition.keyset(), Limit.of(20)));
+        finders.put("auditLog.findAuditLogs(range)", () -> auditLogRepository.findAuditLogs(
+                new AuditLogFilter(null, null, null, null, from.atStartOfDay(), to.atStartOfDay()), ScrollPosition.keyset(), Limit.of(20)));
+        finders.put("bookingBatch.findPendingIdsCreatedBefore", () -> bookingBatchRepository.findPendingIdsCreatedBefore(LocalDateTime.now()));
+        finders.put("bookingBatch.findPendingPaymentsCreatedBetween", () -> bookingBatchRepository.findPendingPaymentsCreatedBetween(
+                LocalDateTime.now().minusHours(1), LocalDateTime.now()));
+        finders.put("booking.findByBatchId", () -> bookingRepository.findByBatchId(id));
+        finders.put("booking.findByVisitorId", () -> bookingRepository.findByVisitorId(id));
+        finders.put("booking.findByParkId", () -> bookingRepository.findByParkId(id));
+        finders.put("booking.findByGroupMemberUserId", () -> bookingRepository.findByGroupMemberUserId(id));
+        finders.put("booking.countByActivityIdAndVisitDateAndStatus",
+                () -> bookingRepository.countByActivityIdAndVisitDateAndStatus(id, from, "CONFIRMED"));
+        finders.put("booking.countTicketsByActivityIdAndVisitDateAndStatusIn",
+                () -> bookingRepository.countTicketsByActivityIdAndVisitDateAndStatusIn(id, from, List.of("CONFIRMED")));
+        finders.put("booking.findPendingPaymentsCreatedBetween", () -> bookingRepository.findPendingPaymentsCreatedBetween(
+                LocalDateTime.now().minusHours(1), LocalDateTime.now()));
+        finders.put("booking.findPendingIdsCreatedBefore", () -> bookingRepository.findPendingIdsCreatedBefore(LocalDateTime.now()));
+        finders.put("booking.findByParkId(window)", () -> bookingRepository.findByParkId(
+                id, ScrollPosition.keyset(), Limit.of(20), newestFirst));
+        finders.put("booking.findByVisitorId(window)", () -> bookingRepository.findByVisitorId(
+                id, ScrollPosition.keyset(), Limit.of(20), newestFirst));
+        finders.put("budget.findByParkId", () -> budgetRepository.findByParkId(id));
+        finders.put("budget.findByParkIdAndFiscalYear", () -> budgetRepository.findByParkIdAndFiscalYear(id, 2025));
+        finders.put("budget.findIdByParkIdAndFiscalYear", () -> budgetRepository.findIdByParkIdAndFiscalYear(id, 2025));
+        finders.put("budget.findParkIdsWithBudget", () -> budgetRepository.findParkIdsWithBudget(List.of(id), 2025));
+        finders.put("budget.findByFiscalYear", () -> budgetRepository.findByFiscalYear(2025));
+        finders.put("budget.findByFiscalYearWithParkAndUsers", () -> budgetRepository.findByFiscalYearWithParkAndUsers(2025));
+        finders.put("budget.sumCategoryBalances", () -> budgetRepository.sumCategoryBalances(id));
+        finders.put("budget.findVersionById", () -> budgetRepository.findVersionById(id));
+        finders.put("budget.findVersionByParkId", () -> budgetRepository.findVersionByParkId(id));
+        finders.put("budgetCategory.findByBudgetId", () -> budgetCategoryRepository.findByBudgetId(id));
+        finders.put("budgetCategory.sumAllocatedAmountByBudgetId", () -> budgetCategoryRepository.sumAllocatedAmountByBudgetId(id));
+        finders.put("budgetCategory.findVersionByBudgetId", () -> budgetCategoryRepository.findVersionByBudgetId(id));
+        finders.put("budgetLedger.findByBudgetId", () -> budgetLedgerRepository.findByBudgetId(id));
+        finders.put("donation.findByDonorId", () -> donationRepository.findByDonorId(id));
+        finders.put("donation.findByParkId", () -> donationRepository.findByParkId(id));
+        finders.put("donation.findByParkIdAndFiscalYear", () -> donationRepository.findByParkIdAndFiscalYear(id, 2025));
+        finders.put("donation.findVersionByParkId", () -> donationRepository.findVersionByParkId(id));
+        finders.put("donation.findVersionByParkIdAndFiscalYear", () -> donationRepository.findVersionByParkIdAndFiscalYear(id, 2025));
+        finders.put("emailOutbox.findDueForUpdate", () -> emailOutboxRepository.findDueForUpdate(LocalDateTime.now(), Limit.of(50)));
+        finders.put("donation.findTopDonorsByPark", () -> donationRepository.findTopDonorsByPark(id));
+        finders.put("expense.findByBudgetCategoryId", () -> expenseRepository.findByBudgetCategoryId(id));
+        finders.put("expense.findByParkId", () -> expenseRepository.findByParkId(id));
+        finders.put("expense.findByBudgetId", () -> expenseRepository.findByBudgetId(id));
+        finders.put("expense.findByCreatedById", () -> expenseRepository.findByCreatedById(id));
+        finders.put("expense.findByCreatedByIdAndBudgetId", () -> expenseRepository.findByCreatedByIdAndBudgetId(id, id));
+        finders.put("expense.findByParkIdAndYear", () -> expenseRepository.findByParkIdAndYear(id, 2025));
+        finders.put("expense.findByParkId(window)", () -> expenseRepository.findByParkId(
+                id, ScrollPosition.keyset(), Limit.of(20), newestFirst));
+        finders.put("expense.findByBudgetId(window)", () -> expenseRepository.findByBudgetId(
+                id, ScrollPosition.keyset(), Limit.of(20), newestFirst));
+        finders.put("export.streamExpenses", () -> exportQueryRepository.streamExpenses(id, 2025).close());
+        finders.put("export.streamWithdrawRequests", () -> exportQueryRepository.streamWithdrawRequests(id, 2025).close());
+        finders.put("export.streamBookings", () -> exportQueryRepository.streamBookings(id, from, to).close());
+        finders.put("export.streamDonations", () -> exportQueryRepository.streamDonations(id, 2025).close());
+        finders.put("fundingRequest.findByParkId", () -> fundingRequestRepository.findByParkId(id));
+        finders.put("fundingRequest.findByParkIdAndFiscalYear", () -> fundingRequestRepository.findByParkIdAndFiscalYear(id, 2025));
+        finders.put("fundingRequest.findByBudgetId", () -> fundingRequestRepository.findByBudgetId(id));
+        finders.put("fundingRequest.findByFiscalYear", () -> fundingRequestRepository.findByFiscalYear(2025));
+        finders.put("fundingRequest.findByBudgetFiscalYear(window)", () -> fundingRequestRepository.findByBudgetFiscalYear(
+                2025, ScrollPosition.keyset(), Limit.of(20), newestFirst));
+        finders.put("incomeStream.findByBudgetId", () -> incomeStreamRepository.findByBudgetId(id));
+        finders.put("incomeStream.findByBudgetIdAndNameContaining", () -> incomeStreamRepository.findByBudgetIdAndNameContaining(id, "Bookings"));
+        finders.put("incomeStream.findIdByBudgetIdAndKind", () -> incomeStreamRepository.findIdByBudgetIdAndKind(id, IncomeStreamKind.BOOKINGS));
+        finders.put("incomeStream.findUntypedIdsByBudgetIdAndNameContaining",
+                () -> incomeStreamRepository.findUntypedIdsByBudgetIdAndNameContaining(id, "Bookings"));
+        finders.put("incomeStream.findByParkIdAndFiscalYear", () -> incomeStreamRepository.findByParkIdAndFiscalYear(id, 2025));
+        finders.put("incomeStream.findVersionByBudgetId", () -> incomeStreamRepository.findVersionByBudgetId(id));
+        finders.put("incomeStream.findVersionByParkIdAndFiscalYear", () -> incomeStreamRepository.findVersionByParkIdAndFiscalYear(id, 2025));
+        finders.put("incomeStream.sumPercentageByBudgetId", () -> incomeStreamRepository.sumPercentageByBudgetId(id));
+        finders.put("incomeStream.sumTotalContributionByBudgetIdExcluding",
+                () -> incomeStreamRepository.sumTotalContributionByBudgetIdExcluding(id, UUID.randomUUID()));
+        finders.put("opportunity.findByVisibility", () -> opportunityRepository.findByVisibility("PUBLIC"));
+        finders.put("opportunity.findByCreatedById", () -> opportunityRepository.findByCreatedById(id));
+        finders.put("opportunity.findByParkId", () -> opportunityRepository.findByParkId(id));
+        finders.put("opportunity.findByParkIdAndVisibility", () -> opportunityRepository.findByParkIdAndVisibility(id, "PUBLIC"));
+        finders.put("opportunity.findByVisibility(window)", () -> opportunityRepository.findByVisibility(
+                "PUBLIC", ScrollPosition.keyset(), Limit.of(20), newestFirst));
+        finders.put("opportunityApplication.findByOpportunityId", () -> opportunityApplicationRepository.findByOpportunityId(id));
+        finders.put("opportunityApplication.findByEmail", () -> opportunityApplicationRepository.findByEmail("jane@example.com"));
+        finders.put("opportunityApplication.findByParkId", () -> opportunityApplicationRepository.findByParkId(id));
+        finders.put("park.findByName", () -> parkRepository.findByName("Loango"));
+        finders.put("passwordResetToken.findByToken", () -> passwordResetTokenRepository.findByToken("token"));
+        finders.put("passwordResetToken.findByUser", () -> passwordResetTokenRepository.findByUser(user));
+        finders.put("user.findByEmail", () -> userRepository.findByEmail("jane@example.com"));
+        finders.put("user.findByRole", () -> userRepository.findByRole("ADMIN"));
+        finders.put("user.findByParkId", () -> userRepository.findByParkId(id));
+        finders.put("user.findByRole(window)", () -> userRepository.findByRole(
+                "ADMIN", ScrollPosition.keyset(), Limit.of(20), newestFirst));
+        finders.put("user.findByParkId(window)", () -> userRepository.findByParkId(
+                id, ScrollPosition.keyset(), Limit.of(20), newestFirst));
+        finders.put("verificationToken.findByTokenAndUser", () -> verificationTokenRepository.findByTokenAndUser("token", user));
+        finders.put("verificationToken.findByUser", () -> verificationTokenRepository.findByUser(user));
+        finders.put("withdrawRequest.findByBudgetCategoryId", () -> withdrawRequestRepository.findByBudgetCategoryId(id));
+        finders.put("withdrawRequest.findByBudgetId", () -> withdrawRequestRepository.findByBudgetId(id));
+        finders.put("withdrawRequest.findByRequesterId", () -> withdrawRequestRepository.findByRequesterId(id));
+        finders.put("withdrawRequest.findByRequesterIdAndBudgetId", () -> withdrawRequestRepository.findByRequesterIdAndBudgetId(id, id));
+        finders.put("withdrawRequest.findByParkIdAndYear", () -> withdrawRequestRepository.findByParkIdAndYear(id, 2025));
+
+        Map<String, String> leadingColumns = leadingColumnsByIndex();
+        Set<String> declared = leadingColumns.entrySet().stream()
+                .filter(index -> !H2_FOREIGN_KEY_INDEX.matcher(index.getKey()).matches())
+                .map(Map.Entry::getValue)
+                .collect(Collectors.toSet());
+
+        List<String> scans = new ArrayList<>();
+        for (Map.Entry<String, Runnable> finder : finders.entrySet()) {
+            CAPTURED.clear();
+            finder.getValue().run();
+            assertFalse(CAPTURED.isEmpty(), finder.getKey() + " issued no SQL");
+            for (String sql : CAPTURED) {
+                String plan = explain(sql);
+                if (plan.contains("tableScan")) {
+                    scans.add(finder.getKey() + ":\n" + plan);
+                }
+                // H2 indexes every foreign key on its own, PostgreSQL does not
+                Matcher used = PLAN_INDEX.matcher(plan);
+                while (used.find()) {
+                    String index = used.group(1).trim();
+                    if (H2_FOREIGN_KEY_INDEX.matcher(index).matches() && !declared.contains(leadingColumns.get(index))) {
+                        scans.add(finder.getKey() + ": no migration index leads with " + leadingColumns.get(index));
+                    }
+                }
+            }
+        }
+        assertTrue(scans.isEmpty(), "Finders scanning whole tables:\n" + String.join("\n\n", scans));
+    }
+
+    private Map<String, String> leadingColumnsByIndex() throws Exception {
+        Map<String, String> columns = new HashMap<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT index_name, table_name, column_name " +
+                     "FROM information_schema.index_columns WHERE index_schema = 'public' AND ordinal_position = 1");
+             ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                columns.put(resultSet.getString(1), resultSet.getString(2) + "." + resultSet.getString(3));
+            }
+        }
+        return columns;
+    }
+
+    // H2 reports a sequential scan as "/* table.tableScan */" in the plan text
+    private String explain(String sql) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            int parameters = statement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameters; i++) {
+                statement.setObject(i, null);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getString(1);
+            }
+        }
+    }
+}
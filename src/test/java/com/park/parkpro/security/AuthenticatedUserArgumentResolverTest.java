@@ -0,0 +1,54 @@
+package com.park.parkpro.security;
+
+import com.park.parkpro.exception.UnauthorizedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.lang.Nullable;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthenticatedUserArgumentResolverTest {
+    private final AuthenticatedUserArgumentResolver resolver = new AuthenticatedUserArgumentResolver();
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldResolvePrincipalSetByJwtFilter() throws Exception {
+        ParkProUserDetails principal = new ParkProUserDetails(UUID.randomUUID(), "jane@example.com", "hashed",
+                "PARK_MANAGER", UUID.randomUUID());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, "token", principal.getAuthorities()));
+
+        AuthenticatedUser resolved = resolver.resolveArgument(parameter("required"), null, null, null);
+
+        assertSame(principal.getAuthenticatedUser(), resolved);
+        assertTrue(resolved.isAssignedTo(principal.getParkId()));
+    }
+
+    @Test
+    void shouldRejectMissingPrincipalUnlessNullable() throws Exception {
+        assertThrows(UnauthorizedException.class, () -> resolver.resolveArgument(parameter("required"), null, null, null));
+        assertNull(resolver.resolveArgument(parameter("optional"), null, null, null));
+    }
+
+    private MethodParameter parameter(String methodName) throws NoSuchMethodException {
+        return new MethodParameter(Handlers.class.getDeclaredMethod(methodName, AuthenticatedUser.class), 0);
+    }
+
+    @SuppressWarnings("unused")
+    static class Handlers {
+        void required(AuthenticatedUser currentUser) {
+        }
+
+        void optional(@Nullable AuthenticatedUser currentUser) {
+        }
+    }
+}
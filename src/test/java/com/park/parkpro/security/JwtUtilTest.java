@@ -0,0 +1,73 @@
+package com.park.parkpro.security;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilTest {
+    private static final String SECRET = "x".repeat(64);
+
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil(SECRET, 3_600_000L, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldParseClaimsOnceAndServeRepeatsFromCache() {
+        String token = jwtUtil.generateToken("jane@example.com", "ADMIN");
+
+        TokenClaims first = jwtUtil.parseToken(token);
+        TokenClaims second = jwtUtil.parseToken(token);
+
+        assertEquals("jane@example.com", first.email());
+        assertEquals("ADMIN", first.role());
+        assertSame(first, second);
+    }
+
+    @Test
+    void shouldRejectTokenSignedWithAnotherKey() {
+        String foreign = new JwtUtil("y".repeat(64), 3_600_000L, 100).generateToken("jane@example.com", "ADMIN");
+
+        assertThrows(JwtException.class, () -> jwtUtil.parseToken(foreign));
+        assertFalse(jwtUtil.validateToken(foreign));
+    }
+
+    @Test
+    void shouldRejectTokenWithoutExpiration() {
+        String token = Jwts.builder()
+                .subject("jane@example.com")
+                .claim("role", "ADMIN")
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), Jwts.SIG.HS512)
+                .compact();
+
+        assertThrows(JwtException.class, () -> jwtUtil.parseToken(token));
+        assertFalse(jwtUtil.validateToken(token));
+    }
+
+    @Test
+    void shouldReadEmailFromSecurityContextForCurrentToken() {
+        String token = jwtUtil.generateToken("jane@example.com", "ADMIN");
+        UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken("jane@example.com", token, List.of());
+        auth.setDetails(new TokenClaims("from-context@example.com", "ADMIN", java.time.Instant.now().plusSeconds(60)));
+        SecurityContextHolder.getContext().setAuthentication(auth);
+
+        assertEquals("from-context@example.com", jwtUtil.getEmailFromToken(token));
+    }
+}
@@ -0,0 +1,76 @@
+package com.park.parkpro.security;
+
+import com.park.parkpro.domain.User;
+import com.park.parkpro.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserDetailsServiceImplTest {
+    @Mock
+    private UserRepository userRepository;
+
+    private UserDetailsServiceImpl userDetailsService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        userDetailsService = new UserDetailsServiceImpl(userRepository, Duration.ofMinutes(1), 100);
+        user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("jane@example.com");
+        user.setPassword("hashed");
+        user.setRole("FINANCE_OFFICER");
+        when(userRepository.findByEmail("jane@example.com")).thenReturn(Optional.of(user));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldServeRepeatLookupsFromCache() {
+        UserDetails first = userDetailsService.loadUserByUsername("jane@example.com");
+        UserDetails second = userDetailsService.loadUserByUsername("jane@example.com");
+
+        assertSame(first, second);
+        assertEquals("ROLE_FINANCE_OFFICER", first.getAuthorities().iterator().next().getAuthority());
+        verify(userRepository, times(1)).findByEmail("jane@example.com");
+    }
+
+    @Test
+    void shouldReloadAfterEviction() {
+        userDetailsService.loadUserByUsername("jane@example.com");
+        user.setRole("AUDITOR");
+
+        userDetailsService.evict("jane@example.com");
+        ParkProUserDetails reloaded = (ParkProUserDetails) userDetailsService.loadUserByUsername("jane@example.com");
+
+        assertEquals("AUDITOR", reloaded.getRole());
+        verify(userRepository, times(2)).findByEmail("jane@example.com");
+    }
+
+    @Test
+    void shouldReuseRequestPrincipalWithoutLookup() {
+        ParkProUserDetails principal = ParkProUserDetails.from(user);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, "token", principal.getAuthorities()));
+
+        assertSame(principal, userDetailsService.loadUserByUsername("jane@example.com"));
+        verifyNoInteractions(userRepository);
+    }
+}
@@ -0,0 +1,185 @@
+package com.park.parkpro.service;
+
+import com.park.parkpro.domain.*;
+import com.park.parkpro.dto.ActivityAvailabilityDto;
+import com.park.parkpro.exception.BadRequestException;
+import com.park.parkpro.repository.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(ActivityCapacityService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ActivityCapacityServiceTest {
+    @Autowired
+    private ActivityCapacityService activityCapacityService;
+    @Autowired
+    private ActivityDayCapacityRepository capacityRepository;
+    @Autowired
+    private ActivityRepository activityRepository;
+    @Autowired
+    private ParkRepository parkRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final LocalDate visitDate = LocalDate.now().plusDays(7);
+    private Activity activity;
+
+    @BeforeEach
+    void setUp() {
+        Park park = parkRepository.save(new Park("Loango", "Southwest Gabon", "Coastal park"));
+        activity = new Activity();
+        activity.setName("Safari");
+        activity.setPark(park);
+        activity.setPrice(new BigDecimal("10.00"));
+        activity.setCapacityPerDay(5);
+        activity = activityRepository.save(activity);
+    }
+
+    @AfterEach
+    void tearDown() {
+        capacityRepository.deleteAll();
+        bookingRepository.deleteAll();
+        activityRepository.deleteAll();
+        userRepository.deleteAll();
+        parkRepository.deleteAll();
+    }
+
+    @Test
+    void shouldAdmitBatchRequestsInOrderWhileTheyFit() {
+        LocalDate nextDay = visitDate.plusDays(1);
+        List<ActivityCapacityService.TicketRequest> requests = List.of(
+                new ActivityCapacityService.TicketRequest(activity, visitDate, 3),
+                new ActivityCapacityService.TicketRequest(activity, visitDate, 3),
+                new ActivityCapacityService.TicketRequest(activity, visitDate, 2),
+                new ActivityCapacityService.TicketRequest(activity, nextDay, 5));
+
+        assertEquals(Set.of(1), activityCapacityService.reserveAll(requests));
+
+        assertThrows(BadRequestException.class, () -> activityCapacityService.reserve(activity, visitDate, 1));
+        assertThrows(BadRequestException.class, () -> activityCapacityService.reserve(activity, nextDay, 1));
+    }
+
+    @Test
+    void shouldRejectReservationBeyondRemainingTicketsAndRestoreThemOnRelease() {
+        activityCapacityService.reserve(activity, visitDate, 3);
+
+        assertThrows(BadRequestException.class, () -> activityCapacityService.reserve(activity, visitDate, 3));
+
+        activityCapacityService.release(activity.getId(), visitDate, 3);
+        activityCapacityService.reserve(activity, visitDate, 5);
+        assertThrows(BadRequestException.class, () -> activityCapacityService.reserve(activity, visitDate, 1));
+    }
+
+    @Test
+    void shouldKeepCounterSeededConcurrently() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        assertEquals(Integer.valueOf(1), transaction.execute(status -> capacityRepository.insertIfAbsent(
+                UUID.randomUUID(), activity, visitDate, 2, LocalDateTime.now())));
+        assertEquals(Integer.valueOf(0), transaction.execute(status -> capacityRepository.insertIfAbsent(
+                UUID.randomUUID(), activity, visitDate, 5, LocalDateTime.now())));
+
+        activityCapacityService.reserve(activity, visitDate, 2);
+
+        assertThrows(BadRequestException.class, () -> activityCapacityService.reserve(activity, visitDate, 1));
+        assertEquals(1, capacityRepository.count());
+    }
+
+    @Test
+    void shouldSeedCounterFromExistingTickets() {
+        User visitor = new User();
+        visitor.setFirstName("Jane");
+        visitor.setLastName("Doe");
+        visitor.setEmail("jane@example.com");
+        visitor.setPassword("hashed");
+        visitor.setRole("VISITOR");
+        visitor = userRepository.save(visitor);
+        Booking booking = new Booking();
+        booking.setVisitor(visitor);
+        booking.setActivity(activity);
+        booking.setPark(activity.getPark());
+        booking.setAmount(new BigDecimal("40.00"));
+        booking.setVisitDate(visitDate);
+        booking.setStatus("CONFIRMED");
+        for (int i = 0; i < 4; i++) {
+            BookingGroupMember member = new BookingGroupMember();
+            member.setBooking(booking);
+            member.setGuestName("Guest " + i);
+            member.setGuestEmail("guest" + i + "@example.com");
+            booking.getGroupMembers().add(member);
+        }
+        bookingRepository.save(booking);
+
+        activityCapacityService.reserve(activity, visitDate, 1);
+
+        assertThrows(BadRequestException.class, () -> activityCapacityService.reserve(activity, visitDate, 1));
+    }
+
+    @Test
+    void shouldServeAvailabilityAndRefreshItAfterReservations() {
+        activityCapacityService.reserve(activity, visitDate, 2);
+
+        List<ActivityAvailabilityDto> days = activityCapacityService.getAvailability(activity, visitDate, visitDate.plusDays(1));
+        assertEquals(2, days.size());
+        assertEquals(3, days.get(0).remaining());
+        assertEquals(5, days.get(1).remaining());
+
+        activityCapacityService.reserve(activity, visitDate, 3);
+
+        ActivityAvailabilityDto soldOut = activityCapacityService.getAvailability(activity, visitDate, visitDate).get(0);
+        assertEquals(0, soldOut.remaining());
+        assertFalse(soldOut.available());
+    }
+
+    @Test
+    void shouldNotOversellUnderConcurrentReservations() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        AtomicInteger reserved = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            futures.add(executor.submit(() -> {
+                try {
+                    activityCapacityService.reserve(activity, visitDate, 1);
+                    reserved.incrementAndGet();
+                } catch (BadRequestException e) {
+                    // sold out
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertEquals(5, reserved.get());
+        assertEquals(1, capacityRepository.count());
+    }
+}
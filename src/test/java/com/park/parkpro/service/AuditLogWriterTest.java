@@ -0,0 +1,216 @@
+package com.park.parkpro.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AuditLogWriterTest {
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path walDirectory;
+
+    @Test
+    void shouldWriteCommittedEntriesInBackgroundAndTruncateTheWal() throws Exception {
+        Path wal = walDirectory.resolve("audit.wal");
+        AuditLogWriter writer = writer(wal, 10, Duration.ofMillis(50));
+        writer.start();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        transaction.executeWithoutResult(status -> {
+            for (int i = 0; i < 25; i++) {
+                writer.append(AuditLogWriter.Entry.of("UPDATE", "COMMITTED", UUID.randomUUID(), "Entry " + i, null));
+            }
+            assertEquals(0, count("COMMITTED"), "nothing is queued before commit");
+        });
+        transaction.executeWithoutResult(status -> {
+            writer.append(AuditLogWriter.Entry.of("UPDATE", "ROLLED_BACK", UUID.randomUUID(), "Never written", null));
+            status.setRollbackOnly();
+        });
+
+        awaitCount("COMMITTED", 25);
+        writer.stop();
+        assertEquals(0, count("ROLLED_BACK"));
+        assertEquals(0, Files.size(wal));
+    }
+
+    @Test
+    void shouldReplayEntriesLeftInTheWalAfterACrash() throws Exception {
+        Path wal = walDirectory.resolve("audit.wal");
+        // Waits an hour for a full batch, so nothing reaches the database before the "crash"
+        AuditLogWriter crashed = writer(wal, 1000, Duration.ofHours(1));
+        crashed.start();
+        List<AuditLogWriter.Entry> entries = List.of(
+                AuditLogWriter.Entry.of("UPDATE", "RECOVERED", UUID.randomUUID(), "First", null),
+                AuditLogWriter.Entry.of("UPDATE", "RECOVERED", UUID.randomUUID(), "Second", null),
+                AuditLogWriter.Entry.of("UPDATE", "RECOVERED", UUID.randomUUID(), "Third", null));
+        entries.forEach(crashed::append);
+        // The first entry made it to the database before the crash, the WAL still holds it
+        AuditLogWriter.Entry first = entries.get(0);
+        jdbcTemplate.update("INSERT INTO audit_log (id, action, entity_type, entity_id, details, performed_at) VALUES (?, ?, ?, ?, ?, ?)",
+                first.id(), first.action(), first.entityType(), first.entityId(), first.details(), Timestamp.valueOf(first.performedAt()));
+        Files.writeString(wal, "{\"id\":\"torn", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        assertEquals(1, count("RECOVERED"));
+
+        AuditLogWriter restarted = writer(wal, 1000, Duration.ofMillis(50));
+        restarted.start();
+        restarted.stop();
+
+        assertEquals(3, count("RECOVERED"));
+        assertEquals("Third", jdbcTemplate.queryForObject("SELECT details FROM audit_log WHERE id = ?", String.class,
+                entries.get(2).id()));
+    }
+
+    @Test
+    void shouldSetAsideRejectedEntryWithoutHoldingBackTheRestOfTheBatch() throws Exception {
+        Path wal = walDirectory.resolve("audit.wal");
+        AuditLogWriter writer = writer(wal, 10, Duration.ofMillis(50));
+        writer.start();
+        // No such user, so the performed_by foreign key rejects the entry for good
+        AuditLogWriter.Entry orphan = AuditLogWriter.Entry.of("UPDATE", "REJECTED_BATCH", UUID.randomUUID(), "Orphan", UUID.randomUUID());
+        AuditLogWriter.Entry justified = AuditLogWriter.Entry.of("UPDATE", "REJECTED_BATCH", UUID.randomUUID(), "x".repeat(500), null);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            writer.append(AuditLogWriter.Entry.of("UPDATE", "REJECTED_BATCH", UUID.randomUUID(), "Before", null));
+            writer.append(orphan);
+            writer.append(justified);
+        });
+
+        awaitCount("REJECTED_BATCH", 2);
+        writer.stop();
+        assertEquals(255, jdbcTemplate.queryForObject("SELECT details FROM audit_log WHERE id = ?", String.class,
+                justified.id()).length());
+        assertEquals(0, Files.size(wal));
+        assertTrue(Files.readString(walDirectory.resolve("audit.wal.rejected")).contains(orphan.id().toString()));
+    }
+
+    @Test
+    void shouldReplayAroundRejectedAndRolledBackEntries() throws Exception {
+        Path wal = walDirectory.resolve("audit.wal");
+        AuditLogWriter.Entry kept = AuditLogWriter.Entry.of("UPDATE", "REPLAYED", UUID.randomUUID(), "Kept", null);
+        AuditLogWriter.Entry orphan = AuditLogWriter.Entry.of("UPDATE", "REPLAYED", UUID.randomUUID(), "Orphan", UUID.randomUUID());
+        AuditLogWriter.Entry rolledBack = AuditLogWriter.Entry.of("UPDATE", "REPLAYED", UUID.randomUUID(), "Rolled back", null);
+        Files.writeString(wal, objectMapper.writeValueAsString(kept) + "\n"
+                + objectMapper.writeValueAsString(orphan) + "\n"
+                + objectMapper.writeValueAsString(rolledBack) + "\n"
+                + "-" + rolledBack.id() + "\n"
+                + "{\"id\":\"" + UUID.randomUUID() + "\",\"entityType\":\"REPLAYED\"}\n", StandardCharsets.UTF_8);
+
+        AuditLogWriter restarted = writer(wal, 1000, Duration.ofMillis(50));
+        restarted.start();
+        restarted.stop();
+
+        assertEquals(1, count("REPLAYED"));
+        assertEquals("Kept", jdbcTemplate.queryForObject("SELECT details FROM audit_log WHERE id = ?", String.class, kept.id()));
+        assertEquals(0, Files.size(wal));
+        assertTrue(Files.readString(walDirectory.resolve("audit.wal.rejected")).contains(orphan.id().toString()));
+    }
+
+    @Test
+    void shouldKeepEveryAppendedEntryInTheWalOrTheDatabaseWhileBatchesAreMarkedWritten() throws Exception {
+        Path wal = walDirectory.resolve("audit.wal");
+        CountDownLatch crash = new CountDownLatch(1);
+        AtomicInteger batches = new AtomicInteger();
+        // Freezes the flusher in its 1501st batch, nothing reaches the database or truncates the WAL after that
+        JdbcTemplate freezing = new JdbcTemplate(jdbcTemplate.getDataSource()) {
+            @Override
+            public <T> int[][] batchUpdate(String sql, Collection<T> batchArgs, int batchSize,
+                                           ParameterizedPreparedStatementSetter<T> pss) {
+                if (batches.incrementAndGet() > 1500) {
+                    try {
+                        crash.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.batchUpdate(sql, batchArgs, batchSize, pss);
+            }
+        };
+        AuditLogWriter writer = new AuditLogWriter(freezing, objectMapper, 10_000, 1, Duration.ofMillis(1), true, wal, false);
+        writer.start();
+        List<AuditLogWriter.Entry> entries = new CopyOnWriteArrayList<>();
+        ExecutorService appenders = Executors.newFixedThreadPool(8);
+        try {
+            for (int thread = 0; thread < 8; thread++) {
+                appenders.submit(() -> {
+                    for (int i = 0; i < 400; i++) {
+                        AuditLogWriter.Entry entry = AuditLogWriter.Entry.of("UPDATE", "RACED", UUID.randomUUID(), "Entry " + i, null);
+                        entries.add(entry);
+                        writer.append(entry);
+                    }
+                });
+            }
+            appenders.shutdown();
+            assertTrue(appenders.awaitTermination(30, TimeUnit.SECONDS));
+            long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+            while (batches.get() <= 1500 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertTrue(batches.get() > 1500);
+
+            Set<String> kept = new HashSet<>();
+            for (String line : Files.readAllLines(wal, StandardCharsets.UTF_8)) {
+                kept.add(objectMapper.readValue(line, AuditLogWriter.Entry.class).id().toString());
+            }
+            kept.addAll(jdbcTemplate.queryForList("SELECT CAST(id AS VARCHAR) FROM audit_log WHERE entity_type = 'RACED'", String.class));
+            for (AuditLogWriter.Entry entry : entries) {
+                assertTrue(kept.contains(entry.id().toString()), "entry " + entry.id() + " is neither in the WAL nor in the database");
+            }
+        } finally {
+            crash.countDown();
+            writer.stop();
+        }
+    }
+
+    private AuditLogWriter writer(Path wal, int batchSize, Duration flushInterval) {
+        return new AuditLogWriter(jdbcTemplate, objectMapper, 100, batchSize, flushInterval, true, wal, true);
+    }
+
+    private void awaitCount(String entityType, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (count(entityType) < expected && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(expected, count(entityType));
+    }
+
+    private int count(String entityType) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM audit_log WHERE entity_type = ?", Integer.class, entityType);
+    }
+}
@@ -0,0 +1,95 @@
+package com.park.parkpro.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class BookingPaymentProcessorTest {
+    @Mock
+    private BookingService bookingService;
+
+    private FakeStripeService stripeService;
+    private BookingPaymentProcessor processor;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        stripeService = new FakeStripeService();
+        processor = new BookingPaymentProcessor(stripeService, bookingService, new SyncTaskExecutor(), Duration.ofMinutes(5));
+    }
+
+    @Test
+    void shouldChargeAndFinalizeReservedBooking() {
+        UUID bookingId = UUID.randomUUID();
+
+        processor.onBookingReserved(new BookingReservedEvent(bookingId, 5000L, "XAF", "Booking for Safari (1 tickets)", "pm_card_visa"));
+
+        ArgumentCaptor<PaymentResult> payment = ArgumentCaptor.forClass(PaymentResult.class);
+        verify(bookingService).finalizeBooking(eq(bookingId), payment.capture());
+        assertTrue(payment.getValue().succeeded());
+        assertEquals(List.of(bookingId.toString()), stripeService.getChargedBookingIds());
+    }
+
+    @Test
+    void shouldFinalizeDeclinedPaymentAsFailure() {
+        UUID bookingId = UUID.randomUUID();
+
+        processor.onBookingReserved(new BookingReservedEvent(bookingId, 5000L, "XAF", "Booking for Safari (1 tickets)",
+                FakeStripeService.DECLINED_PAYMENT_METHOD));
+
+        ArgumentCaptor<PaymentResult> payment = ArgumentCaptor.forClass(PaymentResult.class);
+        verify(bookingService).finalizeBooking(eq(bookingId), payment.capture());
+        assertFalse(payment.getValue().succeeded());
+    }
+
+    @Test
+    void shouldChargeBookingBatchOnceAndFinalizeIt() {
+        UUID batchId = UUID.randomUUID();
+
+        processor.onBookingBatchReserved(new BookingBatchReservedEvent(batchId, 250000L, "XAF",
+                "Bulk booking of 100 tickets in 40 bookings", "pm_card_visa"));
+
+        ArgumentCaptor<PaymentResult> payment = ArgumentCaptor.forClass(PaymentResult.class);
+        verify(bookingService).finalizeBatch(eq(batchId), payment.capture());
+        assertTrue(payment.getValue().succeeded());
+        assertEquals(List.of(batchId.toString()), stripeService.getChargedBookingIds());
+        verify(bookingService, never()).finalizeBooking(any(), any());
+    }
+
+    @Test
+    void shouldLeaveBookingPendingWhenPaymentQueueIsFull() {
+        TaskExecutor fullExecutor = task -> {
+            throw new TaskRejectedException("queue full");
+        };
+        processor = new BookingPaymentProcessor(stripeService, bookingService, fullExecutor, Duration.ofMinutes(5));
+
+        processor.onBookingReserved(new BookingReservedEvent(UUID.randomUUID(), 5000L, "XAF", "Booking", "pm_card_visa"));
+
+        assertTrue(stripeService.getChargedBookingIds().isEmpty());
+        verify(bookingService, never()).finalizeBooking(any(), any());
+    }
+
+    @Test
+    void shouldExpireBookingsOlderThanRetryWindow() {
+        processor.retryPendingPayments();
+
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(bookingService).expirePendingPayments(cutoff.capture());
+        assertTrue(cutoff.getValue().isBefore(LocalDateTime.now().minusHours(22)));
+    }
+}
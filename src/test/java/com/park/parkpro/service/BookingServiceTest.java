@@ -0,0 +1,322 @@
+package com.park.parkpro.service;
+
+import com.park.parkpro.domain.*;
+import com.park.parkpro.dto.CreateBookingRequestDto;
+import com.park.parkpro.exception.NotFoundException;
+import com.park.parkpro.repository.*;
+import com.park.parkpro.security.AuthenticatedUser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class BookingServiceTest {
+    @Mock
+    private BookingRepository bookingRepository;
+    @Mock
+    private ActivityRepository activityRepository;
+    @Mock
+    private ParkRepository parkRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private BudgetRepository budgetRepository;
+    @Mock
+    private IncomeStreamResolver incomeStreamResolver;
+    @Mock
+    private BudgetLedgerService budgetLedgerService;
+    @Mock
+    private ActivityCapacityService activityCapacityService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private BookingBatchRepository bookingBatchRepository;
+    @Mock
+    private OptimisticRetryExecutor optimisticRetry;
+
+    @InjectMocks
+    private BookingService bookingService;
+
+    private AuthenticatedUser visitor;
+    private Activity activity;
+    private Budget budget;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(optimisticRetry.execute(anyString(), any())).thenAnswer(invocation ->
+                invocation.<Supplier<?>>getArgument(1).get());
+        Park park = new Park("Loango", "Southwest Gabon", "Coastal park");
+        park.setId(UUID.randomUUID());
+        activity = new Activity();
+        activity.setId(UUID.randomUUID());
+        activity.setName("Safari");
+        activity.setPark(park);
+        activity.setPrice(new BigDecimal("25.00"));
+        budget = new Budget();
+        budget.setId(UUID.randomUUID());
+        budget.setPark(park);
+
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setRole("VISITOR");
+        visitor = new AuthenticatedUser(user.getId(), "visitor@example.com", "VISITOR", null);
+        when(userRepository.getReferenceById(user.getId())).thenReturn(user);
+        when(activityRepository.findById(activity.getId())).thenReturn(Optional.of(activity));
+        when(incomeStreamResolver.findBudgetId(eq(park.getId()), anyInt())).thenReturn(Optional.of(budget.getId()));
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> {
+            Booking booking = invocation.getArgument(0);
+            if (booking.getId() == null) {
+                booking.setId(UUID.randomUUID());
+            }
+            return booking;
+        });
+    }
+
+    @Test
+    void shouldReservePendingBookingWithoutTouchingIncome() {
+        Booking booking = bookingService.createBooking(activity.getId(), LocalDate.now().plusDays(1), 1, null,
+                "pm_card_visa", visitor);
+
+        assertEquals("PENDING", booking.getStatus());
+        assertEquals("pm_card_visa", booking.getStripePaymentMethodId());
+        ArgumentCaptor<BookingReservedEvent> event = ArgumentCaptor.forClass(BookingReservedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(booking.getId(), event.getValue().bookingId());
+        assertEquals(2500L, event.getValue().amountInCents());
+        verify(activityCapacityService).reserve(activity, booking.getVisitDate(), 1);
+        verify(incomeStreamResolver, never()).recordIncome(any(), anyInt(), any(), any(), any());
+        verifyNoInteractions(budgetLedgerService);
+    }
+
+    @Test
+    void shouldLoadRegisteredGroupMembersInOneQuery() {
+        List<CreateBookingRequestDto.GroupMemberDto> members = new ArrayList<>();
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            User user = new User();
+            user.setId(UUID.randomUUID());
+            user.setRole("VISITOR");
+            users.add(user);
+            CreateBookingRequestDto.GroupMemberDto member = new CreateBookingRequestDto.GroupMemberDto();
+            member.setUserId(user.getId());
+            members.add(member);
+        }
+        CreateBookingRequestDto.GroupMemberDto guest = new CreateBookingRequestDto.GroupMemberDto();
+        guest.setGuestName("Guest");
+        guest.setGuestEmail("guest@example.com");
+        members.add(guest);
+        when(userRepository.findAllById(anyCollection())).thenReturn(users);
+
+        Booking booking = bookingService.createBooking(activity.getId(), LocalDate.now().plusDays(1), 5, members,
+                "pm_card_visa", visitor);
+
+        assertEquals(5, booking.getGroupMembers().size());
+        assertEquals(users.get(2), booking.getGroupMembers().get(3).getUser());
+        verify(userRepository, times(1)).findAllById(anyCollection());
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    void shouldRejectUnknownRegisteredGroupMember() {
+        CreateBookingRequestDto.GroupMemberDto member = new CreateBookingRequestDto.GroupMemberDto();
+        member.setUserId(UUID.randomUUID());
+        when(userRepository.findAllById(anyCollection())).thenReturn(List.of());
+
+        assertThrows(NotFoundException.class, () -> bookingService.createBooking(activity.getId(),
+                LocalDate.now().plusDays(1), 2, List.of(member), "pm_card_visa", visitor));
+        verifyNoInteractions(activityCapacityService);
+    }
+
+    @Test
+    void shouldReserveValidBulkLinesUnderOneBatchAndReportRejectedOnes() {
+        when(activityRepository.findAllById(anyCollection())).thenReturn(List.of(activity));
+        when(budgetRepository.findParkIdsWithBudget(anyCollection(), anyInt())).thenReturn(List.of(activity.getPark().getId()));
+        // The second line that reaches the capacity check does not fit
+        when(activityCapacityService.reserveAll(anyList())).thenReturn(Set.of(1));
+        when(bookingBatchRepository.save(any(BookingBatch.class))).thenAnswer(invocation -> {
+            BookingBatch batch = invocation.getArgument(0);
+            batch.setId(UUID.randomUUID());
+            return batch;
+        });
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        List<CreateBookingRequestDto> lines = List.of(
+                bookingLine(tomorrow), bookingLine(LocalDate.now().minusDays(1)), bookingLine(tomorrow.plusDays(1)));
+
+        BulkBookingResult result = bookingService.createBulkBookings(lines, "pm_card_visa", visitor);
+
+        assertNotNull(result.lines().get(0).booking());
+        assertSame(result.batch(), result.lines().get(0).booking().getBatch());
+        assertEquals("Visit date must be today or in the future", result.lines().get(1).error());
+        assertTrue(result.lines().get(2).error().startsWith("Not enough available slots"));
+        assertEquals(0, new BigDecimal("25.00").compareTo(result.batch().getAmount()));
+        ArgumentCaptor<BookingBatchReservedEvent> event = ArgumentCaptor.forClass(BookingBatchReservedEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(event.capture());
+        assertEquals(2500L, event.getValue().amountInCents());
+        verify(activityCapacityService, never()).reserve(any(), any(), anyInt());
+        verify(bookingRepository).saveAll(List.of(result.lines().get(0).booking()));
+    }
+
+    @Test
+    void shouldNotCreateBatchWhenNoBulkLineCanBeReserved() {
+        when(activityRepository.findAllById(anyCollection())).thenReturn(List.of());
+
+        BulkBookingResult result = bookingService.createBulkBookings(List.of(bookingLine(LocalDate.now().plusDays(1))),
+                "pm_card_visa", visitor);
+
+        assertNull(result.batch());
+        assertTrue(result.lines().get(0).error().startsWith("Activity not found"));
+        verifyNoInteractions(bookingBatchRepository, eventPublisher);
+    }
+
+    @Test
+    void shouldConfirmEveryBookingOfBatchAndRecordIncomeOncePerPark() {
+        BookingBatch batch = new BookingBatch();
+        batch.setId(UUID.randomUUID());
+        batch.setStatus("PENDING");
+        batch.setAmount(new BigDecimal("50.00"));
+        Booking first = pendingBooking();
+        Booking second = pendingBooking();
+        batch.setVisitor(first.getVisitor());
+        when(bookingBatchRepository.findByIdForUpdate(batch.getId())).thenReturn(Optional.of(batch));
+        when(bookingBatchRepository.save(batch)).thenReturn(batch);
+        when(bookingRepository.findByBatchId(batch.getId())).thenReturn(List.of(first, second));
+
+        bookingService.finalizeBatch(batch.getId(), new PaymentResult("pi_3", "succeeded", null));
+
+        assertEquals("CONFIRMED", batch.getStatus());
+        assertEquals("CONFIRMED", first.getStatus());
+        assertEquals("pi_3", second.getStripePaymentIntentId());
+        verify(budgetLedgerService, times(1)).recordBooking(activity.getPark().getId(), first.getVisitDate().getYear(),
+                new BigDecimal("50.00"));
+        verify(incomeStreamResolver, times(1)).recordIncome(activity.getPark().getId(), LocalDate.now().getYear(),
+                IncomeStreamKind.BOOKINGS, new BigDecimal("50.00"), visitor.id());
+    }
+
+    @Test
+    void shouldConfirmBookingAndRecordIncomeWhenPaymentSucceeds() {
+        Booking booking = pendingBooking();
+
+        Booking confirmed = bookingService.finalizeBooking(booking.getId(), new PaymentResult("pi_1", "succeeded", null));
+
+        assertEquals("CONFIRMED", confirmed.getStatus());
+        assertEquals("pi_1", confirmed.getStripePaymentIntentId());
+        assertNotNull(confirmed.getConfirmedAt());
+        verify(incomeStreamResolver).recordIncome(activity.getPark().getId(), LocalDate.now().getYear(),
+                IncomeStreamKind.BOOKINGS, booking.getAmount(), booking.getVisitor().getId());
+        verify(budgetLedgerService).recordBooking(activity.getPark().getId(), booking.getVisitDate().getYear(), booking.getAmount());
+    }
+
+    @Test
+    void shouldMarkBookingFailedWhenPaymentIsDeclined() {
+        Booking booking = pendingBooking();
+
+        Booking failed = bookingService.finalizeBooking(booking.getId(),
+                new PaymentResult("pi_2", "requires_payment_method", "Your card was declined."));
+
+        assertEquals("PAYMENT_FAILED", failed.getStatus());
+        verify(activityCapacityService).release(activity.getId(), booking.getVisitDate(), 1);
+        verify(incomeStreamResolver, never()).recordIncome(any(), anyInt(), any(), any(), any());
+        verifyNoInteractions(budgetLedgerService);
+    }
+
+    @Test
+    void shouldIgnoreRepeatedPaymentResult() {
+        Booking booking = pendingBooking();
+        booking.setStatus("CONFIRMED");
+
+        bookingService.finalizeBooking(booking.getId(), new PaymentResult("pi_1", "succeeded", null));
+
+        verify(bookingRepository, never()).save(any(Booking.class));
+        verifyNoInteractions(budgetLedgerService);
+    }
+
+    @Test
+    void shouldExpireBookingStillPendingAfterRetryWindowAndReleaseItsTickets() {
+        Booking stale = pendingBooking();
+        Booking settled = pendingBooking();
+        settled.setStatus("CONFIRMED");
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(23);
+        when(bookingRepository.findPendingIdsCreatedBefore(cutoff)).thenReturn(List.of(stale.getId(), settled.getId()));
+
+        int expired = bookingService.expirePendingPayments(cutoff);
+
+        assertEquals(1, expired);
+        assertEquals("PAYMENT_FAILED", stale.getStatus());
+        assertEquals("CONFIRMED", settled.getStatus());
+        verify(activityCapacityService, times(1)).release(activity.getId(), stale.getVisitDate(), 1);
+        verify(bookingRepository).save(stale);
+        verify(bookingRepository, never()).save(settled);
+    }
+
+    @Test
+    void shouldExpireStrandedBatchWithAllOfItsBookings() {
+        BookingBatch batch = new BookingBatch();
+        batch.setId(UUID.randomUUID());
+        batch.setStatus("PENDING");
+        Booking first = pendingBooking();
+        Booking second = pendingBooking();
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(23);
+        when(bookingRepository.findPendingIdsCreatedBefore(cutoff)).thenReturn(List.of());
+        when(bookingBatchRepository.findPendingIdsCreatedBefore(cutoff)).thenReturn(List.of(batch.getId()));
+        when(bookingBatchRepository.findByIdForUpdate(batch.getId())).thenReturn(Optional.of(batch));
+        when(bookingRepository.findByBatchId(batch.getId())).thenReturn(List.of(first, second));
+
+        int expired = bookingService.expirePendingPayments(cutoff);
+
+        assertEquals(2, expired);
+        assertEquals("PAYMENT_FAILED", batch.getStatus());
+        assertEquals("PAYMENT_FAILED", first.getStatus());
+        assertEquals("PAYMENT_FAILED", second.getStatus());
+        verify(activityCapacityService, times(2)).release(activity.getId(), first.getVisitDate(), 1);
+        verify(bookingBatchRepository).save(batch);
+    }
+
+    private CreateBookingRequestDto bookingLine(LocalDate visitDate) {
+        CreateBookingRequestDto line = new CreateBookingRequestDto();
+        line.setActivityId(activity.getId());
+        line.setVisitDate(visitDate);
+        line.setNumberOfTickets(1);
+        return line;
+    }
+
+    private Booking pendingBooking() {
+        Booking booking = new Booking();
+        booking.setId(UUID.randomUUID());
+        booking.setActivity(activity);
+        booking.setPark(activity.getPark());
+        booking.setAmount(new BigDecimal("25.00"));
+        booking.setVisitDate(LocalDate.now().plusDays(1));
+        booking.setStatus("PENDING");
+        User bookingVisitor = new User();
+        bookingVisitor.setId(visitor.id());
+        booking.setVisitor(bookingVisitor);
+        BookingGroupMember primaryMember = new BookingGroupMember();
+        primaryMember.setBooking(booking);
+        booking.getGroupMembers().add(primaryMember);
+        when(bookingRepository.findByIdForUpdate(booking.getId())).thenReturn(Optional.of(booking));
+        return booking;
+    }
+}
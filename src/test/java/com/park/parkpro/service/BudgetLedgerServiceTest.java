@@ -0,0 +1,114 @@
+package com.park.parkpro.service;
+
+import com.park.parkpro.domain.Budget;
+import com.park.parkpro.domain.BudgetLedger;
+import com.park.parkpro.domain.Park;
+import com.park.parkpro.dto.AmountByKeyDto;
+import com.park.parkpro.dto.AmountByStatusDto;
+import com.park.parkpro.repository.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+class BudgetLedgerServiceTest {
+    @Mock
+    private BudgetLedgerRepository budgetLedgerRepository;
+    @Mock
+    private BudgetRepository budgetRepository;
+    @Mock
+    private AggregateQueryRepository aggregateQueryRepository;
+
+    @InjectMocks
+    private BudgetLedgerService budgetLedgerService;
+
+    private Budget budget;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        Park park = new Park("Loango", "Southwest Gabon", "Coastal park");
+        park.setId(UUID.randomUUID());
+        budget = new Budget();
+        budget.setId(UUID.randomUUID());
+        budget.setPark(park);
+        budget.setFiscalYear(2025);
+        budget.setBalance(new BigDecimal("1000.00"));
+        when(budgetLedgerRepository.save(any(BudgetLedger.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void shouldReadBalanceFromLedgerWithoutRecomputing() {
+        BudgetLedger ledger = new BudgetLedger(budget);
+        ledger.setTotalExpenses(new BigDecimal("200.00"));
+        ledger.setTotalBookings(new BigDecimal("50.00"));
+        ledger.setTotalFunding(new BigDecimal("25.00"));
+        when(budgetLedgerRepository.findByBudgetId(budget.getId())).thenReturn(Optional.of(ledger));
+
+        BigDecimal balance = budgetLedgerService.getBalance(budget);
+
+        assertEquals(0, new BigDecimal("875.00").compareTo(balance));
+        verifyNoInteractions(aggregateQueryRepository);
+    }
+
+    @Test
+    void shouldRebuildLedgerWhenMissing() {
+        when(budgetLedgerRepository.findByBudgetId(budget.getId())).thenReturn(Optional.empty());
+        when(aggregateQueryRepository.sumExpensesByBudgetId(budget.getId())).thenReturn(new BigDecimal("300.00"));
+        when(aggregateQueryRepository.sumDonationsByParkIdAndFiscalYearGroupByStatus(budget.getPark().getId(), 2025))
+                .thenReturn(List.of(new AmountByStatusDto("CONFIRMED", new BigDecimal("40.00"), 2L),
+                        new AmountByStatusDto("CANCELLED", new BigDecimal("15.00"), 1L)));
+
+        BigDecimal balance = budgetLedgerService.getBalance(budget);
+
+        assertEquals(0, new BigDecimal("740.00").compareTo(balance));
+        verify(budgetLedgerRepository, times(1)).save(any(BudgetLedger.class));
+    }
+
+    @Test
+    void shouldApplyIncrementWithoutRebuildWhenLedgerExists() {
+        when(budgetLedgerRepository.addExpenses(budget.getId(), new BigDecimal("10.00"))).thenReturn(1);
+
+        budgetLedgerService.recordExpense(budget.getId(), new BigDecimal("10.00"));
+
+        verify(budgetLedgerRepository, times(1)).addExpenses(budget.getId(), new BigDecimal("10.00"));
+        verify(budgetRepository, never()).findById(any());
+    }
+
+    @Test
+    void shouldSeedMissingLedgersWithOneGroupedQueryPerSource() {
+        Budget other = new Budget();
+        other.setId(UUID.randomUUID());
+        Park otherPark = new Park("Lope", "Central Gabon", "Savanna park");
+        otherPark.setId(UUID.randomUUID());
+        other.setPark(otherPark);
+        other.setFiscalYear(2025);
+        other.setBalance(new BigDecimal("500.00"));
+        when(budgetLedgerRepository.findByBudgetIdIn(anyCollection())).thenReturn(List.of());
+        when(budgetLedgerRepository.saveAll(anyCollection())).thenAnswer(invocation -> List.copyOf(invocation.getArgument(0)));
+        when(aggregateQueryRepository.sumExpensesByBudgetForFiscalYear(2025))
+                .thenReturn(List.of(new AmountByKeyDto(budget.getId(), new BigDecimal("100.00"))));
+        when(aggregateQueryRepository.sumDonationsByParkForFiscalYear(2025, "CONFIRMED"))
+                .thenReturn(List.of(new AmountByKeyDto(otherPark.getId(), new BigDecimal("20.00"))));
+
+        Map<UUID, BigDecimal> balances = budgetLedgerService.getBalances(List.of(budget, other));
+
+        assertEquals(0, new BigDecimal("900.00").compareTo(balances.get(budget.getId())));
+        assertEquals(0, new BigDecimal("520.00").compareTo(balances.get(other.getId())));
+        verify(aggregateQueryRepository, times(1)).sumExpensesByBudgetForFiscalYear(2025);
+        verify(aggregateQueryRepository, times(1)).sumDonationsByParkForFiscalYear(2025, "CONFIRMED");
+        verify(aggregateQueryRepository, never()).sumExpensesByBudgetId(any());
+    }
+}
@@ -0,0 +1,49 @@
+package com.park.parkpro.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.park.parkpro.dto.ActivityResponseDto;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogCacheTest {
+    private final CatalogCache catalogCache = new CatalogCache(new ObjectMapper().registerModule(new JavaTimeModule()),
+            Duration.ofMinutes(10), 100);
+
+    @Test
+    void shouldDropEveryActivityOfDeletedPark() {
+        UUID parkId = UUID.randomUUID();
+        UUID otherParkId = UUID.randomUUID();
+        ActivityResponseDto first = activity(parkId);
+        ActivityResponseDto second = activity(parkId);
+        ActivityResponseDto other = activity(otherParkId);
+        AtomicInteger loads = new AtomicInteger();
+        catalogCache.activity(first.getId(), () -> counted(loads, first));
+        catalogCache.activity(second.getId(), () -> counted(loads, second));
+        catalogCache.activity(other.getId(), () -> counted(loads, other));
+
+        catalogCache.onCatalogChanged(CatalogChangedEvent.park(parkId));
+
+        catalogCache.activity(first.getId(), () -> counted(loads, first));
+        catalogCache.activity(second.getId(), () -> counted(loads, second));
+        catalogCache.activity(other.getId(), () -> counted(loads, other));
+        assertEquals(5, loads.get());
+    }
+
+    private static ActivityResponseDto counted(AtomicInteger loads, ActivityResponseDto activity) {
+        loads.incrementAndGet();
+        return activity;
+    }
+
+    private static ActivityResponseDto activity(UUID parkId) {
+        return new ActivityResponseDto(UUID.randomUUID(), "Canopy walk", parkId, new BigDecimal("25.00"), null, null, 40,
+                LocalDateTime.now(), LocalDateTime.now());
+    }
+}
@@ -0,0 +1,136 @@
+package com.park.parkpro.service;
+
+import com.park.parkpro.domain.EmailOutbox;
+import com.park.parkpro.domain.User;
+import com.park.parkpro.dto.SignupRequestDto;
+import com.park.parkpro.repository.EmailOutboxRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class EmailOutboxIntegrationTest {
+    private static final FakeSmtpServer SMTP = new FakeSmtpServer();
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EmailOutboxService emailOutboxService;
+
+    @Autowired
+    private EmailDispatcher emailDispatcher;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @DynamicPropertySource
+    static void mailProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.mail.host", () -> "localhost");
+        registry.add("spring.mail.port", SMTP::getPort);
+        registry.add("spring.mail.properties.mail.smtp.auth", () -> "false");
+        registry.add("spring.mail.properties.mail.smtp.starttls.enable", () -> "false");
+        // Only the explicit dispatch calls below deliver mail
+        registry.add("email.outbox.poll-interval", () -> "PT1H");
+    }
+
+    @AfterAll
+    static void stopSmtp() throws IOException {
+        SMTP.close();
+    }
+
+    @Test
+    void shouldQueueSignupVerificationEmailAndDeliverItOnDispatch() {
+        SignupRequestDto request = new SignupRequestDto();
+        request.setFirstName("Marie");
+        request.setLastName("Ndong");
+        request.setEmail("marie.outbox@example.com");
+        request.setPassword("Passw0rd!");
+
+        User user = userService.signup(request);
+
+        EmailOutbox queued = findByRecipient(user.getEmail());
+        assertEquals("PENDING", queued.getStatus());
+        assertTrue(SMTP.getMessages().stream().noneMatch(message -> message.recipients().contains(user.getEmail())));
+
+        emailDispatcher.dispatch();
+
+        assertEquals("SENT", emailOutboxRepository.findById(queued.getId()).orElseThrow().getStatus());
+        assertTrue(SMTP.getMessages().stream().anyMatch(message ->
+                message.recipients().equals(List.of(user.getEmail())) && message.hasSubject("Verify Your Account")));
+    }
+
+    @Test
+    void shouldNotQueueEmailWhenTransactionRollsBack() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            emailOutboxService.enqueue("rolled.back@example.com", "Never sent", "Rolled back");
+            status.setRollbackOnly();
+        });
+
+        assertTrue(emailOutboxRepository.findAll().stream()
+                .noneMatch(email -> email.getRecipient().equals("rolled.back@example.com")));
+    }
+
+    @Test
+    void shouldBackOffRejectedRecipientWithoutHoldingBackTheRestOfTheBatch() {
+        SMTP.reject("unknown.outbox@example.com");
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            emailOutboxService.enqueue("unknown.outbox@example.com", "Bounce", "Rejected by the server");
+            emailOutboxService.enqueue("known.outbox@example.com", "Delivered", "Accepted by the server");
+        });
+
+        emailDispatcher.dispatch();
+
+        EmailOutbox rejected = findByRecipient("unknown.outbox@example.com");
+        assertEquals("PENDING", rejected.getStatus());
+        assertEquals(1, rejected.getAttempts());
+        assertNotNull(rejected.getLastError());
+        assertTrue(rejected.getNextAttemptAt().isAfter(LocalDateTime.now()));
+        assertEquals("SENT", findByRecipient("known.outbox@example.com").getStatus());
+    }
+
+    @Test
+    void shouldRedeliverEmailWhoseSendLeaseRanOut() {
+        EmailOutbox stranded = new EmailOutbox("stranded.outbox@example.com", "Stranded", "Dispatcher crashed");
+        stranded.setStatus("SENDING");
+        stranded.setAttempts(1);
+        stranded.setNextAttemptAt(LocalDateTime.now().minusMinutes(1));
+        EmailOutbox leased = new EmailOutbox("leased.outbox@example.com", "Leased", "Still being sent");
+        leased.setStatus("SENDING");
+        leased.setAttempts(1);
+        leased.setNextAttemptAt(LocalDateTime.now().plusMinutes(5));
+        emailOutboxRepository.saveAll(List.of(stranded, leased));
+
+        emailDispatcher.dispatch();
+
+        EmailOutbox redelivered = findByRecipient("stranded.outbox@example.com");
+        assertEquals("SENT", redelivered.getStatus());
+        assertEquals(2, redelivered.getAttempts());
+        assertEquals("SENDING", findByRecipient("leased.outbox@example.com").getStatus());
+        assertTrue(SMTP.getMessages().stream().noneMatch(message -> message.recipients().contains("leased.outbox@example.com")));
+    }
+
+    private EmailOutbox findByRecipient(String recipient) {
+        return emailOutboxRepository.findAll().stream()
+                .filter(email -> email.getRecipient().equals(recipient))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,92 @@
+package com.park.parkpro.service;
+
+import com.park.parkpro.domain.EmailOutbox;
+import com.park.parkpro.repository.EmailOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class EmailOutboxServiceTest {
+    @Mock
+    private EmailOutboxRepository emailOutboxRepository;
+    @Mock
+    private JavaMailSender mailSender;
+
+    private EmailOutboxService emailOutboxService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        emailOutboxService = new EmailOutboxService(emailOutboxRepository, mailSender, mock(PlatformTransactionManager.class), 3,
+                Duration.ofSeconds(30), Duration.ofMinutes(1), Duration.ofMinutes(5));
+    }
+
+    @Test
+    void shouldSendDueEmailsInOneCallAndMarkThemSent() {
+        EmailOutbox first = new EmailOutbox("a@example.com", "Subject", "Body");
+        EmailOutbox second = new EmailOutbox("b@example.com", "Subject", "Body");
+        when(emailOutboxRepository.findDueForUpdate(any(LocalDateTime.class), eq(Limit.of(50)))).thenReturn(List.of(first, second));
+
+        assertEquals(2, emailOutboxService.dispatchDue(50));
+
+        verify(mailSender, times(1)).send(any(SimpleMailMessage[].class));
+        assertEquals("SENT", first.getStatus());
+        assertEquals("SENT", second.getStatus());
+        assertNotNull(first.getSentAt());
+    }
+
+    @Test
+    void shouldLeaseClaimedEmailsBeforeSendingThem() {
+        EmailOutbox email = new EmailOutbox("a@example.com", "Subject", "Body");
+        when(emailOutboxRepository.findDueForUpdate(any(LocalDateTime.class), any(Limit.class))).thenReturn(List.of(email));
+        doAnswer(invocation -> {
+            assertEquals("SENDING", email.getStatus());
+            assertEquals(1, email.getAttempts());
+            assertTrue(email.getNextAttemptAt().isAfter(LocalDateTime.now().plusMinutes(4)));
+            return null;
+        }).when(mailSender).send(any(SimpleMailMessage[].class));
+
+        emailOutboxService.dispatchDue(50);
+
+        verify(mailSender).send(any(SimpleMailMessage[].class));
+        verify(emailOutboxRepository, times(2)).saveAll(List.of(email));
+        assertEquals("SENT", email.getStatus());
+        assertEquals(1, email.getAttempts());
+    }
+
+    @Test
+    void shouldDoubleBackoffUpToTheCapAndGiveUpAfterMaxAttempts() {
+        EmailOutbox email = new EmailOutbox("a@example.com", "Subject", "Body");
+        when(emailOutboxRepository.findDueForUpdate(any(LocalDateTime.class), any(Limit.class))).thenReturn(List.of(email));
+        doThrow(new MailAuthenticationException("Bad credentials")).when(mailSender).send(any(SimpleMailMessage[].class));
+
+        emailOutboxService.dispatchDue(50);
+        Duration firstDelay = Duration.between(LocalDateTime.now(), email.getNextAttemptAt());
+        emailOutboxService.dispatchDue(50);
+        Duration secondDelay = Duration.between(LocalDateTime.now(), email.getNextAttemptAt());
+
+        assertEquals("PENDING", email.getStatus());
+        assertTrue(firstDelay.compareTo(Duration.ofSeconds(25)) > 0 && firstDelay.compareTo(Duration.ofSeconds(30)) <= 0);
+        assertTrue(secondDelay.compareTo(Duration.ofSeconds(55)) > 0 && secondDelay.compareTo(Duration.ofMinutes(1)) <= 0);
+
+        emailOutboxService.dispatchDue(50);
+
+        assertEquals("FAILED", email.getStatus());
+        assertEquals(3, email.getAttempts());
+        assertEquals("Bad credentials", email.getLastError());
+    }
+}
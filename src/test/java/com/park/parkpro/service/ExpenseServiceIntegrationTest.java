@@ -0,0 +1,156 @@
+package com.park.parkpro.service;
+
+import com.park.parkpro.domain.Budget;
+import com.park.parkpro.domain.BudgetCategory;
+import com.park.parkpro.domain.Expense;
+import com.park.parkpro.domain.Park;
+import com.park.parkpro.domain.SpendingStrategy;
+import com.park.parkpro.domain.User;
+import com.park.parkpro.dto.CreateExpenseRequestDto;
+import com.park.parkpro.exception.BadRequestException;
+import com.park.parkpro.repository.BudgetCategoryRepository;
+import com.park.parkpro.repository.BudgetRepository;
+import com.park.parkpro.repository.ParkRepository;
+import com.park.parkpro.repository.UserRepository;
+import com.park.parkpro.security.AuthenticatedUser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "optimistic-retry.max-attempts=50")
+@ActiveProfiles("test")
+class ExpenseServiceIntegrationTest {
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private BudgetLedgerService budgetLedgerService;
+
+    @Autowired
+    private ParkRepository parkRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private BudgetCategoryRepository budgetCategoryRepository;
+
+    private Budget budget;
+    private AuthenticatedUser currentUser;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString();
+        Park park = parkRepository.save(new Park("Expense Park " + suffix, "West", "Concurrent expenses"));
+        User officer = new User();
+        officer.setEmail("expenses-" + suffix + "@example.com");
+        officer.setPassword("$2a$10$unused");
+        officer.setRole("FINANCE_OFFICER");
+        officer.setFirstName("Finance");
+        officer.setLastName("Officer");
+        officer.setPark(park);
+        officer = userRepository.save(officer);
+
+        budget = new Budget();
+        budget.setPark(park);
+        budget.setFiscalYear(2025);
+        budget.setTotalAmount(new BigDecimal("10000.00"));
+        budget.setBalance(new BigDecimal("10000.00"));
+        budget.setUnallocated(BigDecimal.ZERO);
+        budget.setStatus("APPROVED");
+        budget.setCreatedBy(officer);
+        budget = budgetRepository.save(budget);
+        budgetLedgerService.getBalance(budget);
+
+        currentUser = new AuthenticatedUser(officer.getId(), officer.getEmail(), "FINANCE_OFFICER", park.getId());
+    }
+
+    @Test
+    void shouldNotLoseCategoryUpdatesUnderConcurrentExpenses() throws Exception {
+        BudgetCategory category = category(new BigDecimal("10000.00"));
+
+        int expenses = 16;
+        List<Future<Expense>> results = submitExpenses(category, expenses);
+        for (Future<Expense> result : results) {
+            result.get();
+        }
+
+        BudgetCategory updated = budgetCategoryRepository.findById(category.getId()).orElseThrow();
+        assertEquals(0, new BigDecimal("160.00").compareTo(updated.getUsedAmount()));
+        assertEquals(0, new BigDecimal("9840.00").compareTo(updated.getBalance()));
+        assertTrue(updated.getVersion() >= expenses);
+    }
+
+    @Test
+    void shouldNeverOverdrawCategoryUnderConcurrentExpenses() throws Exception {
+        BudgetCategory category = category(new BigDecimal("120.00"));
+
+        int accepted = 0;
+        for (Future<Expense> result : submitExpenses(category, 16)) {
+            try {
+                result.get();
+                accepted++;
+            } catch (ExecutionException e) {
+                assertInstanceOf(BadRequestException.class, e.getCause());
+            }
+        }
+
+        BudgetCategory updated = budgetCategoryRepository.findById(category.getId()).orElseThrow();
+        assertEquals(12, accepted);
+        assertEquals(0, new BigDecimal("120.00").compareTo(updated.getUsedAmount()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(updated.getBalance()));
+    }
+
+    private BudgetCategory category(BigDecimal allocated) {
+        BudgetCategory category = new BudgetCategory();
+        category.setBudget(budget);
+        category.setName("Patrols");
+        category.setAllocatedAmount(allocated);
+        category.setUsedAmount(BigDecimal.ZERO);
+        category.setBalance(allocated);
+        category.setSpendingStrategy(SpendingStrategy.EXPENSE);
+        return budgetCategoryRepository.save(category);
+    }
+
+    private List<Future<Expense>> submitExpenses(BudgetCategory category, int expenses) throws InterruptedException {
+        CreateExpenseRequestDto request = new CreateExpenseRequestDto();
+        request.setBudgetId(budget.getId());
+        request.setBudgetCategoryId(category.getId());
+        request.setParkId(budget.getPark().getId());
+        request.setAmount(new BigDecimal("10.00"));
+        request.setDescription("Fuel");
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Expense>> results = new ArrayList<>();
+        for (int i = 0; i < expenses; i++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                return expenseService.createExpense(request, currentUser);
+            }));
+        }
+        start.countDown();
+        pool.shutdown();
+        pool.awaitTermination(1, TimeUnit.MINUTES);
+        return results;
+    }
+}
@@ -0,0 +1,134 @@
+package com.park.parkpro.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.park.parkpro.domain.*;
+import com.park.parkpro.exception.ForbiddenException;
+import com.park.parkpro.security.AuthenticatedUser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(ExportService.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class ExportServiceTest {
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Park park;
+
+    @BeforeEach
+    void setUp() {
+        park = entityManager.persist(new Park("Loango", "Southwest Gabon", "Coastal park"));
+
+        User user = new User();
+        user.setFirstName("Jane");
+        user.setLastName("Doe");
+        user.setEmail("jane@example.com");
+        user.setPassword("hashed");
+        user.setRole("FINANCE_OFFICER");
+        user = entityManager.persist(user);
+
+        Budget budget = new Budget();
+        budget.setPark(park);
+        budget.setFiscalYear(2025);
+        budget.setTotalAmount(new BigDecimal("1000.00"));
+        budget.setBalance(new BigDecimal("1000.00"));
+        budget.setUnallocated(new BigDecimal("1000.00"));
+        budget.setStatus("APPROVED");
+        budget.setCreatedBy(user);
+        budget = entityManager.persist(budget);
+
+        BudgetCategory category = new BudgetCategory();
+        category.setBudget(budget);
+        category.setName("Operations");
+        category.setAllocatedAmount(new BigDecimal("500.00"));
+        category.setUsedAmount(BigDecimal.ZERO);
+        category.setBalance(new BigDecimal("500.00"));
+        category.setSpendingStrategy(SpendingStrategy.EXPENSE);
+        category = entityManager.persist(category);
+
+        Expense fuel = new Expense(budget, new BigDecimal("10.00"), "Fuel, diesel", category, park, user, AuditStatus.PASSED);
+        fuel.setCreatedAt(LocalDateTime.of(2025, 2, 1, 8, 0));
+        entityManager.persist(fuel);
+        Expense formula = new Expense(budget, new BigDecimal("15.00"), "=HYPERLINK(\"x\")", category, park, user, null);
+        formula.setCreatedAt(LocalDateTime.of(2025, 2, 2, 8, 0));
+        entityManager.persist(formula);
+        entityManager.flush();
+    }
+
+    @Test
+    void shouldWriteExpensesAsCsvWithEscapedCells() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.writeExpenses(park.getId(), 2025, ExportFormat.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("id,createdAt,amount,currency,description,category,auditStatus,createdById", lines[0]);
+        assertTrue(lines[1].contains(",\"Fuel, diesel\",Operations,PASSED,"));
+        assertTrue(lines[2].contains(",\"'=HYPERLINK(\"\"x\"\")\",Operations,UNJUSTIFIED,"));
+    }
+
+    @Test
+    void shouldWriteExpensesAsNdjsonOldestFirst() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.writeExpenses(park.getId(), 2025, ExportFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals("Fuel, diesel", first.get("description").asText());
+        assertEquals(0, new BigDecimal("10.00").compareTo(first.get("amount").decimalValue()));
+        assertEquals("Operations", objectMapper.readTree(lines[1]).get("category").asText());
+
+        ByteArrayOutputStream empty = new ByteArrayOutputStream();
+        exportService.writeExpenses(park.getId(), 2024, ExportFormat.NDJSON, empty);
+        assertEquals(0, empty.size());
+    }
+
+    @Test
+    void shouldWriteCsvHeaderForEmptyExport() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.writeDonations(park.getId(), 2025, ExportFormat.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(1, lines.length);
+        assertTrue(lines[0].startsWith("id,"));
+    }
+
+    @Test
+    void shouldOnlyLetFinanceOfficerExportTheirAssignedPark() {
+        Park otherPark = entityManager.persist(new Park("Lope", "Central Gabon", "Savanna park"));
+        AuthenticatedUser officer = new AuthenticatedUser(UUID.randomUUID(), "officer@example.com", "FINANCE_OFFICER", park.getId());
+        AuthenticatedUser auditor = new AuthenticatedUser(UUID.randomUUID(), "auditor@example.com", "AUDITOR", null);
+
+        assertDoesNotThrow(() -> exportService.checkAccess(park.getId(), officer));
+        assertThrows(ForbiddenException.class, () -> exportService.checkAccess(otherPark.getId(), officer));
+        assertDoesNotThrow(() -> exportService.checkAccess(otherPark.getId(), auditor));
+    }
+}
@@ -0,0 +1,115 @@
+package com.park.parkpro.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Local stand-in for an SMTP server. Speaks just enough of the protocol for JavaMail and keeps
+ * every accepted message. Recipients listed in {@link #reject} are refused with a 550.
+ */
+public class FakeSmtpServer implements AutoCloseable {
+    public record Message(List<String> recipients, String data) {
+        public boolean hasSubject(String subject) {
+            return data.contains("Subject: " + subject);
+        }
+    }
+
+    private final ServerSocket serverSocket;
+    private final List<Message> messages = new ArrayList<>();
+    private final List<String> rejectedRecipients = new ArrayList<>();
+
+    public FakeSmtpServer() {
+        try {
+            serverSocket = new ServerSocket(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Thread acceptor = new Thread(this::accept, "fake-smtp");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public synchronized void reject(String recipient) {
+        rejectedRecipients.add(recipient);
+    }
+
+    public synchronized List<Message> getMessages() {
+        return List.copyOf(messages);
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+    }
+
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try (Socket socket = serverSocket.accept()) {
+                converse(socket);
+            } catch (IOException e) {
+                // Closed by the test or by the client
+            }
+        }
+    }
+
+    private void converse(Socket socket) throws IOException {
+        BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+        reply(out, "220 localhost fake SMTP");
+        List<String> recipients = new ArrayList<>();
+        String line;
+        while ((line = in.readLine()) != null) {
+            String command = line.toUpperCase();
+            if (command.startsWith("EHLO") || command.startsWith("HELO")) {
+                reply(out, "250 localhost");
+            } else if (command.startsWith("MAIL FROM")) {
+                recipients.clear();
+                reply(out, "250 OK");
+            } else if (command.startsWith("RCPT TO")) {
+                String recipient = line.substring(line.indexOf('<') + 1, line.indexOf('>'));
+                if (isRejected(recipient)) {
+                    reply(out, "550 No such user");
+                } else {
+                    recipients.add(recipient);
+                    reply(out, "250 OK");
+                }
+            } else if (command.equals("DATA")) {
+                reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                StringBuilder data = new StringBuilder();
+                while ((line = in.readLine()) != null && !line.equals(".")) {
+                    data.append(line).append("\r\n");
+                }
+                synchronized (this) {
+                    messages.add(new Message(List.copyOf(recipients), data.toString()));
+                }
+                reply(out, "250 OK");
+            } else if (command.equals("QUIT")) {
+                reply(out, "221 Bye");
+                return;
+            } else {
+                reply(out, "250 OK");
+            }
+        }
+    }
+
+    private synchronized boolean isRejected(String recipient) {
+        return rejectedRecipients.contains(recipient);
+    }
+
+    private static void reply(PrintWriter out, String response) {
+        out.print(response + "\r\n");
+        out.flush();
+    }
+}
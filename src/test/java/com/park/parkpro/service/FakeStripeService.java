@@ -0,0 +1,32 @@
+package com.park.parkpro.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * In-memory stand-in for {@link StripeService}. Charges succeed unless the Stripe test
+ * payment method for a declined card is used.
+ */
+public class FakeStripeService extends StripeService {
+    public static final String DECLINED_PAYMENT_METHOD = "pm_card_chargeDeclined";
+
+    private final List<String> chargedBookingIds = new ArrayList<>();
+
+    @Override
+    public void init() {
+    }
+
+    @Override
+    public synchronized PaymentResult chargePayment(Long amountInCents, String currency, String description,
+                                                    String paymentMethodId, String bookingId) {
+        chargedBookingIds.add(bookingId);
+        if (DECLINED_PAYMENT_METHOD.equals(paymentMethodId)) {
+            return new PaymentResult("pi_fake_" + bookingId, "requires_payment_method", "Your card was declined.");
+        }
+        return new PaymentResult("pi_fake_" + bookingId, "succeeded", null);
+    }
+
+    public synchronized List<String> getChargedBookingIds() {
+        return List.copyOf(chargedBookingIds);
+    }
+}
@@ -0,0 +1,156 @@
+package com.park.parkpro.service;
+
+import com.park.parkpro.domain.Budget;
+import com.park.parkpro.domain.IncomeStream;
+import com.park.parkpro.domain.IncomeStreamKind;
+import com.park.parkpro.domain.Park;
+import com.park.parkpro.domain.User;
+import com.park.parkpro.exception.NotFoundException;
+import com.park.parkpro.repository.BudgetRepository;
+import com.park.parkpro.repository.IncomeStreamRepository;
+import com.park.parkpro.repository.ParkRepository;
+import com.park.parkpro.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class IncomeStreamResolverIntegrationTest {
+
+    @Autowired
+    private IncomeStreamResolver incomeStreamResolver;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ParkRepository parkRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private IncomeStreamRepository incomeStreamRepository;
+
+    private final int fiscalYear = LocalDate.now().getYear();
+    private Park park;
+    private User officer;
+    private Budget budget;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString();
+        park = parkRepository.save(new Park("Income Park " + suffix, "North", "Income stream resolution"));
+        officer = new User();
+        officer.setEmail("income-" + suffix + "@example.com");
+        officer.setPassword("$2a$10$unused");
+        officer.setRole("FINANCE_OFFICER");
+        officer.setFirstName("Finance");
+        officer.setLastName("Officer");
+        officer.setPark(park);
+        officer = userRepository.save(officer);
+
+        budget = new Budget();
+        budget.setPark(park);
+        budget.setFiscalYear(fiscalYear);
+        budget.setTotalAmount(new BigDecimal("1000.00"));
+        budget.setBalance(new BigDecimal("1000.00"));
+        budget.setUnallocated(new BigDecimal("1000.00"));
+        budget.setStatus("APPROVED");
+        budget.setCreatedBy(officer);
+        budget = budgetRepository.save(budget);
+    }
+
+    @Test
+    void shouldCreateOneStreamForConcurrentFirstPayments() throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        int payments = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(payments);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < payments; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return transaction.execute(status -> incomeStreamResolver.recordIncome(park.getId(), fiscalYear,
+                            IncomeStreamKind.BOOKINGS, new BigDecimal("5.00"), officer.getId()));
+                }));
+            }
+            start.countDown();
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        List<IncomeStream> streams = incomeStreamRepository.findByBudgetId(budget.getId());
+        assertEquals(1, streams.size());
+        assertEquals(IncomeStreamKind.BOOKINGS, streams.get(0).getKind());
+        assertEquals("Bookings", streams.get(0).getName());
+        assertEquals(0, new BigDecimal("40.00").compareTo(streams.get(0).getActualBalance()));
+    }
+
+    @Test
+    void shouldAdoptStreamNamedBeforeKindsExisted() {
+        IncomeStream legacy = new IncomeStream();
+        legacy.setBudget(budget);
+        legacy.setPark(park);
+        legacy.setFiscalYear(fiscalYear);
+        legacy.setName("Park Donations");
+        legacy.setPercentage(BigDecimal.ZERO);
+        legacy.setTotalContribution(BigDecimal.ZERO);
+        legacy.setActualBalance(new BigDecimal("10.00"));
+        legacy.setCreatedBy(officer);
+        legacy = incomeStreamRepository.save(legacy);
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> incomeStreamResolver.recordIncome(park.getId(), fiscalYear,
+                IncomeStreamKind.DONATIONS, new BigDecimal("15.00"), officer.getId()));
+        transaction.executeWithoutResult(status -> incomeStreamResolver.reverseIncome(park.getId(), fiscalYear,
+                IncomeStreamKind.DONATIONS, new BigDecimal("5.00")));
+
+        List<IncomeStream> streams = incomeStreamRepository.findByBudgetId(budget.getId());
+        assertEquals(1, streams.size());
+        assertEquals(legacy.getId(), streams.get(0).getId());
+        assertEquals(IncomeStreamKind.DONATIONS, streams.get(0).getKind());
+        assertEquals(0, new BigDecimal("20.00").compareTo(streams.get(0).getActualBalance()));
+    }
+
+    @Test
+    void shouldResolveAgainWhenCachedStreamIsGone() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> incomeStreamResolver.recordIncome(park.getId(), fiscalYear,
+                IncomeStreamKind.BOOKINGS, new BigDecimal("5.00"), officer.getId()));
+        incomeStreamRepository.deleteAll(incomeStreamRepository.findByBudgetId(budget.getId()));
+
+        assertThrows(NotFoundException.class, () -> transaction.executeWithoutResult(status -> incomeStreamResolver.reverseIncome(
+                park.getId(), fiscalYear, IncomeStreamKind.BOOKINGS, new BigDecimal("5.00"))));
+        transaction.executeWithoutResult(status -> incomeStreamResolver.recordIncome(park.getId(), fiscalYear,
+                IncomeStreamKind.BOOKINGS, new BigDecimal("7.00"), officer.getId()));
+
+        List<IncomeStream> streams = incomeStreamRepository.findByBudgetId(budget.getId());
+        assertEquals(1, streams.size());
+        assertEquals(0, new BigDecimal("7.00").compareTo(streams.get(0).getActualBalance()));
+    }
+}
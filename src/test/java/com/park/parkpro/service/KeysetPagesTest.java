@@ -0,0 +1,74 @@
+package com.park.parkpro.service;
+
+import com.park.parkpro.domain.User;
+import com.park.parkpro.dto.PageResponseDto;
+import com.park.parkpro.exception.BadRequestException;
+import com.park.parkpro.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class KeysetPagesTest {
+    @Autowired
+    private UserRepository userRepository;
+
+    private final LocalDateTime base = LocalDateTime.of(2025, 3, 1, 9, 0);
+
+    @BeforeEach
+    void setUp() {
+        // Two users share a timestamp so the id tiebreaker is exercised
+        saveUser("a@example.com", base);
+        saveUser("b@example.com", base.plusMinutes(1));
+        saveUser("c@example.com", base.plusMinutes(1));
+        saveUser("d@example.com", base.plusMinutes(2));
+        saveUser("e@example.com", base.plusMinutes(3));
+    }
+
+    @Test
+    void shouldWalkEveryRowOnceNewestFirst() {
+        List<User> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            Limit limit = KeysetPages.limit(2);
+            PageResponseDto<User> page = KeysetPages.toPage(userRepository.findAllBy(
+                    KeysetPages.position(cursor, "createdAt"), limit, KeysetPages.newestFirst("createdAt")), limit, "createdAt");
+            seen.addAll(page.getContent());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(5, seen.size());
+        assertEquals(5, seen.stream().map(User::getId).distinct().count());
+        assertEquals("e@example.com", seen.get(0).getEmail());
+        assertEquals("a@example.com", seen.get(4).getEmail());
+    }
+
+    @Test
+    void shouldRejectTamperedCursor() {
+        assertThrows(BadRequestException.class, () -> KeysetPages.position("not-a-cursor", "createdAt"));
+    }
+
+    private void saveUser(String email, LocalDateTime createdAt) {
+        User user = new User();
+        user.setFirstName("Test");
+        user.setLastName("User");
+        user.setEmail(email);
+        user.setPassword("hashed");
+        user.setRole("VISITOR");
+        user.setCreatedAt(createdAt);
+        userRepository.save(user);
+    }
+}